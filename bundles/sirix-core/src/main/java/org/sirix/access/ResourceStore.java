@@ -6,8 +6,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
 import javax.annotation.Nonnull;
+import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.trx.node.XdmResourceManager;
+import org.sirix.access.trx.page.ResourceCompactor;
 import org.sirix.api.ResourceManager;
 import org.sirix.cache.BufferManager;
 import org.sirix.io.Reader;
@@ -51,6 +53,9 @@ public final class ResourceStore implements AutoCloseable {
     checkNotNull(database);
     checkNotNull(resourceConfig);
     return mResourceManagers.computeIfAbsent(resourceFile, k -> {
+      // Complete or remove the files of an interrupted compaction.
+      ResourceCompactor.recover(resourceConfig.resourcePath);
+
       final Storage storage = StorageType.getStorage(resourceConfig);
       final UberPage uberPage;
 
@@ -69,8 +74,10 @@ public final class ResourceStore implements AutoCloseable {
       }
 
       // Get sempahores.
-      final Semaphore readSem = Databases.computeReadSempahoreIfAbsent(
-          resourceConfig.getResource(), database.getDatabaseConfig().getMaxResourceReadTrx());
+      final int maxReadTrx = database.getDatabaseConfig().getMaxResourceReadTrx();
+      final Semaphore readSem = maxReadTrx == DatabaseConfiguration.UNLIMITED_RESOURCE_RTX
+          ? null
+          : Databases.computeReadSempahoreIfAbsent(resourceConfig.getResource(), maxReadTrx);
       final Semaphore writeSem =
           Databases.computeWriteSempahoreIfAbsent(resourceConfig.getResource(), 1);
 
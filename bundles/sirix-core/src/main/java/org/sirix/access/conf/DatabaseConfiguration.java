@@ -125,6 +125,9 @@ public final class DatabaseConfiguration {
   /** Maximum of open resource write transactions. */
   public static final int MAX_RESOURCE_WTX = 1;
 
+  /** Denotes, that the number of open resource read transactions isn't limited. */
+  public static final int UNLIMITED_RESOURCE_RTX = 0;
+
   /** Binary version of storage. */
   private final String mBinaryVersion;
 
@@ -151,11 +154,12 @@ public final class DatabaseConfiguration {
   /**
    * Set maximum number of open resource read-only transactions.
    *
-   * @param max maximum concurrent reading resource transactions.
+   * @param max maximum concurrent reading resource transactions or
+   *        {@link #UNLIMITED_RESOURCE_RTX}, if the number shouldn't be limited
    * @return this {@link DatabaseConfiguration} instance
    */
   public DatabaseConfiguration setMaxResourceReadTrx(final int max) {
-    checkArgument(max > 0);
+    checkArgument(max >= 0);
     mMaxResourceReadTrx = max;
     return this;
   }
@@ -163,7 +167,8 @@ public final class DatabaseConfiguration {
   /**
    * Get the maximum number of open resource read-only transactions.
    *
-   * @return The maximum number of open resource read-only transactions.
+   * @return The maximum number of open resource read-only transactions or
+   *         {@link #UNLIMITED_RESOURCE_RTX}, if the number isn't limited.
    */
   public int getMaxResourceReadTrx() {
     return mMaxResourceReadTrx;
@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnegative;
 import org.sirix.access.trx.node.HashType;
+import org.sirix.access.trx.node.NodeHashFunction;
 import org.sirix.access.trx.node.XdmResourceManager;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.StorageType;
@@ -44,6 +45,7 @@ import org.sirix.io.bytepipe.ByteHandlerKind;
 import org.sirix.io.bytepipe.SnappyCompressor;
 import org.sirix.node.NodePersistenterImpl;
 import org.sirix.node.interfaces.RecordPersister;
+import org.sirix.settings.Constants;
 import org.sirix.settings.VersioningType;
 import com.google.common.base.MoreObjects;
 import com.google.gson.stream.JsonReader;
@@ -148,12 +150,29 @@ public final class ResourceConfiguration {
   /** Type of hashing. */
   private static final HashType HASHKIND = HashType.ROLLING;
 
+  /** Hash function of nodes. */
+  private static final NodeHashFunction NODE_HASH_FUNCTION = NodeHashFunction.MURMUR3_128;
+
   /** Versions to restore. */
   private static final int VERSIONSTORESTORE = 3;
 
   /** Persistenter for records. */
   private static final RecordPersister PERSISTENTER = new NodePersistenterImpl();
 
+  /** Number of references of indirect pages. */
+  private static final int INDIRECT_PAGE_FAN_OUT = Constants.INP_REFERENCE_COUNT;
+
+  /** Maximum number of records per record page. */
+  private static final int RECORDS_PER_PAGE = Constants.NDP_NODE_COUNT;
+
+  /** Number of bits of a record key (the number of bits addressed by the indirect trees). */
+  private static final int RECORD_KEY_BITS =
+      Constants.INP_LEVEL_PAGE_COUNT_EXPONENT.length * Constants.INP_REFERENCE_COUNT_EXPONENT
+          + Constants.NDP_NODE_COUNT_EXPONENT;
+
+  /** Maximum exponent of the indirect page fan-out and the number of records per page. */
+  private static final int MAX_PAGE_SIZE_EXPONENT = 14;
+
   // END FIXED STANDARD FIELDS
 
   // MEMBERS FOR FIXED FIELDS
@@ -166,6 +185,9 @@ public final class ResourceConfiguration {
   /** Kind of integrity hash (rolling, postorder). */
   public final HashType hashType;
 
+  /** Hash function of the integrity hashes of nodes. */
+  public final NodeHashFunction nodeHashFunction;
+
   /** Number of revisions to restore a complete set of data. */
   public final int numberOfRevisionsToRestore;
 
@@ -193,6 +215,43 @@ public final class ResourceConfiguration {
   /** Determines if dewey IDs are generated and stored or not. */
   public final boolean areDeweyIDsStored;
 
+  /**
+   * Determines if the structural data of record pages is additionally stored in columns (see
+   * {@link org.sirix.page.StructuralColumns}).
+   */
+  public final boolean areStructuralColumnsStored;
+
+  /**
+   * Number of references of the indirect pages of the record, path, CAS and name trees (a power of
+   * two).
+   */
+  public final int indirectPageFanOut;
+
+  /** Maximum number of records stored in one record page (a power of two). */
+  public final int recordsPerPage;
+
+  /** Exponents of the number of pages per level of the indirect trees (root level first). */
+  private final int[] mLevelPageCountExp;
+
+  /**
+   * Determines if record pages, whose fragment chains are read often, are consolidated into full
+   * snapshots in the background (see {@link org.sirix.access.trx.page.PageCheckpointer}).
+   */
+  public final boolean areHotPagesConsolidated;
+
+  /**
+   * Maximum number of idle read transactions, which are kept for reuse (see
+   * {@link org.sirix.access.trx.node.ReadTrxPool}), or {@code 0}, if read transactions aren't
+   * pooled.
+   */
+  public final int readTrxPoolSize;
+
+  /**
+   * Determines if rolling hashes and descendant counts of ancestors are recomputed once per commit
+   * instead of on every modification.
+   */
+  public final boolean areHashesDeferred;
+
   // END MEMBERS FOR FIXED FIELDS
 
   /**
@@ -217,17 +276,74 @@ public final class ResourceConfiguration {
     byteHandlePipeline = builder.mByteHandler;
     revisioningType = builder.mRevisionKind;
     hashType = builder.mHashKind;
+    nodeHashFunction = builder.mNodeHashFunction;
     numberOfRevisionsToRestore = builder.mRevisionsToRestore;
     databaseConfig = builder.mDBConfig;
     useTextCompression = builder.mCompression;
     pathSummary = builder.mPathSummary;
     areDeweyIDsStored = builder.mUseDeweyIDs;
+    areStructuralColumnsStored = builder.mStructuralColumns;
+    indirectPageFanOut = builder.mIndirectPageFanOut;
+    recordsPerPage = builder.mRecordsPerPage;
+    areHotPagesConsolidated = builder.mConsolidateHotPages;
+    readTrxPoolSize = builder.mReadTrxPoolSize;
+    areHashesDeferred = builder.mDeferHashes;
+    mLevelPageCountExp = levelPageCountExp(
+        Integer.numberOfTrailingZeros(indirectPageFanOut),
+        Integer.numberOfTrailingZeros(recordsPerPage));
     resourcePath = databaseConfig.getFile()
                                  .resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile())
                                  .resolve(builder.mResource);
     recordPersister = builder.mPersistenter;
   }
 
+  /**
+   * Compute the exponents of the number of pages per level of an indirect tree, such that the tree
+   * together with the record pages addresses {@link #RECORD_KEY_BITS} bits.
+   *
+   * @param fanOutExponent exponent of the indirect page fan-out
+   * @param recordsExponent exponent of the number of records per page
+   * @return the exponents, root level first
+   */
+  private static int[] levelPageCountExp(final int fanOutExponent, final int recordsExponent) {
+    final int pageKeyBits = RECORD_KEY_BITS - recordsExponent;
+    final int levels = (pageKeyBits + fanOutExponent - 1) / fanOutExponent;
+    final int[] levelPageCountExp = new int[levels];
+    for (int level = 0; level < levels; level++) {
+      levelPageCountExp[level] = (levels - level - 1) * fanOutExponent;
+    }
+    return levelPageCountExp;
+  }
+
+  /**
+   * Get the exponents of the number of pages per level of the indirect trees of record, path, CAS
+   * and name pages, that is {@code 2^exp[level]} record pages are addressed by one reference of an
+   * indirect page on the given level.
+   *
+   * @return the level page count exponents, root level first
+   */
+  public int[] getLevelPageCountExp() {
+    return mLevelPageCountExp;
+  }
+
+  /**
+   * Get the exponent of the indirect page fan-out.
+   *
+   * @return {@code log2(indirectPageFanOut)}
+   */
+  public int getIndirectPageFanOutExp() {
+    return Integer.numberOfTrailingZeros(indirectPageFanOut);
+  }
+
+  /**
+   * Get the exponent of the number of records per record page.
+   *
+   * @return {@code log2(recordsPerPage)}
+   */
+  public int getRecordsPerPageExp() {
+    return Integer.numberOfTrailingZeros(recordsPerPage);
+  }
+
   /**
    * Set a unique ID.
    *
@@ -300,7 +416,9 @@ public final class ResourceConfiguration {
    */
   private static final String[] JSONNAMES = {"revisioning", "revisioningClass",
       "numbersOfRevisiontoRestore", "byteHandlerClasses", "storageKind", "hashKind", "compression",
-      "pathSummary", "resourceID", "deweyIDsStored", "persistenter"};
+      "pathSummary", "resourceID", "deweyIDsStored", "persistenter", "structuralColumns",
+      "indirectPageFanOut", "recordsPerPage", "consolidateHotPages", "readTrxPoolSize",
+      "deferHashes", "nodeHashFunction"};
 
   /**
    * Serialize the configuration.
@@ -341,6 +459,19 @@ public final class ResourceConfiguration {
       jsonWriter.name(JSONNAMES[9]).value(config.areDeweyIDsStored);
       // Persistenter.
       jsonWriter.name(JSONNAMES[10]).value(config.recordPersister.getClass().getName());
+      // Structural columns stored or not.
+      jsonWriter.name(JSONNAMES[11]).value(config.areStructuralColumnsStored);
+      // Page sizes.
+      jsonWriter.name(JSONNAMES[12]).value(config.indirectPageFanOut);
+      jsonWriter.name(JSONNAMES[13]).value(config.recordsPerPage);
+      // Background consolidation of hot record pages.
+      jsonWriter.name(JSONNAMES[14]).value(config.areHotPagesConsolidated);
+      // Pooling of read transactions.
+      jsonWriter.name(JSONNAMES[15]).value(config.readTrxPoolSize);
+      // Deferred maintenance of hashes.
+      jsonWriter.name(JSONNAMES[16]).value(config.areHashesDeferred);
+      // Hash function of nodes.
+      jsonWriter.name(JSONNAMES[17]).value(config.nodeHashFunction.name());
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -418,6 +549,35 @@ public final class ResourceConfiguration {
       final Class<?> persistenterClazz = Class.forName(jsonReader.nextString());
       final Constructor<?> persistenterConstr = persistenterClazz.getConstructors()[0];
       final RecordPersister persistenter = (RecordPersister) persistenterConstr.newInstance();
+      // Optional settings, which are not stored for resources created by former versions.
+      boolean structuralColumns = false;
+      int indirectPageFanOut = INDIRECT_PAGE_FAN_OUT;
+      int recordsPerPage = RECORDS_PER_PAGE;
+      boolean consolidateHotPages = false;
+      int readTrxPoolSize = 0;
+      boolean deferHashes = false;
+      // Resources of former versions have been hashed with SHA-256.
+      NodeHashFunction nodeHashFunction = NodeHashFunction.SHA256;
+      while (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        if (name.equals(JSONNAMES[11])) {
+          structuralColumns = jsonReader.nextBoolean();
+        } else if (name.equals(JSONNAMES[12])) {
+          indirectPageFanOut = jsonReader.nextInt();
+        } else if (name.equals(JSONNAMES[13])) {
+          recordsPerPage = jsonReader.nextInt();
+        } else if (name.equals(JSONNAMES[14])) {
+          consolidateHotPages = jsonReader.nextBoolean();
+        } else if (name.equals(JSONNAMES[15])) {
+          readTrxPoolSize = jsonReader.nextInt();
+        } else if (name.equals(JSONNAMES[16])) {
+          deferHashes = jsonReader.nextBoolean();
+        } else if (name.equals(JSONNAMES[17])) {
+          nodeHashFunction = NodeHashFunction.valueOf(jsonReader.nextString());
+        } else {
+          jsonReader.skipValue();
+        }
+      }
       jsonReader.endObject();
       jsonReader.close();
       fileReader.close();
@@ -437,7 +597,14 @@ public final class ResourceConfiguration {
              .persistenter(persistenter)
              .useTextCompression(compression)
              .buildPathSummary(pathSummary)
-             .useDeweyIDs(deweyIDsStored);
+             .useDeweyIDs(deweyIDsStored)
+             .storeStructuralColumns(structuralColumns)
+             .indirectPageFanOut(indirectPageFanOut)
+             .recordsPerPage(recordsPerPage)
+             .consolidateHotPages(consolidateHotPages)
+             .readTrxPoolSize(readTrxPoolSize)
+             .deferHashes(deferHashes)
+             .nodeHashFunction(nodeHashFunction);
 
       // Deserialized instance.
       final ResourceConfiguration config = new ResourceConfiguration(builder);
@@ -462,6 +629,9 @@ public final class ResourceConfiguration {
     /** Kind of integrity hash (rolling, postorder). */
     private HashType mHashKind = HASHKIND;
 
+    /** Hash function of nodes. */
+    private NodeHashFunction mNodeHashFunction = NODE_HASH_FUNCTION;
+
     /** Number of revisions to restore a complete set of data. */
     private int mRevisionsToRestore = VERSIONSTORESTORE;
 
@@ -486,6 +656,24 @@ public final class ResourceConfiguration {
     /** Determines if a path summary should be build or not. */
     private boolean mPathSummary;
 
+    /** Determines if the structural data of record pages is stored in columns or not. */
+    private boolean mStructuralColumns;
+
+    /** Number of references of indirect pages. */
+    private int mIndirectPageFanOut = INDIRECT_PAGE_FAN_OUT;
+
+    /** Maximum number of records per record page. */
+    private int mRecordsPerPage = RECORDS_PER_PAGE;
+
+    /** Determines if hot record pages are consolidated in the background. */
+    private boolean mConsolidateHotPages;
+
+    /** Maximum number of pooled idle read transactions. */
+    private int mReadTrxPoolSize;
+
+    /** Determines if the maintenance of hashes is deferred until commit. */
+    private boolean mDeferHashes;
+
     /**
      * Constructor, setting the mandatory fields.
      *
@@ -543,6 +731,19 @@ public final class ResourceConfiguration {
       return this;
     }
 
+    /**
+     * Set the hash function of the integrity hashes of nodes. The non-cryptographic
+     * {@link NodeHashFunction#MURMUR3_128} is much cheaper than {@link NodeHashFunction#SHA256},
+     * which has been used by former versions.
+     *
+     * @param nodeHashFunction hash function to use (default: {@link NodeHashFunction#MURMUR3_128})
+     * @return reference to the builder object
+     */
+    public Builder nodeHashFunction(final NodeHashFunction nodeHashFunction) {
+      mNodeHashFunction = checkNotNull(nodeHashFunction);
+      return this;
+    }
+
     /**
      * Set the byte handler pipeline.
      *
@@ -597,6 +798,98 @@ public final class ResourceConfiguration {
       return this;
     }
 
+    /**
+     * Determines if the structural data of record pages (parent, sibling and child pointers, child
+     * and descendant counts and name keys) should additionally be stored in columns, such that the
+     * tree structure can be traversed without deserializing the records.
+     *
+     * @param storeStructuralColumns store the columns or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder storeStructuralColumns(final boolean storeStructuralColumns) {
+      mStructuralColumns = storeStructuralColumns;
+      return this;
+    }
+
+    /**
+     * Set the number of references of the indirect pages of the record, path, CAS and name trees.
+     * Small pages reduce the amount of data copied on write for small, frequently changing
+     * resources, large pages reduce the height of the trees for huge resources.
+     *
+     * @param fanOut the fan-out, a power of two between {@code 2} and {@code 2^14} (default:
+     *        {@code 512})
+     * @return reference to the builder object
+     * @throws IllegalArgumentException if {@code fanOut} is out of range or not a power of two
+     */
+    public Builder indirectPageFanOut(final @Nonnegative int fanOut) {
+      checkArgument(fanOut >= 2 && fanOut <= 1 << MAX_PAGE_SIZE_EXPONENT
+          && Integer.bitCount(fanOut) == 1, "fanOut must be a power of two between 2 and 2^14!");
+      mIndirectPageFanOut = fanOut;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of records stored in one record page.
+     *
+     * @param recordsPerPage the number of records, a power of two between {@code 1} and
+     *        {@code 2^14} (default: {@code 512})
+     * @return reference to the builder object
+     * @throws IllegalArgumentException if {@code recordsPerPage} is out of range or not a power of
+     *         two
+     */
+    public Builder recordsPerPage(final @Nonnegative int recordsPerPage) {
+      checkArgument(recordsPerPage >= 1 && recordsPerPage <= 1 << MAX_PAGE_SIZE_EXPONENT
+          && Integer.bitCount(recordsPerPage) == 1,
+          "recordsPerPage must be a power of two between 1 and 2^14!");
+      mRecordsPerPage = recordsPerPage;
+      return this;
+    }
+
+    /**
+     * Determines if record pages, whose chains of fragments are read often, should be consolidated
+     * into full snapshots by a background thread, such that reading them requires a single page
+     * read.
+     *
+     * @param consolidateHotPages consolidate hot pages or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder consolidateHotPages(final boolean consolidateHotPages) {
+      mConsolidateHotPages = consolidateHotPages;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of idle read transactions, which are kept for reuse. Closing a pooled
+     * read transaction returns it to the pool instead of releasing its state, such that beginning
+     * a read transaction on the same revision doesn't have to read the revision root page, the name
+     * page and the index definitions again.
+     *
+     * @param readTrxPoolSize maximum number of idle read transactions or {@code 0}, if read
+     *        transactions shouldn't be pooled (default: {@code 0})
+     * @return reference to the builder object
+     * @throws IllegalArgumentException if {@code readTrxPoolSize < 0}
+     */
+    public Builder readTrxPoolSize(final @Nonnegative int readTrxPoolSize) {
+      checkArgument(readTrxPoolSize >= 0, "readTrxPoolSize must be >= 0!");
+      mReadTrxPoolSize = readTrxPoolSize;
+      return this;
+    }
+
+    /**
+     * Determines if the maintenance of rolling hashes and descendant counts should be deferred.
+     * Instead of updating all ancestors on every modification, modified nodes and their ancestors
+     * are recorded and recomputed once per commit or when a hash or descendant count is read
+     * through the write transaction, such that batches of modifications on deep documents are much
+     * cheaper. Only applies to {@link HashType#ROLLING}.
+     *
+     * @param deferHashes defer the maintenance of hashes or not (default: no)
+     * @return reference to the builder object
+     */
+    public Builder deferHashes(final boolean deferHashes) {
+      mDeferHashes = deferHashes;
+      return this;
+    }
+
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
@@ -1,5 +1,6 @@
 package org.sirix.access.trx.node;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
@@ -374,6 +375,11 @@ public abstract class AbstractForwardingXdmNodeReadTrx extends ForwardingObject
     return delegate().getRawValue();
   }
 
+  @Override
+  public InputStream getValueStream() {
+    return delegate().getValueStream();
+  }
+
   @Override
   public long getChildCount() {
     return delegate().getChildCount();
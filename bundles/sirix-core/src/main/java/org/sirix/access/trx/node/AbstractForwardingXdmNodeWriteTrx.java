@@ -1,8 +1,11 @@
 package org.sirix.access.trx.node;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.xml.stream.XMLEventReader;
 import org.brackit.xquery.atomic.QNm;
+import org.sirix.api.EditOp;
 import org.sirix.api.XdmNodeReadTrx;
 import org.sirix.api.XdmNodeWriteTrx;
 import org.sirix.exception.SirixException;
@@ -37,6 +40,16 @@ public abstract class AbstractForwardingXdmNodeWriteTrx extends AbstractForwardi
     return delegate().commit();
   }
 
+  @Override
+  public CompletableFuture<XdmNodeWriteTrx> commitAsync() {
+    return delegate().commitAsync();
+  }
+
+  @Override
+  public XdmNodeWriteTrx apply(List<EditOp> ops) {
+    return delegate().apply(ops);
+  }
+
   @Override
   public XdmNodeWriteTrx moveSubtreeToLeftSibling(long fromKey) throws SirixException {
     return delegate().moveSubtreeToLeftSibling(fromKey);
@@ -0,0 +1,15 @@
+package org.sirix.access.trx.node;
+
+/** Determines how automatic commits of a write transaction are issued. */
+public enum AutoCommitMode {
+  /** The commit is issued synchronously, as if {@code commit()} has been called. */
+  SYNCHRONOUS,
+
+  /**
+   * The commit is issued in the background once the current operation is done, as if
+   * {@code commitAsync()} has been called. The operation returns before the revision is written,
+   * but the next call of the transaction waits until it has been written. A failure is reported by
+   * the next modification or commit.
+   */
+  ASYNCHRONOUS
+}
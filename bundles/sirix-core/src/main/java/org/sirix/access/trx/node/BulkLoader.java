@@ -0,0 +1,260 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageWriteTrx;
+import org.sirix.node.interfaces.Node;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.node.interfaces.immutable.ImmutableNode;
+import org.sirix.page.PageKind;
+import org.sirix.page.UnorderedKeyValuePage;
+import com.google.common.hash.HashFunction;
+
+/**
+ * <h1>BulkLoader</h1>
+ *
+ * <p>
+ * Streaming pass over the nodes of a subtree, which are inserted in document order, that is with
+ * ascending node keys. The rolling hash and the descendant count of a node are computed as soon as
+ * its subtree and its right sibling are known, instead of a postorder traversal over the whole
+ * subtree once it has been inserted.
+ * </p>
+ *
+ * <p>
+ * Record pages, which have been created by the transaction and don't contain a node anymore, whose
+ * hash, descendant count or right sibling is yet to be set, are written to the storage right away
+ * instead of being kept in the transaction intent log until the commit.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+final class BulkLoader {
+
+  /** The node write transaction. */
+  private final XdmNodeWriteTrxImpl mWtx;
+
+  /** The hash function or {@code null}, if no rolling hashes are maintained. */
+  private final HashFunction mHash;
+
+  /** The open nodes, the parent of the subtree at the bottom. */
+  private final Deque<Frame> mFrames;
+
+  /** The parent of the subtree. */
+  private final Frame mBase;
+
+  /** Keys of record pages, which have been filled, but still contain pending nodes. */
+  private final List<Long> mCompletedPages;
+
+  /** Key of the record page, which is currently filled. */
+  private long mCurrentPage;
+
+  /** The page transaction, which changes if the transaction is auto-committed. */
+  private PageWriteTrx<Long, Record, UnorderedKeyValuePage> mPageTrx;
+
+  /** Hash to add to the ancestors of the parent of the subtree. */
+  private long mAncestorHash;
+
+  /** Descendant count to add to the ancestors of the parent of the subtree. */
+  private long mAncestorDescendantCount;
+
+  /**
+   * Constructor.
+   *
+   * @param wtx the node write transaction
+   * @param hash the hash function or {@code null}, if no rolling hashes are maintained
+   * @param parentKey key of the parent node of the subtree
+   */
+  BulkLoader(final XdmNodeWriteTrxImpl wtx, final @Nullable HashFunction hash,
+      final @Nonnegative long parentKey) {
+    mWtx = checkNotNull(wtx);
+    mHash = hash;
+    mFrames = new ArrayDeque<>();
+    mBase = new Frame(parentKey, 0, 0);
+    mFrames.push(mBase);
+    mCompletedPages = new ArrayList<>();
+    mCurrentPage = -1;
+  }
+
+  /**
+   * Add a node, which has just been inserted.
+   *
+   * @param node the inserted node
+   */
+  void add(final ImmutableNode node) {
+    checkNotNull(node);
+    if (node instanceof StructNode) {
+      // All open nodes up to the parent are complete.
+      while (mFrames.peek().mKey != node.getParentKey()) {
+        close();
+      }
+      final Frame parent = mFrames.peek();
+      if (parent.mPendingChild != null) {
+        // The right sibling of the left sibling is known now.
+        complete(parent.mPendingChild, parent);
+        parent.mPendingChild = null;
+      }
+      mFrames.push(
+          new Frame(node.getNodeKey(), node.getHash(), ((StructNode) node).getDescendantCount()));
+    } else if (mHash != null) {
+      // Attributes and namespaces are complete right away.
+      final Node attribute = prepareForModification(node.getNodeKey());
+      final long hash = mHash.hashLong(attribute.hashCode()).asLong();
+      attribute.setHash(hash);
+      mFrames.peek().mHash += hash * XdmNodeWriteTrxImpl.PRIME;
+    }
+
+    writeCompletedPages(node.getNodeKey());
+  }
+
+  /**
+   * Complete all pending nodes and add the hash and the descendant count of the subtree to the
+   * ancestors.
+   */
+  void finish() {
+    while (mFrames.size() > 1) {
+      close();
+    }
+    if (mBase.mPendingChild != null) {
+      complete(mBase.mPendingChild, mBase);
+      mBase.mPendingChild = null;
+    }
+
+    if (mHash != null) {
+      Node node = prepareForModification(mBase.mKey);
+      node.setHash(node.getHash() + mBase.mHash);
+      ((StructNode) node).setDescendantCount(
+          ((StructNode) node).getDescendantCount() + mBase.mDescendantCount);
+      while (node.hasParent()) {
+        node = prepareForModification(node.getParentKey());
+        node.setHash(node.getHash() + mAncestorHash);
+        ((StructNode) node).setDescendantCount(
+            ((StructNode) node).getDescendantCount() + mAncestorDescendantCount);
+      }
+    }
+  }
+
+  /**
+   * Close the topmost open node, which becomes the pending last child of its parent.
+   */
+  private void close() {
+    final Frame frame = mFrames.pop();
+    if (frame.mPendingChild != null) {
+      complete(frame.mPendingChild, frame);
+      frame.mPendingChild = null;
+    }
+    mFrames.peek().mPendingChild = frame;
+  }
+
+  /**
+   * Set the hash and the descendant count of a node, whose subtree and right sibling are known, and
+   * add them to the parent.
+   *
+   * @param child the complete node
+   * @param parent the parent of the node
+   */
+  private void complete(final Frame child, final Frame parent) {
+    if (mHash == null) {
+      return;
+    }
+    final Node node = prepareForModification(child.mKey);
+    node.setHash(child.mHash);
+    if (child.mDescendantCount > 0) {
+      // Text, comment and processing instruction nodes don't support setting the count.
+      ((StructNode) node).setDescendantCount(child.mDescendantCount);
+    }
+    final long hash = mHash.hashLong(node.hashCode()).asLong();
+    node.setHash(hash);
+    parent.mHash += hash * XdmNodeWriteTrxImpl.PRIME;
+    parent.mDescendantCount += child.mDescendantCount + 1;
+
+    if (parent == mBase) {
+      mAncestorHash += mHash.hashLong(node.hashCode()).asLong() * XdmNodeWriteTrxImpl.PRIME;
+      mAncestorDescendantCount += child.mDescendantCount + 1;
+    }
+  }
+
+  /**
+   * Write the record pages, which have been filled and don't contain pending nodes anymore, once
+   * the next page is filled.
+   *
+   * @param nodeKey the key of the inserted node
+   */
+  private void writeCompletedPages(final long nodeKey) {
+    final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageTrx = mWtx.getPageTransaction();
+    final long page = pageTrx.pageKey(nodeKey);
+
+    if (pageTrx != mPageTrx) {
+      // Pages filled before an intermediate commit have already been written.
+      mPageTrx = pageTrx;
+      mCompletedPages.clear();
+      mCurrentPage = page;
+      return;
+    }
+
+    if (page == mCurrentPage) {
+      return;
+    }
+
+    mCompletedPages.add(mCurrentPage);
+    mCurrentPage = page;
+
+    for (final Iterator<Long> it = mCompletedPages.iterator(); it.hasNext();) {
+      final long completedPage = it.next();
+      if (!containsPendingNode(pageTrx, completedPage)) {
+        pageTrx.writeRecordPage(completedPage, PageKind.RECORDPAGE, -1);
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Determines if a record page contains an open node or the pending last child of an open node.
+   *
+   * @param pageTrx the page transaction
+   * @param page the key of the record page
+   * @return {@code true}, if the page contains a pending node, {@code false} otherwise
+   */
+  private boolean containsPendingNode(
+      final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageTrx, final long page) {
+    for (final Frame frame : mFrames) {
+      if (pageTrx.pageKey(frame.mKey) == page || (frame.mPendingChild != null
+          && pageTrx.pageKey(frame.mPendingChild.mKey) == page)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Node prepareForModification(final long nodeKey) {
+    return (Node) mWtx.getPageTransaction().prepareEntryForModification(
+        nodeKey, PageKind.RECORDPAGE, -1);
+  }
+
+  /** A node, whose hash and descendant count are accumulated. */
+  private static final class Frame {
+    /** The node key. */
+    private final long mKey;
+
+    /** The accumulated hash. */
+    private long mHash;
+
+    /** The accumulated descendant count. */
+    private long mDescendantCount;
+
+    /** The last child, whose right sibling isn't known yet. */
+    private Frame mPendingChild;
+
+    private Frame(final long key, final long hash, final long descendantCount) {
+      mKey = key;
+      mHash = hash;
+      mDescendantCount = descendantCount;
+    }
+  }
+}
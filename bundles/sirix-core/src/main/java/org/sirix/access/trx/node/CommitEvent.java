@@ -0,0 +1,98 @@
+package org.sirix.access.trx.node;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.sirix.api.CommitPhase;
+import org.sirix.api.CommitStatistics;
+
+/**
+ * Flight recorder event of a commit, which contains the time spent in each {@link CommitPhase}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+@Name("org.sirix.Commit")
+@Label("Commit")
+@Category("Sirix")
+@Description("Commit of a revision")
+final class CommitEvent extends Event {
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Revision")
+  int revision;
+
+  @Label("Pre Commit Hooks")
+  @Timespan
+  long preCommitHooks;
+
+  @Label("Intent Log Traversal")
+  @Timespan
+  long intentLogTraversal;
+
+  @Label("Serialization")
+  @Description("Accumulated over all threads")
+  @Timespan
+  long serialization;
+
+  @Label("Compression")
+  @Description("Accumulated over all threads")
+  @Timespan
+  long compression;
+
+  @Label("Hashing")
+  @Timespan
+  long hashing;
+
+  @Label("File Appends")
+  @Timespan
+  long fileAppends;
+
+  @Label("Uber Page Write")
+  @Timespan
+  long uberPageWrite;
+
+  @Label("Index Definitions")
+  @Timespan
+  long indexDefinitions;
+
+  @Label("Post Commit Hooks")
+  @Timespan
+  long postCommitHooks;
+
+  @Label("Pages")
+  long pages;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  /**
+   * Set the fields from the statistics of a commit.
+   *
+   * @param resource the name of the resource
+   * @param revision the commited revision
+   * @param statistics the statistics of the commit
+   */
+  void set(final String resource, final int revision, final CommitStatistics statistics) {
+    this.resource = resource;
+    this.revision = revision;
+    preCommitHooks = statistics.getTime(CommitPhase.PRE_COMMIT_HOOKS);
+    intentLogTraversal = statistics.getTime(CommitPhase.INTENT_LOG_TRAVERSAL);
+    serialization = statistics.getTime(CommitPhase.SERIALIZATION);
+    compression = statistics.getTime(CommitPhase.COMPRESSION);
+    hashing = statistics.getTime(CommitPhase.HASHING);
+    fileAppends = statistics.getTime(CommitPhase.FILE_APPENDS);
+    uberPageWrite = statistics.getTime(CommitPhase.UBER_PAGE_WRITE);
+    indexDefinitions = statistics.getTime(CommitPhase.INDEX_DEFINITIONS);
+    postCommitHooks = statistics.getTime(CommitPhase.POST_COMMIT_HOOKS);
+    pages = statistics.getPageCount();
+    bytes = statistics.getBytes();
+  }
+}
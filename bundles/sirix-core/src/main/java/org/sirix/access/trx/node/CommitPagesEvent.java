@@ -0,0 +1,68 @@
+package org.sirix.access.trx.node;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.sirix.api.CommitStatistics;
+import org.sirix.page.PageKind;
+
+/**
+ * Flight recorder event with the number of pages and bytes of a {@link PageKind}, which have been
+ * written during a commit.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+@Name("org.sirix.CommitPages")
+@Label("Commit Pages")
+@Category("Sirix")
+@Description("Pages of a kind written during the commit of a revision")
+@StackTrace(false)
+final class CommitPagesEvent extends Event {
+
+  @Label("Resource")
+  String resource;
+
+  @Label("Revision")
+  int revision;
+
+  @Label("Page Kind")
+  String pageKind;
+
+  @Label("Pages")
+  long pages;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  /**
+   * Emit an event for each kind of page, which has been written during a commit.
+   *
+   * @param resource the name of the resource
+   * @param revision the commited revision
+   * @param statistics the statistics of the commit
+   */
+  static void emit(final String resource, final int revision, final CommitStatistics statistics) {
+    for (final PageKind kind : PageKind.values()) {
+      final long pages = statistics.getPageCount(kind);
+      if (pages == 0) {
+        continue;
+      }
+      final CommitPagesEvent event = new CommitPagesEvent();
+      if (!event.isEnabled()) {
+        return;
+      }
+      event.resource = resource;
+      event.revision = revision;
+      event.pageKind = kind.name();
+      event.pages = pages;
+      event.bytes = statistics.getBytes(kind);
+      event.commit();
+    }
+  }
+}
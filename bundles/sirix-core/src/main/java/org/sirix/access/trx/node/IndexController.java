@@ -193,6 +193,15 @@ public final class IndexController {
     }
   }
 
+  /**
+   * Determines if any index listens to changes.
+   *
+   * @return {@code true}, if changes have to be notified, {@code false} otherwise
+   */
+  public boolean hasChangeListeners() {
+    return !mListeners.isEmpty();
+  }
+
   /**
    * Notify the changes to all listening indexes.
    *
@@ -2,10 +2,13 @@ package org.sirix.access.trx.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.zip.Deflater;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.NodeFactory;
 import org.sirix.api.PageWriteTrx;
@@ -24,6 +27,7 @@ import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.delegates.ValNodeDelegate;
 import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.ValueNode;
 import org.sirix.node.json.JSONArray;
 import org.sirix.node.json.JSONObject;
 import org.sirix.page.PageKind;
@@ -42,17 +46,34 @@ import com.google.common.collect.HashBiMap;
  */
 final class NodeFactoryImpl implements NodeFactory {
 
+  /** Maximum total size of the sampled text values. */
+  private static final int MAX_SAMPLE_SIZE = 1 << 20;
+
   /** {@link PageWriteTrx} implementation. */
   private final PageWriteTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
 
+  /** The dictionary to compress text values with or {@code null}, if none has been built yet. */
+  private final byte[] mTextDictionary;
+
+  /** Sampled text values to build a dictionary from, if none has been built yet. */
+  private final List<byte[]> mTextSamples;
+
+  /** Total size of the sampled text values. */
+  private int mTextSampleSize;
+
   /**
    * Constructor.
    *
    * @param pageWriteTrx {@link PageWriteTrx} implementation
+   * @param textDictionary the dictionary to compress text values with or {@code null}, if none has
+   *        been built yet
    * @throws SirixIOException if an I/O exception occured due to name key creation
    */
-  NodeFactoryImpl(final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx) {
+  NodeFactoryImpl(final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
+      final @Nullable byte[] textDictionary) {
     mPageWriteTrx = checkNotNull(pageWriteTrx);
+    mTextDictionary = textDictionary;
+    mTextSamples = new ArrayList<>();
     mPageWriteTrx.createNameKey("xs:untyped", Kind.ATTRIBUTE);
     mPageWriteTrx.createNameKey("xs:untyped", Kind.NAMESPACE);
     mPageWriteTrx.createNameKey("xs:untyped", Kind.ELEMENT);
@@ -121,11 +142,12 @@ final class NodeFactoryImpl implements NodeFactory {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(
         mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1, parentKey, 0, revision, id);
-    final boolean compression = isCompressed && value.length > 10;
-    final byte[] compressedValue = compression
-        ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
+    final byte[] compressedValue = isCompressed
+        ? compress(value)
         : value;
-    final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, compressedValue, compression);
+    final boolean compression = compressedValue != value;
+    final ValNodeDelegate valDel =
+        new ValNodeDelegate(nodeDel, compressedValue, compression, mTextDictionary);
     final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel,
         Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (TextNode) mPageWriteTrx.createEntry(
@@ -206,11 +228,12 @@ final class NodeFactoryImpl implements NodeFactory {
     final long revision = mPageWriteTrx.getRevisionNumber();
     final NodeDelegate nodeDel = new NodeDelegate(
         mPageWriteTrx.getActualRevisionRootPage().getMaxNodeKey() + 1, parentKey, 0, revision, id);
-    final boolean compression = isCompressed && value.length > 10;
-    final byte[] compressedValue = compression
-        ? Compression.compress(value, Deflater.HUFFMAN_ONLY)
+    final byte[] compressedValue = isCompressed
+        ? compress(value)
         : value;
-    final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, compressedValue, compression);
+    final boolean compression = compressedValue != value;
+    final ValNodeDelegate valDel =
+        new ValNodeDelegate(nodeDel, compressedValue, compression, mTextDictionary);
     final StructNodeDelegate structDel = new StructNodeDelegate(nodeDel,
         Fixed.NULL_NODE_KEY.getStandardProperty(), rightSibKey, leftSibKey, 0, 0);
     return (CommentNode) mPageWriteTrx.createEntry(
@@ -238,4 +261,58 @@ final class NodeFactoryImpl implements NodeFactory {
     // TODO Auto-generated method stub
     return null;
   }
+
+  /**
+   * Set the value of a node. Values of text and comment nodes are compressed just like the values
+   * of newly created nodes.
+   *
+   * @param node the node to modify
+   * @param value the new value
+   * @param isCompressed determines if the value should be compressed or not
+   */
+  void setValue(final ValueNode node, final byte[] value, final boolean isCompressed) {
+    node.setValue(value);
+    if (isCompressed && (node.getKind() == Kind.TEXT || node.getKind() == Kind.COMMENT)) {
+      final byte[] compressedValue = compress(value);
+      if (compressedValue != value) {
+        final ValNodeDelegate valDel = node.getKind() == Kind.TEXT
+            ? ((TextNode) node).getValNodeDelegate()
+            : ((CommentNode) node).getValNodeDelegate();
+        valDel.setCompressedValue(compressedValue);
+      }
+    }
+  }
+
+  /**
+   * Compress a text value with the dictionary of the resource, if there is one. Otherwise the value
+   * is sampled to build a dictionary from.
+   *
+   * @param value the value to compress
+   * @return the compressed value or the value itself, if it doesn't get shorter
+   */
+  private byte[] compress(final byte[] value) {
+    if (mTextDictionary == null && mTextSampleSize < MAX_SAMPLE_SIZE) {
+      mTextSamples.add(value);
+      mTextSampleSize += value.length;
+    }
+    // Without a dictionary short values do not compress.
+    if (value.length <= (mTextDictionary == null
+        ? 10
+        : 3)) {
+      return value;
+    }
+    final byte[] compressed = Compression.compress(value, Deflater.HUFFMAN_ONLY, mTextDictionary);
+    return compressed.length < value.length
+        ? compressed
+        : value;
+  }
+
+  /**
+   * Get the sampled text values, if no dictionary has been built yet.
+   *
+   * @return the sampled text values
+   */
+  List<byte[]> getTextSamples() {
+    return Collections.unmodifiableList(mTextSamples);
+  }
 }
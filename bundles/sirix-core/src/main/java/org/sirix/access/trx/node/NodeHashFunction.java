@@ -0,0 +1,36 @@
+package org.sirix.access.trx.node;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The hash function, which is used to compute the hashes of nodes. The function is stored in the
+ * resource configuration, as hashes of different revisions are only comparable if they have been
+ * computed with the same function.
+ *
+ * @author Johannes Lichtenberger
+ */
+public enum NodeHashFunction {
+  /** Non-cryptographic 128 bit Murmur3 hash, of which the first 64 bits are used. */
+  MURMUR3_128 {
+    @Override
+    public HashFunction getHashFunction() {
+      return Hashing.murmur3_128();
+    }
+  },
+
+  /** Cryptographic SHA-256 hash, of which the first 64 bits are used. */
+  SHA256 {
+    @Override
+    public HashFunction getHashFunction() {
+      return Hashing.sha256();
+    }
+  };
+
+  /**
+   * Get the hash function.
+   *
+   * @return the hash function
+   */
+  public abstract HashFunction getHashFunction();
+}
@@ -0,0 +1,124 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.access.conf.ResourceConfiguration;
+
+/**
+ * <h1>ReadTrxPool</h1>
+ *
+ * <p>
+ * Pool of idle node read transactions of a resource, keyed by revision. A pooled transaction keeps
+ * its page read transaction including the revision root page, the name page, the index definitions
+ * and the caches of the revision, such that short reads skip all of the setup. The size of the pool
+ * is configured in the {@link ResourceConfiguration}.
+ * </p>
+ *
+ * <p>
+ * The pool is cleared, whenever the data of the resource is replaced, as the pooled transactions
+ * reference the replaced data.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+final class ReadTrxPool {
+
+  /** The idle transactions, keyed by revision. */
+  private final ConcurrentMap<Integer, Queue<XdmNodeReadTrxImpl>> mIdleTrxs;
+
+  /** The number of idle transactions. */
+  private final AtomicInteger mIdleCount;
+
+  /** The maximum number of idle transactions. */
+  private final int mMaxIdleCount;
+
+  /** Determines if the pool is closed. */
+  private volatile boolean mClosed;
+
+  /**
+   * Constructor.
+   *
+   * @param maxIdleCount the maximum number of idle transactions
+   */
+  ReadTrxPool(final @Nonnegative int maxIdleCount) {
+    checkArgument(maxIdleCount >= 0, "maxIdleCount must be >= 0!");
+    mIdleTrxs = new ConcurrentHashMap<>();
+    mIdleCount = new AtomicInteger();
+    mMaxIdleCount = maxIdleCount;
+  }
+
+  /**
+   * Determines if transactions are pooled at all.
+   *
+   * @return {@code true}, if transactions are pooled, {@code false} otherwise
+   */
+  boolean isEnabled() {
+    return mMaxIdleCount > 0;
+  }
+
+  /**
+   * Take an idle transaction bound to the given revision.
+   *
+   * @param revision the revision
+   * @return the closed transaction or {@code null}, if no transaction bound to the revision is idle
+   */
+  @Nullable
+  XdmNodeReadTrxImpl poll(final @Nonnegative int revision) {
+    final Queue<XdmNodeReadTrxImpl> idleTrxs = mIdleTrxs.get(revision);
+    if (idleTrxs == null) {
+      return null;
+    }
+    final XdmNodeReadTrxImpl trx = idleTrxs.poll();
+    if (trx != null) {
+      mIdleCount.decrementAndGet();
+    }
+    return trx;
+  }
+
+  /**
+   * Return a closed transaction to the pool.
+   *
+   * @param trx the transaction
+   * @return {@code true}, if the transaction has been pooled, {@code false} if the pool is full or
+   *         closed, in which case the caller has to release the transaction
+   */
+  boolean offer(final XdmNodeReadTrxImpl trx) {
+    if (mClosed) {
+      return false;
+    }
+    if (mIdleCount.incrementAndGet() > mMaxIdleCount) {
+      mIdleCount.decrementAndGet();
+      return false;
+    }
+    mIdleTrxs.computeIfAbsent(
+        trx.getPooledRevisionNumber(), revision -> new ConcurrentLinkedQueue<>()).add(trx);
+    return true;
+  }
+
+  /**
+   * Release all idle transactions.
+   */
+  void clear() {
+    for (final Queue<XdmNodeReadTrxImpl> idleTrxs : mIdleTrxs.values()) {
+      XdmNodeReadTrxImpl trx;
+      while ((trx = idleTrxs.poll()) != null) {
+        mIdleCount.decrementAndGet();
+        trx.release();
+      }
+    }
+  }
+
+  /**
+   * Release all idle transactions and refuse transactions returned afterwards.
+   */
+  void close() {
+    mClosed = true;
+    clear();
+  }
+}
@@ -0,0 +1,108 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.sirix.api.XdmNodeReadTrx;
+import com.google.common.base.MoreObjects;
+
+/**
+ * <h1>RevisionSnapshot</h1>
+ *
+ * <p>
+ * Thread-safe read-only view of a revision. All cursors of a snapshot share a single page
+ * transaction, that is the revision root page, the name page, the index definitions and the caches
+ * of reconstructed pages, whereas reads from the storage are serialized. Record pages are shared as
+ * well, they deserialize their records on first access under a lock of the page. Each cursor has
+ * its own position and must only be used by a single thread, but creating a cursor is cheap, such
+ * that for instance fork/join evaluations can create a cursor per task.
+ * </p>
+ *
+ * <p>
+ * A snapshot counts as a single read transaction. Closing the snapshot invalidates all of its
+ * cursors.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class RevisionSnapshot implements AutoCloseable {
+
+  /** The resource manager. */
+  private final XdmResourceManager mResourceManager;
+
+  /** The transaction owning the shared page transaction. */
+  private final XdmNodeReadTrxImpl mTrx;
+
+  /** The revision number. */
+  private final int mRevision;
+
+  /** Guards the transaction, which isn't thread-safe itself. */
+  private final Lock mLock;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager
+   * @param trx the transaction owning the shared, thread-safe page transaction
+   */
+  RevisionSnapshot(final XdmResourceManager resourceManager, final XdmNodeReadTrxImpl trx) {
+    mResourceManager = checkNotNull(resourceManager);
+    mTrx = checkNotNull(trx);
+    mRevision = trx.getRevisionNumber();
+    mLock = new ReentrantLock();
+  }
+
+  /**
+   * Get the revision number of the snapshot.
+   *
+   * @return the revision number
+   */
+  public int getRevisionNumber() {
+    return mRevision;
+  }
+
+  /**
+   * Create a new cursor positioned at the document node. The cursor must only be used by a single
+   * thread at a time.
+   *
+   * @return the cursor
+   * @throws IllegalStateException if the snapshot is closed
+   */
+  public XdmNodeReadTrx newCursor() {
+    mLock.lock();
+    try {
+      return mTrx.newCursor(mResourceManager.nextNodeTrxId());
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * Determines if the snapshot is closed.
+   *
+   * @return {@code true}, if the snapshot is closed, {@code false} otherwise
+   */
+  public boolean isClosed() {
+    mLock.lock();
+    try {
+      return mTrx.isClosed();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    mLock.lock();
+    try {
+      mTrx.close();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("revision", mRevision).toString();
+  }
+}
@@ -0,0 +1,143 @@
+package org.sirix.access.trx.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import javax.annotation.Nonnegative;
+import org.sirix.exception.SirixIOException;
+
+/**
+ * <h1>RevisionTimestamps</h1>
+ *
+ * <p>
+ * In-memory index of the commit timestamps of all revisions of a resource, such that a revision
+ * can be looked up by a point in time without reading revision root pages. The timestamps are
+ * persisted in a file next to the revisions file, indexed by revision number.
+ * </p>
+ *
+ * <p>
+ * The timestamps are set by the single write transaction of a resource, whereas they can be read
+ * concurrently.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class RevisionTimestamps {
+
+  /** The file, which stores the timestamps. */
+  private final Path mFile;
+
+  /** The timestamps in milliseconds, indexed by revision number. */
+  private volatile long[] mTimestamps;
+
+  /** The number of revisions, for which a timestamp is stored. */
+  private volatile int mSize;
+
+  /**
+   * Constructor, reading the timestamps from the given file, if it exists.
+   *
+   * @param file the file, which stores the timestamps
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public RevisionTimestamps(final Path file) {
+    mFile = checkNotNull(file);
+    if (Files.exists(file)) {
+      try (final DataInputStream in =
+          new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+        final int size = (int) (Files.size(file) / Long.BYTES);
+        mTimestamps = new long[Math.max(size, 16)];
+        for (int revision = 0; revision < size; revision++) {
+          mTimestamps[revision] = in.readLong();
+        }
+        mSize = size;
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    } else {
+      mTimestamps = new long[16];
+      mSize = 0;
+    }
+  }
+
+  /**
+   * Get the file, which stores the timestamps.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return mFile;
+  }
+
+  /**
+   * Get the number of revisions, for which a timestamp is stored.
+   *
+   * @return the number of revisions
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Get the commit timestamp of a revision.
+   *
+   * @param revision the revision
+   * @return the timestamp in milliseconds
+   * @throws IllegalArgumentException if no timestamp is stored for the revision
+   */
+  public long get(final @Nonnegative int revision) {
+    final int size = mSize;
+    checkArgument(
+        revision >= 0 && revision < size, "No timestamp stored for revision %s!", revision);
+    return mTimestamps[revision];
+  }
+
+  /**
+   * Set the commit timestamp of a revision. The timestamps of all later revisions are removed, as a
+   * revision is only rewritten after the resource has been truncated.
+   *
+   * @param revision the revision
+   * @param timestamp the timestamp in milliseconds
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public void set(final @Nonnegative int revision, final long timestamp) {
+    setAll(revision, new long[] {timestamp});
+  }
+
+  /**
+   * Set the commit timestamps of consecutive revisions, which are written at once. The timestamps
+   * of all later revisions are removed.
+   *
+   * @param firstRevision the revision of the first timestamp
+   * @param timestamps the timestamps in milliseconds
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public synchronized void setAll(final @Nonnegative int firstRevision, final long[] timestamps) {
+    checkNotNull(timestamps);
+    checkArgument(firstRevision >= 0 && firstRevision <= mSize,
+        "No timestamp stored for revision %s!", firstRevision - 1);
+    final int size = firstRevision + timestamps.length;
+    final ByteBuffer buffer = ByteBuffer.allocate(timestamps.length * Long.BYTES);
+    buffer.asLongBuffer().put(timestamps);
+    try (final RandomAccessFile file = new RandomAccessFile(mFile.toFile(), "rw")) {
+      file.seek((long) firstRevision * Long.BYTES);
+      file.write(buffer.array());
+      file.setLength((long) size * Long.BYTES);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    if (size > mTimestamps.length) {
+      mTimestamps = Arrays.copyOf(mTimestamps, Math.max(size, mTimestamps.length << 1));
+    }
+    System.arraycopy(timestamps, 0, mTimestamps, firstRevision, timestamps.length);
+    // Publish the timestamps.
+    mSize = size;
+  }
+}
@@ -23,6 +23,7 @@ package org.sirix.access.trx.node;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -63,6 +64,7 @@ import org.sirix.node.interfaces.immutable.ImmutableNameNode;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.node.interfaces.immutable.ImmutableValueNode;
 import org.sirix.page.PageKind;
+import org.sirix.page.StructuralColumns;
 import org.sirix.service.xml.xpath.AtomicValue;
 import org.sirix.service.xml.xpath.ItemListImpl;
 import org.sirix.settings.Constants;
@@ -81,8 +83,8 @@ import com.google.common.base.Objects;
  */
 public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
 
-  /** ID of transaction. */
-  private final long mId;
+  /** ID of transaction, which changes whenever a pooled transaction is reused. */
+  private long mId;
 
   /** Resource manager this write transaction is bound to. */
   protected final XdmResourceManager mResourceManager;
@@ -97,7 +99,16 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   private boolean mClosed;
 
   /** Read-transaction-exclusive item list. */
-  private final ItemList<AtomicValue> mItemList;
+  private ItemList<AtomicValue> mItemList;
+
+  /** The pool, to which the transaction is returned when it's closed, or {@code null}. */
+  private final ReadTrxPool mPool;
+
+  /**
+   * Determines if the page transaction is owned by this transaction or shared with the other
+   * cursors of a {@link RevisionSnapshot}.
+   */
+  private final boolean mOwnsPageReadTrx;
 
   /**
    * Constructor.
@@ -109,6 +120,27 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
    */
   XdmNodeReadTrxImpl(final XdmResourceManager resourceManager, final @Nonnegative long trxId,
       final PageReadTrx pageReadTransaction, final Node documentNode) {
+    this(resourceManager, trxId, pageReadTransaction, documentNode, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the current {@link ResourceManager} the reader is bound to
+   * @param trxId ID of the reader
+   * @param pageReadTransaction {@link PageReadTrx} to interact with the page layer
+   * @param documentNode the document node
+   * @param pool the pool, to which the transaction is returned when it's closed, or {@code null}
+   */
+  XdmNodeReadTrxImpl(final XdmResourceManager resourceManager, final @Nonnegative long trxId,
+      final PageReadTrx pageReadTransaction, final Node documentNode,
+      final @Nullable ReadTrxPool pool) {
+    this(resourceManager, trxId, pageReadTransaction, documentNode, pool, true);
+  }
+
+  private XdmNodeReadTrxImpl(final XdmResourceManager resourceManager,
+      final @Nonnegative long trxId, final PageReadTrx pageReadTransaction,
+      final Node documentNode, final @Nullable ReadTrxPool pool, final boolean ownsPageReadTrx) {
     mResourceManager = checkNotNull(resourceManager);
     checkArgument(trxId >= 0);
     mId = trxId;
@@ -116,6 +148,22 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
     mCurrentNode = checkNotNull(documentNode);
     mClosed = false;
     mItemList = new ItemListImpl();
+    mPool = pool;
+    mOwnsPageReadTrx = ownsPageReadTrx;
+  }
+
+  /**
+   * Create a cursor, which shares the page transaction of this transaction. The page transaction
+   * must be thread-safe, if the cursor is used by another thread. Closing the cursor neither closes
+   * the page transaction nor releases a read permit.
+   *
+   * @param trxId ID of the cursor
+   * @return the cursor positioned at the document node
+   */
+  XdmNodeReadTrxImpl newCursor(final @Nonnegative long trxId) {
+    assertNotClosed();
+    return new XdmNodeReadTrxImpl(mResourceManager, trxId, mPageReadTrx,
+        XdmResourceManager.getDocumentNode(mPageReadTrx), null, false);
   }
 
   /**
@@ -372,20 +420,67 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   @Override
   public void close() {
     if (!mClosed) {
-      // Callback on session to make sure everything is cleaned up.
-      mResourceManager.closeReadTransaction(mId);
+      final long id = mId;
+      if (!mOwnsPageReadTrx) {
+        // The page transaction is closed with the snapshot.
+        mPageReadTrx = null;
+        mCurrentNode = null;
+        mClosed = true;
+      } else if (mPool != null) {
+        // Reset the cursor, such that the transaction can be reused.
+        moveToDocumentRoot();
+        mItemList = new ItemListImpl();
+        mClosed = true;
+
+        // Return the transaction to the pool before the callback on the session, such that the
+        // pool is cleared only after all transactions have been returned.
+        final boolean pooled = mPool.offer(this);
+        mResourceManager.closeReadTransaction(id);
+        if (!pooled) {
+          release();
+        }
+      } else {
+        // Callback on session to make sure everything is cleaned up.
+        mResourceManager.closeReadTransaction(id);
+        release();
 
-      // Close own state.
-      mPageReadTrx.close();
-      setPageReadTransaction(null);
+        // Close state.
+        mClosed = true;
+      }
+    }
+  }
 
-      // Immediately release all references.
-      mPageReadTrx = null;
-      mCurrentNode = null;
+  /**
+   * Release the state of the transaction, once it's closed and not pooled anymore.
+   */
+  void release() {
+    // Close own state.
+    mPageReadTrx.close();
+    setPageReadTransaction(null);
 
-      // Close state.
-      mClosed = true;
-    }
+    // Immediately release all references.
+    mPageReadTrx = null;
+    mCurrentNode = null;
+  }
+
+  /**
+   * Reuse a pooled transaction, which has been closed.
+   *
+   * @param trxId the new ID of the transaction
+   */
+  void reopen(final @Nonnegative long trxId) {
+    assert mClosed && mPool != null : "Only closed pooled transactions can be reused!";
+    mId = trxId;
+    mClosed = false;
+  }
+
+  /**
+   * Get the revision of a pooled transaction, which might be closed.
+   *
+   * @return the revision number
+   */
+  int getPooledRevisionNumber() {
+    return mPageReadTrx.getActualRevisionRootPage().getRevision();
   }
 
   @Override
@@ -544,15 +639,74 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   public Move<? extends XdmNodeReadTrx> moveToLastChild() {
     assertNotClosed();
     if (getStructuralNode().hasFirstChild()) {
-      moveToFirstChild();
+      return moveTo(lastChildKey());
+    }
+    return Move.notMoved();
+  }
 
-      while (getStructuralNode().hasRightSibling()) {
-        moveToRightSibling();
+  /**
+   * Get the key of the last child of the current node. The siblings in between are not
+   * deserialized, as long as their structural columns are available.
+   *
+   * @return the key of the last child
+   */
+  private long lastChildKey() {
+    final long nullKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    final long nodeKey = mCurrentNode.getNodeKey();
+    long childKey = getStructuralNode().getFirstChildKey();
+    boolean moved = false;
+    while (childKey != nullKey) {
+      final Optional<StructuralColumns> columns = getStructuralColumns(childKey);
+      final long rightSiblingKey;
+      if (columns.isPresent()) {
+        rightSiblingKey = columns.get().getRightSiblingKey(childKey);
+      } else {
+        moveTo(childKey);
+        moved = true;
+        rightSiblingKey = getStructuralNode().getRightSiblingKey();
+      }
+      if (rightSiblingKey == nullKey) {
+        break;
       }
+      childKey = rightSiblingKey;
+    }
+    if (moved) {
+      moveTo(nodeKey);
+    }
+    return childKey;
+  }
 
-      return Move.moved(this);
+  /**
+   * Get the kind of a node. The node is not deserialized, as long as the structural columns of its
+   * page are available.
+   *
+   * @param nodeKey the key of the node
+   * @return the kind of the node
+   */
+  private Kind getKind(final long nodeKey) {
+    final Optional<StructuralColumns> columns = getStructuralColumns(nodeKey);
+    if (columns.isPresent()) {
+      return columns.get().getKind(nodeKey);
     }
-    return Move.notMoved();
+    final long currentNodeKey = mCurrentNode.getNodeKey();
+    moveTo(nodeKey);
+    final Kind kind = mCurrentNode.getKind();
+    moveTo(currentNodeKey);
+    return kind;
+  }
+
+  /**
+   * Get the structural columns of the record page, which stores a node.
+   *
+   * @param nodeKey the key of the node
+   * @return the columns, if the resource stores them and they contain the node
+   */
+  private Optional<StructuralColumns> getStructuralColumns(final long nodeKey) {
+    if (nodeKey < 0 || !mResourceManager.getResourceConfig().areStructuralColumnsStored) {
+      return Optional.empty();
+    }
+    return mPageReadTrx.getStructuralColumns(nodeKey, PageKind.RECORDPAGE, -1)
+                       .filter(columns -> columns.contains(nodeKey));
   }
 
   @Override
@@ -679,8 +833,11 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
 
   @Override
   public long getLastChildKey() {
-    throw new UnsupportedOperationException();
-    // return getStructuralNode(;
+    assertNotClosed();
+    if (!getStructuralNode().hasFirstChild()) {
+      return Fixed.NULL_NODE_KEY.getStandardProperty();
+    }
+    return lastChildKey();
   }
 
   @Override
@@ -765,6 +922,15 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
     return null;
   }
 
+  @Override
+  public InputStream getValueStream() {
+    assertNotClosed();
+    if (mCurrentNode instanceof ValueNode) {
+      return ((ValueNode) mCurrentNode).getValueStream();
+    }
+    return null;
+  }
+
   @Override
   public long getChildCount() {
     assertNotClosed();
@@ -792,11 +958,7 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   public Kind getRightSiblingKind() {
     assertNotClosed();
     if (mCurrentNode instanceof StructNode && hasRightSibling()) {
-      final long nodeKey = mCurrentNode.getNodeKey();
-      moveToRightSibling();
-      final Kind rightSiblKind = mCurrentNode.getKind();
-      moveTo(nodeKey);
-      return rightSiblKind;
+      return getKind(getStructuralNode().getRightSiblingKey());
     }
     return Kind.UNKNOWN;
   }
@@ -805,11 +967,7 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   public Kind getLeftSiblingKind() {
     assertNotClosed();
     if (mCurrentNode instanceof StructNode && hasLeftSibling()) {
-      final long nodeKey = mCurrentNode.getNodeKey();
-      moveToLeftSibling();
-      final Kind leftSiblKind = mCurrentNode.getKind();
-      moveTo(nodeKey);
-      return leftSiblKind;
+      return getKind(getStructuralNode().getLeftSiblingKey());
     }
     return Kind.UNKNOWN;
   }
@@ -818,11 +976,7 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   public Kind getFirstChildKind() {
     assertNotClosed();
     if (mCurrentNode instanceof StructNode && hasFirstChild()) {
-      final long nodeKey = mCurrentNode.getNodeKey();
-      moveToFirstChild();
-      final Kind firstChildKind = mCurrentNode.getKind();
-      moveTo(nodeKey);
-      return firstChildKind;
+      return getKind(getStructuralNode().getFirstChildKey());
     }
     return Kind.UNKNOWN;
   }
@@ -830,12 +984,8 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
   @Override
   public Kind getLastChildKind() {
     assertNotClosed();
-    if (mCurrentNode instanceof StructNode && hasLastChild()) {
-      final long nodeKey = mCurrentNode.getNodeKey();
-      moveToLastChild();
-      final Kind lastChildKind = mCurrentNode.getKind();
-      moveTo(nodeKey);
-      return lastChildKind;
+    if (mCurrentNode instanceof StructNode && hasFirstChild()) {
+      return getKind(lastChildKey());
     }
     return Kind.UNKNOWN;
   }
@@ -846,11 +996,7 @@ public final class XdmNodeReadTrxImpl implements XdmNodeReadTrx {
     if (mCurrentNode.getParentKey() == Fixed.NULL_NODE_KEY.getStandardProperty()) {
       return Kind.UNKNOWN;
     }
-    final long nodeKey = mCurrentNode.getNodeKey();
-    moveToParent();
-    final Kind parentKind = mCurrentNode.getKind();
-    moveTo(nodeKey);
-    return parentKind;
+    return getKind(mCurrentNode.getParentKey());
   }
 
   @Override
@@ -24,9 +24,17 @@ package org.sirix.access.trx.node;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
@@ -40,6 +48,10 @@ import org.sirix.access.trx.node.IndexController.ChangeType;
 import org.sirix.access.trx.node.XdmResourceManager.Abort;
 import org.sirix.api.Axis;
 import org.sirix.api.PageWriteTrx;
+import org.sirix.api.CommitListener;
+import org.sirix.api.CommitPhase;
+import org.sirix.api.CommitStatistics;
+import org.sirix.api.EditOp;
 import org.sirix.api.PostCommitHook;
 import org.sirix.api.PreCommitHook;
 import org.sirix.api.XdmNodeReadTrx;
@@ -75,17 +87,16 @@ import org.sirix.page.NamePage;
 import org.sirix.page.PageKind;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
-import org.sirix.service.xml.serialize.StAXSerializer;
 import org.sirix.service.xml.shredder.Insert;
 import org.sirix.service.xml.shredder.XMLShredder;
 import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
+import org.sirix.utils.Compression;
 import org.sirix.utils.XMLToken;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 
 /**
  * <h1>NodeWriteTrxImpl</h1>
@@ -111,10 +122,16 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     implements XdmNodeWriteTrx {
 
   /** Hash-function. */
-  private final HashFunction mHash = Hashing.sha256();
+  private final HashFunction mHash;
 
   /** Prime for computing the hash. */
-  private static final int PRIME = 77081;
+  static final int PRIME = 77081;
+
+  /** Minimum number of sampled text values to build a compression dictionary from. */
+  private static final int MIN_TEXT_SAMPLES = 100;
+
+  /** Maximum number of node keys collected before the nodes of a removed subtree are deleted. */
+  private static final int REMOVE_BATCH_SIZE = 1 << 16;
 
   /** Maximum number of node modifications before auto commit. */
   private final int mMaxNodeCount;
@@ -122,6 +139,15 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   /** Modification counter. */
   private long mModificationCount;
 
+  /** Maximum estimated size of the transaction intent log in bytes before auto commit. */
+  private final long mMaxLogSize;
+
+  /** Determines how automatic commits due to the size of the transaction intent log are issued. */
+  private final AutoCommitMode mAutoCommitMode;
+
+  /** Determines if an asynchronous auto commit is issued once the current operation is done. */
+  private boolean mAutoCommitRequired;
+
   /** Hash kind of Structure. */
   private final HashType mHashKind;
 
@@ -135,12 +161,18 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   /** Determines if a bulk insert operation is done. */
   private boolean mBulkInsert;
 
+  /** Streaming computation of hashes during a bulk insert, or {@code null}. */
+  private BulkLoader mBulkLoader;
+
   /** Collection holding pre-commit hooks. */
   private final List<PreCommitHook> mPreCommitHooks = new ArrayList<>();
 
   /** Collection holding post-commit hooks. */
   private final List<PostCommitHook> mPostCommitHooks = new ArrayList<>();
 
+  /** Commit listeners. */
+  private final List<CommitListener> mCommitListeners = new ArrayList<>();
+
   /** {@link PathSummaryWriter} instance. */
   private PathSummaryWriter mPathSummaryWriter;
 
@@ -155,12 +187,42 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   /** An optional lock for all methods, if an automatic commit is issued. */
   private final Optional<Semaphore> mLock;
 
+  /** The thread applying a batch of edit operations or {@code null}, if no batch is applied. */
+  private volatile Thread mBatchThread;
+
+  /**
+   * An asynchronous commit including its post-commit hooks and commit listeners or {@code null}, if
+   * none is pending.
+   */
+  private volatile CompletableFuture<?> mPendingCommit;
+
+  /**
+   * The thread writing the revision of an asynchronous commit and executing its post-commit hooks
+   * or {@code null}, if none.
+   */
+  private volatile Thread mCommitThread;
+
+  /**
+   * The failure of an asynchronous commit, after which the transaction must be rolled back, or
+   * {@code null}.
+   */
+  private volatile Throwable mCommitFailure;
+
   /** Determines if dewey IDs should be stored or not. */
   private final boolean mDeweyIDsStored;
 
   /** Determines if text values should be compressed or not. */
   private final boolean mCompression;
 
+  /** Determines if the maintenance of rolling hashes and descendant counts is deferred. */
+  private final boolean mDeferHashes;
+
+  /**
+   * Keys of the nodes, whose hashes and descendant counts have to be recomputed. Ancestors of
+   * dirty nodes are dirty as well.
+   */
+  private final Set<Long> mDirtyNodeKeys;
+
   /**
    * The {@link IndexController} used within the session this {@link XdmNodeWriteTrx} is bound to.
    */
@@ -175,6 +237,10 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
    * @param maxNodeCount maximum number of node modifications before auto commit
    * @param timeUnit unit of the number of the next param {@code pMaxTime}
    * @param maxTime maximum number of seconds before auto commit
+   * @param maxLogSize maximum estimated size of the transaction intent log in bytes before auto
+   *        commit
+   * @param autoCommitMode determines how automatic commits due to the size of the transaction
+   *        intent log are issued
    * @param trx the transaction to use
    * @throws SirixIOException if the reading of the props is failing
    * @throws SirixUsageException if {@code pMaxNodeCount < 0} or {@code pMaxTime < 0}
@@ -183,12 +249,13 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
       final XdmResourceManager resourceManager,
       final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
       final @Nonnegative int maxNodeCount, final TimeUnit timeUnit, final @Nonnegative int maxTime,
+      final @Nonnegative long maxLogSize, final AutoCommitMode autoCommitMode,
       final @Nonnull Node documentNode) throws SirixIOException, SirixUsageException {
 
     // Do not accept negative values.
     Preconditions.checkArgument(
-        maxNodeCount >= 0 && maxTime >= 0,
-        "Negative arguments for maxNodeCount and maxTime are not accepted.");
+        maxNodeCount >= 0 && maxTime >= 0 && maxLogSize >= 0,
+        "Negative arguments for maxNodeCount, maxTime and maxLogSize are not accepted.");
 
     mNodeReadTrx =
         new XdmNodeReadTrxImpl(resourceManager, transactionID, pageWriteTrx, documentNode);
@@ -199,8 +266,13 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     mMaxNodeCount = maxNodeCount;
     mModificationCount = 0L;
 
+    // Only auto commit by the size of the log if it is more then 0.
+    mMaxLogSize = maxLogSize;
+    mAutoCommitMode = Preconditions.checkNotNull(autoCommitMode);
+
     // Node factory.
-    mNodeFactory = new NodeFactoryImpl(pageWriteTrx);
+    mNodeFactory = new NodeFactoryImpl(pageWriteTrx,
+        resourceManager.getTextDictionary().orElse(null));
 
     // Path summary.
     if (mBuildPathSummary) {
@@ -213,6 +285,7 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     }
 
     mHashKind = resourceManager.getResourceConfig().hashType;
+    mHash = resourceManager.getResourceConfig().nodeHashFunction.getHashFunction();
 
     // Synchronize commit and other public methods if needed.
     mLock = maxTime > 0
@@ -221,6 +294,9 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
     mDeweyIDsStored = mNodeReadTrx.mResourceManager.getResourceConfig().areDeweyIDsStored;
     mCompression = mNodeReadTrx.mResourceManager.getResourceConfig().useTextCompression;
+    mDeferHashes = mHashKind == HashType.ROLLING
+        && mNodeReadTrx.mResourceManager.getResourceConfig().areHashesDeferred;
+    mDirtyNodeKeys = new HashSet<>();
 
     // // Redo last transaction if the system crashed.
     // if (!pPageWriteTrx.isCreated()) {
@@ -232,18 +308,60 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     // }
   }
 
-  /** Acquire a lock if necessary. */
+  /**
+   * Acquire a lock if necessary, once a pending asynchronous commit has been completed. The thread
+   * applying a batch already holds the lock.
+   *
+   * @throws IllegalStateException if an asynchronous commit has failed
+   */
   private void acquireLock() {
-    if (mLock.isPresent()) {
+    awaitPendingCommit();
+    if (mCommitFailure != null) {
+      throw new IllegalStateException(
+          "An asynchronous commit failed, the transaction must be rolled back!", mCommitFailure);
+    }
+    lock();
+  }
+
+  private void lock() {
+    if (mLock.isPresent() && mBatchThread != Thread.currentThread()) {
       mLock.get().acquireUninterruptibly();
     }
   }
 
-  /** Release a lock if necessary. */
+  /**
+   * Release a lock if necessary and issue a pending asynchronous auto commit, once no batch is
+   * applied anymore.
+   */
   private void unLock() {
-    if (mLock.isPresent()) {
+    if (mLock.isPresent() && mBatchThread != Thread.currentThread()) {
       mLock.get().release();
     }
+    if (mAutoCommitRequired && mBatchThread == null && !mBulkInsert) {
+      mAutoCommitRequired = false;
+      // The commit is pending until the next call, which reports a failure.
+      commitAsync();
+    }
+  }
+
+  /**
+   * Wait until a pending asynchronous commit, including its post-commit hooks and commit listeners,
+   * has been completed. The thread executing the commit doesn't wait for itself. A failure is
+   * reported by the future returned from {@link #commitAsync(String)} and is kept, such that all
+   * further modifications and commits fail until the transaction is rolled back.
+   */
+  private void awaitPendingCommit() {
+    final CompletableFuture<?> pendingCommit = mPendingCommit;
+    if (pendingCommit != null && mCommitThread != Thread.currentThread()) {
+      try {
+        pendingCommit.join();
+      } catch (final CompletionException | CancellationException e) {
+        mCommitFailure = e.getCause() == null
+            ? e
+            : e.getCause();
+      }
+      mPendingCommit = null;
+    }
   }
 
   @Override
@@ -784,25 +902,57 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     try {
       if (getCurrentNode() instanceof StructNode) {
         checkAccessAndCommit();
-        mBulkInsert = true;
-        long nodeKey = getCurrentNode().getNodeKey();
-        final XMLShredder shredder = new XMLShredder.Builder(this, reader, insert).build();
-        shredder.call();
-        moveTo(nodeKey);
-        switch (insert) {
-          case ASFIRSTCHILD:
-            moveToFirstChild();
-            break;
-          case ASRIGHTSIBLING:
-            moveToRightSibling();
-            break;
-          case ASLEFTSIBLING:
-            moveToLeftSibling();
-            break;
-          default:
-            // May not happen.
-        }
-        nodeKey = getCurrentNode().getNodeKey();
+        bulkInsert(insert, () -> new XMLShredder.Builder(this, reader, insert).build().call());
+        commit();
+      }
+    } finally {
+      unLock();
+    }
+    return this;
+  }
+
+  /**
+   * Insert a subtree, whose nodes are inserted in document order. Hashes and descendant counts
+   * aren't adapted for each node, but computed for the whole subtree. The transaction is located at
+   * the root of the subtree afterwards.
+   *
+   * @param insert the position of the subtree relative to the current node
+   * @param inserter inserts the nodes of the subtree in document order
+   */
+  private void bulkInsert(final Insert insert, final Runnable inserter) {
+    mBulkInsert = true;
+    try {
+      long nodeKey = getCurrentNode().getNodeKey();
+      if (mHashKind != HashType.POSTORDER) {
+        // Hashes and descendant counts are computed while the nodes are inserted.
+        final long parentKey = insert == Insert.ASFIRSTCHILD
+            ? nodeKey
+            : getCurrentNode().getParentKey();
+        mBulkLoader = new BulkLoader(this, mHashKind == HashType.ROLLING
+            ? mHash
+            : null, parentKey);
+      }
+      inserter.run();
+      if (mBulkLoader != null) {
+        mBulkLoader.finish();
+        mBulkLoader = null;
+      }
+      moveTo(nodeKey);
+      switch (insert) {
+        case ASFIRSTCHILD:
+          moveToFirstChild();
+          break;
+        case ASRIGHTSIBLING:
+          moveToRightSibling();
+          break;
+        case ASLEFTSIBLING:
+          moveToLeftSibling();
+          break;
+        default:
+          // May not happen.
+      }
+      nodeKey = getCurrentNode().getNodeKey();
+      if (mHashKind == HashType.POSTORDER) {
         postOrderTraversalHashes();
         final ImmutableNode startNode = getCurrentNode();
         moveToParent();
@@ -811,13 +961,11 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
           addParentHash(startNode);
         }
         moveTo(nodeKey);
-        commit();
-        mBulkInsert = false;
       }
     } finally {
-      unLock();
+      mBulkLoader = null;
+      mBulkInsert = false;
     }
-    return this;
   }
 
   @Override
@@ -1448,7 +1596,10 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
       } else if (getCurrentNode() instanceof StructNode) {
         final StructNode node = (StructNode) mNodeReadTrx.getCurrentNode();
 
-        // Remove subtree.
+        // Remove subtree. The nodes are deleted in batches, such that each record page is prepared
+        // once per batch instead of once per node.
+        final List<Long> nodeKeys =
+            new ArrayList<>((int) Math.min(node.getDescendantCount() + 1, REMOVE_BATCH_SIZE));
         for (final Axis axis = new PostOrderAxis(this); axis.hasNext();) {
           axis.next();
 
@@ -1456,14 +1607,19 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
           removeName();
 
           // Remove namespaces and attributes.
-          removeNonStructural();
+          removeNonStructural(nodeKeys);
 
           // Remove text value.
           removeValue();
 
           // Then remove node.
-          getPageTransaction().removeEntry(getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
+          nodeKeys.add(getCurrentNode().getNodeKey());
+          if (nodeKeys.size() >= REMOVE_BATCH_SIZE) {
+            getPageTransaction().removeEntries(nodeKeys, PageKind.RECORDPAGE, -1);
+            nodeKeys.clear();
+          }
         }
+        getPageTransaction().removeEntries(nodeKeys, PageKind.RECORDPAGE, -1);
 
         // Adapt hashes and neighbour nodes as well as the name from the
         // NamePage mapping if it's not a text node.
@@ -1516,7 +1672,7 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   }
 
   private void removeValue() throws SirixIOException {
-    if (getCurrentNode() instanceof ValueNode) {
+    if (getCurrentNode() instanceof ValueNode && mIndexController.hasChangeListeners()) {
       final long nodeKey = getNodeKey();
       final long pathNodeKey = moveToParent().hasMoved()
           ? getPathNodeKey()
@@ -1527,24 +1683,26 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   }
 
   /**
-   * Remove non structural nodes of an {@link ElementNode}, that is namespaces and attributes.
+   * Remove non structural nodes of an {@link ElementNode}, that is namespaces and attributes. The
+   * nodes themselves are deleted by the caller.
    *
+   * @param nodeKeys collects the keys of the nodes to delete
    * @throws SirixException if anything goes wrong
    */
-  private void removeNonStructural() {
+  private void removeNonStructural(final List<Long> nodeKeys) {
     if (mNodeReadTrx.getKind() == Kind.ELEMENT) {
       for (int i = 0, attCount = mNodeReadTrx.getAttributeCount(); i < attCount; i++) {
         moveToAttribute(i);
         removeName();
         removeValue();
-        getPageTransaction().removeEntry(getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
+        nodeKeys.add(getCurrentNode().getNodeKey());
         moveToParent();
       }
       final int nspCount = mNodeReadTrx.getNamespaceCount();
       for (int i = 0; i < nspCount; i++) {
         moveToNamespace(i);
         removeName();
-        getPageTransaction().removeEntry(getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
+        nodeKeys.add(getCurrentNode().getNodeKey());
         moveToParent();
       }
     }
@@ -1664,7 +1822,7 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
         final ValueNode node = (ValueNode) getPageTransaction().prepareEntryForModification(
             mNodeReadTrx.getCurrentNode().getNodeKey(), PageKind.RECORDPAGE, -1);
-        node.setValue(byteVal);
+        mNodeFactory.setValue(node, byteVal, mCompression);
 
         mNodeReadTrx.setCurrentNode(node);
         adaptHashedWithUpdate(oldHash);
@@ -1682,6 +1840,106 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     }
   }
 
+  @Override
+  public XdmNodeWriteTrx apply(final List<EditOp> ops) {
+    checkNotNull(ops);
+    acquireLock();
+    mBatchThread = Thread.currentThread();
+    final long startNodeKey = getCurrentNode().getNodeKey();
+    try {
+      // Operations are applied in the order of the node keys, which is the order of the record
+      // pages, such that consecutive operations mostly modify the same pages. The sort is stable,
+      // that is operations on the same node keep their order.
+      final List<EditOp> updates = new ArrayList<>(ops.size());
+      final List<EditOp> removals = new ArrayList<>();
+      for (final EditOp op : ops) {
+        if (checkNotNull(op).getType() == EditOp.Type.REMOVE) {
+          removals.add(op);
+        } else {
+          updates.add(op);
+        }
+      }
+      updates.sort(Comparator.comparingLong(EditOp::getNodeKey));
+
+      // Descendants are usually removed before their ancestors, such that removed subtrees are
+      // mostly small.
+      removals.sort(Comparator.comparingLong(EditOp::getNodeKey).reversed());
+
+      for (final EditOp op : updates) {
+        if (!moveTo(op.getNodeKey()).hasMoved()) {
+          throw new SirixUsageException("Node " + op.getNodeKey() + " doesn't exist: " + op);
+        }
+        applyOp(op);
+      }
+
+      for (final EditOp op : removals) {
+        // The node might have been removed with one of its ancestors.
+        if (moveTo(op.getNodeKey()).hasMoved()) {
+          remove();
+        }
+      }
+
+      return this;
+    } finally {
+      // The batch isn't atomic, the hashes of the operations applied so far are adapted, even if an
+      // operation has failed.
+      try {
+        if (!mDeferHashes) {
+          computeDeferredHashes();
+        }
+      } finally {
+        mBatchThread = null;
+        unLock();
+      }
+
+      if (!moveTo(startNodeKey).hasMoved()) {
+        moveToDocumentRoot();
+      }
+    }
+  }
+
+  /**
+   * Apply an edit operation, which isn't a removal, to the current node.
+   *
+   * @param op the edit operation
+   */
+  private void applyOp(final EditOp op) {
+    switch (op.getType()) {
+      case INSERT_ELEMENT_AS_FIRST_CHILD:
+        insertElementAsFirstChild(op.getName());
+        break;
+      case INSERT_ELEMENT_AS_LEFT_SIBLING:
+        insertElementAsLeftSibling(op.getName());
+        break;
+      case INSERT_ELEMENT_AS_RIGHT_SIBLING:
+        insertElementAsRightSibling(op.getName());
+        break;
+      case INSERT_TEXT_AS_FIRST_CHILD:
+        insertTextAsFirstChild(op.getValue());
+        break;
+      case INSERT_TEXT_AS_LEFT_SIBLING:
+        insertTextAsLeftSibling(op.getValue());
+        break;
+      case INSERT_TEXT_AS_RIGHT_SIBLING:
+        insertTextAsRightSibling(op.getValue());
+        break;
+      case INSERT_ATTRIBUTE:
+        insertAttribute(op.getName(), op.getValue());
+        break;
+      case INSERT_NAMESPACE:
+        insertNamespace(op.getName());
+        break;
+      case SET_NAME:
+        setName(op.getName());
+        break;
+      case SET_VALUE:
+        setValue(op.getValue());
+        break;
+      default:
+        throw new AssertionError();
+    }
+  }
+
   @Override
   public XdmNodeWriteTrx revertTo(final @Nonnegative int revision) {
     acquireLock();
@@ -1704,13 +1962,15 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
       // Reset node factory.
       mNodeFactory = null;
-      mNodeFactory = new NodeFactoryImpl(trx);
+      mNodeFactory = new NodeFactoryImpl(trx,
+          mNodeReadTrx.mResourceManager.getTextDictionary().orElse(null));
 
       // New index instances.
       reInstantiateIndexes();
 
       // Reset modification counter.
       mModificationCount = 0L;
+      mDirtyNodeKeys.clear();
 
       // Move to document root.
       moveToDocumentRoot();
@@ -1723,7 +1983,9 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
   @Override
   public void close() {
-    acquireLock();
+    // A transaction, whose asynchronous commit has failed, can still be closed.
+    awaitPendingCommit();
+    lock();
     try {
       if (!isClosed()) {
         // Make sure to commit all dirty data.
@@ -1754,12 +2016,17 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
   @Override
   public XdmNodeWriteTrx rollback() {
-    acquireLock();
+    // Rolling back recovers from a failed asynchronous commit.
+    awaitPendingCommit();
+    lock();
     try {
       mNodeReadTrx.assertNotClosed();
 
       // Reset modification counter.
       mModificationCount = 0L;
+      mAutoCommitRequired = false;
+      mCommitFailure = null;
+      mDirtyNodeKeys.clear();
 
       // Close current page transaction.
       final long trxID = getId();
@@ -1786,7 +2053,8 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
       mNodeReadTrx.mResourceManager.setNodePageWriteTransaction(getId(), trx);
 
       mNodeFactory = null;
-      mNodeFactory = new NodeFactoryImpl(trx);
+      mNodeFactory = new NodeFactoryImpl(trx,
+          mNodeReadTrx.mResourceManager.getTextDictionary().orElse(null));
 
       reInstantiateIndexes();
 
@@ -1811,6 +2079,23 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     return commit(null);
   }
 
+  /**
+   * Build and store the dictionary, which is used to compress text values, if none exists yet and
+   * enough values have been sampled.
+   */
+  private void buildTextDictionaryIfRequired() {
+    if (mNodeReadTrx.mResourceManager.getTextDictionary().isPresent()) {
+      return;
+    }
+    final List<byte[]> samples = mNodeFactory.getTextSamples();
+    if (samples.size() >= MIN_TEXT_SAMPLES) {
+      final byte[] dictionary = Compression.buildDictionary(samples);
+      if (dictionary.length > 0) {
+        mNodeReadTrx.mResourceManager.storeTextDictionary(dictionary);
+      }
+    }
+  }
+
   /**
    * Create new instances.
    *
@@ -1828,7 +2113,8 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     mNodeReadTrx.mResourceManager.setNodePageWriteTransaction(getId(), trx);
 
     mNodeFactory = null;
-    mNodeFactory = new NodeFactoryImpl(trx);
+    mNodeFactory = new NodeFactoryImpl(trx,
+        mNodeReadTrx.mResourceManager.getTextDictionary().orElse(null));
 
     reInstantiateIndexes();
   }
@@ -2085,7 +2371,9 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     // Remove non structural nodes of old node.
     if (oldNode.getKind() == Kind.ELEMENT) {
       moveTo(oldNode.getNodeKey());
-      removeNonStructural();
+      final List<Long> nodeKeys = new ArrayList<>();
+      removeNonStructural(nodeKeys);
+      getPageTransaction().removeEntries(nodeKeys, page, -1);
     }
 
     // Remove old node.
@@ -2106,6 +2394,16 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     mNodeReadTrx.assertNotClosed();
     if ((mMaxNodeCount > 0) && (mModificationCount > mMaxNodeCount)) {
       commit();
+    } else if ((mMaxLogSize > 0)
+        && (getPageTransaction().getLog().getEstimatedSize() > mMaxLogSize)) {
+      // The operation, which is in progress, modifies the current revision, thus an asynchronous
+      // commit is deferred until it is done. A bulk insert is a single operation, thus it commits
+      // synchronously.
+      if (mAutoCommitMode == AutoCommitMode.ASYNCHRONOUS && !mBulkInsert) {
+        mAutoCommitRequired = true;
+      } else {
+        commit();
+      }
     }
   }
 
@@ -2128,10 +2426,17 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
    * @throws SirixIOException if an I/O error occurs
    */
   private void adaptHashesWithAdd() throws SirixIOException {
+    if (mBulkLoader != null) {
+      mBulkLoader.add(getCurrentNode());
+    }
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
-          rollingAdd();
+          if (areHashesDeferred()) {
+            markDirty(getCurrentNode().getNodeKey());
+          } else {
+            rollingAdd();
+          }
           break;
         case POSTORDER:
           postorderAdd();
@@ -2151,7 +2456,11 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
-          rollingRemove();
+          if (areHashesDeferred()) {
+            markDirty(getCurrentNode().getParentKey());
+          } else {
+            rollingRemove();
+          }
           break;
         case POSTORDER:
           postorderRemove();
@@ -2172,7 +2481,11 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     if (!mBulkInsert) {
       switch (mHashKind) {
         case ROLLING:
-          rollingUpdate(pOldHash);
+          if (areHashesDeferred()) {
+            markDirty(getCurrentNode().getNodeKey());
+          } else {
+            rollingUpdate(pOldHash);
+          }
           break;
         case POSTORDER:
           postorderAdd();
@@ -2183,6 +2496,140 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     }
   }
 
+  /**
+   * Determines if the maintenance of rolling hashes and descendant counts is deferred, which is
+   * always the case while a batch of edit operations is applied.
+   *
+   * @return {@code true}, if the maintenance is deferred, {@code false} otherwise
+   */
+  private boolean areHashesDeferred() {
+    return mDeferHashes || mBatchThread != null;
+  }
+
+  /**
+   * Mark a node and its ancestors as dirty, such that their hashes and descendant counts are
+   * recomputed. As ancestors of dirty nodes are dirty as well, the walk stops at the first ancestor,
+   * which is already dirty.
+   *
+   * @param nodeKey the key of the node
+   */
+  private void markDirty(final long nodeKey) {
+    final ImmutableNode startNode = getCurrentNode();
+    mDirtyNodeKeys.add(nodeKey);
+    long key = nodeKey;
+    while (moveTo(key).hasMoved()) {
+      key = getCurrentNode().getParentKey();
+      if (key == Fixed.NULL_NODE_KEY.getStandardProperty() || !mDirtyNodeKeys.add(key)) {
+        break;
+      }
+    }
+    mNodeReadTrx.setCurrentNode(startNode);
+  }
+
+  /**
+   * Recompute the hashes and descendant counts of the dirty nodes bottom up, such that each node is
+   * prepared for modification only once, regardless of the number of modifications below it.
+   */
+  private void computeDeferredHashes() {
+    if (mDirtyNodeKeys.isEmpty()) {
+      return;
+    }
+
+    final long startNodeKey = getCurrentNode().getNodeKey();
+    final long documentNodeKey = Fixed.DOCUMENT_NODE_KEY.getStandardProperty();
+    final Deque<Long> nodeKeys = new ArrayDeque<>();
+
+    if (mDirtyNodeKeys.contains(documentNodeKey)) {
+      nodeKeys.push(documentNodeKey);
+    }
+
+    // Postorder traversal of the dirty nodes, which are reachable from the document root (dirty
+    // nodes of removed subtrees are skipped).
+    while (!nodeKeys.isEmpty()) {
+      final long nodeKey = nodeKeys.peek();
+      moveTo(nodeKey);
+      if (mDirtyNodeKeys.remove(nodeKey)) {
+        // First visit: compute the dirty children first.
+        if (getKind() == Kind.ELEMENT) {
+          final ElementNode element = (ElementNode) getCurrentNode();
+          for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+            pushIfDirty(nodeKeys, element.getNamespaceKey(i));
+          }
+          for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+            pushIfDirty(nodeKeys, element.getAttributeKey(i));
+          }
+        }
+        if (getCurrentNode() instanceof StructNode && moveToFirstChild().hasMoved()) {
+          do {
+            pushIfDirty(nodeKeys, getNodeKey());
+          } while (moveToRightSibling().hasMoved());
+        }
+      } else {
+        nodeKeys.pop();
+        computeHashAndDescendantCount();
+      }
+    }
+
+    mDirtyNodeKeys.clear();
+    moveTo(startNodeKey);
+  }
+
+  private void pushIfDirty(final Deque<Long> nodeKeys, final long nodeKey) {
+    if (mDirtyNodeKeys.contains(nodeKey)) {
+      nodeKeys.push(nodeKey);
+    }
+  }
+
+  /**
+   * Compute the hash and the descendant count of the current node from its children, whose hashes
+   * and descendant counts are up-to-date.
+   */
+  private void computeHashAndDescendantCount() {
+    final long nodeKey = getCurrentNode().getNodeKey();
+    long childHashes = 0;
+    long descendantCount = 0;
+
+    if (getKind() == Kind.ELEMENT) {
+      final ElementNode element = (ElementNode) getCurrentNode();
+      for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
+        moveTo(element.getNamespaceKey(i));
+        childHashes += getCurrentNode().getHash() * PRIME;
+      }
+      for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
+        moveTo(element.getAttributeKey(i));
+        childHashes += getCurrentNode().getHash() * PRIME;
+      }
+      moveTo(nodeKey);
+    }
+
+    if (getCurrentNode() instanceof StructNode && moveToFirstChild().hasMoved()) {
+      do {
+        childHashes += getCurrentNode().getHash() * PRIME;
+        descendantCount += mNodeReadTrx.getStructuralNode().getDescendantCount() + 1;
+      } while (moveToRightSibling().hasMoved());
+      moveTo(nodeKey);
+    }
+
+    final Node node = (Node) getPageTransaction().prepareEntryForModification(
+        nodeKey, PageKind.RECORDPAGE, -1);
+    // Leaf nodes don't support setting the descendant count, which is always 0.
+    if (node instanceof StructNode
+        && ((StructNode) node).getDescendantCount() != descendantCount) {
+      ((StructNode) node).setDescendantCount(descendantCount);
+    }
+
+    // The hash of the node itself is computed as for inserted nodes, which don't have a hash yet.
+    final long hash;
+    if (node.getKind() == Kind.DOCUMENT) {
+      hash = 0;
+    } else {
+      node.setHash(0);
+      hash = mHash.hashLong(node.hashCode()).asLong();
+    }
+    node.setHash(hash + childHashes);
+    mNodeReadTrx.setCurrentNode(node);
+  }
+
   /**
    * Removal operation for postorder hash computation.
    *
@@ -2512,11 +2959,101 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
         break;
       // $CASES-OMITTED$
       default:
-        new XMLShredder.Builder(this, new StAXSerializer(rtx), insert).build().call();
+        bulkInsert(insert, () -> copySubtree(rtx, insert));
     }
     rtx.close();
   }
 
+  /**
+   * Copy the subtree rooted at the current node of the source transaction in document order,
+   * reading the nodes directly instead of serializing and parsing them.
+   *
+   * @param rtx the source {@link XdmNodeReadTrx}
+   * @param insert the insertion position of the root of the subtree
+   */
+  private void copySubtree(final XdmNodeReadTrx rtx, final Insert insert) {
+    final long rootKey = rtx.getNodeKey();
+    copyNode(rtx, insert);
+    while (true) {
+      if (rtx.hasFirstChild()) {
+        rtx.moveToFirstChild();
+        copyNode(rtx, Insert.ASFIRSTCHILD);
+      } else {
+        while (rtx.getNodeKey() != rootKey && !rtx.hasRightSibling()) {
+          rtx.moveToParent();
+          moveToParent();
+        }
+        if (rtx.getNodeKey() == rootKey) {
+          return;
+        }
+        rtx.moveToRightSibling();
+        copyNode(rtx, Insert.ASRIGHTSIBLING);
+      }
+    }
+  }
+
+  /**
+   * Copy the current node of the source transaction including its namespaces and attributes. The
+   * transaction is located at the copy afterwards.
+   *
+   * @param rtx the source {@link XdmNodeReadTrx}
+   * @param insert the insertion position relative to the current node
+   */
+  private void copyNode(final XdmNodeReadTrx rtx, final Insert insert) {
+    switch (rtx.getKind()) {
+      case ELEMENT:
+        final QNm name = rtx.getName();
+        switch (insert) {
+          case ASFIRSTCHILD:
+            insertElementAsFirstChild(name);
+            break;
+          case ASLEFTSIBLING:
+            insertElementAsLeftSibling(name);
+            break;
+          case ASRIGHTSIBLING:
+            insertElementAsRightSibling(name);
+            break;
+          default:
+            throw new IllegalStateException();
+        }
+        for (int i = 0, nspCount = rtx.getNamespaceCount(); i < nspCount; i++) {
+          rtx.moveToNamespace(i);
+          insertNamespace(rtx.getName(), Movement.TOPARENT);
+          rtx.moveToParent();
+        }
+        for (int i = 0, attCount = rtx.getAttributeCount(); i < attCount; i++) {
+          rtx.moveToAttribute(i);
+          insertAttribute(rtx.getName(), rtx.getValue(), Movement.TOPARENT);
+          rtx.moveToParent();
+        }
+        break;
+      case TEXT:
+        if (insert == Insert.ASFIRSTCHILD) {
+          insertTextAsFirstChild(rtx.getValue());
+        } else {
+          insertTextAsRightSibling(rtx.getValue());
+        }
+        break;
+      case COMMENT:
+        if (insert == Insert.ASFIRSTCHILD) {
+          insertCommentAsFirstChild(rtx.getValue());
+        } else {
+          insertCommentAsRightSibling(rtx.getValue());
+        }
+        break;
+      case PROCESSING_INSTRUCTION:
+        if (insert == Insert.ASFIRSTCHILD) {
+          insertPIAsFirstChild(rtx.getName().getLocalName(), rtx.getValue());
+        } else {
+          insertPIAsRightSibling(rtx.getName().getLocalName(), rtx.getValue());
+        }
+        break;
+      // $CASES-OMITTED$
+      default:
+        throw new IllegalStateException("Node kind not supported: " + rtx.getKind());
+    }
+  }
+
   @Override
   public XdmNodeWriteTrx replaceNode(final XMLEventReader reader) {
     checkNotNull(reader);
@@ -2681,6 +3218,9 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
 
   @Override
   protected XdmNodeReadTrx delegate() {
+    // Reading methods wait for a pending asynchronous commit as well, as it replaces the page
+    // transaction.
+    awaitPendingCommit();
     return mNodeReadTrx;
   }
 
@@ -2706,6 +3246,39 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
     }
   }
 
+  @Override
+  public long getHash() {
+    acquireLock();
+    try {
+      computeDeferredHashes();
+      return mNodeReadTrx.getHash();
+    } finally {
+      unLock();
+    }
+  }
+
+  @Override
+  public long getDescendantCount() {
+    acquireLock();
+    try {
+      computeDeferredHashes();
+      return mNodeReadTrx.getDescendantCount();
+    } finally {
+      unLock();
+    }
+  }
+
+  @Override
+  public XdmNodeWriteTrx addCommitListener(final CommitListener listener) {
+    acquireLock();
+    try {
+      mCommitListeners.add(checkNotNull(listener));
+      return this;
+    } finally {
+      unLock();
+    }
+  }
+
   @Override
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof XdmNodeWriteTrxImpl) {
@@ -2750,36 +3323,146 @@ final class XdmNodeWriteTrxImpl extends AbstractForwardingXdmNodeReadTrx
   public XdmNodeWriteTrx commit(final String commitMessage) {
     mNodeReadTrx.assertNotClosed();
 
+    final CommitEvent event = new CommitEvent();
+    event.begin();
+    final CommitStatistics statistics = new CommitStatistics();
+    final int revision;
+
     // Optionally lock while commiting and assigning new instances.
     acquireLock();
     try {
-      // Execute pre-commit hooks.
-      for (final PreCommitHook hook : mPreCommitHooks) {
-        hook.preCommit(this);
-      }
+      computeDeferredHashes();
+      executePreCommitHooks(statistics);
 
       // Reset modification counter.
       mModificationCount = 0L;
+      mAutoCommitRequired = false;
 
-      final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWtx = getPageTransaction();
-      final UberPage uberPage = commitMessage == null
-          ? pageWtx.commit()
-          : pageWtx.commit(commitMessage);
+      revision = writeRevision(commitMessage, statistics);
+    } finally {
+      unLock();
+    }
 
-      // Remember succesfully committed uber page in resource manager.
-      mNodeReadTrx.mResourceManager.setLastCommittedUberPage(uberPage);
+    executePostCommitHooks(statistics);
+    notifyCommitListeners(event, revision, statistics);
 
-      // Reinstantiate everything.
-      reInstantiate(getId(), getRevisionNumber());
-    } finally {
+    return this;
+  }
+
+  @Override
+  public CompletableFuture<XdmNodeWriteTrx> commitAsync() {
+    return commitAsync(null);
+  }
+
+  @Override
+  public CompletableFuture<XdmNodeWriteTrx> commitAsync(final String commitMessage) {
+    mNodeReadTrx.assertNotClosed();
+
+    // The lock is released by the background thread, once the revision has been written.
+    final CommitEvent event = new CommitEvent();
+    event.begin();
+    final CommitStatistics statistics = new CommitStatistics();
+
+    acquireLock();
+    final CompletableFuture<XdmNodeWriteTrx> pendingCommit;
+    try {
+      computeDeferredHashes();
+      executePreCommitHooks(statistics);
+
+      // Reset modification counter.
+      mModificationCount = 0L;
+      mAutoCommitRequired = false;
+
+      pendingCommit = CompletableFuture.supplyAsync(() -> {
+        mCommitThread = Thread.currentThread();
+        try {
+          final int revision;
+          try {
+            revision = writeRevision(commitMessage, statistics);
+          } finally {
+            unLock();
+          }
+
+          // Execute post-commit hooks, once the revision is durable.
+          executePostCommitHooks(statistics);
+          notifyCommitListeners(event, revision, statistics);
+          return this;
+        } finally {
+          mCommitThread = null;
+        }
+      }, mPool);
+    } catch (final RuntimeException e) {
       unLock();
+      throw e;
+    }
+    mPendingCommit = pendingCommit;
+
+    return pendingCommit;
+  }
+
+  private void executePreCommitHooks(final CommitStatistics statistics) {
+    final long start = System.nanoTime();
+    for (final PreCommitHook hook : mPreCommitHooks) {
+      hook.preCommit(this);
     }
+    statistics.addTime(CommitPhase.PRE_COMMIT_HOOKS, System.nanoTime() - start);
+  }
 
-    // Execute post-commit hooks.
+  private void executePostCommitHooks(final CommitStatistics statistics) {
+    final long start = System.nanoTime();
     for (final PostCommitHook hook : mPostCommitHooks) {
       hook.postCommit(this);
     }
+    statistics.addTime(CommitPhase.POST_COMMIT_HOOKS, System.nanoTime() - start);
+  }
 
-    return this;
+  /**
+   * Notify the commit listeners and emit the flight recorder events of a commit.
+   *
+   * @param event the commit event, which has been started at the beginning of the commit
+   * @param revision the commited revision
+   * @param statistics the statistics of the commit
+   */
+  private void notifyCommitListeners(final CommitEvent event, final int revision,
+      final CommitStatistics statistics) {
+    event.end();
+    if (event.shouldCommit()) {
+      final String resource =
+          mNodeReadTrx.mResourceManager.getResourceConfig().getResource().getFileName().toString();
+      event.set(resource, revision, statistics);
+      event.commit();
+      CommitPagesEvent.emit(resource, revision, statistics);
+    }
+
+    for (final CommitListener listener : mCommitListeners) {
+      listener.committed(revision, statistics);
+    }
+  }
+
+  /**
+   * Write the modified pages, make the new revision visible to readers and reinstantiate the
+   * transaction state on top of the new revision.
+   *
+   * @param commitMessage message of the commit or {@code null}
+   * @param statistics the statistics of the commit
+   * @return the commited revision
+   */
+  private int writeRevision(final @Nullable String commitMessage,
+      final CommitStatistics statistics) {
+    final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWtx = getPageTransaction();
+    final UberPage uberPage = pageWtx.commit(commitMessage, statistics);
+
+    // Remember succesfully committed uber page in resource manager.
+    mNodeReadTrx.mResourceManager.setLastCommittedUberPage(uberPage);
+
+    // Build the dictionary for text values, once enough of them have been sampled.
+    if (mCompression) {
+      buildTextDictionaryIfRequired();
+    }
+
+    // Reinstantiate everything.
+    reInstantiate(getId(), getRevisionNumber());
+
+    return uberPage.getRevisionNumber();
   }
 }
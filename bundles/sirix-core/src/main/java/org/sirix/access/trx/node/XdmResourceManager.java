@@ -23,8 +23,12 @@ package org.sirix.access.trx.node;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.BitSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -33,15 +37,21 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sirix.access.LocalDatabase;
 import org.sirix.access.ResourceStore;
 import org.sirix.access.conf.DatabaseConfiguration;
 import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.page.PageCheckpointer;
 import org.sirix.access.trx.page.PageReadTrxImpl;
 import org.sirix.access.trx.page.PageWriteTrxFactory;
+import org.sirix.access.trx.page.ResourceCompactor;
+import org.sirix.access.trx.page.RetentionPolicy;
 import org.sirix.api.Database;
 import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
@@ -54,6 +64,8 @@ import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.io.LockingReader;
+import org.sirix.io.Reader;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
 import org.sirix.node.interfaces.Node;
@@ -79,9 +91,16 @@ public final class XdmResourceManager implements ResourceManager {
   /** Write semaphore to assure only one exclusive write transaction exists. */
   private final Semaphore mWriteSemaphore;
 
-  /** Read semaphore to control running read transactions. */
+  /** Read semaphore to control running read transactions or {@code null}, if unlimited. */
   private final Semaphore mReadSemaphore;
 
+  /**
+   * Lock, which is shared by all threads beginning transactions and held exclusively while the data
+   * is replaced or the manager is closed. No monitor is used, such that beginning transactions
+   * neither serializes on the manager nor pins virtual threads.
+   */
+  private final ReadWriteLock mAdmissionLock;
+
   /** Strong reference to uber page before the begin of a write transaction. */
   private final AtomicReference<UberPage> mLastCommittedUberPage;
 
@@ -121,6 +140,27 @@ public final class XdmResourceManager implements ResourceManager {
   /** The cache of in-memory pages shared amongst all manager / resource transactions. */
   private final BufferManager mBufferManager;
 
+  /** Name of the file, which stores the dictionary for the compression of text values. */
+  private static final String TEXT_DICTIONARY_FILENAME = "sirix.dictionary";
+
+  /** The dictionary to compress text values with or {@code null}, if none has been built yet. */
+  private volatile byte[] mTextDictionary;
+
+  /** Consolidates hot record pages in the background. */
+  private final PageCheckpointer mCheckpointer;
+
+  /** Idle read transactions, which are reused. */
+  private final ReadTrxPool mReadTrxPool;
+
+  /** The revisions, which have been dropped by compactions. Never modified once published. */
+  private volatile BitSet mDroppedRevisions;
+
+  /** Name of the file, which stores the commit timestamps of the revisions. */
+  private static final String REVISION_TIMESTAMPS_FILENAME = "sirix.timestamps";
+
+  /** The commit timestamps of the revisions. */
+  private final RevisionTimestamps mRevisionTimestamps;
+
   /** The resource store with which this manager has been created. */
   private final ResourceStore mResourceStore;
 
@@ -146,7 +186,7 @@ public final class XdmResourceManager implements ResourceManager {
   public XdmResourceManager(final LocalDatabase database,
       final @Nonnull ResourceStore resourceStore, final @Nonnull ResourceConfiguration resourceConf,
       final @Nonnull BufferManager bufferManager, final @Nonnull Storage storage,
-      final @Nonnull UberPage uberPage, final @Nonnull Semaphore readSemaphore,
+      final @Nonnull UberPage uberPage, final @Nullable Semaphore readSemaphore,
       final @Nonnull Semaphore writeSemaphore) {
     mDatabase = checkNotNull(database);
     mResourceStore = checkNotNull(resourceStore);
@@ -164,12 +204,242 @@ public final class XdmResourceManager implements ResourceManager {
     mPageTrxIDCounter = new AtomicLong();
     mCommitLock = new ReentrantLock(false);
 
-    mReadSemaphore = checkNotNull(readSemaphore);
+    mReadSemaphore = readSemaphore;
     mWriteSemaphore = checkNotNull(writeSemaphore);
+    mAdmissionLock = new ReentrantReadWriteLock();
 
     mLastCommittedUberPage = new AtomicReference<>(uberPage);
 
+    mTextDictionary = readTextDictionary();
+
+    mDroppedRevisions = ResourceCompactor.readDroppedRevisions(mResourceConfig.resourcePath);
+
+    mRevisionTimestamps = new RevisionTimestamps(mResourceConfig.resourcePath.resolve(
+        ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISION_TIMESTAMPS_FILENAME));
+
     mClosed = false;
+
+    mCheckpointer = new PageCheckpointer(this, mFac, mWriteSemaphore);
+
+    mReadTrxPool = new ReadTrxPool(mResourceConfig.readTrxPoolSize);
+
+    backfillRevisionTimestamps();
+  }
+
+  /**
+   * Read the timestamps of all revisions, which have been committed before the timestamps have
+   * been stored in a separate file, from the revision root pages.
+   *
+   * @throws SirixIOException if an I/O error occurs
+   */
+  private void backfillRevisionTimestamps() {
+    final int lastRevision = mLastCommittedUberPage.get().getRevisionNumber();
+    if (mRevisionTimestamps.size() > lastRevision || !mFac.exists()) {
+      return;
+    }
+    final int firstRevision = mRevisionTimestamps.size();
+    final long[] timestamps = new long[lastRevision - firstRevision + 1];
+    try (final PageReadTrx pageRtx = beginPageReadTrx(lastRevision)) {
+      for (int revision = firstRevision; revision <= lastRevision; revision++) {
+        timestamps[revision - firstRevision] = mDroppedRevisions.get(revision)
+            ? 0
+            : pageRtx.loadRevRoot(revision).getRevisionTimestamp();
+      }
+    }
+    mRevisionTimestamps.setAll(firstRevision, timestamps);
+  }
+
+  /**
+   * Read the dictionary for the compression of text values.
+   *
+   * @return the dictionary or {@code null}, if none has been built yet
+   * @throws SirixIOException if an I/O error occurs
+   */
+  private byte[] readTextDictionary() {
+    final Path file = textDictionaryFile();
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try {
+      return Files.readAllBytes(file);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * The file, which stores the dictionary for the compression of text values.
+   */
+  public Path textDictionaryFile() {
+    return mResourceConfig.resourcePath.resolve(
+        ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(TEXT_DICTIONARY_FILENAME);
+  }
+
+  @Override
+  public Optional<byte[]> getTextDictionary() {
+    return Optional.ofNullable(mTextDictionary);
+  }
+
+  /**
+   * Store the dictionary for the compression of text values. The dictionary of a resource never
+   * changes once it is stored, as values which have been compressed with it reference it. It is
+   * written to a temporary file first, such that a crash never leaves a partial dictionary.
+   *
+   * @param dictionary the dictionary
+   * @throws SirixIOException if an I/O error occurs
+   */
+  synchronized void storeTextDictionary(final byte[] dictionary) {
+    checkNotNull(dictionary);
+    if (mTextDictionary != null) {
+      return;
+    }
+    final Path file = textDictionaryFile();
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      Files.write(tempFile, dictionary);
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mTextDictionary = dictionary;
+  }
+
+  /**
+   * Get the commit timestamps of the revisions.
+   *
+   * @return the timestamps
+   */
+  public RevisionTimestamps getRevisionTimestamps() {
+    return mRevisionTimestamps;
+  }
+
+  /**
+   * Get the checkpointer, which consolidates record pages with long chains of fragments.
+   *
+   * @return the checkpointer
+   */
+  public PageCheckpointer getCheckpointer() {
+    return mCheckpointer;
+  }
+
+  /**
+   * Get the revisions, which have been dropped by compactions.
+   *
+   * @return a copy of the dropped revisions
+   */
+  public BitSet getDroppedRevisions() {
+    return (BitSet) mDroppedRevisions.clone();
+  }
+
+  /**
+   * Determines if a revision has been dropped by a compaction.
+   *
+   * @param revision the revision
+   * @return {@code true}, if the revision has been dropped, {@code false} otherwise
+   */
+  public boolean isRevisionDropped(final @Nonnegative int revision) {
+    return mDroppedRevisions.get(revision);
+  }
+
+  /**
+   * Compact the resource, that is drop all revisions, which are not retained by the given policy,
+   * and rewrite the pages of the remaining revisions (see {@link ResourceCompactor}). Read
+   * transactions may run while the pages are rewritten, whereas commits are blocked. The data is
+   * replaced once all node read transactions have been closed.
+   *
+   * @param policy determines the revisions to keep, the most recent revision is always kept
+   * @return the number of dropped revisions
+   * @throws SirixUsageException if a write transaction is running or if read transactions are not
+   *         closed in time
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public int compact(final RetentionPolicy policy) {
+    checkNotNull(policy);
+    try {
+      if (!mWriteSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
+        throw new SirixUsageException(
+            "No write transaction must be running, please commit or abort it at first!");
+      }
+    } catch (final InterruptedException e) {
+      throw new SirixThreadedException(e);
+    }
+
+    try {
+      final BitSet droppedRevisions = ResourceCompactor.selectDroppedRevisions(this, policy);
+      final int newlyDroppedRevisions =
+          droppedRevisions.cardinality() - mDroppedRevisions.cardinality();
+      if (newlyDroppedRevisions == 0) {
+        return 0;
+      }
+
+      try {
+        new ResourceCompactor(this, droppedRevisions).rewrite();
+      } catch (final RuntimeException e) {
+        ResourceCompactor.abort(mResourceConfig.resourcePath);
+        throw e;
+      }
+      swapData(droppedRevisions);
+      return newlyDroppedRevisions;
+    } finally {
+      mWriteSemaphore.release();
+    }
+  }
+
+  /**
+   * Replace the data with the compacted data, once all node read transactions and page read
+   * transactions have been closed, as they read with the offsets of the old data. New transactions
+   * are blocked in the meantime.
+   *
+   * @param droppedRevisions the revisions, which have been dropped
+   */
+  private void swapData(final BitSet droppedRevisions) {
+    mAdmissionLock.writeLock().lock();
+    try {
+      awaitReadersAndSwap(droppedRevisions);
+    } finally {
+      mAdmissionLock.writeLock().unlock();
+    }
+  }
+
+  private void awaitReadersAndSwap(final BitSet droppedRevisions) {
+    final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+    try {
+      // Pooled transactions keep their page transactions open on the replaced data. Running
+      // transactions are returned to the pool once they are closed, thus it's cleared on each
+      // check.
+      mReadTrxPool.clear();
+      while (!mNodeReaderMap.isEmpty() || hasOpenPageReadTrx()) {
+        if (System.currentTimeMillis() > deadline) {
+          ResourceCompactor.abort(mResourceConfig.resourcePath);
+          throw new SirixUsageException(
+              "Read transactions are still running, please close them to complete the compaction!");
+        }
+        TimeUnit.MILLISECONDS.sleep(10);
+        mReadTrxPool.clear();
+      }
+    } catch (final InterruptedException e) {
+      ResourceCompactor.abort(mResourceConfig.resourcePath);
+      throw new SirixThreadedException(e);
+    }
+
+    ResourceCompactor.swap(mResourceConfig.resourcePath);
+
+    // The keys of all pages have changed.
+    mBufferManager.getRecordPageCache().clear();
+    mBufferManager.getPageCache().clear();
+    mBufferManager.getRevisionRootPageCache().clear();
+    mCheckpointer.clear();
+
+    mDroppedRevisions = droppedRevisions;
+    try (final Reader reader = mFac.createReader()) {
+      mLastCommittedUberPage.set((UberPage) reader.readUberPageReference().getPage());
+    }
+  }
+
+  private boolean hasOpenPageReadTrx() {
+    // Page write transactions are excluded by the write permit of the compaction.
+    return mPageTrxMap.values().stream().anyMatch(pageTrx -> !(pageTrx instanceof PageWriteTrx));
   }
 
   @Override
@@ -187,12 +457,54 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized XdmNodeReadTrx beginNodeReadTrx(@Nonnegative final int revisionKey) {
+  public XdmNodeReadTrx beginNodeReadTrx(@Nonnegative final int revisionKey) {
     assertAccess(revisionKey);
 
     // Make sure not to exceed available number of read transactions.
     try {
-      if (!mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
+      if (mReadSemaphore != null && !mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
+        throw new SirixUsageException(
+            "No read transactions available, please close at least one read transaction at first!");
+      }
+    } catch (final InterruptedException e) {
+      throw new SirixThreadedException(e);
+    }
+
+    mAdmissionLock.readLock().lock();
+    try {
+      return createNodeReadTrx(revisionKey, false);
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Open a thread-safe read-only view of the most recent revision, which counts as a single read
+   * transaction.
+   *
+   * @return the snapshot
+   * @throws SirixThreadedException if the thread is interrupted
+   * @throws SirixUsageException if the number of read-transactions is exceeded for a defined time
+   */
+  public RevisionSnapshot openSnapshot() {
+    return openSnapshot(mLastCommittedUberPage.get().getRevisionNumber());
+  }
+
+  /**
+   * Open a thread-safe read-only view of the given revision, which counts as a single read
+   * transaction.
+   *
+   * @param revision the revision
+   * @return the snapshot
+   * @throws IllegalArgumentException if the revision isn't valid
+   * @throws SirixThreadedException if the thread is interrupted
+   * @throws SirixUsageException if the number of read-transactions is exceeded for a defined time
+   */
+  public RevisionSnapshot openSnapshot(final @Nonnegative int revision) {
+    assertAccess(revision);
+
+    try {
+      if (mReadSemaphore != null && !mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
         throw new SirixUsageException(
             "No read transactions available, please close at least one read transaction at first!");
       }
@@ -200,20 +512,98 @@ public final class XdmResourceManager implements ResourceManager {
       throw new SirixThreadedException(e);
     }
 
-    final PageReadTrx pageReadTrx = beginPageReadTrx(revisionKey);
+    mAdmissionLock.readLock().lock();
+    try {
+      return new RevisionSnapshot(this, (XdmNodeReadTrxImpl) createNodeReadTrx(revision, true));
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Generate a new node transaction ID.
+   *
+   * @return the ID
+   */
+  long nextNodeTrxId() {
+    return mNodeTrxIDCounter.incrementAndGet();
+  }
+
+  @Override
+  public Optional<XdmNodeReadTrx> tryBeginNodeReadTrx() {
+    return tryBeginNodeReadTrx(mLastCommittedUberPage.get().getRevisionNumber());
+  }
+
+  @Override
+  public Optional<XdmNodeReadTrx> tryBeginNodeReadTrx(@Nonnegative final int revision) {
+    assertAccess(revision);
+
+    if (mReadSemaphore != null && !mReadSemaphore.tryAcquire()) {
+      return Optional.empty();
+    }
+
+    if (!mAdmissionLock.readLock().tryLock()) {
+      releaseReadPermit();
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(createNodeReadTrx(revision, false));
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
+  }
 
-    final Node documentNode = getDocumentNode(pageReadTrx);
+  /**
+   * Create a node read transaction, once a read permit has been acquired. The permit is released,
+   * if the transaction can't be created.
+   *
+   * @param revision the revision to read
+   * @param shared determines if the page transaction is shared by the cursors of a snapshot
+   * @return the new transaction
+   */
+  private XdmNodeReadTrx createNodeReadTrx(final @Nonnegative int revision,
+      final boolean shared) {
+    try {
+      // Check again, as the manager might have been closed or compacted in the meantime.
+      assertAccess(revision);
+
+      final XdmNodeReadTrx reader;
+      final boolean pooled = !shared && mReadTrxPool.isEnabled();
+      final XdmNodeReadTrxImpl pooledReader = pooled ? mReadTrxPool.poll(revision) : null;
+      if (pooledReader == null) {
+        // The storage is read by all cursors of a snapshot.
+        final Reader pageReader = shared
+            ? new LockingReader(mFac.createReader())
+            : mFac.createReader();
+        final PageReadTrx pageReadTrx = beginPageReadTrx(revision, pageReader);
+
+        final Node documentNode = getDocumentNode(pageReadTrx);
+
+        // Create new reader.
+        reader = new XdmNodeReadTrxImpl(this, mNodeTrxIDCounter.incrementAndGet(), pageReadTrx,
+            documentNode, pooled ? mReadTrxPool : null);
+      } else {
+        // Reuse a pooled reader, which already is positioned at the document node.
+        pooledReader.reopen(mNodeTrxIDCounter.incrementAndGet());
+        reader = pooledReader;
+      }
 
-    // Create new reader.
-    final XdmNodeReadTrx reader = new XdmNodeReadTrxImpl(this, mNodeTrxIDCounter.incrementAndGet(),
-        pageReadTrx, documentNode);
+      // Remember reader for debugging and safe close.
+      if (mNodeReaderMap.put(reader.getId(), reader) != null) {
+        throw new SirixUsageException("ID generation is bogus because of duplicate ID.");
+      }
 
-    // Remember reader for debugging and safe close.
-    if (mNodeReaderMap.put(reader.getId(), reader) != null) {
-      throw new SirixUsageException("ID generation is bogus because of duplicate ID.");
+      return reader;
+    } catch (final RuntimeException e) {
+      releaseReadPermit();
+      throw e;
     }
+  }
 
-    return reader;
+  private void releaseReadPermit() {
+    if (mReadSemaphore != null) {
+      mReadSemaphore.release();
+    }
   }
 
   static Node getDocumentNode(final PageReadTrx pageReadTrx) {
@@ -258,14 +648,27 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative int maxNodeCount,
+  public XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative int maxNodeCount,
       final @Nonnull TimeUnit timeUnit, final @Nonnegative int maxTime) {
+    return beginNodeWriteTrx(maxNodeCount, timeUnit, maxTime, 0, AutoCommitMode.SYNCHRONOUS);
+  }
+
+  @Override
+  public XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative long maxLogSize,
+      final @Nonnull AutoCommitMode autoCommitMode) {
+    return beginNodeWriteTrx(0, TimeUnit.MINUTES, 0, maxLogSize, autoCommitMode);
+  }
+
+  private XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative int maxNodeCount,
+      final @Nonnull TimeUnit timeUnit, final @Nonnegative int maxTime,
+      final @Nonnegative long maxLogSize, final @Nonnull AutoCommitMode autoCommitMode) {
     // Checks.
     assertAccess(mLastCommittedUberPage.get().getRevision());
-    if (maxNodeCount < 0 || maxTime < 0) {
+    if (maxNodeCount < 0 || maxTime < 0 || maxLogSize < 0) {
       throw new SirixUsageException("maxNodeCount may not be < 0!");
     }
     checkNotNull(timeUnit);
+    checkNotNull(autoCommitMode);
 
     // Make sure not to exceed available number of write transactions.
     try {
@@ -279,6 +682,23 @@ public final class XdmResourceManager implements ResourceManager {
 
     assert mWriteSemaphore.availablePermits() == 0;
 
+    mAdmissionLock.readLock().lock();
+    try {
+      return createNodeWriteTrx(maxNodeCount, timeUnit, maxTime, maxLogSize, autoCommitMode);
+    } catch (final RuntimeException e) {
+      mWriteSemaphore.release();
+      throw e;
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
+  }
+
+  private XdmNodeWriteTrx createNodeWriteTrx(final @Nonnegative int maxNodeCount,
+      final @Nonnull TimeUnit timeUnit, final @Nonnegative int maxTime,
+      final @Nonnegative long maxLogSize, final @Nonnull AutoCommitMode autoCommitMode) {
+    // Check again, as the manager might have been closed in the meantime.
+    assertAccess(mLastCommittedUberPage.get().getRevision());
+
     // Create new page write transaction (shares the same ID with the node write trx).
     final long currentTrxID = mNodeTrxIDCounter.incrementAndGet();
     final int lastRev = mLastCommittedUberPage.get().getRevisionNumber();
@@ -289,7 +709,7 @@ public final class XdmResourceManager implements ResourceManager {
 
     // Create new node write transaction.
     final XdmNodeWriteTrx wtx = new XdmNodeWriteTrxImpl(currentTrxID, this, pageWtx, maxNodeCount,
-        timeUnit, maxTime, documentNode);
+        timeUnit, maxTime, maxLogSize, autoCommitMode, documentNode);
 
     // Remember node transaction for debugging and safe close.
     if (mNodeReaderMap.put(currentTrxID, wtx) != null
@@ -328,8 +748,26 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized void close() {
+  public void close() {
+    // Stop the background consolidation first, as it opens page transactions on its own.
+    mCheckpointer.close();
+    closeTransactions();
+  }
+
+  private void closeTransactions() {
+    mAdmissionLock.writeLock().lock();
+    try {
+      closeAllTransactions();
+    } finally {
+      mAdmissionLock.writeLock().unlock();
+    }
+  }
+
+  private void closeAllTransactions() {
     if (!mClosed) {
+      // Release all pooled transactions and don't pool transactions closed afterwards.
+      mReadTrxPool.close();
+
       // Close all open node transactions.
       for (XdmNodeReadTrx rtx : mNodeReaderMap.values()) {
         if (rtx instanceof XdmNodeWriteTrx) {
@@ -377,12 +815,17 @@ public final class XdmResourceManager implements ResourceManager {
       throw new IllegalArgumentException(
           new StringBuilder("Revision must not be bigger than ").append(
               Long.toString(mLastCommittedUberPage.get().getRevision())).append("!").toString());
+    } else if (mDroppedRevisions.get((int) revision)) {
+      throw new IllegalArgumentException(
+          "Revision " + revision + " has been dropped by a compaction!");
     }
   }
 
   @Override
   public int getAvailableNodeReadTrx() {
-    return mReadSemaphore.availablePermits();
+    return mReadSemaphore == null
+        ? Integer.MAX_VALUE
+        : mReadSemaphore.availablePermits();
   }
 
   @Override
@@ -434,11 +877,26 @@ public final class XdmResourceManager implements ResourceManager {
    * @param transactionID read transaction ID
    */
   public void closeReadTransaction(final @Nonnegative long transactionID) {
-    // Remove from internal map.
-    removeFromPageMapping(transactionID);
+    // Remove from internal map. The read trx of a write trx has already been removed and hasn't
+    // acquired a permit.
+    final boolean removed = mNodeReaderMap.remove(transactionID) != null;
+    mNodePageTrxMap.remove(transactionID);
 
     // Make new transactions available.
-    mReadSemaphore.release();
+    if (removed) {
+      releaseReadPermit();
+    }
+  }
+
+  /**
+   * Close a page read transaction, which doesn't hold a read permit.
+   *
+   * @param transactionID page read transaction ID
+   * @param pageReadTrx the page read transaction
+   */
+  public void closePageReadTransaction(final @Nonnegative long transactionID,
+      final PageReadTrx pageReadTrx) {
+    mPageTrxMap.remove(transactionID, pageReadTrx);
   }
 
   /**
@@ -455,7 +913,7 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized boolean isClosed() {
+  public boolean isClosed() {
     return mClosed;
   }
 
@@ -484,7 +942,7 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized PathSummaryReader openPathSummary(final @Nonnegative int revision) {
+  public PathSummaryReader openPathSummary(final @Nonnegative int revision) {
     assertAccess(revision);
 
     final PageReadTrx pageReadTrx = beginPageReadTrx(revision);
@@ -502,19 +960,42 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized PageReadTrx beginPageReadTrx(final @Nonnegative int revision) {
+  public PageReadTrx beginPageReadTrx(final @Nonnegative int revision) {
     assertAccess(revision);
 
-    final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
-    final PageReadTrx pageReadTrx = new PageReadTrxImpl(currentPageTrxID, this,
-        mLastCommittedUberPage.get(), revision, mFac.createReader(), null, null, mBufferManager);
+    return beginPageReadTrx(revision, mFac.createReader());
+  }
 
-    // Remember page transaction for debugging and safe close.
-    if (mPageTrxMap.put(currentPageTrxID, pageReadTrx) != null) {
-      throw new SirixThreadedException("ID generation is bogus because of duplicate ID.");
-    }
+  /**
+   * Begin a page read transaction, which reads with the given reader. The reader is closed, if the
+   * transaction can't be opened.
+   *
+   * @param revision the revision to read
+   * @param reader the reader of the storage
+   * @return the new page read transaction
+   */
+  private PageReadTrx beginPageReadTrx(final @Nonnegative int revision, final Reader reader) {
+    mAdmissionLock.readLock().lock();
+    try {
+      // Check again, as the manager might have been closed or compacted in the meantime.
+      assertAccess(revision);
 
-    return pageReadTrx;
+      final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
+      final PageReadTrx pageReadTrx = new PageReadTrxImpl(currentPageTrxID, this,
+          mLastCommittedUberPage.get(), revision, reader, null, null, mBufferManager);
+
+      // Remember page transaction for debugging and safe close.
+      if (mPageTrxMap.put(currentPageTrxID, pageReadTrx) != null) {
+        throw new SirixThreadedException("ID generation is bogus because of duplicate ID.");
+      }
+
+      return pageReadTrx;
+    } catch (final RuntimeException e) {
+      reader.close();
+      throw e;
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
   }
 
   @Override
@@ -524,7 +1005,7 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized PageWriteTrx<Long, Record, UnorderedKeyValuePage> beginPageWriteTrx(
+  public PageWriteTrx<Long, Record, UnorderedKeyValuePage> beginPageWriteTrx(
       final @Nonnegative int revision) throws SirixException {
     assertAccess(revision);
 
@@ -538,42 +1019,43 @@ public final class XdmResourceManager implements ResourceManager {
       throw new SirixThreadedException(e);
     }
 
-    final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
-    final int lastRev = mLastCommittedUberPage.get().getRevisionNumber();
-    final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWtx =
-        createPageWriteTransaction(currentPageTrxID, lastRev, lastRev, Abort.NO);
+    mAdmissionLock.readLock().lock();
+    try {
+      // Check again, as the manager might have been closed in the meantime.
+      assertAccess(revision);
 
-    // Remember page transaction for debugging and safe close.
-    if (mPageTrxMap.put(currentPageTrxID, pageWtx) != null) {
-      throw new SirixThreadedException("ID generation is bogus because of duplicate ID.");
-    }
+      final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
+      final int lastRev = mLastCommittedUberPage.get().getRevisionNumber();
+      final PageWriteTrx<Long, Record, UnorderedKeyValuePage> pageWtx =
+          createPageWriteTransaction(currentPageTrxID, lastRev, lastRev, Abort.NO);
+
+      // Remember page transaction for debugging and safe close.
+      if (mPageTrxMap.put(currentPageTrxID, pageWtx) != null) {
+        throw new SirixThreadedException("ID generation is bogus because of duplicate ID.");
+      }
 
-    return pageWtx;
+      return pageWtx;
+    } catch (final RuntimeException e) {
+      mWriteSemaphore.release();
+      throw e;
+    } finally {
+      mAdmissionLock.readLock().unlock();
+    }
   }
 
   @Override
-  public synchronized Database getDatabase() {
+  public Database getDatabase() {
     return mDatabase;
   }
 
   @Override
-  public synchronized IndexController getRtxIndexController(final int revision) {
-    IndexController controller = mRtxIndexControllers.get(revision);
-    if (controller == null) {
-      controller = new IndexController();
-      mRtxIndexControllers.put(revision, controller);
-    }
-    return controller;
+  public IndexController getRtxIndexController(final int revision) {
+    return mRtxIndexControllers.computeIfAbsent(revision, key -> new IndexController());
   }
 
   @Override
-  public synchronized IndexController getWtxIndexController(final int revision) {
-    IndexController controller = mWtxIndexControllers.get(revision);
-    if (controller == null) {
-      controller = new IndexController();
-      mWtxIndexControllers.put(revision, controller);
-    }
-    return controller;
+  public IndexController getWtxIndexController(final int revision) {
+    return mWtxIndexControllers.computeIfAbsent(revision, key -> new IndexController());
   }
 
   @Override
@@ -582,7 +1064,7 @@ public final class XdmResourceManager implements ResourceManager {
   }
 
   @Override
-  public synchronized Optional<XdmNodeWriteTrx> getXdmNodeWriteTrx() {
+  public Optional<XdmNodeWriteTrx> getXdmNodeWriteTrx() {
     return mNodeReaderMap.values()
                          .stream()
                          .filter(rtx -> rtx instanceof XdmNodeWriteTrx)
@@ -592,56 +1074,50 @@ public final class XdmResourceManager implements ResourceManager {
 
   @Override
   public XdmNodeReadTrx beginNodeReadTrx(final Instant pointInTime) {
-    checkNotNull(pointInTime);
-
-    final long timestamp = pointInTime.toEpochMilli();
-
-    int revision = binarySearch(timestamp);
-
-    if (revision < 0) {
-      revision = -revision - 1;
-    }
-
-    if (revision == 0)
-      return beginNodeReadTrx(0);
-    else if (revision == getMostRecentRevisionNumber() + 1)
-      return beginNodeReadTrx();
-
-    final XdmNodeReadTrx rtxRevisionMinus1 = beginNodeReadTrx(revision - 1);
-    final XdmNodeReadTrx rtxRevision = beginNodeReadTrx(revision);
-
-    if (timeDiff(timestamp, rtxRevisionMinus1.getRevisionTimestamp()) < timeDiff(
-        timestamp, rtxRevision.getRevisionTimestamp())) {
-      rtxRevision.close();
-      return rtxRevisionMinus1;
-    } else {
-      rtxRevisionMinus1.close();
-      return rtxRevision;
-    }
+    return beginNodeReadTrx(getRevisionNumber(pointInTime));
   }
 
   private static long timeDiff(final long lhs, final long rhs) {
     return Math.abs(lhs - rhs);
   }
 
+  private long getRevisionTimestamp(final @Nonnegative int revision) {
+    return mRevisionTimestamps.get(revision);
+  }
+
+  /**
+   * Search the revision, which has been committed at the given point in time, whereby revisions
+   * dropped by compactions are skipped.
+   *
+   * @param timestamp the point in time in milliseconds
+   * @return the revision, if a revision has been committed at the point in time, otherwise
+   *         {@code -(insertion point) - 1}, whereby the insertion point is the first revision, which
+   *         has been committed afterwards
+   */
   private int binarySearch(final long timestamp) {
+    final BitSet droppedRevisions = mDroppedRevisions;
     int low = 0;
     int high = getMostRecentRevisionNumber();
 
     while (low <= high) {
-      final int mid = (low + high) >>> 1;
-
-      try (final PageReadTrx trx = beginPageReadTrx(mid)) {
-        final long midVal = trx.getActualRevisionRootPage().getRevisionTimestamp();
-        final int cmp = Instant.ofEpochMilli(midVal).compareTo(Instant.ofEpochMilli(timestamp));
-
-        if (cmp < 0)
-          low = mid + 1;
-        else if (cmp > 0)
-          high = mid - 1;
-        else
-          return mid; // key found
+      int mid = droppedRevisions.nextClearBit((low + high) >>> 1);
+
+      if (mid > high) {
+        mid = droppedRevisions.previousClearBit((low + high) >>> 1);
+
+        if (mid < low)
+          break; // all revisions in between have been dropped
       }
+
+      final long midVal = getRevisionTimestamp(mid);
+      final int cmp = Instant.ofEpochMilli(midVal).compareTo(Instant.ofEpochMilli(timestamp));
+
+      if (cmp < 0)
+        low = mid + 1;
+      else if (cmp > 0)
+        high = mid - 1;
+      else
+        return mid; // key found
     }
 
     return -(low + 1); // key not found
@@ -655,27 +1131,26 @@ public final class XdmResourceManager implements ResourceManager {
 
     int revision = binarySearch(timestamp);
 
-    if (revision < 0) {
-      revision = -revision - 1;
+    if (revision >= 0) {
+      return revision;
     }
 
-    if (revision == 0)
-      return 0;
-    else if (revision == getMostRecentRevisionNumber() + 1)
-      return getMostRecentRevisionNumber();
+    revision = -revision - 1;
 
-    try (final XdmNodeReadTrx rtxRevisionMinus1 = beginNodeReadTrx(revision - 1);
-        final XdmNodeReadTrx rtxRevision = beginNodeReadTrx(revision)) {
-      final int revisionNumber;
+    final BitSet droppedRevisions = mDroppedRevisions;
+    final int previousRevision = droppedRevisions.previousClearBit(revision - 1);
+    final int nextRevision = droppedRevisions.nextClearBit(revision);
 
-      if (timeDiff(timestamp, rtxRevisionMinus1.getRevisionTimestamp()) < timeDiff(
-          timestamp, rtxRevision.getRevisionTimestamp())) {
-        revisionNumber = rtxRevisionMinus1.getRevisionNumber();
-      } else {
-        revisionNumber = rtxRevision.getRevisionNumber();
-      }
+    if (previousRevision == -1)
+      return nextRevision;
+    else if (nextRevision > getMostRecentRevisionNumber())
+      return previousRevision;
 
-      return revisionNumber;
+    if (timeDiff(timestamp, getRevisionTimestamp(previousRevision)) < timeDiff(
+        timestamp, getRevisionTimestamp(nextRevision))) {
+      return previousRevision;
+    } else {
+      return nextRevision;
     }
   }
 }
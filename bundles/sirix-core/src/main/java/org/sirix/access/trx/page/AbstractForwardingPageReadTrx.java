@@ -18,6 +18,7 @@ import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
+import org.sirix.page.StructuralColumns;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.KeyValuePage;
 import com.google.common.collect.ForwardingObject;
@@ -92,6 +93,12 @@ public abstract class AbstractForwardingPageReadTrx extends ForwardingObject
     return delegate().getRecord(key, page, index);
   }
 
+  @Override
+  public Optional<StructuralColumns> getStructuralColumns(@Nonnegative long key,
+      @Nonnull PageKind page, int index) throws SirixIOException {
+    return delegate().getStructuralColumns(key, page, index);
+  }
+
   @Override
   public long pageKey(@Nonnegative long recordKey) {
     return delegate().pageKey(recordKey);
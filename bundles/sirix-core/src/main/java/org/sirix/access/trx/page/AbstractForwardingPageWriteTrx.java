@@ -1,8 +1,11 @@
 package org.sirix.access.trx.page;
 
+import java.util.List;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sirix.access.trx.node.Restore;
+import org.sirix.api.CommitStatistics;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.node.Kind;
@@ -57,6 +60,12 @@ public abstract class AbstractForwardingPageWriteTrx<K extends Comparable<? supe
     delegate().removeEntry(recordKey, pageKind, index);
   }
 
+  @Override
+  public void removeEntries(List<K> recordKeys, @Nonnull PageKind pageKind, int index)
+      throws SirixIOException {
+    delegate().removeEntries(recordKeys, pageKind, index);
+  }
+
   @Override
   public int createNameKey(String name, @Nonnull Kind kind) throws SirixIOException {
     return delegate().createNameKey(name, kind);
@@ -67,11 +76,22 @@ public abstract class AbstractForwardingPageWriteTrx<K extends Comparable<? supe
     return delegate().commit();
   }
 
+  @Override
+  public UberPage commit(final @Nullable String commitMessage,
+      final CommitStatistics statistics) {
+    return delegate().commit(commitMessage, statistics);
+  }
+
   @Override
   public void commit(PageReference reference) {
     delegate().commit(reference);
   }
 
+  @Override
+  public boolean writeRecordPage(long recordPageKey, PageKind pageKind, int index) {
+    return delegate().writeRecordPage(recordPageKey, pageKind, index);
+  }
+
   @Override
   public void restore(Restore restore) {
     delegate().restore(restore);
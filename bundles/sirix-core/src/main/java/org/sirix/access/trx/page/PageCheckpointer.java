@@ -0,0 +1,274 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.XdmResourceManager;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Storage;
+import org.sirix.io.Writer;
+import org.sirix.page.PageReference;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.settings.Constants;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <h1>PageCheckpointer</h1>
+ *
+ * <p>
+ * Consolidates record pages, whose chains of fragments are read often, into full pages in the
+ * background. Reading transactions record how often a chain is read starting at a fragment (see
+ * {@link PageReadTrxImpl#getSnapshotPages(PageReference, boolean)}). Periodically, the hottest
+ * chains are reconstructed and the complete pages are appended to the data file. The consolidated
+ * page of a fragment is linked from the fragment key in a side file, as committed pages are never
+ * modified. Readers then read the consolidated page instead of the fragment and all of its
+ * predecessors.
+ * </p>
+ *
+ * <p>
+ * Consolidation is done only if no write transaction is running, as both append to the data file.
+ * The links are always honored by readers, whereas the background thread only runs, if it is
+ * enabled in the {@link ResourceConfiguration}.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class PageCheckpointer implements AutoCloseable {
+
+  /** Logger. */
+  private static final LogWrapper LOGGER =
+      new LogWrapper(LoggerFactory.getLogger(PageCheckpointer.class));
+
+  /** The name of the file, which links fragments to consolidated pages. */
+  private static final String CONSOLIDATED_PAGES_FILENAME = "sirix.consolidated";
+
+  /** Number of reads of a chain of fragments, after which it is consolidated. */
+  private static final int HOT_CHAIN_READS = 16;
+
+  /** Maximum number of pages consolidated in one run. */
+  private static final int MAX_PAGES_PER_RUN = 256;
+
+  /** Maximum number of chains for which statistics are kept. */
+  private static final int MAX_TRACKED_CHAINS = 1 << 16;
+
+  /** Interval between two runs in milliseconds. */
+  private static final long INTERVAL = 5_000;
+
+  /** The resource manager. */
+  private final XdmResourceManager mResourceManager;
+
+  /** The storage of the resource. */
+  private final Storage mStorage;
+
+  /** Semaphore guarding the write transaction. */
+  private final Semaphore mWriteSemaphore;
+
+  /** Number of reads per chain, keyed by the key of its first fragment. */
+  private final ConcurrentMap<Long, AtomicInteger> mChainReads;
+
+  /** The keys of the consolidated pages, keyed by the key of the first fragment of the chain. */
+  private final ConcurrentMap<Long, Long> mConsolidatedPages;
+
+  /** The side file, which stores the links. */
+  private final Path mFile;
+
+  /** Executor running the consolidation or {@code null}, if it is disabled. */
+  private final ScheduledExecutorService mExecutor;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager
+   * @param storage the storage of the resource
+   * @param writeSemaphore the semaphore guarding the write transaction of the resource
+   * @throws SirixIOException if the links couldn't be read
+   */
+  public PageCheckpointer(final XdmResourceManager resourceManager, final Storage storage,
+      final Semaphore writeSemaphore) {
+    mResourceManager = checkNotNull(resourceManager);
+    mStorage = checkNotNull(storage);
+    mWriteSemaphore = checkNotNull(writeSemaphore);
+    mChainReads = new ConcurrentHashMap<>();
+    mConsolidatedPages = new ConcurrentHashMap<>();
+    mFile = resourceManager.getResourceConfig().resourcePath.resolve(
+        ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(CONSOLIDATED_PAGES_FILENAME);
+    readLinks();
+
+    if (resourceManager.getResourceConfig().areHotPagesConsolidated) {
+      mExecutor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("sirix-checkpointer-%d")
+                                    .setDaemon(true)
+                                    .build());
+      mExecutor.scheduleWithFixedDelay(this::run, INTERVAL, INTERVAL, TimeUnit.MILLISECONDS);
+    } else {
+      mExecutor = null;
+    }
+  }
+
+  private void readLinks() {
+    if (!Files.exists(mFile)) {
+      return;
+    }
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(mFile)))) {
+      while (true) {
+        final long fragmentKey = in.readLong();
+        final long consolidatedPageKey = in.readLong();
+        mConsolidatedPages.put(fragmentKey, consolidatedPageKey);
+      }
+    } catch (final EOFException e) {
+      // End of file or a partially written link, which is ignored.
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Record that a chain of fragments has been read.
+   *
+   * @param fragmentKey the key of the first fragment of the chain
+   */
+  public void recordChainRead(final long fragmentKey) {
+    if (mExecutor == null || fragmentKey == Constants.NULL_ID_LONG) {
+      return;
+    }
+    if (mChainReads.size() >= MAX_TRACKED_CHAINS) {
+      mChainReads.clear();
+    }
+    mChainReads.computeIfAbsent(fragmentKey, key -> new AtomicInteger()).incrementAndGet();
+  }
+
+  /**
+   * Get the key of the consolidated page, which replaces a fragment and all of its predecessors.
+   *
+   * @param fragmentKey the key of the fragment
+   * @return the key of the consolidated page or {@link Constants#NULL_ID_LONG}, if the fragment
+   *         hasn't been consolidated
+   */
+  public long getConsolidatedPageKey(final long fragmentKey) {
+    final Long consolidatedPageKey = mConsolidatedPages.get(fragmentKey);
+    return consolidatedPageKey == null
+        ? Constants.NULL_ID_LONG
+        : consolidatedPageKey;
+  }
+
+  /**
+   * Get the number of consolidated pages.
+   *
+   * @return the number of consolidated pages
+   */
+  public int getConsolidatedPageCount() {
+    return mConsolidatedPages.size();
+  }
+
+  private void run() {
+    try {
+      checkpoint();
+    } catch (final RuntimeException e) {
+      LOGGER.error(e);
+    }
+  }
+
+  private boolean isHot(final Map.Entry<Long, AtomicInteger> chainReads) {
+    return chainReads.getValue().get() >= HOT_CHAIN_READS
+        && !mConsolidatedPages.containsKey(chainReads.getKey());
+  }
+
+  /**
+   * Consolidate the hottest chains of fragments, if no write transaction is running.
+   *
+   * @return the number of consolidated pages
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public int checkpoint() {
+    final Comparator<Map.Entry<Long, AtomicInteger>> byReads =
+        Comparator.comparingInt(entry -> entry.getValue().get());
+    final List<Long> hotChains = mChainReads.entrySet()
+                                            .stream()
+                                            .filter(this::isHot)
+                                            .sorted(byReads.reversed())
+                                            .limit(MAX_PAGES_PER_RUN)
+                                            .map(Map.Entry::getKey)
+                                            .collect(Collectors.toList());
+
+    if (hotChains.isEmpty() || mResourceManager.isClosed() || !mWriteSemaphore.tryAcquire()) {
+      return 0;
+    }
+
+    int consolidated = 0;
+    try (final PageReadTrxImpl pageRtx = (PageReadTrxImpl) mResourceManager.beginPageReadTrx();
+        final Writer writer = mStorage.createWriter();
+        final DataOutputStream links = new DataOutputStream(Files.newOutputStream(
+            mFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+      for (final long fragmentKey : hotChains) {
+        mChainReads.remove(fragmentKey);
+        final UnorderedKeyValuePage page = pageRtx.consolidate(fragmentKey);
+        if (page == null) {
+          continue;
+        }
+        final PageReference reference = new PageReference();
+        reference.setPage(page);
+        writer.write(reference);
+
+        // Link the page after it has been written.
+        links.writeLong(fragmentKey);
+        links.writeLong(reference.getKey());
+        links.flush();
+        mConsolidatedPages.put(fragmentKey, reference.getKey());
+        consolidated++;
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    } finally {
+      mWriteSemaphore.release();
+    }
+    return consolidated;
+  }
+
+  /**
+   * Remove all links to consolidated pages, for instance because the data file has been truncated.
+   *
+   * @throws SirixIOException if the side file couldn't be removed
+   */
+  public void clear() {
+    mConsolidatedPages.clear();
+    mChainReads.clear();
+    try {
+      Files.deleteIfExists(mFile);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (mExecutor != null) {
+      mExecutor.shutdown();
+      try {
+        mExecutor.awaitTermination(INTERVAL, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
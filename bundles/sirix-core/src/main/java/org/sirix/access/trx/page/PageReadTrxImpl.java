@@ -30,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +65,7 @@ import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
 import org.sirix.page.SerializationType;
+import org.sirix.page.StructuralColumns;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -284,10 +286,34 @@ public final class PageReadTrxImpl implements PageReadTrx {
       return Optional.empty();
     }
 
-    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey);
+    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey, this);
     return checkItemIfDeleted(retVal);
   }
 
+  @Override
+  public Optional<StructuralColumns> getStructuralColumns(final long nodeKey,
+      final PageKind pageKind, final int index) {
+    checkNotNull(pageKind);
+    assertNotClosed();
+
+    if (nodeKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return Optional.empty();
+    }
+
+    final PageContainer cont;
+    try {
+      cont = mNodeCache.get(new IndexLogKey(pageKind, pageKey(nodeKey), index));
+    } catch (final ExecutionException | UncheckedExecutionException e) {
+      throw new SirixIOException(e.getCause());
+    }
+
+    if (PageContainer.emptyInstance().equals(cont)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(((UnorderedKeyValuePage) cont.getComplete()).getStructuralColumns());
+  }
+
   /**
    * Method to check if an {@link Record} is deleted.
    *
@@ -455,18 +481,26 @@ public final class PageReadTrxImpl implements PageReadTrx {
     }
 
     // Load list of page "fragments" from persistent storage.
-    final List<T> pages = getSnapshotPages(pageReferenceToRecordPage.get());
+    final List<T> pages = getSnapshotPages(pageReferenceToRecordPage.get(), true);
 
     if (pages.isEmpty()) {
       return PageContainer.emptyInstance();
     }
 
+    if (pages.size() > 1) {
+      mResourceManager.getCheckpointer().recordChainRead(pageReferenceToRecordPage.get().getKey());
+    }
+
     final int mileStoneRevision = mResourceConfig.numberOfRevisionsToRestore;
     final VersioningType revisioning = mResourceConfig.revisioningType;
     final Page completePage = revisioning.combineRecordPages(pages, mileStoneRevision, this);
 
-    final PageContainer recordPageContainer =
-        PageContainer.getInstance(completePage, clone(completePage));
+    // Read-only transactions never modify a page and records are deserialized on first access under
+    // the lock of the page, thus the page can be shared without a copy.
+    final PageContainer recordPageContainer = PageContainer.getInstance(
+        completePage, mTrxIntentLog == null
+            ? completePage
+            : clone(completePage));
 
     if (mTrxIntentLog == null)
       mResourceBufferManager.getRecordPageCache()
@@ -509,7 +543,26 @@ public final class PageReadTrxImpl implements PageReadTrx {
    */
   final <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> List<T> getSnapshotPages(
       final PageReference pageReference) {
+    return getSnapshotPages(pageReference, false);
+  }
+
+  /**
+   * Dereference key/value page reference and get all leaves, the {@link KeyValuePage}s from the
+   * revision-trees.
+   *
+   * @param pageReference page reference pointing to the first page
+   * @param useConsolidatedPages determines if the chain of fragments is cut short by a consolidated
+   *        full page (see {@link PageCheckpointer}), which must not be done if the fragments are
+   *        read to prepare a page for modification, as the versioning algorithms then rely on the
+   *        number of fragments
+   * @return dereferenced pages
+   *
+   * @throws SirixIOException if an I/O-error occurs within the creation process
+   */
+  final <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> List<T> getSnapshotPages(
+      final PageReference pageReference, final boolean useConsolidatedPages) {
     assert pageReference != null;
+    final PageCheckpointer checkpointer = mResourceManager.getCheckpointer();
     final ResourceConfiguration config = mResourceManager.getResourceConfig();
     final int revsToRestore = config.numberOfRevisionsToRestore;
     final int[] revisionsToRead =
@@ -526,12 +579,22 @@ public final class PageReadTrxImpl implements PageReadTrx {
       }
 
       if (refKeyToRecordPage != Constants.NULL_ID_LONG) {
-        final PageReference reference = new PageReference().setKey(refKeyToRecordPage);
+        final long consolidatedPageKey = useConsolidatedPages
+            ? checkpointer.getConsolidatedPageKey(refKeyToRecordPage)
+            : Constants.NULL_ID_LONG;
+        final PageReference reference = new PageReference().setKey(
+            consolidatedPageKey == Constants.NULL_ID_LONG
+                ? refKeyToRecordPage
+                : consolidatedPageKey);
         if (reference.getKey() != Constants.NULL_ID_LONG) {
           @SuppressWarnings("unchecked")
           final T page = (T) mPageReader.read(reference, this);
           pages.add(page);
-          if (page.size() == Constants.NDP_NODE_COUNT) {
+          if (consolidatedPageKey != Constants.NULL_ID_LONG) {
+            // The consolidated page holds all records of the remaining fragments.
+            break;
+          }
+          if (page.size() == mResourceManager.getResourceConfig().recordsPerPage) {
             // Page is full, thus we can skip reconstructing pages with elder
             // versions.
             break;
@@ -544,6 +607,36 @@ public final class PageReadTrxImpl implements PageReadTrx {
     return pages;
   }
 
+  /**
+   * Reconstruct the complete record page from the chain of fragments starting at the given
+   * fragment, as a full page, which doesn't reference a predecessor.
+   *
+   * @param fragmentKey the key of the first fragment in the persistent storage
+   * @return the complete page or {@code null}, if the chain consists of only one fragment
+   * @throws SirixIOException if an I/O-error occurs
+   */
+  final @Nullable UnorderedKeyValuePage consolidate(final long fragmentKey) {
+    assertNotClosed();
+    final List<UnorderedKeyValuePage> pages =
+        getSnapshotPages(new PageReference().setKey(fragmentKey), true);
+
+    if (pages.size() < 2) {
+      return null;
+    }
+
+    final UnorderedKeyValuePage completePage = mResourceConfig.revisioningType.combineRecordPages(
+        pages, mResourceConfig.numberOfRevisionsToRestore, this);
+    final UnorderedKeyValuePage consolidatedPage = completePage.newInstance(
+        completePage.getPageKey(), completePage.getPageKind(), Constants.NULL_ID_LONG, this);
+    for (final Map.Entry<Long, Record> entry : completePage.entrySet()) {
+      consolidatedPage.setEntry(entry.getKey(), entry.getValue());
+    }
+    for (final Map.Entry<Long, PageReference> entry : completePage.referenceEntrySet()) {
+      consolidatedPage.setPageReference(entry.getKey(), entry.getValue());
+    }
+    return consolidatedPage;
+  }
+
   /**
    * Get the page reference which points to the right subtree (nodes, path summary nodes, CAS index
    * nodes, Path index nodes or Name index nodes).
@@ -645,7 +738,8 @@ public final class PageReadTrxImpl implements PageReadTrx {
     checkNotNull(pageKind);
     int offset = 0;
     long levelKey = recordPageKey;
-    final int[] inpLevelPageCountExp = mUberPage.getPageCountExp(pageKind);
+    final int[] inpLevelPageCountExp = mUberPage.getPageCountExp(
+        pageKind, mResourceManager.getResourceConfig());
 
     // Iterate through all levels.
     for (int level = 0, height = inpLevelPageCountExp.length; level < height; level++) {
@@ -655,7 +749,7 @@ public final class PageReadTrxImpl implements PageReadTrx {
         break;
       } else {
         offset = (int) (levelKey >> inpLevelPageCountExp[level]);
-        levelKey -= offset << inpLevelPageCountExp[level];
+        levelKey -= (long) offset << inpLevelPageCountExp[level];
 
         try {
           // assert offset >= 0 && offset < mUberPage.getPageReferenceCount(pageKind);
@@ -663,6 +757,10 @@ public final class PageReadTrxImpl implements PageReadTrx {
         } catch (final IndexOutOfBoundsException e) {
           throw new SirixIOException("Node key isn't supported, it's too big!");
         }
+        if (reference == null) {
+          // No page is referenced at the offset of a frozen page.
+          break;
+        }
       }
     }
 
@@ -674,7 +772,7 @@ public final class PageReadTrxImpl implements PageReadTrx {
   public long pageKey(final @Nonnegative long recordKey) {
     assertNotClosed();
     checkArgument(recordKey >= 0, "recordKey must not be negative!");
-    return recordKey >> Constants.NDP_NODE_COUNT_EXPONENT;
+    return recordKey >> mResourceManager.getResourceConfig().getRecordsPerPageExp();
   }
 
   @Override
@@ -699,8 +797,7 @@ public final class PageReadTrxImpl implements PageReadTrx {
       closeCaches();
       mPageReader.close();
 
-      if (!mResourceManager.getXdmNodeReadTrx(mTrxId).isPresent())
-        mResourceManager.closeReadTransaction(mTrxId);
+      mResourceManager.closePageReadTransaction(mTrxId, this);
 
       mClosed = true;
     }
@@ -154,14 +154,12 @@ public final class PageWriteTrxFactory {
             PageContainer.getInstance(pathPage, pathPage));
       }
 
-      final Page indirectPage =
-          pageRtx.dereferenceIndirectPageReference(newRevisionRootPage.getIndirectPageReference());
-      log.put(
-          newRevisionRootPage.getIndirectPageReference(),
-          PageContainer.getInstance(indirectPage, indirectPage));
+      // Copy the root of the record tree into the log (pages read from the storage are frozen).
+      treeModifier.prepareIndirectPage(pageRtx, log, newRevisionRootPage.getIndirectPageReference());
 
       final PageReference revisionRootPageReference = treeModifier.prepareLeafOfTree(
-          pageRtx, log, uberPage.getPageCountExp(PageKind.UBERPAGE),
+          pageRtx, log, uberPage.getPageCountExp(
+              PageKind.UBERPAGE, pageRtx.getResourceManager().getResourceConfig()),
           uberPage.getIndirectPageReference(), uberPage.getRevisionNumber(), -1, PageKind.UBERPAGE);
 
       log.put(
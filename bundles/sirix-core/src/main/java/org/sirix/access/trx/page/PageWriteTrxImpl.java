@@ -28,8 +28,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +43,8 @@ import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.access.trx.node.IndexController;
 import org.sirix.access.trx.node.Restore;
+import org.sirix.api.CommitPhase;
+import org.sirix.api.CommitStatistics;
 import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.cache.PageContainer;
@@ -51,11 +59,13 @@ import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.CASPage;
 import org.sirix.page.NamePage;
+import org.sirix.page.OverflowPage;
 import org.sirix.page.PageKind;
 import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
+import org.sirix.page.StructuralColumns;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -103,6 +113,15 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
 
   private final TreeModifier mTreeModifier;
 
+  /** Record pages, which have been serialized in parallel during a commit. */
+  private final Map<Page, byte[]> mSerializedPages;
+
+  /** Time spent in the page writer by the committing thread during the current commit. */
+  private long mWriterNanos;
+
+  /** Offsets of the new record pages, which have been written ahead of the commit. */
+  private final Set<Long> mWrittenRecordPageKeys;
+
   /**
    * Constructor.
    *
@@ -121,6 +140,8 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     mNewRoot = checkNotNull(revisionRootPage);
     mPageRtx = checkNotNull(pageRtx);
     mIndexController = checkNotNull(indexController);
+    mSerializedPages = new IdentityHashMap<>();
+    mWrittenRecordPageKeys = new HashSet<>();
   }
 
   @Override
@@ -144,15 +165,18 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     final long recordPageKey = mPageRtx.pageKey(recordKey);
     final PageContainer cont = prepareRecordPage(recordPageKey, index, pageKind);
 
-    Record record = ((UnorderedKeyValuePage) cont.getModified()).getValue(recordKey);
+    final UnorderedKeyValuePage modifiedPage = (UnorderedKeyValuePage) cont.getModified();
+    Record record = modifiedPage.getValue(recordKey, mPageRtx);
     if (record == null) {
-      final Record oldRecord = ((UnorderedKeyValuePage) cont.getComplete()).getValue(recordKey);
+      final Record oldRecord =
+          ((UnorderedKeyValuePage) cont.getComplete()).getValue(recordKey, mPageRtx);
       if (oldRecord == null) {
         throw new SirixIOException("Cannot retrieve record from cache!");
       }
       record = oldRecord;
-      ((UnorderedKeyValuePage) cont.getModified()).setEntry(record.getNodeKey(), record);
     }
+    // The record is changed in place, thus a serialized form kept by the page is outdated.
+    modifiedPage.setEntry(record.getNodeKey(), record);
     return record;
   }
 
@@ -203,16 +227,49 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     final PageContainer cont = prepareRecordPage(nodePageKey, index, pageKind);
     final Optional<Record> node = getRecord(recordKey, pageKind, index);
     if (node.isPresent()) {
-      final Record nodeToDel = node.get();
-      final Node delNode = new DeletedNode(
-          new NodeDelegate(nodeToDel.getNodeKey(), -1, -1, -1, Optional.<SirixDeweyID>empty()));
-      ((UnorderedKeyValuePage) cont.getModified()).setEntry(delNode.getNodeKey(), delNode);
-      ((UnorderedKeyValuePage) cont.getComplete()).setEntry(delNode.getNodeKey(), delNode);
+      setDeletedEntry(cont, node.get().getNodeKey());
     } else {
       throw new IllegalStateException("Node not found!");
     }
   }
 
+  @Override
+  public void removeEntries(final List<Long> recordKeys, @Nonnull final PageKind pageKind,
+      final int index) {
+    mPageRtx.assertNotClosed();
+    checkNotNull(pageKind);
+    final long[] keys = recordKeys.stream().mapToLong(Long::longValue).sorted().toArray();
+    long nodePageKey = -1;
+    PageContainer cont = null;
+    for (final long recordKey : keys) {
+      if (nodePageKey != mPageRtx.pageKey(recordKey)) {
+        nodePageKey = mPageRtx.pageKey(recordKey);
+        cont = prepareRecordPage(nodePageKey, index, pageKind);
+      }
+      Record node = ((UnorderedKeyValuePage) cont.getModified()).getValue(recordKey, mPageRtx);
+      if (node == null) {
+        node = ((UnorderedKeyValuePage) cont.getComplete()).getValue(recordKey, mPageRtx);
+      }
+      if (!PageReadTrxImpl.checkItemIfDeleted(node).isPresent()) {
+        throw new IllegalStateException("Node not found!");
+      }
+      setDeletedEntry(cont, recordKey);
+    }
+  }
+
+  /**
+   * Replace an entry with a {@link DeletedNode} in the modified page, which takes precedence over
+   * the complete page.
+   *
+   * @param cont the container of the record page
+   * @param recordKey the key of the entry
+   */
+  private static void setDeletedEntry(final PageContainer cont, final long recordKey) {
+    final Node delNode = new DeletedNode(
+        new NodeDelegate(recordKey, -1, -1, -1, Optional.<SirixDeweyID>empty()));
+    ((UnorderedKeyValuePage) cont.getModified()).setEntry(delNode.getNodeKey(), delNode);
+  }
+
   @Override
   public Optional<Record> getRecord(final @Nonnegative long recordKey, final PageKind pageKind,
       final @Nonnegative int index) {
@@ -226,14 +283,31 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     if (pageCont.equals(PageContainer.emptyInstance())) {
       return mPageRtx.getRecord(recordKey, pageKind, index);
     } else {
-      Record node = ((UnorderedKeyValuePage) pageCont.getModified()).getValue(recordKey);
+      Record node = ((UnorderedKeyValuePage) pageCont.getModified()).getValue(recordKey, mPageRtx);
       if (node == null) {
-        node = ((UnorderedKeyValuePage) pageCont.getComplete()).getValue(recordKey);
+        node = ((UnorderedKeyValuePage) pageCont.getComplete()).getValue(recordKey, mPageRtx);
       }
       return PageReadTrxImpl.checkItemIfDeleted(node);
     }
   }
 
+  @Override
+  public Optional<StructuralColumns> getStructuralColumns(final @Nonnegative long recordKey,
+      final PageKind pageKind, final int index) {
+    mPageRtx.assertNotClosed();
+    checkNotNull(pageKind);
+    if (recordKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return Optional.empty();
+    }
+    // The columns only reflect persisted pages, modified pages have to be read record by record.
+    final Optional<PageReference> reference =
+        mPageRtx.getLeafPageReference(mPageRtx.pageKey(recordKey), index, pageKind);
+    if (reference.isPresent() && mLog.get(reference.get(), mPageRtx) != null) {
+      return Optional.empty();
+    }
+    return mPageRtx.getStructuralColumns(recordKey, pageKind, index);
+  }
+
   @Override
   public String getName(final int nameKey, final Kind nodeKind) {
     mPageRtx.assertNotClosed();
@@ -269,22 +343,80 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
       page = container.getModified();
     }
 
+    // Overflow pages are not kept in the log, but referenced by their record pages.
+    if (page == null && reference.getPage() instanceof OverflowPage) {
+      page = reference.getPage();
+    }
+
     if (page == null) {
       return;
     }
 
     reference.setPage(page);
 
-    // Recursively commit indirectly referenced pages and then write self.
-    page.commit(this);
-    mPageWriter.write(reference);
+    final byte[] serializedPage = mSerializedPages.remove(page);
+
+    if (serializedPage == null) {
+      // Recursively commit indirectly referenced pages and then write self.
+      page.commit(this);
+      final long start = System.nanoTime();
+      mPageWriter.write(reference);
+      mWriterNanos += System.nanoTime() - start;
+    } else {
+      // Overflow pages of the record page have already been written.
+      final long start = System.nanoTime();
+      mPageWriter.write(reference, serializedPage);
+      mWriterNanos += System.nanoTime() - start;
+    }
 
     // Remove page reference.
     reference.setPage(null);
   }
 
+  @Override
+  public boolean writeRecordPage(final @Nonnegative long recordPageKey, final PageKind pageKind,
+      final int index) {
+    mPageRtx.assertNotClosed();
+    checkArgument(recordPageKey >= 0, "recordPageKey must not be negative!");
+    checkNotNull(pageKind);
+    final PageReference reference = mTreeModifier.prepareLeafOfTree(
+        mPageRtx, mLog, getUberPage().getPageCountExp(
+            pageKind, mPageRtx.getResourceManager().getResourceConfig()),
+        mPageRtx.getPageReference(mNewRoot, pageKind, index), recordPageKey, index, pageKind);
+
+    final PageContainer container = mLog.get(reference, mPageRtx);
+
+    if (container == null || container.equals(PageContainer.emptyInstance())) {
+      return false;
+    }
+
+    final UnorderedKeyValuePage page = (UnorderedKeyValuePage) container.getModified();
+
+    // Fragments of pages of former revisions are written during the commit.
+    if (page.getPreviousReferenceKey() != Constants.NULL_ID_LONG) {
+      return false;
+    }
+
+    // The reference is a key of the log, thus it has to be removed before the page is written.
+    mLog.remove(reference);
+    reference.setPage(page);
+    page.commit(this);
+    mPageWriter.write(reference);
+    reference.setPage(null);
+    mWrittenRecordPageKeys.add(reference.getKey());
+
+    return true;
+  }
+
   @Override
   public UberPage commit(final String commitMessage) {
+    return commit(commitMessage, new CommitStatistics());
+  }
+
+  @Override
+  public UberPage commit(final @Nullable String commitMessage,
+      final CommitStatistics statistics) {
+    checkNotNull(statistics);
     mPageRtx.assertNotClosed();
 
     mPageRtx.mResourceManager.getCommitLock().lock();
@@ -310,15 +442,36 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     uberPageReference.setPage(uberPage);
     final int revision = uberPage.getRevisionNumber();
 
+    mPageWriter.setCommitStatistics(statistics);
+    mWriterNanos = 0;
+    final long traversalStart = System.nanoTime();
+
     // Recursively write indirectly referenced pages.
-    if (commitMessage == null)
-      uberPage.commit(this);
-    else
-      uberPage.commit(commitMessage, this);
+    try {
+      serializeRecordPages();
+
+      if (commitMessage == null)
+        uberPage.commit(this);
+      else
+        uberPage.commit(commitMessage, this);
+    } finally {
+      mSerializedPages.clear();
+      mPageWriter.setCommitStatistics(null);
+    }
 
+    statistics.addTime(
+        CommitPhase.INTENT_LOG_TRAVERSAL, System.nanoTime() - traversalStart - mWriterNanos);
+
+    final long uberPageStart = System.nanoTime();
     uberPageReference.setPage(uberPage);
     mPageWriter.writeUberPageReference(uberPageReference);
     uberPageReference.setPage(null);
+    statistics.addTime(CommitPhase.UBER_PAGE_WRITE, System.nanoTime() - uberPageStart)
+              .addPage(PageKind.UBERPAGE, uberPageReference.getLength());
+
+    // Remember the commit timestamp for point-in-time lookups.
+    mPageRtx.mResourceManager.getRevisionTimestamps().set(
+        mNewRoot.getRevision(), mNewRoot.getRevisionTimestamp());
 
     final Path indexes = mPageRtx.mResourceConfig.resourcePath.resolve(
         ResourceConfiguration.ResourcePaths.INDEXES.getPath())
@@ -332,11 +485,13 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
       }
     }
 
+    final long indexesStart = System.nanoTime();
     try (final OutputStream out = new FileOutputStream(indexes.toFile())) {
       mIndexController.serialize(out);
     } catch (final IOException e) {
       throw new SirixIOException("Index definitions couldn't be serialized!", e);
     }
+    statistics.addTime(CommitPhase.INDEX_DEFINITIONS, System.nanoTime() - indexesStart);
 
     mLog.truncate();
 
@@ -356,6 +511,36 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     return commitedUberPage;
   }
 
+  /**
+   * Serialize and compress the modified record pages in parallel. Record pages are the leaves of the
+   * page tree, such that only the writes and thus the assignment of the offsets, which are
+   * referenced by the parent pages, have to be sequential.
+   */
+  private void serializeRecordPages() {
+    final List<Page> recordPages = new ArrayList<>();
+    for (final PageContainer container : new ArrayList<>(mLog.getMap().values())) {
+      final Page page = container.getModified();
+      if (page instanceof UnorderedKeyValuePage) {
+        // Serializes the records and writes the overflow pages, whose offsets are stored in the
+        // record page, which is not thread-safe.
+        page.commit(this);
+        if (mPageRtx.mResourceConfig.areStructuralColumnsStored) {
+          ((UnorderedKeyValuePage) page).getStructuralColumns();
+        }
+        recordPages.add(page);
+      }
+    }
+
+    final long start = System.nanoTime();
+    final List<byte[]> serializedPages =
+        recordPages.parallelStream().map(mPageWriter::serialize).collect(Collectors.toList());
+    mWriterNanos += System.nanoTime() - start;
+
+    for (int i = 0, size = recordPages.size(); i < size; i++) {
+      mSerializedPages.put(recordPages.get(i), serializedPages.get(i));
+    }
+  }
+
   @Override
   public UberPage commit() {
     return commit((String) null);
@@ -419,7 +604,8 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
     assert pageKind != null;
     // Get the reference to the unordered key/value page storing the records.
     final PageReference reference = mTreeModifier.prepareLeafOfTree(
-        mPageRtx, mLog, getUberPage().getPageCountExp(pageKind),
+        mPageRtx, mLog, getUberPage().getPageCountExp(
+            pageKind, mPageRtx.getResourceManager().getResourceConfig()),
         mPageRtx.getPageReference(mNewRoot, pageKind, index), recordPageKey, index, pageKind);
 
     PageContainer pageContainer = mLog.get(reference, mPageRtx);
@@ -430,6 +616,14 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
             new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
         final UnorderedKeyValuePage modifyPage = mPageRtx.clone(completePage);
         pageContainer = PageContainer.getInstance(completePage, modifyPage);
+      } else if (mWrittenRecordPageKeys.remove(reference.getKey())) {
+        // The page has been written ahead of the commit, but is still a new page.
+        final List<UnorderedKeyValuePage> pages = mPageRtx.getSnapshotPages(reference);
+        final UnorderedKeyValuePage completePage = pages.get(0);
+        final UnorderedKeyValuePage modifyPage =
+            new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
+        modifyPage.setCompletePage(completePage);
+        pageContainer = PageContainer.getInstance(completePage, modifyPage);
       } else {
         pageContainer = dereferenceRecordPageForModification(reference);
       }
@@ -499,6 +693,8 @@ final class PageWriteTrxImpl extends AbstractForwardingPageReadTrx
   @Override
   public PageWriteTrx<Long, Record, UnorderedKeyValuePage> truncateTo(final int revision) {
     mPageWriter.truncateTo(revision);
+    // Consolidated pages might have been appended after the revision.
+    mPageRtx.mResourceManager.getCheckpointer().clear();
     return this;
   }
 
@@ -0,0 +1,400 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.XdmResourceManager;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Reader;
+import org.sirix.io.StorageType;
+import org.sirix.io.Writer;
+import org.sirix.io.file.FileStorage;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.UberPage;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+import org.sirix.utils.SirixFiles;
+
+/**
+ * <h1>ResourceCompactor</h1>
+ *
+ * <p>
+ * Rewrites the data of a resource, whereby revisions which are not retained by a
+ * {@link RetentionPolicy} are dropped. The pages reachable from the retained revisions are copied
+ * to a new data file. As fragments of record pages might reference fragments, which are only
+ * reachable from dropped revisions, the chain of fragments is re-anchored: the first time a record
+ * page is encountered it is written as a complete page, which doesn't reference any predecessor.
+ * Fragments, whose predecessor has already been copied, are copied as is, such that the retained
+ * revisions still share their unchanged records.
+ * </p>
+ *
+ * <p>
+ * The revision numbers of the retained revisions don't change. The new files are written to a
+ * staging folder and replace the data folder of the resource by renaming both folders (see
+ * {@link #swap(Path)}). An interrupted swap is completed the next time the resource is opened
+ * (see {@link #recover(Path)}).
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class ResourceCompactor {
+
+  /** The folder in the resource, which holds the files written during a compaction. */
+  private static final String COMPACTION_FOLDER = "compaction";
+
+  /** The folder in the compaction folder, which holds the replaced data folder. */
+  private static final String RETIRED_FOLDER = "retired";
+
+  /** The name of the file, which stores the dropped revisions. */
+  private static final String DROPPED_REVISIONS_FILENAME = "sirix.dropped";
+
+  /** The resource manager. */
+  private final XdmResourceManager mResourceManager;
+
+  /** The revisions, which are dropped. */
+  private final BitSet mDroppedRevisions;
+
+  /** The copied pages, keyed by their key in the current data file. */
+  private final Map<Long, PageReference> mCopiedPages;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager, which must hold the write lock of the resource
+   * @param droppedRevisions the revisions to drop, including revisions which have already been
+   *        dropped by former compactions (see {@link #selectDroppedRevisions})
+   */
+  public ResourceCompactor(final XdmResourceManager resourceManager,
+      final BitSet droppedRevisions) {
+    mResourceManager = checkNotNull(resourceManager);
+    mDroppedRevisions = (BitSet) checkNotNull(droppedRevisions).clone();
+    checkArgument(
+        resourceManager.getResourceConfig().storageType == StorageType.FILE,
+        "Only resources stored in files can be compacted!");
+    checkArgument(
+        !mDroppedRevisions.get(resourceManager.getMostRecentRevisionNumber()),
+        "The most recent revision must not be dropped!");
+    mCopiedPages = new HashMap<>();
+  }
+
+  /**
+   * Select the revisions to drop.
+   *
+   * @param resourceManager the resource manager
+   * @param policy the policy, which determines the revisions to keep
+   * @return the revisions, which have already been dropped and those not retained by the policy
+   */
+  public static BitSet selectDroppedRevisions(final XdmResourceManager resourceManager,
+      final RetentionPolicy policy) {
+    checkNotNull(policy);
+    final int lastRevision = resourceManager.getMostRecentRevisionNumber();
+    final BitSet droppedRevisions = resourceManager.getDroppedRevisions();
+    try (final PageReadTrx pageRtx = resourceManager.beginPageReadTrx()) {
+      int revision = droppedRevisions.nextClearBit(0);
+      long timestamp = pageRtx.loadRevRoot(revision).getRevisionTimestamp();
+      while (revision < lastRevision) {
+        final int nextRevision = droppedRevisions.nextClearBit(revision + 1);
+        final long nextTimestamp = pageRtx.loadRevRoot(nextRevision).getRevisionTimestamp();
+        if (!policy.isRetained(timestamp, nextTimestamp)) {
+          droppedRevisions.set(revision);
+        }
+        revision = nextRevision;
+        timestamp = nextTimestamp;
+      }
+    }
+    return droppedRevisions;
+  }
+
+  /**
+   * Write the retained revisions to the staging folder of the resource.
+   *
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public void rewrite() {
+    final ResourceConfiguration config = mResourceManager.getResourceConfig();
+    final Path compactionFolder = config.resourcePath.resolve(COMPACTION_FOLDER);
+    SirixFiles.recursiveRemove(compactionFolder);
+
+    final int lastRevision = mResourceManager.getMostRecentRevisionNumber();
+    final long[] uberPageKeys;
+    try (final PageReadTrx pageRtx = mResourceManager.beginPageReadTrx()) {
+      uberPageKeys = readUberPageKeys(pageRtx.getReader(), lastRevision);
+    }
+
+    try (final Writer writer =
+        new FileStorage(compactionFolder, config.byteHandlePipeline).createWriter()) {
+      long previousUberPageKey = Constants.NULL_ID_LONG;
+      for (int revision = mDroppedRevisions.nextClearBit(0); revision <= lastRevision;
+          revision = mDroppedRevisions.nextClearBit(revision + 1)) {
+        if (uberPageKeys[revision] == Constants.NULL_ID_LONG) {
+          throw new SirixIOException("No uber page of revision " + revision + " found!");
+        }
+        try (final PageReadTrxImpl pageRtx =
+            (PageReadTrxImpl) mResourceManager.beginPageReadTrx(revision)) {
+          final UberPage uberPage = (UberPage) pageRtx.getReader().read(
+              new PageReference().setKey(uberPageKeys[revision]), pageRtx);
+          copyReferences(uberPage, pageRtx, writer);
+          uberPage.setPreviousUberPageKey(previousUberPageKey);
+
+          final PageReference reference = new PageReference();
+          reference.setPage(uberPage);
+          if (revision == lastRevision) {
+            writer.writeUberPageReference(reference);
+          } else {
+            writer.write(reference);
+          }
+          previousUberPageKey = reference.getKey();
+        }
+      }
+    }
+
+    final Path dataFolder = dataFolder(compactionFolder);
+    writeDroppedRevisions(dataFolder);
+    // The revision numbers don't change, thus the dictionary and the timestamps remain valid.
+    for (final Path file : Arrays.asList(mResourceManager.textDictionaryFile(),
+        mResourceManager.getRevisionTimestamps().getFile())) {
+      try {
+        if (Files.exists(file)) {
+          Files.copy(file, dataFolder.resolve(file.getFileName()));
+        }
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Read the keys of the uber pages of all revisions, which are still stored.
+   *
+   * @param reader the reader of the current data file
+   * @param lastRevision the most recent revision
+   * @return the keys of the uber pages, indexed by revision
+   */
+  private static long[] readUberPageKeys(final Reader reader, final int lastRevision) {
+    final long[] uberPageKeys = new long[lastRevision + 1];
+    Arrays.fill(uberPageKeys, Constants.NULL_ID_LONG);
+    PageReference reference = reader.readUberPageReference();
+    UberPage uberPage = (UberPage) reference.getPage();
+    while (true) {
+      uberPageKeys[uberPage.getRevisionNumber()] = reference.getKey();
+      final long previousUberPageKey = uberPage.getPreviousUberPageKey();
+      if (uberPage.getRevisionNumber() == 0 || previousUberPageKey <= 0) {
+        break;
+      }
+      reference = new PageReference().setKey(previousUberPageKey);
+      uberPage = (UberPage) reader.read(reference, null);
+    }
+    return uberPageKeys;
+  }
+
+  /**
+   * Copy the pages referenced by a page and let the references point to the copies.
+   *
+   * @param page the page, which has been read from the current data file
+   * @param pageRtx the page reading transaction of the revision, which is copied
+   * @param writer the writer of the new data file
+   */
+  private void copyReferences(final Page page, final PageReadTrxImpl pageRtx,
+      final Writer writer) {
+    for (final PageReference reference : page.getReferences()) {
+      if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
+        final PageReference copiedReference = copy(reference.getKey(), pageRtx, writer);
+        reference.setKey(copiedReference.getKey());
+        reference.setHash(copiedReference.getHash());
+      }
+    }
+  }
+
+  /**
+   * Copy a page and all pages reachable from it, which have not been copied yet.
+   *
+   * @param key the key of the page in the current data file
+   * @param pageRtx the page reading transaction of the revision, which is copied
+   * @param writer the writer of the new data file
+   * @return the reference to the copied page, which doesn't point to any page, if the page is the
+   *         revision root page of a dropped revision
+   */
+  private PageReference copy(final long key, final PageReadTrxImpl pageRtx, final Writer writer) {
+    final PageReference copiedReference = mCopiedPages.get(key);
+    if (copiedReference != null) {
+      return copiedReference;
+    }
+
+    final Page page = pageRtx.getReader().read(new PageReference().setKey(key), pageRtx);
+    final PageReference reference = new PageReference();
+    if (page instanceof RevisionRootPage
+        && mDroppedRevisions.get(((RevisionRootPage) page).getRevision())) {
+      mCopiedPages.put(key, reference);
+      return reference;
+    }
+
+    if (page instanceof UnorderedKeyValuePage) {
+      reference.setPage(copyRecordPage(key, pageRtx, writer));
+    } else {
+      copyReferences(page, pageRtx, writer);
+      reference.setPage(page);
+    }
+    writer.write(reference);
+    reference.setPage(null);
+    mCopiedPages.put(key, reference);
+    return reference;
+  }
+
+  /**
+   * Copy a record page. If the predecessor of the fragment has not been copied, the complete page
+   * is reconstructed from the chain of fragments, such that the copy doesn't reference any
+   * predecessor.
+   *
+   * @param key the key of the fragment in the current data file
+   * @param pageRtx the page reading transaction of the revision, which is copied
+   * @param writer the writer of the new data file
+   * @return the copy
+   */
+  private UnorderedKeyValuePage copyRecordPage(final long key, final PageReadTrxImpl pageRtx,
+      final Writer writer) {
+    final ResourceConfiguration config = mResourceManager.getResourceConfig();
+    final List<UnorderedKeyValuePage> pages =
+        pageRtx.getSnapshotPages(new PageReference().setKey(key));
+    final UnorderedKeyValuePage firstPage = pages.get(0);
+    final PageReference previousReference = pages.size() > 1
+        ? mCopiedPages.get(firstPage.getPreviousReferenceKey())
+        : null;
+
+    final UnorderedKeyValuePage sourcePage;
+    final long previousKey;
+    if (previousReference == null) {
+      sourcePage = pages.size() == 1
+          ? firstPage
+          : config.revisioningType.combineRecordPages(
+              pages, config.numberOfRevisionsToRestore, pageRtx);
+      previousKey = Constants.NULL_ID_LONG;
+    } else {
+      sourcePage = firstPage;
+      previousKey = previousReference.getKey();
+    }
+
+    final UnorderedKeyValuePage page = sourcePage.newInstance(
+        sourcePage.getPageKey(), sourcePage.getPageKind(), previousKey, pageRtx);
+    for (final Map.Entry<Long, PageReference> entry : sourcePage.referenceEntrySet()) {
+      final PageReference copiedReference = copy(entry.getValue().getKey(), pageRtx, writer);
+      final PageReference reference = new PageReference().setKey(copiedReference.getKey());
+      reference.setHash(copiedReference.getHash());
+      page.setPageReference(entry.getKey(), reference);
+    }
+    for (final Map.Entry<Long, Record> entry : sourcePage.entrySet()) {
+      // Records stored in overflow pages are referenced, but must not be stored again.
+      if (sourcePage.getPageReference(entry.getKey()) == null) {
+        page.setEntry(entry.getKey(), entry.getValue());
+      }
+    }
+    return page;
+  }
+
+  private static Path dataFolder(final Path resourcePath) {
+    return resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath());
+  }
+
+  private void writeDroppedRevisions(final Path dataFolder) {
+    try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(dataFolder.resolve(DROPPED_REVISIONS_FILENAME))))) {
+      for (final long word : mDroppedRevisions.toLongArray()) {
+        out.writeLong(word);
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Read the revisions of a resource, which have been dropped by compactions.
+   *
+   * @param resourcePath the path of the resource
+   * @return the dropped revisions
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static BitSet readDroppedRevisions(final Path resourcePath) {
+    final Path file = dataFolder(resourcePath).resolve(DROPPED_REVISIONS_FILENAME);
+    if (!Files.exists(file)) {
+      return new BitSet();
+    }
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      final long[] words = new long[(int) (Files.size(file) / Long.BYTES)];
+      for (int i = 0; i < words.length; i++) {
+        words[i] = in.readLong();
+      }
+      return BitSet.valueOf(words);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  /**
+   * Replace the data folder of a resource with the one written during the compaction. Both folders
+   * are renamed, thus readers, which still hold the former files open, are not affected.
+   *
+   * @param resourcePath the path of the resource
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static void swap(final Path resourcePath) {
+    final Path dataFolder = dataFolder(resourcePath);
+    final Path compactionFolder = resourcePath.resolve(COMPACTION_FOLDER);
+    try {
+      Files.move(
+          dataFolder, compactionFolder.resolve(RETIRED_FOLDER), StandardCopyOption.ATOMIC_MOVE);
+      Files.move(dataFolder(compactionFolder), dataFolder, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    SirixFiles.recursiveRemove(compactionFolder);
+  }
+
+  /**
+   * Remove the files of an aborted compaction or complete an interrupted swap of the data folders.
+   *
+   * @param resourcePath the path of the resource
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public static void recover(final Path resourcePath) {
+    final Path compactionFolder = resourcePath.resolve(COMPACTION_FOLDER);
+    if (!Files.exists(compactionFolder)) {
+      return;
+    }
+    final Path dataFolder = dataFolder(resourcePath);
+    final Path compactedDataFolder = dataFolder(compactionFolder);
+    try {
+      if (!Files.exists(dataFolder) && Files.exists(compactedDataFolder)) {
+        Files.move(compactedDataFolder, dataFolder, StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    SirixFiles.recursiveRemove(compactionFolder);
+  }
+
+  /**
+   * Remove the files written during a compaction, which is not completed.
+   *
+   * @param resourcePath the path of the resource
+   */
+  public static void abort(final Path resourcePath) {
+    SirixFiles.recursiveRemove(resourcePath.resolve(COMPACTION_FOLDER));
+  }
+}
@@ -0,0 +1,54 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * <h1>RetentionPolicy</h1>
+ *
+ * <p>
+ * Determines which revisions of a resource are kept, when the resource is compacted (see
+ * {@link ResourceCompactor}). The most recent revision is always kept, regardless of the policy.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+@FunctionalInterface
+public interface RetentionPolicy {
+
+  /**
+   * Determines if a revision is kept.
+   *
+   * @param timestamp the commit timestamp of the revision in milliseconds
+   * @param nextTimestamp the commit timestamp of the next stored revision in milliseconds or
+   *        {@link Long#MAX_VALUE}, if the revision is the most recent one
+   * @return {@code true}, if the revision is kept, {@code false} if it is dropped
+   */
+  boolean isRetained(long timestamp, long nextTimestamp);
+
+  /**
+   * Keep all revisions, which have been committed at or after the cutoff.
+   *
+   * @param cutoff the point in time
+   * @return the policy
+   */
+  static RetentionPolicy keepNewerThan(final Instant cutoff) {
+    final long cutoffMillis = checkNotNull(cutoff).toEpochMilli();
+    return (timestamp, nextTimestamp) -> timestamp >= cutoffMillis;
+  }
+
+  /**
+   * Keep all revisions, which have been committed at or after the horizon, and the last revision of
+   * each day (in UTC) before the horizon.
+   *
+   * @param horizon the point in time
+   * @return the policy
+   */
+  static RetentionPolicy keepDailyBefore(final Instant horizon) {
+    final long horizonMillis = checkNotNull(horizon).toEpochMilli();
+    final long dayMillis = ChronoUnit.DAYS.getDuration().toMillis();
+    return (timestamp, nextTimestamp) -> timestamp >= horizonMillis
+        || Math.floorDiv(timestamp, dayMillis) != Math.floorDiv(nextTimestamp, dayMillis);
+  }
+}
@@ -63,7 +63,8 @@ public final class TreeModifierImpl implements TreeModifier {
 
       // Prepare indirect tree to hold reference to prepared revision root nodePageReference.
       final PageReference revisionRootPageReference = prepareLeafOfTree(
-          pageRtx, log, uberPage.getPageCountExp(PageKind.UBERPAGE),
+          pageRtx, log, uberPage.getPageCountExp(
+              PageKind.UBERPAGE, pageRtx.getResourceManager().getResourceConfig()),
           uberPage.getIndirectPageReference(), uberPage.getRevisionNumber(), -1, PageKind.UBERPAGE);
 
       // Link the prepared revision root nodePageReference with the prepared indirect tree.
@@ -87,7 +88,7 @@ public final class TreeModifierImpl implements TreeModifier {
     // Iterate through all levels.
     for (int level = 0, height = inpLevelPageCountExp.length; level < height; level++) {
       offset = (int) (levelKey >> inpLevelPageCountExp[level]);
-      levelKey -= offset << inpLevelPageCountExp[level];
+      levelKey -= (long) offset << inpLevelPageCountExp[level];
       final IndirectPage page = prepareIndirectPage(pageRtx, log, reference);
       reference = page.getReference(offset);
     }
@@ -0,0 +1,22 @@
+package org.sirix.api;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * Commit listener, which is notified with the timings of the phases and the number of pages and
+ * bytes written, once a revision has been commited and the post commit hooks have been executed.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+@FunctionalInterface
+public interface CommitListener {
+
+  /**
+   * Called after a revision has been commited.
+   *
+   * @param revision the commited revision
+   * @param statistics the statistics of the commit
+   */
+  void committed(@Nonnegative int revision, CommitStatistics statistics);
+}
@@ -0,0 +1,45 @@
+package org.sirix.api;
+
+/**
+ * The phases of a commit, which are timed in the {@link CommitStatistics}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public enum CommitPhase {
+  /** Executing the pre commit hooks. */
+  PRE_COMMIT_HOOKS,
+
+  /**
+   * Traversing the transaction intent log, that is committing the pages bottom up, excluding the
+   * time spent in the page writer.
+   */
+  INTENT_LOG_TRAVERSAL,
+
+  /**
+   * Serializing pages into bytes. Pages might be serialized in parallel, such that the time is
+   * accumulated over all threads.
+   */
+  SERIALIZATION,
+
+  /**
+   * Running the serialized pages through the byte handler pipeline, that is compressing and
+   * optionally encrypting. The time is accumulated over all threads.
+   */
+  COMPRESSION,
+
+  /** Hashing the written pages. */
+  HASHING,
+
+  /** Appending the pages to the data file. */
+  FILE_APPENDS,
+
+  /** Writing the uber page and its beacon. */
+  UBER_PAGE_WRITE,
+
+  /** Serializing the index definitions to XML. */
+  INDEX_DEFINITIONS,
+
+  /** Executing the post commit hooks. */
+  POST_COMMIT_HOOKS
+}
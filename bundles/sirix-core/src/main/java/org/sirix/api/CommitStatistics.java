@@ -0,0 +1,134 @@
+package org.sirix.api;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.concurrent.atomic.LongAdder;
+import org.sirix.page.PageKind;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Statistics of a single commit, that is the time spent in each {@link CommitPhase} and the number
+ * of pages and bytes written per {@link PageKind}. Pages are serialized by multiple threads, thus
+ * the statistics are thread-safe.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class CommitStatistics {
+
+  /** Nanoseconds spent per phase, indexed by the ordinal of the phase. */
+  private final LongAdder[] mNanos;
+
+  /** Number of written pages, indexed by the ordinal of the page kind. */
+  private final LongAdder[] mPages;
+
+  /** Number of written bytes, indexed by the ordinal of the page kind. */
+  private final LongAdder[] mBytes;
+
+  /**
+   * Constructor.
+   */
+  public CommitStatistics() {
+    mNanos = newAdders(CommitPhase.values().length);
+    mPages = newAdders(PageKind.values().length);
+    mBytes = newAdders(PageKind.values().length);
+  }
+
+  private static LongAdder[] newAdders(final int length) {
+    final LongAdder[] adders = new LongAdder[length];
+    for (int i = 0; i < length; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  /**
+   * Add the time spent in a phase.
+   *
+   * @param phase the phase
+   * @param nanos the time in nanoseconds
+   * @return this statistics instance
+   */
+  public CommitStatistics addTime(final CommitPhase phase, final long nanos) {
+    mNanos[checkNotNull(phase).ordinal()].add(nanos);
+    return this;
+  }
+
+  /**
+   * Add a written page.
+   *
+   * @param kind the kind of page
+   * @param bytes the number of bytes written
+   * @return this statistics instance
+   */
+  public CommitStatistics addPage(final PageKind kind, final long bytes) {
+    final int index = checkNotNull(kind).ordinal();
+    mPages[index].increment();
+    mBytes[index].add(bytes);
+    return this;
+  }
+
+  /**
+   * Get the time spent in a phase.
+   *
+   * @param phase the phase
+   * @return the time in nanoseconds
+   */
+  public long getTime(final CommitPhase phase) {
+    return mNanos[checkNotNull(phase).ordinal()].sum();
+  }
+
+  /**
+   * Get the number of written pages of a kind.
+   *
+   * @param kind the kind of page
+   * @return the number of pages
+   */
+  public long getPageCount(final PageKind kind) {
+    return mPages[checkNotNull(kind).ordinal()].sum();
+  }
+
+  /**
+   * Get the number of written bytes of pages of a kind.
+   *
+   * @param kind the kind of page
+   * @return the number of bytes
+   */
+  public long getBytes(final PageKind kind) {
+    return mBytes[checkNotNull(kind).ordinal()].sum();
+  }
+
+  /**
+   * Get the total number of written pages.
+   *
+   * @return the number of pages
+   */
+  public long getPageCount() {
+    long count = 0;
+    for (final LongAdder pages : mPages) {
+      count += pages.sum();
+    }
+    return count;
+  }
+
+  /**
+   * Get the total number of written bytes.
+   *
+   * @return the number of bytes
+   */
+  public long getBytes() {
+    long count = 0;
+    for (final LongAdder bytes : mBytes) {
+      count += bytes.sum();
+    }
+    return count;
+  }
+
+  @Override
+  public String toString() {
+    final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+    for (final CommitPhase phase : CommitPhase.values()) {
+      helper.add(phase.name(), getTime(phase));
+    }
+    return helper.add("pages", getPageCount()).add("bytes", getBytes()).toString();
+  }
+}
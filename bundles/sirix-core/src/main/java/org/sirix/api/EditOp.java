@@ -0,0 +1,260 @@
+package org.sirix.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.QNm;
+import com.google.common.base.MoreObjects;
+
+/**
+ * An edit operation on a node, which is applied as part of a batch by
+ * {@link XdmNodeWriteTrx#apply(java.util.List)}. The node is denoted by its key, as nodes inserted
+ * by the batch are not known in advance.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class EditOp {
+
+  /** The type of an edit operation. */
+  public enum Type {
+    /** Insert an element as the first child of the node. */
+    INSERT_ELEMENT_AS_FIRST_CHILD,
+
+    /** Insert an element as the left sibling of the node. */
+    INSERT_ELEMENT_AS_LEFT_SIBLING,
+
+    /** Insert an element as the right sibling of the node. */
+    INSERT_ELEMENT_AS_RIGHT_SIBLING,
+
+    /** Insert a text node as the first child of the node. */
+    INSERT_TEXT_AS_FIRST_CHILD,
+
+    /** Insert a text node as the left sibling of the node. */
+    INSERT_TEXT_AS_LEFT_SIBLING,
+
+    /** Insert a text node as the right sibling of the node. */
+    INSERT_TEXT_AS_RIGHT_SIBLING,
+
+    /** Insert an attribute into the element. */
+    INSERT_ATTRIBUTE,
+
+    /** Insert a namespace into the element. */
+    INSERT_NAMESPACE,
+
+    /** Set the name of the node. */
+    SET_NAME,
+
+    /** Set the value of the node. */
+    SET_VALUE,
+
+    /** Remove the node including its subtree. */
+    REMOVE
+  }
+
+  /** The type of the operation. */
+  private final Type mType;
+
+  /** The key of the node. */
+  private final long mNodeKey;
+
+  /** The name, if any. */
+  private final QNm mName;
+
+  /** The value, if any. */
+  private final String mValue;
+
+  /**
+   * Private constructor.
+   *
+   * @param type the type of the operation
+   * @param nodeKey the key of the node
+   * @param name the name, if any
+   * @param value the value, if any
+   */
+  private EditOp(final Type type, final @Nonnegative long nodeKey, final @Nullable QNm name,
+      final @Nullable String value) {
+    checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+    mType = type;
+    mNodeKey = nodeKey;
+    mName = name;
+    mValue = value;
+  }
+
+  /**
+   * Insert an element as the first child of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param name the name of the element
+   * @return the operation
+   */
+  public static EditOp insertElementAsFirstChild(final @Nonnegative long nodeKey,
+      final QNm name) {
+    return new EditOp(Type.INSERT_ELEMENT_AS_FIRST_CHILD, nodeKey, checkNotNull(name), null);
+  }
+
+  /**
+   * Insert an element as the left sibling of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param name the name of the element
+   * @return the operation
+   */
+  public static EditOp insertElementAsLeftSibling(final @Nonnegative long nodeKey,
+      final QNm name) {
+    return new EditOp(Type.INSERT_ELEMENT_AS_LEFT_SIBLING, nodeKey, checkNotNull(name), null);
+  }
+
+  /**
+   * Insert an element as the right sibling of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param name the name of the element
+   * @return the operation
+   */
+  public static EditOp insertElementAsRightSibling(final @Nonnegative long nodeKey,
+      final QNm name) {
+    return new EditOp(Type.INSERT_ELEMENT_AS_RIGHT_SIBLING, nodeKey, checkNotNull(name), null);
+  }
+
+  /**
+   * Insert a text node as the first child of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param value the value of the text node
+   * @return the operation
+   */
+  public static EditOp insertTextAsFirstChild(final @Nonnegative long nodeKey,
+      final String value) {
+    return new EditOp(Type.INSERT_TEXT_AS_FIRST_CHILD, nodeKey, null, checkNotNull(value));
+  }
+
+  /**
+   * Insert a text node as the left sibling of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param value the value of the text node
+   * @return the operation
+   */
+  public static EditOp insertTextAsLeftSibling(final @Nonnegative long nodeKey,
+      final String value) {
+    return new EditOp(Type.INSERT_TEXT_AS_LEFT_SIBLING, nodeKey, null, checkNotNull(value));
+  }
+
+  /**
+   * Insert a text node as the right sibling of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param value the value of the text node
+   * @return the operation
+   */
+  public static EditOp insertTextAsRightSibling(final @Nonnegative long nodeKey,
+      final String value) {
+    return new EditOp(Type.INSERT_TEXT_AS_RIGHT_SIBLING, nodeKey, null, checkNotNull(value));
+  }
+
+  /**
+   * Insert an attribute into an element.
+   *
+   * @param nodeKey the key of the element
+   * @param name the name of the attribute
+   * @param value the value of the attribute
+   * @return the operation
+   */
+  public static EditOp insertAttribute(final @Nonnegative long nodeKey, final QNm name,
+      final String value) {
+    return new EditOp(Type.INSERT_ATTRIBUTE, nodeKey, checkNotNull(name), checkNotNull(value));
+  }
+
+  /**
+   * Insert a namespace into an element.
+   *
+   * @param nodeKey the key of the element
+   * @param name the namespace, that is the namespace URI and the prefix
+   * @return the operation
+   */
+  public static EditOp insertNamespace(final @Nonnegative long nodeKey, final QNm name) {
+    return new EditOp(Type.INSERT_NAMESPACE, nodeKey, checkNotNull(name), null);
+  }
+
+  /**
+   * Set the name of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param name the new name
+   * @return the operation
+   */
+  public static EditOp setName(final @Nonnegative long nodeKey, final QNm name) {
+    return new EditOp(Type.SET_NAME, nodeKey, checkNotNull(name), null);
+  }
+
+  /**
+   * Set the value of a node.
+   *
+   * @param nodeKey the key of the node
+   * @param value the new value
+   * @return the operation
+   */
+  public static EditOp setValue(final @Nonnegative long nodeKey, final String value) {
+    return new EditOp(Type.SET_VALUE, nodeKey, null, checkNotNull(value));
+  }
+
+  /**
+   * Remove a node including its subtree.
+   *
+   * @param nodeKey the key of the node
+   * @return the operation
+   */
+  public static EditOp remove(final @Nonnegative long nodeKey) {
+    return new EditOp(Type.REMOVE, nodeKey, null, null);
+  }
+
+  /**
+   * Get the type of the operation.
+   *
+   * @return the type
+   */
+  public Type getType() {
+    return mType;
+  }
+
+  /**
+   * Get the key of the node.
+   *
+   * @return the node key
+   */
+  public long getNodeKey() {
+    return mNodeKey;
+  }
+
+  /**
+   * Get the name.
+   *
+   * @return the name or {@code null}, if the operation has no name
+   */
+  @Nullable
+  public QNm getName() {
+    return mName;
+  }
+
+  /**
+   * Get the value.
+   *
+   * @return the value or {@code null}, if the operation has no value
+   */
+  @Nullable
+  public String getValue() {
+    return mValue;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("type", mType)
+                      .add("nodeKey", mNodeKey)
+                      .add("name", mName)
+                      .add("value", mValue)
+                      .toString();
+  }
+}
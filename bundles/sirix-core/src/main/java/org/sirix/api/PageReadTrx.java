@@ -17,6 +17,7 @@ import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
+import org.sirix.page.StructuralColumns;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.KeyValuePage;
 
@@ -68,6 +69,19 @@ public interface PageReadTrx extends AutoCloseable {
   Optional<? extends Record> getRecord(final @Nonnegative long key, final PageKind pageKind,
       final int index) throws SirixIOException;
 
+  /**
+   * Get the structural columns of the record page, which stores the record denoted by the key.
+   *
+   * @param key the unique record-ID
+   * @param pageKind the page kind from which to fetch the columns
+   * @param index the index number
+   * @return an {@link Optional} reference containing the columns, or an empty optional if the
+   *         record page doesn't exist or the columns aren't available
+   * @throws SirixIOException if an I/O error occured
+   */
+  Optional<StructuralColumns> getStructuralColumns(final @Nonnegative long key,
+      final PageKind pageKind, final int index) throws SirixIOException;
+
   /**
    * Current reference to actual revision-root page.
    *
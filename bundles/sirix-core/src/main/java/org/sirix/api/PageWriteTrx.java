@@ -1,7 +1,9 @@
 package org.sirix.api;
 
+import java.util.List;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sirix.access.trx.node.Restore;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
@@ -84,6 +86,19 @@ public interface PageWriteTrx<K extends Comparable<? super K>, V extends Record,
    */
   void removeEntry(K key, @Nonnull PageKind pageKind, int index);
 
+  /**
+   * Remove entries from the storage. The entries are grouped by the pages they are stored in, such
+   * that each page is prepared only once.
+   *
+   * @param keys entry keys of the entries to be removed
+   * @param pageKind denoting the kind of page (that is the subtree root kind)
+   * @param index the index number
+   * @throws SirixIOException if the removal fails
+   * @throws IllegalStateException if an entry doesn't exist
+   * @throws NullPointerException if {@code keys} or {@code pageKind} is {@code null}
+   */
+  void removeEntries(List<K> keys, @Nonnull PageKind pageKind, int index);
+
   /**
    * Creating a namekey for a given name.
    *
@@ -111,6 +126,17 @@ public interface PageWriteTrx<K extends Comparable<? super K>, V extends Record,
    */
   UberPage commit(String commitMessage);
 
+  /**
+   * Commit the transaction, that is persist changes if any and create a new revision. The time
+   * spent in the phases of the commit and the number of pages and bytes written are collected in
+   * the given statistics.
+   *
+   * @param commitMessage the commit message or {@code null}
+   * @param statistics the statistics of the commit
+   * @throws SirixException if Sirix fails to commit
+   */
+  UberPage commit(@Nullable String commitMessage, CommitStatistics statistics);
+
   /**
    * Committing a {@link PageWriteTrx}. This method is recursively invoked by all
    * {@link PageReference}s.
@@ -121,6 +147,19 @@ public interface PageWriteTrx<K extends Comparable<? super K>, V extends Record,
    */
   void commit(PageReference reference);
 
+  /**
+   * Write a record page, which has been created by this transaction and isn't going to be modified
+   * anymore, ahead of the commit, such that it doesn't have to be kept in the transaction intent
+   * log. Pages, which already exist in the last revision, are not written.
+   *
+   * @param recordPageKey the key of the record page
+   * @param pageKind the kind of subtree the page belongs to
+   * @param index the index number
+   * @return {@code true}, if the page has been written, {@code false} otherwise
+   * @throws SirixIOException if the write fails
+   */
+  boolean writeRecordPage(@Nonnegative long recordPageKey, @Nonnull PageKind pageKind, int index);
+
   /**
    * Determines if this page write trx must restore a previous failed trx.
    *
@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.AutoCommitMode;
 import org.sirix.access.trx.node.IndexController;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixThreadedException;
@@ -67,6 +68,13 @@ public interface ResourceManager extends AutoCloseable {
    */
   Path getResourcePath();
 
+  /**
+   * Get the dictionary, which is shared by all compressed text values of the resource.
+   *
+   * @return the dictionary, if it has been built
+   */
+  Optional<byte[]> getTextDictionary();
+
   /**
    * Get the single node writer if available, wrapped in an {@link Optional}.
    *
@@ -139,6 +147,26 @@ public interface ResourceManager extends AutoCloseable {
    */
   XdmNodeReadTrx beginNodeReadTrx(@Nonnull Instant pointInTime);
 
+  /**
+   * Try to begin a read-only transaction on the latest committed revision without waiting.
+   *
+   * @return the {@link XdmNodeReadTrx} instance or an empty optional, if the number of
+   *         read-transactions is exceeded or the resource manager is busy, for instance because its
+   *         data is replaced
+   */
+  Optional<XdmNodeReadTrx> tryBeginNodeReadTrx();
+
+  /**
+   * Try to begin a read-only transaction on the given revision number without waiting.
+   *
+   * @param revision revision to read from denoted by the revision number.
+   * @throws IllegalArgumentException if {@code revision < 0}
+   * @return the {@link XdmNodeReadTrx} instance or an empty optional, if the number of
+   *         read-transactions is exceeded or the resource manager is busy, for instance because its
+   *         data is replaced
+   */
+  Optional<XdmNodeReadTrx> tryBeginNodeReadTrx(@Nonnegative int revision);
+
   /**
    * Begin exclusive read/write transaction without auto commit.
    *
@@ -197,6 +225,22 @@ public interface ResourceManager extends AutoCloseable {
   XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative int maxNodes, final TimeUnit timeUnit,
       final int maxTime);
 
+  /**
+   * Begin exclusive read/write transaction with auto commit, once the estimated size of the
+   * transaction intent log exceeds the given number of bytes.
+   *
+   * @param maxLogSize estimated size of the transaction intent log in bytes after which a commit is
+   *        issued
+   * @param autoCommitMode determines if the commit is issued synchronously or asynchronously
+   * @throws SirixThreadedException if the thread is interrupted
+   * @throws SirixUsageException if the number of write-transactions is exceeded for a defined time
+   * @throws IllegalArgumentException if {@code maxLogSize < 0}
+   * @throws NullPointerException if {@code autoCommitMode} is {@code null}
+   * @return {@link XdmNodeWriteTrx} instance
+   */
+  XdmNodeWriteTrx beginNodeWriteTrx(final @Nonnegative long maxLogSize,
+      final AutoCommitMode autoCommitMode);
+
   /**
    * Open the path summary to allow iteration (basically implementation of {@link XdmNodeReadTrx}.
    *
@@ -249,7 +293,8 @@ public interface ResourceManager extends AutoCloseable {
   /**
    * Get available number of {@link XdmNodeReadTrx}s.
    *
-   * @return available number of {@link XdmNodeReadTrx}s
+   * @return available number of {@link XdmNodeReadTrx}s or {@link Integer#MAX_VALUE}, if the number
+   *         isn't limited
    */
   int getAvailableNodeReadTrx();
 
@@ -21,6 +21,7 @@
 
 package org.sirix.api;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
@@ -480,6 +481,14 @@ public interface XdmNodeReadTrx extends NodeCursor {
    */
   byte[] getRawValue();
 
+  /**
+   * Get a stream over the raw value of currently selected node. Very long values are streamed from
+   * the storage instead of being read into memory.
+   *
+   * @return stream over the value of node or {@code null}, if the node has no value
+   */
+  InputStream getValueStream();
+
   /**
    * Number of children of current node.
    *
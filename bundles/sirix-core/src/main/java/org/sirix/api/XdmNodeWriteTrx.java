@@ -22,6 +22,8 @@
 package org.sirix.api;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.xml.stream.XMLEventReader;
@@ -30,6 +32,7 @@ import org.brackit.xquery.atomic.QNm;
 import org.sirix.access.trx.node.Movement;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
+import org.sirix.exception.SirixUsageException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.TextNode;
 import org.sirix.node.interfaces.Record;
@@ -483,6 +486,26 @@ public interface XdmNodeWriteTrx extends XdmNodeReadTrx {
    */
   XdmNodeWriteTrx setValue(String value);
 
+  /**
+   * Apply a batch of edit operations. The operations are applied in the order of the keys of the
+   * nodes they refer to, that is operations on the same node are applied in the given order.
+   * Removals are applied after all other operations, such that the other operations may refer to
+   * nodes, which are removed by the batch. A removal of a node, which has already been removed
+   * with one of its ancestors, is ignored. Hashes are adapted once for the whole batch.
+   * <p>
+   * A batch is not atomic. If an operation fails, the operations, which have been applied before,
+   * remain applied and their hashes are adapted. Use {@link #rollback()} to discard them.
+   * </p>
+   *
+   * @param ops the edit operations
+   * @return the current transaction, located at the node it has been located at before, if the
+   *         node still exists, or the document root otherwise
+   * @throws SirixUsageException if an operation refers to a node, which doesn't exist, or if an
+   *         operation isn't permitted on the node
+   * @throws NullPointerException if {@code ops} is {@code null}
+   */
+  XdmNodeWriteTrx apply(List<EditOp> ops);
+
   /**
    * Commit all modifications of the exclusive write transaction. Even commit if there are no
    * modification at all.
@@ -500,6 +523,33 @@ public interface XdmNodeWriteTrx extends XdmNodeReadTrx {
    */
   XdmNodeWriteTrx commit(String commitMessage);
 
+  /**
+   * Commit all modifications of the exclusive write transaction in the background. The pages are
+   * written by a background thread and the method returns immediately, such that the calling
+   * thread is able to do other work. The revision becomes visible to readers, once it's durable.
+   * The commit isn't pipelined with the next revision: all methods of the transaction, including
+   * the reading methods, wait until the commit including the post commit hooks has been completed.
+   * If the commit fails, further modifications and commits fail with an
+   * {@link IllegalStateException}, until the transaction is rolled back.
+   *
+   * @return a future, which is completed with this transaction, once the revision is durable and
+   *         the post commit hooks have been executed, or completed exceptionally, if the revision
+   *         couldn't be commited
+   */
+  CompletableFuture<XdmNodeWriteTrx> commitAsync();
+
+  /**
+   * Commit all modifications of the exclusive write transaction in the background. The author
+   * assignes a commit message.
+   *
+   * @param commitMessage message of the commit
+   * @return a future, which is completed with this transaction, once the revision is durable and
+   *         the post commit hooks have been executed, or completed exceptionally, if the revision
+   *         couldn't be commited
+   * @see #commitAsync()
+   */
+  CompletableFuture<XdmNodeWriteTrx> commitAsync(String commitMessage);
+
   /**
    * Rollback all modifications of the exclusive write transaction.
    *
@@ -537,6 +587,14 @@ public interface XdmNodeWriteTrx extends XdmNodeReadTrx {
    */
   XdmNodeWriteTrx addPostCommitHook(PostCommitHook hook);
 
+  /**
+   * Add a commit listener, which is notified with the time spent in the phases of each commit and
+   * the number of pages and bytes written.
+   *
+   * @param listener commit listener
+   */
+  XdmNodeWriteTrx addCommitListener(CommitListener listener);
+
   /**
    * Get the {@link PathSummaryReader} associated with the current write transaction -- might be
    * {@code null} if no path summary index is used.
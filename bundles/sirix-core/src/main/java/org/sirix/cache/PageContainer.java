@@ -40,7 +40,9 @@ import com.google.common.base.Objects;
  *
  * <p>
  * Both {@link KeyValuePage}s can differ since the complete one is mainly used for read access and
- * the modifying one for write access (and therefore mostly lazy dereferenced).
+ * the modifying one for write access (and therefore mostly lazy dereferenced). The complete page is
+ * not modified, entries of the modified page take precedence. If the complete page has to be
+ * written as a whole, the modified page is an overlay of it, which only stores the changes.
  * </p>
  *
  * @author Sebastian Graf, University of Konstanz
@@ -55,6 +57,9 @@ public final class PageContainer {
   /** {@link UnorderedKeyValuePage} reference, which references the modified key/value page. */
   private final Page mModified;
 
+  /** Estimated number of bytes of a page reference on the heap. */
+  private static final int REFERENCE_SIZE = 32;
+
   /** Empty instance. */
   private static final PageContainer EMPTY_INSTANCE = new PageContainer(null, null);
 
@@ -109,6 +114,27 @@ public final class PageContainer {
     return mModified;
   }
 
+  /**
+   * Get the estimated number of bytes of the pages on the heap.
+   *
+   * @return the estimated number of bytes
+   */
+  public long getEstimatedSize() {
+    if (mComplete == mModified) {
+      return estimateSize(mModified);
+    }
+    return estimateSize(mComplete) + estimateSize(mModified);
+  }
+
+  private static long estimateSize(final @Nullable Page page) {
+    if (page == null) {
+      return 0;
+    } else if (page instanceof UnorderedKeyValuePage) {
+      return ((UnorderedKeyValuePage) page).getEstimatedSize();
+    }
+    return (long) page.getReferences().size() * REFERENCE_SIZE;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(mComplete, mModified);
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.sirix.api.PageReadTrx;
 import org.sirix.io.Writer;
 import org.sirix.page.PageReference;
+import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.page.interfaces.Page;
 
@@ -29,6 +30,12 @@ public final class PersistentFileCache implements AutoCloseable {
       reference.setPersistentLogKey(peristKey + reference.getLength());
       completePage = mWriter.read(reference, pageReadTrx);
       reference.setPersistentLogKey(peristKey);
+
+      if (modifiedPage instanceof UnorderedKeyValuePage
+          && ((UnorderedKeyValuePage) modifiedPage).isOverlay()) {
+        ((UnorderedKeyValuePage) modifiedPage).setCompletePage(
+            (UnorderedKeyValuePage) completePage);
+      }
     } else {
       completePage = modifiedPage;
     }
@@ -3,6 +3,7 @@ package org.sirix.cache;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -45,6 +46,16 @@ public final class TransactionIntentLog implements AutoCloseable {
    */
   private int mLogKey;
 
+  /**
+   * The number of bytes written to the second cache of pages, which are not in memory.
+   */
+  private long mPersistedSize;
+
+  /**
+   * Maps in-memory key to the number of bytes written to the second cache.
+   */
+  private final Map<Integer, Integer> mPersistedLengths;
+
   /**
    * Creates a new LRU cache.
    *
@@ -57,6 +68,7 @@ public final class TransactionIntentLog implements AutoCloseable {
     mLogKey = 0;
     mSecondCache = secondCache;
     mMapToPersistentLogKey = HashBiMap.create();
+    mPersistedLengths = new HashMap<>();
     mMap = new LinkedHashMap<>(CACHE_CAPACITY) {
       private static final long serialVersionUID = 1;
 
@@ -71,6 +83,8 @@ public final class TransactionIntentLog implements AutoCloseable {
             final PageContainer value = eldest.getValue();
             if (key != null && value != null) {
               mSecondCache.put(key, value);
+              mPersistedSize += key.getLength();
+              mPersistedLengths.put(key.getLogKey(), key.getLength());
               mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
             }
           }
@@ -99,6 +113,8 @@ public final class TransactionIntentLog implements AutoCloseable {
       }
       value = mSecondCache.get(key, pageRtx);
       if (value != null && !PageContainer.emptyInstance().equals(value)) {
+        // The page is counted in memory again.
+        removePersistedLength(key);
         key.setPersistentLogKey(Constants.NULL_ID_LONG);
         put(key, value);
       }
@@ -120,11 +136,38 @@ public final class TransactionIntentLog implements AutoCloseable {
     mMap.put(key, value);
   }
 
+  /**
+   * Removes an entry from the log, for instance if the page has been written to the storage ahead
+   * of the commit.
+   *
+   * @param key the key of the entry to remove
+   * @return the removed value or {@code null}, if the log doesn't contain an entry for the key
+   */
+  public PageContainer remove(final PageReference key) {
+    final PageContainer value = mMap.remove(key);
+    if (key.getLogKey() != Constants.NULL_ID_INT) {
+      removePersistedLength(key);
+      mMapToPersistentLogKey.remove(key.getLogKey());
+    }
+    key.setLogKey(Constants.NULL_ID_INT);
+    key.setPersistentLogKey(Constants.NULL_ID_LONG);
+    return value;
+  }
+
+  private void removePersistedLength(final PageReference key) {
+    final Integer length = mPersistedLengths.remove(key.getLogKey());
+    if (length != null) {
+      mPersistedSize -= length;
+    }
+  }
+
   /**
    * Clears the cache.
    */
   public void clear() {
     mLogKey = 0;
+    mPersistedSize = 0;
+    mPersistedLengths.clear();
     mMap.clear();
   }
 
@@ -137,6 +180,20 @@ public final class TransactionIntentLog implements AutoCloseable {
     return mMap.size();
   }
 
+  /**
+   * Get the estimated size of the log, that is the estimated number of bytes of the pages in memory
+   * plus the number of bytes written to the second cache.
+   *
+   * @return the estimated size of the log in bytes
+   */
+  public long getEstimatedSize() {
+    long size = mPersistedSize;
+    for (final PageContainer container : mMap.values()) {
+      size += container.getEstimatedSize();
+    }
+    return size;
+  }
+
   /**
    * Returns a {@code Collection} that contains a copy of all cache entries.
    *
@@ -172,6 +229,8 @@ public final class TransactionIntentLog implements AutoCloseable {
     mSecondCache.close();
     mMapToPersistentLogKey.clear();
     mMap.clear();
+    mPersistedSize = 0;
+    mPersistedLengths.clear();
     return this;
   }
 
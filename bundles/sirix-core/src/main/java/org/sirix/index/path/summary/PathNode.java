@@ -104,6 +104,15 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
     return mLevel;
   }
 
+  /**
+   * Set the level of this path node.
+   *
+   * @param level level of this path node
+   */
+  public void setLevel(final @Nonnegative int level) {
+    mLevel = level;
+  }
+
   /**
    * Get the number of references to this path node.
    *
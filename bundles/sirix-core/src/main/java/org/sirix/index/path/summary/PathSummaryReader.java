@@ -1,6 +1,7 @@
 package org.sirix.index.path.summary;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.InputStream;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -152,6 +153,11 @@ public final class PathSummaryReader implements XdmNodeReadTrx {
     return mPathNodeMapping.remove(pathNodeKey);
   }
 
+  // package private, only used in writer to keep the mapping always up-to-date
+  void clearPathCache() {
+    mPathCache.clear();
+  }
+
   // package private, only used in writer to keep the mapping always up-to-date
   void putQNameMapping(final PathNode node, final QNm name) {
     final Set<PathNode> pathNodes = mQNmMapping.get(name) == null
@@ -861,6 +867,12 @@ public final class PathSummaryReader implements XdmNodeReadTrx {
     return null;
   }
 
+  @Override
+  public InputStream getValueStream() {
+    assertNotClosed();
+    return null;
+  }
+
   @Override
   public long getChildCount() {
     assertNotClosed();
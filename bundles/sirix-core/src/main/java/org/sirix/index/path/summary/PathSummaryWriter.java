@@ -1,6 +1,12 @@
 package org.sirix.index.path.summary;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nonnegative;
 import javax.xml.namespace.QName;
 import org.brackit.xquery.atomic.QNm;
@@ -16,14 +22,11 @@ import org.sirix.api.XdmNodeReadTrx;
 import org.sirix.axis.ChildAxis;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.IncludeSelf;
-import org.sirix.axis.LevelOrderAxis;
-import org.sirix.axis.PostOrderAxis;
 import org.sirix.axis.filter.FilterAxis;
 import org.sirix.axis.filter.NameFilter;
 import org.sirix.axis.filter.PathKindFilter;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
-import org.sirix.node.ElementNode;
 import org.sirix.node.Kind;
 import org.sirix.node.interfaces.NameNode;
 import org.sirix.node.interfaces.Node;
@@ -249,321 +252,241 @@ public final class PathSummaryWriter extends AbstractForwardingXdmNodeReadTrx {
   }
 
   /**
-   * Adapt path summary either for moves or {@code setQName(QName)}.
+   * Adapt path summary either for moves or {@code setQName(QName)}. The path classes of the subtree
+   * are remapped once per distinct path class, such that only nodes, whose path class changes, are
+   * modified. If the path class of the node is only referenced by the node itself, and thus its
+   * descendant path classes only by the subtree, the path class is relocated or renamed instead
+   * without modifying any node.
    *
    * @param node the node for which the path node needs to be adapted
    * @param name the new {@link QName} in case of a new one is set, the old {@link QName} otherwise
-   * @param nameKey nameKey of the new node
    * @param uriKey uriKey of the new node
+   * @param prefixKey prefixKey of the new node
+   * @param localNameKey localNameKey of the new node
+   * @param type the type of operation
    * @throws SirixException if a Sirix operation fails
    * @throws NullPointerException if {@code pNode} or {@code pQName} is null
    */
   public void adaptPathForChangedNode(final ImmutableNameNode node, final QNm name,
       final int uriKey, final int prefixKey, final int localNameKey, final OPType type) {
-    // Possibly either reset a path node or decrement its reference counter
-    // and search for the new path node or insert it.
     movePathSummary();
 
     final long oldPathNodeKey = mPathSummaryReader.getNodeKey();
-
-    // Only one path node is referenced (after a setQName(QName) the
-    // reference-counter would be 0).
-    if (type == OPType.SETNAME && mPathSummaryReader.getReferences() == 1) {
-      moveSummaryGetLevel(node);
-      // Search for new path entry.
-      final Axis axis = new FilterAxis(new ChildAxis(mPathSummaryReader),
-          new NameFilter(mPathSummaryReader, Utils.buildName(name)),
-          new PathKindFilter(mPathSummaryReader, node.getKind()));
-      if (axis.hasNext()) {
-        axis.next();
-
-        long nodeKey = decrementReferenceCountOrRemove(node);
-
-        mPathSummaryReader.moveTo(nodeKey);
-
-        // Found node.
-        processFoundPathNode(
-            oldPathNodeKey, mPathSummaryReader.getNodeKey(), node.getNodeKey(), uriKey, prefixKey,
-            localNameKey, RemoveSubtreePath.YES, type);
-      } else {
-        if (mPathSummaryReader.getKind() != Kind.DOCUMENT) {
-          /* The path summary just needs to be updated for the new renamed node. */
-          mPathSummaryReader.moveTo(oldPathNodeKey);
-          final PathNode pathNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
-              mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-          pathNode.setPrefixKey(prefixKey);
-          pathNode.setLocalNameKey(localNameKey);
-          pathNode.setURIKey(uriKey);
-        }
+    final boolean isOnlyReferencedByNode = mPathSummaryReader.getReferences() == 1;
+
+    // Search for the new path entry below the path node of the parent.
+    final int level = moveSummaryGetLevel(node);
+    final long parentPathNodeKey = mPathSummaryReader.getNodeKey();
+    if (moveToChildPathNode(name, node.getKind())) {
+      final long pathNodeKey = mPathSummaryReader.getNodeKey();
+      if (pathNodeKey != oldPathNodeKey) {
+        remapPathNodes(node, oldPathNodeKey, pathNodeKey, false);
       }
+    } else if (isOnlyReferencedByNode) {
+      relocatePathNode(oldPathNodeKey, parentPathNodeKey, level + 1, name, uriKey, prefixKey,
+          localNameKey, type);
     } else {
-      int level = moveSummaryGetLevel(node);
-      // TODO: Johannes: Optimize? (either use this or use the name-mapping,
-      // depending on the number of child nodes or nodes with a certain name).
-
-      // Search for new path entry.
-      final Axis axis = new FilterAxis(new ChildAxis(mPathSummaryReader),
-          new NameFilter(mPathSummaryReader, Utils.buildName(name)),
-          new PathKindFilter(mPathSummaryReader, node.getKind()));
-      if (axis.hasNext()) {
-        axis.next();
-
-        long nodeKey = decrementReferenceCountOrRemove(node);
-
-        mPathSummaryReader.moveTo(nodeKey);
-
-        // Found node.
-        processFoundPathNode(
-            oldPathNodeKey, mPathSummaryReader.getNodeKey(), node.getNodeKey(), uriKey, prefixKey,
-            localNameKey, RemoveSubtreePath.NO, type);
-      } else {
-        long nodeKey = decrementReferenceCountOrRemove(node);
-
-        mPathSummaryReader.moveTo(nodeKey);
-
-        // Not found => create new path nodes for the whole subtree.
-        boolean firstRun = true;
-        for (final Axis descendants =
-            new DescendantAxis(mNodeRtx, IncludeSelf.YES); descendants.hasNext();) {
-          descendants.next();
-          if (mNodeRtx.getKind() == Kind.ELEMENT) {
-            // Path Summary : New mapping.
-            if (firstRun) {
-              insertPathAsFirstChild(name, Kind.ELEMENT, ++level);
-              nodeKey = mPathSummaryReader.getNodeKey();
-            } else {
-              insertPathAsFirstChild(mNodeRtx.getName(), Kind.ELEMENT, ++level);
-            }
-            resetPathNodeKey(mNodeRtx.getNodeKey());
-
-            // Namespaces.
-            for (int i = 0, nsps = mNodeRtx.getNamespaceCount(); i < nsps; i++) {
-              mNodeRtx.moveToNamespace(i);
-              // Path Summary : New mapping.
-              insertPathAsFirstChild(mNodeRtx.getName(), Kind.NAMESPACE, level + 1);
-              resetPathNodeKey(mNodeRtx.getNodeKey());
-              mNodeRtx.moveToParent();
-              mPathSummaryReader.moveToParent();
-            }
-
-            // Attributes.
-            for (int i = 0, atts = mNodeRtx.getAttributeCount(); i < atts; i++) {
-              mNodeRtx.moveToAttribute(i);
-              // Path Summary : New mapping.
-              insertPathAsFirstChild(mNodeRtx.getName(), Kind.ATTRIBUTE, level + 1);
-              resetPathNodeKey(mNodeRtx.getNodeKey());
-              mNodeRtx.moveToParent();
-              mPathSummaryReader.moveToParent();
-            }
-
-            if (firstRun) {
-              firstRun = false;
-            } else {
-              mPathSummaryReader.moveToParent();
-              level--;
-            }
-          }
-        }
-
-        // /*
-        // * Remove path nodes with zero node references.
-        // *
-        // * (TODO: Johannes: might not be necessary, as it's likely that future
-        // * updates will reinsert the path).
-        // */
-        // for (final long key : nodesToDelete) {
-        // if (mPathSummaryReader.moveTo(key).hasMoved()) {
-        // removePathSummaryNode(Remove.NO);
-        // }
-        // }
-
-        mPathSummaryReader.moveTo(nodeKey);
-      }
+      insertPathAsFirstChild(name, node.getKind(), level + 1);
+      remapPathNodes(node, oldPathNodeKey, mPathSummaryReader.getNodeKey(), true);
     }
-  }
 
-  // Decrement reference count or remove path summary node.
-  private long decrementReferenceCountOrRemove(final ImmutableNameNode node) {
-    long nodeKey = mPathSummaryReader.getNodeKey();
+    mPathSummaryReader.clearPathCache();
     mNodeRtx.moveTo(node.getNodeKey());
+  }
 
-    for (final Axis descendants =
-        new PostOrderAxis(mNodeRtx, IncludeSelf.YES); descendants.hasNext();) {
-      descendants.next();
-
-      if (mNodeRtx.getKind() == Kind.ELEMENT) {
-        final ElementNode element = (ElementNode) mNodeRtx.getCurrentNode();
-
-        // Namespaces.
-        for (int i = 0, nsps = element.getNamespaceCount(); i < nsps; i++) {
-          mNodeRtx.moveToNamespace(i);
-          deleteOrDecrement();
-          mNodeRtx.moveToParent();
-        }
-
-        // Attributes.
-        for (int i = 0, atts = element.getAttributeCount(); i < atts; i++) {
-          mNodeRtx.moveToAttribute(i);
-          deleteOrDecrement();
-          mNodeRtx.moveToParent();
-        }
-      }
-
-      deleteOrDecrement();
+  /**
+   * Move the path summary to the child of the current path node with the given name and kind.
+   *
+   * @param name the name of the path node
+   * @param pathKind the kind of the path node
+   * @return {@code true}, if the child has been found, {@code false} otherwise, in which case the
+   *         path summary isn't moved
+   */
+  private boolean moveToChildPathNode(final QNm name, final Kind pathKind) {
+    final Axis axis = new FilterAxis(new ChildAxis(mPathSummaryReader),
+        new NameFilter(mPathSummaryReader, pathKind == Kind.NAMESPACE
+            ? name.getPrefix()
+            : Utils.buildName(name)),
+        new PathKindFilter(mPathSummaryReader, pathKind));
+    if (axis.hasNext()) {
+      axis.next();
+      return true;
     }
-
-    return nodeKey;
+    return false;
   }
 
   /**
-   * Process a found path node.
+   * Remap the path classes of the nodes of a subtree, whose root is assigned to a new path class.
+   * Each path class is looked up or inserted once and the reference counts are adapted once per
+   * path class. Path classes, which aren't referenced anymore, are removed.
    *
-   * @param oldPathNodeKey key of old path node
-   * @param newPathNodeKey key of new path node
-   * @param oldNodeKey key of old node
-   * @param uriKey key of URI
-   * @param prefixKey key of prefix
-   * @param localNameKey key of local name
-   * @param remove determines if a {@link PathNode} must be removed or not
-   * @param type type of operation
-   * @throws SirixException if Sirix fails to do so
+   * @param node the root of the subtree
+   * @param oldPathNodeKey the old path node key of the root
+   * @param pathNodeKey the new path node key of the root
+   * @param isNew determines if the new path node of the root has just been inserted
    */
-  private void processFoundPathNode(final @Nonnegative long oldPathNodeKey,
-      final @Nonnegative long newPathNodeKey, final @Nonnegative long oldNodeKey, final int uriKey,
-      final int prefixKey, final int localNameKey, final RemoveSubtreePath remove,
-      final OPType type) {
-    mNodeRtx.moveTo(oldNodeKey);
-
-    // Set new reference count of the root.
-    final PathNode currNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
-        mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-    currNode.setReferenceCount(currNode.getReferences() + 1);
-    currNode.setLocalNameKey(localNameKey);
-    currNode.setPrefixKey(prefixKey);
-    currNode.setURIKey(uriKey);
-
-    final long pathNodeKey = currNode.getNodeKey();
-
-    processElementNonStructuralNodes(pathNodeKey, 0);
-
-    // For all old path nodes: Merge paths and adapt reference counts.
-    final boolean movedNodeCursorToFirstChild = mNodeRtx.moveToFirstChild().hasMoved();
-    final boolean movedPathSummaryToFirstChild = mPathSummaryReader.moveToFirstChild().hasMoved();
-
-    if (movedNodeCursorToFirstChild && movedPathSummaryToFirstChild) {
-      final long pathRootNodeKey = mPathSummaryReader.getNodeKey();
-
-      for (final LevelOrderAxis levelOrderAxis =
-          new LevelOrderAxis.Builder(mNodeRtx).includeSelf().build(); levelOrderAxis.hasNext();) {
-        levelOrderAxis.next();
-
-        if (mNodeRtx.getNode() instanceof ImmutableNameNode) {
-          adaptPathSummary(levelOrderAxis.getCurrentLevel(), pathRootNodeKey);
+  private void remapPathNodes(final ImmutableNameNode node, final long oldPathNodeKey,
+      final long pathNodeKey, final boolean isNew) {
+    final Map<Long, Long> pathNodeKeys = new HashMap<>();
+    final Map<Long, Integer> referenceDeltas = new HashMap<>();
+    final Set<Long> newPathNodeKeys = new HashSet<>();
+    pathNodeKeys.put(oldPathNodeKey, pathNodeKey);
+    if (isNew) {
+      newPathNodeKeys.add(pathNodeKey);
+    }
 
-          processElementNonStructuralNodes(pathRootNodeKey, levelOrderAxis.getCurrentLevel());
+    mNodeRtx.moveTo(node.getNodeKey());
+    if (mNodeRtx.getNode() instanceof StructNode) {
+      for (final Axis axis = new DescendantAxis(mNodeRtx, IncludeSelf.YES); axis.hasNext();) {
+        axis.next();
+        if (mNodeRtx.getKind() == Kind.ELEMENT) {
+          remapPathNode(pathNodeKeys, referenceDeltas, newPathNodeKeys);
+          for (int i = 0, nsps = mNodeRtx.getNamespaceCount(); i < nsps; i++) {
+            mNodeRtx.moveToNamespace(i);
+            remapPathNode(pathNodeKeys, referenceDeltas, newPathNodeKeys);
+            mNodeRtx.moveToParent();
+          }
+          for (int i = 0, atts = mNodeRtx.getAttributeCount(); i < atts; i++) {
+            mNodeRtx.moveToAttribute(i);
+            remapPathNode(pathNodeKeys, referenceDeltas, newPathNodeKeys);
+            mNodeRtx.moveToParent();
+          }
+        } else if (mNodeRtx.getNode() instanceof ImmutableNameNode) {
+          remapPathNode(pathNodeKeys, referenceDeltas, newPathNodeKeys);
         }
       }
-    } else if (movedNodeCursorToFirstChild) {
-      for (final LevelOrderAxis levelOrderAxis =
-          new LevelOrderAxis.Builder(mNodeRtx).includeSelf().build(); levelOrderAxis.hasNext();) {
-        levelOrderAxis.next();
+    } else {
+      remapPathNode(pathNodeKeys, referenceDeltas, newPathNodeKeys);
+    }
 
-        if (mNodeRtx.getNode() instanceof ImmutableNameNode) {
-          adaptForNewPathNode();
+    // Adapt the reference counts and collect the path classes, which aren't referenced anymore.
+    final List<Long> unreferencedPathNodeKeys = new ArrayList<>();
+    for (final Map.Entry<Long, Integer> referenceDelta : referenceDeltas.entrySet()) {
+      if (referenceDelta.getValue() == 0) {
+        continue;
+      }
+      final PathNode pathNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
+          referenceDelta.getKey(), PageKind.PATHSUMMARYPAGE, 0);
+      final int references = (newPathNodeKeys.contains(referenceDelta.getKey())
+          ? 0
+          : pathNode.getReferences()) + referenceDelta.getValue();
+      if (references == 0) {
+        unreferencedPathNodeKeys.add(referenceDelta.getKey());
+      } else {
+        pathNode.setReferenceCount(references);
+      }
+    }
 
-          processElementNonStructuralNodes(
-              mPathSummaryReader.getNodeKey(), levelOrderAxis.getCurrentLevel());
-        }
+    // All descendant path classes of an unreferenced path class are unreferenced as well.
+    for (final long unreferencedPathNodeKey : unreferencedPathNodeKeys) {
+      if (mPathSummaryReader.moveTo(unreferencedPathNodeKey).hasMoved()) {
+        removePathSummaryNode(RemoveSubtreePath.YES);
       }
-    } else if (movedPathSummaryToFirstChild) {
-      // Only move back.
-      mPathSummaryReader.moveToParent();
     }
 
     mPathSummaryReader.moveTo(pathNodeKey);
   }
 
-  private void processElementNonStructuralNodes(final long pathRootNodeKey, final int level) {
-    if (mNodeRtx.getNode().getKind() == Kind.ELEMENT) {
-      final ElementNode element = (ElementNode) mNodeRtx.getCurrentNode();
-
-      for (int i = 0, nspCount = element.getNamespaceCount(); i < nspCount; i++) {
-        mNodeRtx.moveToNamespace(i);
-        adaptPathSummary(level, pathRootNodeKey);
-        mNodeRtx.moveToParent();
-      }
-      for (int i = 0, attCount = element.getAttributeCount(); i < attCount; i++) {
-        mNodeRtx.moveToAttribute(i);
-        adaptPathSummary(level, pathRootNodeKey);
-        mNodeRtx.moveToParent();
+  /**
+   * Remap the path class of the current node. The path class of its parent has already been
+   * remapped.
+   *
+   * @param pathNodeKeys mapping of the old path node keys to the new path node keys
+   * @param referenceDeltas the changes of the reference counts
+   * @param newPathNodeKeys the keys of the inserted path nodes
+   */
+  private void remapPathNode(final Map<Long, Long> pathNodeKeys,
+      final Map<Long, Integer> referenceDeltas, final Set<Long> newPathNodeKeys) {
+    final ImmutableNameNode node = (ImmutableNameNode) mNodeRtx.getNode();
+    final long oldPathNodeKey = node.getPathNodeKey();
+    Long pathNodeKey = pathNodeKeys.get(oldPathNodeKey);
+    if (pathNodeKey == null) {
+      mPathSummaryReader.moveTo(oldPathNodeKey);
+      final QNm name = mPathSummaryReader.getName();
+      final Kind pathKind = mPathSummaryReader.getPathNode().getPathKind();
+      final long oldParentPathNodeKey = mPathSummaryReader.getParentKey();
+      final Long parentPathNodeKey = pathNodeKeys.get(oldParentPathNodeKey);
+      assert parentPathNodeKey != null : "Path class of the parent node hasn't been remapped.";
+      if (parentPathNodeKey == oldParentPathNodeKey) {
+        pathNodeKey = oldPathNodeKey;
+      } else {
+        mPathSummaryReader.moveTo(parentPathNodeKey);
+        if (!moveToChildPathNode(name, pathKind)) {
+          insertPathAsFirstChild(name, pathKind, mPathSummaryReader.getLevel() + 1);
+          newPathNodeKeys.add(mPathSummaryReader.getNodeKey());
+        }
+        pathNodeKey = mPathSummaryReader.getNodeKey();
       }
+      pathNodeKeys.put(oldPathNodeKey, pathNodeKey);
     }
-  }
 
-  private void adaptPathSummary(int level, long newPathNodeKey) {
-    // Search for new path entry.
-    final Axis axis = new FilterAxis(
-        new LevelOrderAxis.Builder(mPathSummaryReader).filterLevel(level).includeSelf().build(),
-        new NameFilter(mPathSummaryReader, Utils.buildName(mNodeRtx.getName())),
-        new PathKindFilter(mPathSummaryReader, mNodeRtx.getKind()));
-    if (axis.hasNext()) {
-      axis.next();
-
-      adaptForFoundPathNode();
-    } else {
-      adaptForNewPathNode();
+    if (pathNodeKey != oldPathNodeKey) {
+      final NameNode nameNode = (NameNode) mPageWriteTrx.prepareEntryForModification(
+          node.getNodeKey(), PageKind.RECORDPAGE, -1);
+      nameNode.setPathNodeKey(pathNodeKey);
+      referenceDeltas.merge(oldPathNodeKey, -1, Integer::sum);
+      referenceDeltas.merge(pathNodeKey, 1, Integer::sum);
     }
-
-    mPathSummaryReader.moveTo(newPathNodeKey);
-  }
-
-  private void adaptForNewPathNode() {
-    // Move to parent path node.
-    moveToPathNodeOfParentNode();
-
-    // Insert new node.
-    insertPathAsFirstChild(
-        mNodeRtx.getName(), mNodeRtx.getKind(), mPathSummaryReader.getLevel() + 1);
-
-    // Set reference count to one.
-    setReferenceCountToOne();
-
-    // Set new path node key.
-    setNewPathNodeKey();
   }
 
-  private void moveToPathNodeOfParentNode() {
-    final long nodeKey = mNodeRtx.getNodeKey();
-    final long pathNodeKey = mNodeRtx.moveToParent().get().getPathNodeKey();
+  /**
+   * Relocate a path node including its descendant path nodes to a new parent path node and set its
+   * name, if it has been changed.
+   *
+   * @param pathNodeKey the key of the path node
+   * @param parentPathNodeKey the key of the new parent path node
+   * @param level the new level of the path node
+   * @param name the name of the path node
+   * @param uriKey uriKey of the path node
+   * @param prefixKey prefixKey of the path node
+   * @param localNameKey localNameKey of the path node
+   * @param type the type of operation
+   */
+  private void relocatePathNode(final long pathNodeKey, final long parentPathNodeKey,
+      final int level, final QNm name, final int uriKey, final int prefixKey,
+      final int localNameKey, final OPType type) {
     mPathSummaryReader.moveTo(pathNodeKey);
-    mNodeRtx.moveTo(nodeKey);
-  }
-
-  private void adaptForFoundPathNode() {
-    // Increase reference count.
-    increaseReferenceCount();
-
-    // Set new path node.
-    resetPathNodeKey(mNodeRtx.getNodeKey());
-  }
+    final QNm oldName = mPathSummaryReader.getName();
+    mPathSummaryReader.removeQNameMapping(mPathSummaryReader.getPathNode(), oldName);
+
+    if (mPathSummaryReader.getParentKey() != parentPathNodeKey) {
+      unlinkPathNode();
+      mPathSummaryReader.moveTo(parentPathNodeKey);
+      final long rightSiblingKey = mPathSummaryReader.getFirstChildKey();
+      final PathNode pathNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
+          pathNodeKey, PageKind.PATHSUMMARYPAGE, 0);
+      pathNode.setParentKey(parentPathNodeKey);
+      pathNode.setLeftSiblingKey(Fixed.NULL_NODE_KEY.getStandardProperty());
+      pathNode.setRightSiblingKey(rightSiblingKey);
+      adaptForInsert(pathNode, InsertPos.ASFIRSTCHILD, PageKind.PATHSUMMARYPAGE);
+    }
 
-  private void setNewPathNodeKey() {
-    final NameNode node = (NameNode) mPageWriteTrx.prepareEntryForModification(
-        mNodeRtx.getNodeKey(), PageKind.RECORDPAGE, -1);
-    node.setPathNodeKey(mPathSummaryReader.getNodeKey());
-  }
+    final PathNode pathNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
+        pathNodeKey, PageKind.PATHSUMMARYPAGE, 0);
+    if (type == OPType.SETNAME) {
+      pathNode.setPrefixKey(prefixKey);
+      pathNode.setLocalNameKey(localNameKey);
+      pathNode.setURIKey(uriKey);
+    }
 
-  private void setReferenceCountToOne() {
-    final PathNode currNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
-        mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-    currNode.setReferenceCount(1);
-  }
+    final int levelDelta = level - pathNode.getLevel();
+    if (levelDelta != 0) {
+      pathNode.setLevel(level);
+      mPathSummaryReader.moveTo(pathNodeKey);
+      for (final Axis axis = new DescendantAxis(mPathSummaryReader); axis.hasNext();) {
+        axis.next();
+        final PathNode descendant = (PathNode) mPageWriteTrx.prepareEntryForModification(
+            mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
+        descendant.setLevel(descendant.getLevel() + levelDelta);
+        mPathSummaryReader.putMapping(descendant.getNodeKey(), descendant);
+      }
+    }
 
-  private void increaseReferenceCount() {
-    // Set new reference count.
-    final PathNode currNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
-        mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-    currNode.setReferenceCount(currNode.getReferences() + 1);
+    mPathSummaryReader.putMapping(pathNodeKey, pathNode);
+    mPathSummaryReader.putQNameMapping(pathNode, type == OPType.SETNAME
+        ? name
+        : oldName);
+    mPathSummaryReader.moveTo(pathNodeKey);
   }
 
   /**
@@ -588,18 +511,6 @@ public final class PathSummaryWriter extends AbstractForwardingXdmNodeReadTrx {
     return level;
   }
 
-  /**
-   * Reset a path node key.
-   *
-   * @param nodeKey the nodeKey of the node to adapt
-   * @throws SirixException if anything fails
-   */
-  private void resetPathNodeKey(final @Nonnegative long nodeKey) throws SirixException {
-    final NameNode currNode =
-        (NameNode) mPageWriteTrx.prepareEntryForModification(nodeKey, PageKind.RECORDPAGE, -1);
-    currNode.setPathNodeKey(mPathSummaryReader.getNodeKey());
-  }
-
   /**
    * Remove a path summary node with the specified PCR.
    *
@@ -617,6 +528,19 @@ public final class PathSummaryWriter extends AbstractForwardingXdmNodeReadTrx {
       }
     }
 
+    unlinkPathNode();
+
+    // Remove node.
+    mPathSummaryReader.removeMapping(mPathSummaryReader.getNodeKey());
+    mPathSummaryReader.removeQNameMapping(
+        mPathSummaryReader.getPathNode(), mPathSummaryReader.getName());
+    mPageWriteTrx.removeEntry(mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
+  }
+
+  /**
+   * Unlink the current path node from its parent and siblings.
+   */
+  private void unlinkPathNode() {
     // Adapt left sibling node if there is one.
     if (mPathSummaryReader.hasLeftSibling()) {
       final StructNode leftSibling = (StructNode) mPageWriteTrx.prepareEntryForModification(
@@ -638,25 +562,6 @@ public final class PathSummaryWriter extends AbstractForwardingXdmNodeReadTrx {
       parent.setFirstChildKey(mPathSummaryReader.getRightSiblingKey());
     }
     parent.decrementChildCount();
-
-    // Remove node.
-    mPathSummaryReader.removeMapping(mPathSummaryReader.getNodeKey());
-    mPathSummaryReader.removeQNameMapping(
-        mPathSummaryReader.getPathNode(), mPathSummaryReader.getName());
-    mPageWriteTrx.removeEntry(mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-  }
-
-  private void deleteOrDecrement() throws SirixIOException, SirixException {
-    if (mNodeRtx.getNode() instanceof ImmutableNameNode) {
-      movePathSummary();
-      if (mPathSummaryReader.getReferences() == 1) {
-        removePathSummaryNode(RemoveSubtreePath.NO);
-      } else {
-        final PathNode pathNode = (PathNode) mPageWriteTrx.prepareEntryForModification(
-            mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
-        pathNode.decrementReferenceCount();
-      }
-    }
   }
 
   /**
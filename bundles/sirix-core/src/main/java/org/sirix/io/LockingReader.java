@@ -0,0 +1,85 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Reader, which can be shared by multiple threads, as all reads of the delegate, which usually
+ * positions a file pointer, are guarded by a lock. A lock instead of a monitor is used, such that
+ * virtual threads waiting for a read aren't pinned to their carrier threads.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class LockingReader extends AbstractForwardingReader {
+
+  /** The reader, which isn't thread-safe. */
+  private final Reader mReader;
+
+  /** Guards all reads. */
+  private final Lock mLock;
+
+  /**
+   * Constructor.
+   *
+   * @param reader the reader, which isn't thread-safe
+   */
+  public LockingReader(final Reader reader) {
+    mReader = checkNotNull(reader);
+    mLock = new ReentrantLock();
+  }
+
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadTrx pageReadTrx)
+      throws SirixIOException {
+    mLock.lock();
+    try {
+      return mReader.read(reference, pageReadTrx);
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  public PageReference readUberPageReference() throws SirixIOException {
+    mLock.lock();
+    try {
+      return mReader.readUberPageReference();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision,
+      final PageReadTrx pageReadTrx) {
+    mLock.lock();
+    try {
+      return mReader.readRevisionRootPage(revision, pageReadTrx);
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws SirixIOException {
+    mLock.lock();
+    try {
+      mReader.close();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+}
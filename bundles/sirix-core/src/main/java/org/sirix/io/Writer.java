@@ -21,8 +21,11 @@
 
 package org.sirix.io;
 
+import javax.annotation.Nullable;
+import org.sirix.api.CommitStatistics;
 import org.sirix.exception.SirixIOException;
 import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.Page;
 
 /**
  * Interface to provide the abstract layer related to write access of the Sirix-backend.
@@ -40,6 +43,28 @@ public interface Writer extends Reader {
    */
   Writer write(PageReference pageReference) throws SirixIOException;
 
+  /**
+   * Serialize a page into the representation, which is written to the storage, without writing
+   * it. Serializing is thread-safe, such that pages, which don't reference each other, can be
+   * serialized and compressed concurrently.
+   *
+   * @param page the page to serialize
+   * @throws SirixIOException if an I/O error occured
+   * @return the serialized page
+   */
+  byte[] serialize(Page page) throws SirixIOException;
+
+  /**
+   * Writing a page related to the reference, which has already been serialized by
+   * {@link #serialize(Page)}.
+   *
+   * @param pageReference that points to a page
+   * @param serializedPage the serialized page
+   * @throws SirixIOException if an I/O error occured
+   * @return this writer instance
+   */
+  Writer write(PageReference pageReference, byte[] serializedPage) throws SirixIOException;
+
   /**
    * Write beacon for the first reference.
    *
@@ -49,6 +74,15 @@ public interface Writer extends Reader {
    */
   Writer writeUberPageReference(PageReference pageReference) throws SirixIOException;
 
+  /**
+   * Set the statistics of the current commit, which collect the time spent serializing,
+   * compressing, hashing and appending pages as well as the number of pages and bytes written.
+   *
+   * @param statistics the statistics or {@code null}, to stop collecting statistics
+   * @return this writer instance
+   */
+  Writer setCommitStatistics(@Nullable CommitStatistics statistics);
+
   /**
    * Truncate to a specific revision.
    *
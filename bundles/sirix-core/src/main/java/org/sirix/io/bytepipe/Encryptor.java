@@ -33,7 +33,7 @@ public final class Encryptor implements ByteHandler {
 
   private static final byte[] mAssociatedData = {};
 
-  private StreamingAead mStreamingAead;
+  private volatile StreamingAead mStreamingAead;
 
   private KeysetHandle mKeySetHandle;
 
@@ -61,10 +61,19 @@ public final class Encryptor implements ByteHandler {
     }
   }
 
+  // Pages might be serialized concurrently during a commit.
   private StreamingAead getStreamingAead() throws GeneralSecurityException {
-    if (mStreamingAead == null)
-      mStreamingAead = StreamingAeadFactory.getPrimitive(getKeysetHandle());
-    return mStreamingAead;
+    StreamingAead streamingAead = mStreamingAead;
+    if (streamingAead == null) {
+      synchronized (this) {
+        streamingAead = mStreamingAead;
+        if (streamingAead == null) {
+          streamingAead = StreamingAeadFactory.getPrimitive(getKeysetHandle());
+          mStreamingAead = streamingAead;
+        }
+      }
+    }
+    return streamingAead;
   }
 
   private KeysetHandle getKeysetHandle() {
@@ -21,6 +21,7 @@
 
 package org.sirix.io.file;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
@@ -62,9 +63,19 @@ public final class FileStorage implements Storage {
    * @param byteHandler byte handler pipeline
    */
   public FileStorage(final ResourceConfiguration resourceConfig) {
-    assert resourceConfig != null : "resourceConfig must not be null!";
-    mFile = resourceConfig.resourcePath;
-    mByteHandler = resourceConfig.byteHandlePipeline;
+    this(checkNotNull(resourceConfig).resourcePath, resourceConfig.byteHandlePipeline);
+  }
+
+  /**
+   * Constructor, which is used to write the files of a resource to another location, for instance
+   * during a compaction.
+   *
+   * @param resourcePath the location of the resource, which contains the data folder
+   * @param byteHandler byte handler pipeline
+   */
+  public FileStorage(final Path resourcePath, final ByteHandlePipeline byteHandler) {
+    mFile = checkNotNull(resourcePath);
+    mByteHandler = checkNotNull(byteHandler);
   }
 
   @Override
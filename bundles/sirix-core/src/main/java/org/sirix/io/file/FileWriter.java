@@ -27,12 +27,17 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+import org.sirix.api.CommitPhase;
+import org.sirix.api.CommitStatistics;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.AbstractForwardingReader;
 import org.sirix.io.Reader;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PageKind;
 import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
 import org.sirix.page.RevisionRootPage;
@@ -61,6 +66,9 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
 
   private final PagePersister mPagePersister;
 
+  /** Statistics of the current commit or {@code null}. */
+  private volatile CommitStatistics mStatistics;
+
   /**
    * Constructor.
    *
@@ -111,22 +119,43 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
    */
   @Override
   public FileWriter write(final PageReference pageReference) throws SirixIOException {
+    final Page page = pageReference.getPage();
+    assert page != null;
+    return write(pageReference, serialize(page));
+  }
+
+  @Override
+  public byte[] serialize(final Page page) throws SirixIOException {
     // Perform byte operations.
     try {
-      // Serialize page.
-      final Page page = pageReference.getPage();
-      assert page != null;
+      final CommitStatistics statistics = mStatistics;
+      final long start = System.nanoTime();
 
-      final byte[] serializedPage;
+      final byte[] uncompressedPage;
 
       try (final ByteArrayOutputStream output = new ByteArrayOutputStream();
-          final DataOutputStream dataOutput =
-              new DataOutputStream(mReader.mByteHandler.serialize(output))) {
+          final DataOutputStream dataOutput = new DataOutputStream(output)) {
         mPagePersister.serializePage(dataOutput, page, mType);
         dataOutput.flush();
+        uncompressedPage = output.toByteArray();
+      }
+
+      final long serialized = System.nanoTime();
+
+      final byte[] serializedPage;
+
+      try (final ByteArrayOutputStream output = new ByteArrayOutputStream();
+          final OutputStream handledOutput = mReader.mByteHandler.serialize(output)) {
+        handledOutput.write(uncompressedPage);
+        handledOutput.flush();
         serializedPage = output.toByteArray();
       }
 
+      if (statistics != null) {
+        statistics.addTime(CommitPhase.SERIALIZATION, serialized - start)
+                  .addTime(CommitPhase.COMPRESSION, System.nanoTime() - serialized);
+      }
+
       final byte[] writtenPage = new byte[serializedPage.length + FileReader.OTHER_BEACON];
       final ByteBuffer buffer = ByteBuffer.allocate(writtenPage.length);
       buffer.putInt(serializedPage.length);
@@ -134,6 +163,22 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       buffer.position(0);
       buffer.get(writtenPage, 0, writtenPage.length);
 
+      return writtenPage;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public FileWriter write(final PageReference pageReference, final byte[] writtenPage)
+      throws SirixIOException {
+    try {
+      final Page page = pageReference.getPage();
+      assert page != null;
+
+      final CommitStatistics statistics = mStatistics;
+      final long start = System.nanoTime();
+
       // Getting actual offset and appending to the end of the current file.
       final long fileSize = mDataFile.length();
       final long offset = fileSize == 0
@@ -154,11 +199,21 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
           // Must not happen.
       }
 
+      final long appended = System.nanoTime();
+
       pageReference.setLength(writtenPage.length);
       pageReference.setHash(mReader.mHashFunction.hashBytes(writtenPage).asBytes());
 
+      if (statistics != null) {
+        statistics.addTime(CommitPhase.FILE_APPENDS, appended - start)
+                  .addTime(CommitPhase.HASHING, System.nanoTime() - appended)
+                  .addPage(PageKind.getKind(page.getClass()), writtenPage.length);
+      }
+
       if (mType == SerializationType.DATA && page instanceof RevisionRootPage) {
-        mRevisionsOffsetFile.seek(mRevisionsOffsetFile.length());
+        // The offset is stored at the position of the revision, such that revisions which have been
+        // removed during a compaction leave a gap (zero offsets) in the file.
+        mRevisionsOffsetFile.seek((long) ((RevisionRootPage) page).getRevision() * 8);
         mRevisionsOffsetFile.writeLong(offset);
       }
 
@@ -168,6 +223,12 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
     }
   }
 
+  @Override
+  public Writer setCommitStatistics(final @Nullable CommitStatistics statistics) {
+    mStatistics = statistics;
+    return this;
+  }
+
   @Override
   public void close() throws SirixIOException {
     try {
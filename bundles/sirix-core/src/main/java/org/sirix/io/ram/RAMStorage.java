@@ -4,6 +4,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nullable;
 import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.api.CommitStatistics;
 import org.sirix.api.PageReadTrx;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
@@ -125,6 +126,24 @@ public final class RAMStorage implements Storage {
       return this;
     }
 
+    @Override
+    public byte[] serialize(final Page page) {
+      // Pages are kept as objects.
+      return new byte[0];
+    }
+
+    @Override
+    public Writer write(final PageReference pageReference, final byte[] serializedPage)
+        throws SirixIOException {
+      return write(pageReference);
+    }
+
+    @Override
+    public Writer setCommitStatistics(final @Nullable CommitStatistics statistics) {
+      // Nothing is serialized.
+      return this;
+    }
+
     @Override
     public Writer writeUberPageReference(final PageReference pageReference)
         throws SirixIOException {
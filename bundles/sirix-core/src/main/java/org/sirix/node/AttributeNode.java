@@ -21,6 +21,7 @@
 
 package org.sirix.node;
 
+import java.io.InputStream;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.brackit.xquery.atomic.QNm;
@@ -131,6 +132,11 @@ public final class AttributeNode extends AbstractForwardingNode implements Value
     return mValDel.getRawValue();
   }
 
+  @Override
+  public InputStream getValueStream() {
+    return mValDel.getValueStream();
+  }
+
   @Override
   public void setValue(final byte[] pVal) {
     mValDel.setValue(pVal);
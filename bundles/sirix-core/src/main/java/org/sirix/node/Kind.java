@@ -25,6 +25,7 @@ import static org.sirix.node.Utils.putVarLong;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,10 +56,12 @@ import org.sirix.node.interfaces.NodePersistenter;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.json.JSONArray;
 import org.sirix.node.json.JSONObject;
+import org.sirix.page.OverflowPageDataInput;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.service.xml.xpath.AtomicValue;
 import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
+import org.sirix.utils.Compression;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 
@@ -148,12 +151,7 @@ public enum Kind implements NodePersistenter {
       final NameNodeDelegate nameDel = deserializeNameDelegate(nodeDel, source);
 
       // Val delegate.
-      final boolean isCompressed = source.readByte() == (byte) 1
-          ? true
-          : false;
-      final byte[] vals = new byte[source.readInt()];
-      source.readFully(vals, 0, vals.length);
-      final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, isCompressed);
+      final ValNodeDelegate valDel = deserializeValDelegate(nodeDel, source, pageReadTrx);
 
       final String uri = pageReadTrx.getName(nameDel.getURIKey(), Kind.NAMESPACE);
       final int prefixKey = nameDel.getPrefixKey();
@@ -225,12 +223,7 @@ public enum Kind implements NodePersistenter {
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
 
       // Val delegate.
-      final boolean isCompressed = source.readByte() == (byte) 1
-          ? true
-          : false;
-      final byte[] vals = new byte[source.readInt()];
-      source.readFully(vals, 0, vals.length);
-      final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, isCompressed);
+      final ValNodeDelegate valDel = deserializeValDelegate(nodeDel, source, pageReadTrx);
 
       // Struct delegate.
       final long nodeKey = nodeDel.getNodeKey();
@@ -270,12 +263,7 @@ public enum Kind implements NodePersistenter {
       final NameNodeDelegate nameDel = deserializeNameDelegate(nodeDel, source);
 
       // Val delegate.
-      final boolean isCompressed = source.readByte() == (byte) 1
-          ? true
-          : false;
-      final byte[] vals = new byte[source.readInt()];
-      source.readFully(vals, 0, vals.length);
-      final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, isCompressed);
+      final ValNodeDelegate valDel = deserializeValDelegate(nodeDel, source, pageReadTrx);
 
       // Returning an instance.
       return new PINode(structDel, nameDel, valDel, pageReadTrx);
@@ -301,12 +289,7 @@ public enum Kind implements NodePersistenter {
       final NodeDelegate nodeDel = deserializeNodeDelegate(source, recordID, deweyID, pageReadTrx);
 
       // Val delegate.
-      final boolean isCompressed = source.readByte() == (byte) 1
-          ? true
-          : false;
-      final byte[] vals = new byte[source.readInt()];
-      source.readFully(vals, 0, vals.length);
-      final ValNodeDelegate valDel = new ValNodeDelegate(nodeDel, vals, isCompressed);
+      final ValNodeDelegate valDel = deserializeValDelegate(nodeDel, source, pageReadTrx);
 
       // Struct delegate.
       final long nodeKey = nodeDel.getNodeKey();
@@ -1167,6 +1150,16 @@ public enum Kind implements NodePersistenter {
         isCompressed
             ? (byte) 1
             : (byte) 0);
+    if (valueDel.isValueStreamed()) {
+      sink.writeInt(valueDel.getStoredLength());
+      try (final InputStream in = valueDel.getStoredValueStream()) {
+        final byte[] buffer = new byte[Compression.BUFFER_SIZE];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+          sink.write(buffer, 0, read);
+        }
+      }
+      return;
+    }
     final byte[] value = isCompressed
         ? valueDel.getCompressed()
         : valueDel.getRawValue();
@@ -1174,6 +1167,38 @@ public enum Kind implements NodePersistenter {
     sink.write(value);
   }
 
+  /**
+   * Deserializing a {@link ValNodeDelegate}. Values of records, which are stored in overflow pages
+   * are not read into memory, but on demand.
+   *
+   * @param nodeDel the node delegate
+   * @param source the input to read from
+   * @param pageReadTrx the page read transaction
+   * @return the value delegate
+   * @throws IOException if an I/O error occurs
+   */
+  private static final ValNodeDelegate deserializeValDelegate(final NodeDelegate nodeDel,
+      final DataInput source, final PageReadTrx pageReadTrx) throws IOException {
+    final boolean isCompressed = source.readByte() == (byte) 1
+        ? true
+        : false;
+    final int length = source.readInt();
+    if (source instanceof OverflowPageDataInput) {
+      return new ValNodeDelegate(nodeDel, ((OverflowPageDataInput) source).skipLazily(length),
+          length, isCompressed, getTextDictionary(pageReadTrx));
+    }
+    final byte[] vals = new byte[length];
+    source.readFully(vals, 0, vals.length);
+    return new ValNodeDelegate(nodeDel, vals, isCompressed, getTextDictionary(pageReadTrx));
+  }
+
+  private static final byte[] getTextDictionary(final PageReadTrx pageReadTrx) {
+    if (pageReadTrx == null || pageReadTrx.getResourceManager() == null) {
+      return null;
+    }
+    return pageReadTrx.getResourceManager().getTextDictionary().orElse(null);
+  }
+
   /**
    * Simple DumbNode just for testing the {@link UnorderedKeyValuePage}s.
    *
@@ -22,6 +22,8 @@
 package org.sirix.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.Visitor;
@@ -80,6 +82,14 @@ public final class TextNode extends AbstractStructForwardingNode implements Valu
     return mValue;
   }
 
+  @Override
+  public InputStream getValueStream() {
+    if (mValue != null) {
+      return new ByteArrayInputStream(mValue);
+    }
+    return mValDel.getValueStream();
+  }
+
   @Override
   public void setValue(final byte[] value) {
     mValue = null;
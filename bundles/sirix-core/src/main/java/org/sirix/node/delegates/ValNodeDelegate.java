@@ -20,11 +20,18 @@
  */
 package org.sirix.node.delegates;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
-import java.util.zip.Deflater;
+import java.util.function.Supplier;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.api.visitor.Visitor;
+import org.sirix.exception.SirixIOException;
 import org.sirix.node.AbstractForwardingNode;
 import org.sirix.node.Kind;
 import org.sirix.node.interfaces.Node;
@@ -33,6 +40,7 @@ import org.sirix.settings.Constants;
 import org.sirix.utils.Compression;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.io.ByteStreams;
 
 /**
  * Delegate method for all nodes containing "value"-data. That means that independent values are
@@ -46,12 +54,21 @@ public class ValNodeDelegate extends AbstractForwardingNode implements ValueNode
   /** Delegate for common node information. */
   private NodeDelegate mDelegate;
 
-  /** Storing the value. */
+  /** Storing the value or {@code null}, if the value is read from {@link #mValSource}. */
   private byte[] mVal;
 
+  /** Supplies the stored value of very long values, which are not kept on the heap. */
+  private Supplier<InputStream> mValSource;
+
+  /** The length of the stored value, which might be compressed. */
+  private int mValLength;
+
   /** Determines if input has been compressed. */
   private boolean mCompressed;
 
+  /** The dictionary of the resource, with which the value might have been compressed. */
+  private final byte[] mDictionary;
+
   /**
    * Constructor
    *
@@ -60,11 +77,48 @@ public class ValNodeDelegate extends AbstractForwardingNode implements ValueNode
    * @param compressed compress value or not
    */
   public ValNodeDelegate(final NodeDelegate nodeDel, final byte[] val, final boolean compressed) {
+    this(nodeDel, val, compressed, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param nodeDel {@link NodeDelegate} reference
+   * @param val the value
+   * @param compressed compress value or not
+   * @param dictionary the dictionary of the resource or {@code null}, if none has been built
+   */
+  public ValNodeDelegate(final NodeDelegate nodeDel, final byte[] val, final boolean compressed,
+      final @Nullable byte[] dictionary) {
     assert nodeDel != null : "nodeDel must not be null!";
     assert val != null : "val must not be null!";
     mDelegate = nodeDel;
     mVal = val;
+    mValLength = val.length;
     mCompressed = compressed;
+    mDictionary = dictionary;
+  }
+
+  /**
+   * Constructor for values, which are read on demand. Each call of the supplier must return a new
+   * stream over the stored value.
+   *
+   * @param nodeDel {@link NodeDelegate} reference
+   * @param valSource supplies the stored value, which might be compressed
+   * @param length the length of the stored value
+   * @param compressed determines if the stored value is compressed or not
+   * @param dictionary the dictionary of the resource or {@code null}, if none has been built
+   */
+  public ValNodeDelegate(final NodeDelegate nodeDel, final Supplier<InputStream> valSource,
+      final @Nonnegative int length, final boolean compressed,
+      final @Nullable byte[] dictionary) {
+    assert nodeDel != null : "nodeDel must not be null!";
+    checkArgument(length >= 0, "length must be >= 0!");
+    mDelegate = nodeDel;
+    mValSource = checkNotNull(valSource);
+    mValLength = length;
+    mCompressed = compressed;
+    mDictionary = dictionary;
   }
 
   @Override
@@ -75,8 +129,45 @@ public class ValNodeDelegate extends AbstractForwardingNode implements ValueNode
   @Override
   public byte[] getRawValue() {
     return mCompressed
-        ? Compression.decompress(mVal)
-        : mVal;
+        ? Compression.decompress(getCompressed(), mDictionary)
+        : getCompressed();
+  }
+
+  @Override
+  public InputStream getValueStream() {
+    final InputStream in = getStoredValueStream();
+    return mCompressed
+        ? Compression.decompress(in, mDictionary)
+        : in;
+  }
+
+  /**
+   * Get a stream over the value which might be compressed.
+   *
+   * @return a new stream over the stored value
+   */
+  public InputStream getStoredValueStream() {
+    return mVal == null
+        ? mValSource.get()
+        : new ByteArrayInputStream(mVal);
+  }
+
+  /**
+   * Get the length of the value which might be compressed.
+   *
+   * @return the length of the stored value
+   */
+  public int getStoredLength() {
+    return mValLength;
+  }
+
+  /**
+   * Determines if the value is read on demand instead of being kept on the heap.
+   *
+   * @return {@code true}, if the value is read on demand, {@code false} otherwise
+   */
+  public boolean isValueStreamed() {
+    return mVal == null;
   }
 
   @Override
@@ -90,17 +181,33 @@ public class ValNodeDelegate extends AbstractForwardingNode implements ValueNode
    * @return {@code value} which might be compressed
    */
   public byte[] getCompressed() {
-    return mVal;
+    if (mVal != null) {
+      return mVal;
+    }
+    try (final InputStream in = mValSource.get()) {
+      return ByteStreams.toByteArray(in);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
   @Override
   public void setValue(final byte[] value) {
-    mCompressed = new String(value).length() > 10
-        ? true
-        : false;
-    mVal = mCompressed
-        ? Compression.compress(value, Deflater.DEFAULT_COMPRESSION)
-        : value;
+    // Compressed values are set with the dictionary of the resource by the node factory.
+    mCompressed = false;
+    mVal = checkNotNull(value);
+    mValSource = null;
+    mValLength = mVal.length;
+  }
+
+  /**
+   * Set a value, which has been compressed with the dictionary of the resource.
+   *
+   * @param compressed the compressed value
+   */
+  public void setCompressedValue(final byte[] compressed) {
+    setValue(compressed);
+    mCompressed = true;
   }
 
   /**
@@ -132,11 +239,15 @@ public class ValNodeDelegate extends AbstractForwardingNode implements ValueNode
       return false;
 
     final ValNodeDelegate other = (ValNodeDelegate) obj;
-    return Objects.equal(mDelegate, other.mDelegate) && Arrays.equals(mVal, other.mVal);
+    return Objects.equal(mDelegate, other.mDelegate)
+        && Arrays.equals(getCompressed(), other.getCompressed());
   }
 
   @Override
   public String toString() {
+    if (mVal == null) {
+      return MoreObjects.toStringHelper(this).add("length", mValLength).toString();
+    }
     return MoreObjects.toStringHelper(this).add("value", new String(mVal)).toString();
   }
 
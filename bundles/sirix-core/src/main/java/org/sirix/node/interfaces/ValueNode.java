@@ -23,6 +23,9 @@
  */
 package org.sirix.node.interfaces;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 /**
  * Interface for nodes which incorporate values.
  * 
@@ -45,4 +48,14 @@ public interface ValueNode extends Node {
   void setValue(byte[] value);
 
   String getValue();
+
+  /**
+   * Return a stream over the item's value. Implementations which keep very long values off the heap
+   * override this method to stream the value from the storage.
+   *
+   * @return a new stream over the value of the node
+   */
+  default InputStream getValueStream() {
+    return new ByteArrayInputStream(getRawValue());
+  }
 }
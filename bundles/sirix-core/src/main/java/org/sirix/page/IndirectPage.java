@@ -23,6 +23,7 @@ package org.sirix.page;
 
 import java.io.DataInput;
 import java.io.IOException;
+import org.sirix.page.delegates.FrozenPageDelegate;
 import org.sirix.page.delegates.PageDelegate;
 import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
@@ -33,11 +34,17 @@ import org.sirix.settings.Constants;
  * <p>
  * Indirect page holds a set of references to build a reference tree.
  * </p>
+ *
+ * <p>
+ * Pages read from the persistent storage are frozen, that is read-only (see
+ * {@link FrozenPageDelegate}): {@link #getReference(int)} returns {@code null} for offsets which
+ * do not reference a page. A modifiable copy is created by the copy constructor.
+ * </p>
  */
 public final class IndirectPage extends AbstractForwardingPage {
 
-  /** {@link PageDelegate} reference. */
-  private final PageDelegate mDelegate;
+  /** {@link PageDelegate} or {@link FrozenPageDelegate} reference. */
+  private final Page mDelegate;
 
   /**
    * Create indirect page.
@@ -53,7 +60,9 @@ public final class IndirectPage extends AbstractForwardingPage {
    * @param in input source
    */
   public IndirectPage(final DataInput in, final SerializationType type) throws IOException {
-    mDelegate = new PageDelegate(Constants.INP_REFERENCE_COUNT, in, type);
+    mDelegate = type == SerializationType.DATA
+        ? new FrozenPageDelegate(in)
+        : new PageDelegate(Constants.INP_REFERENCE_COUNT, in, type);
   }
 
   /**
@@ -62,7 +71,19 @@ public final class IndirectPage extends AbstractForwardingPage {
    * @param page {@link IndirectPage} to clone
    */
   public IndirectPage(final IndirectPage page) {
-    mDelegate = new PageDelegate(page, page.mDelegate.getBitmap());
+    mDelegate = page.isFrozen()
+        ? ((FrozenPageDelegate) page.mDelegate).thaw()
+        : new PageDelegate(page, ((PageDelegate) page.mDelegate).getBitmap());
+  }
+
+  /**
+   * Determines if the page is read-only.
+   *
+   * @return {@code true}, if the page has been read from the persistent storage and has not been
+   *         copied, {@code false} otherwise
+   */
+  public boolean isFrozen() {
+    return mDelegate instanceof FrozenPageDelegate;
   }
 
   @Override
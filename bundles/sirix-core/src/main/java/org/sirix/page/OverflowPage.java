@@ -1,27 +1,42 @@
 package org.sirix.page;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nonnegative;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.page.interfaces.Page;
 
 /**
- * OverflowPage used to store records which are longer than a predefined threshold.
+ * OverflowPage used to store records which are longer than a predefined threshold. Very long
+ * records are split into chunks of equal size (except for the last one). The first chunk is stored
+ * in the page itself, whereas the page holds references to the remaining chunks, which are plain
+ * overflow pages themselves. Thus, a chunk at an arbitrary offset can be read without reading the
+ * chunks in front of it.
  *
  * @author Johannes Lichtenberger
  *
  */
 public final class OverflowPage implements Page {
 
-  /** Data to be stored. */
+  /** Data to be stored (the first chunk, if the record is split). */
   private final byte[] mData;
 
+  /** References to the remaining chunks. */
+  private final List<PageReference> mChunks;
+
+  /** The length of the whole record. */
+  private final long mLength;
+
   public OverflowPage() {
-    mData = new byte[0];
+    this(new byte[0]);
   }
 
   /**
@@ -32,34 +47,149 @@ public final class OverflowPage implements Page {
   public OverflowPage(final byte[] data) {
     assert data != null;
     mData = data;
+    mChunks = Collections.emptyList();
+    mLength = data.length;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param data the data of the first chunk
+   * @param chunks references to the remaining chunks
+   * @param length the length of the whole record
+   */
+  private OverflowPage(final byte[] data, final List<PageReference> chunks, final long length) {
+    mData = data;
+    mChunks = chunks;
+    mLength = length;
   }
 
   public OverflowPage(final DataInput in) throws IOException {
+    this(in, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param in the input to read from
+   * @param isChunked {@code true}, if the page references further chunks, {@code false} otherwise
+   * @throws IOException if an I/O error occurs
+   */
+  OverflowPage(final DataInput in, final boolean isChunked) throws IOException {
     mData = new byte[in.readInt()];
     in.readFully(mData);
+    if (isChunked) {
+      mLength = in.readLong();
+      final int chunks = in.readInt();
+      mChunks = new ArrayList<>(chunks);
+      for (int i = 0; i < chunks; i++) {
+        final PageReference reference = new PageReference();
+        reference.setKey(in.readLong());
+        mChunks.add(reference);
+      }
+    } else {
+      mChunks = Collections.emptyList();
+      mLength = mData.length;
+    }
+  }
+
+  /**
+   * Split the data into chunks of the given size.
+   *
+   * @param data the data to be stored
+   * @param chunkSize the size of a chunk
+   * @return the overflow page, which holds the first chunk and references to the remaining chunks
+   */
+  public static OverflowPage of(final byte[] data, final @Nonnegative int chunkSize) {
+    checkArgument(chunkSize > 0, "chunkSize must be > 0!");
+    if (data.length <= chunkSize) {
+      return new OverflowPage(data);
+    }
+    final List<PageReference> chunks = new ArrayList<>(data.length / chunkSize);
+    for (int offset = chunkSize; offset < data.length; offset += chunkSize) {
+      final int end = Math.min(offset + chunkSize, data.length);
+      final PageReference reference = new PageReference();
+      reference.setPage(new OverflowPage(Arrays.copyOfRange(data, offset, end)));
+      chunks.add(reference);
+    }
+    return new OverflowPage(Arrays.copyOf(data, chunkSize), chunks, data.length);
   }
 
   @Override
   public List<PageReference> getReferences() {
-    throw new UnsupportedOperationException();
+    return Collections.unmodifiableList(mChunks);
   }
 
   @Override
   public <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
-      PageWriteTrx<K, V, S> pageWriteTrx) {}
+      PageWriteTrx<K, V, S> pageWriteTrx) {
+    for (final PageReference reference : mChunks) {
+      if (reference.getPage() != null) {
+        pageWriteTrx.commit(reference);
+      }
+    }
+  }
 
   @Override
-  public PageReference getReference(int offset) {
-    throw new UnsupportedOperationException();
+  public PageReference getReference(final int offset) {
+    return mChunks.get(offset);
   }
 
   @Override
   public void serialize(final DataOutput out, final SerializationType type) throws IOException {
     out.writeInt(mData.length);
     out.write(mData);
+    if (isChunked()) {
+      out.writeLong(mLength);
+      out.writeInt(mChunks.size());
+      for (final PageReference reference : mChunks) {
+        out.writeLong(reference.getKey());
+      }
+    }
   }
 
+  /**
+   * Get the data of the page (the first chunk, if the record is split).
+   *
+   * @return the data
+   */
   public byte[] getData() {
     return mData;
   }
+
+  /**
+   * Determines if the record is split into several chunks.
+   *
+   * @return {@code true}, if it is split, {@code false} otherwise
+   */
+  public boolean isChunked() {
+    return !mChunks.isEmpty();
+  }
+
+  /**
+   * Get the length of the whole record.
+   *
+   * @return the length of the record
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * Get the size of a chunk. All chunks but the last one have this size.
+   *
+   * @return the chunk size
+   */
+  public int getChunkSize() {
+    return mData.length;
+  }
+
+  /**
+   * Get the number of chunks, including the one stored in this page.
+   *
+   * @return the number of chunks
+   */
+  public int getChunkCount() {
+    return mChunks.size() + 1;
+  }
 }
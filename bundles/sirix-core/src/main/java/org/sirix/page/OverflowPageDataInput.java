@@ -0,0 +1,46 @@
+package org.sirix.page;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import javax.annotation.Nonnegative;
+
+/**
+ * {@link DataInputStream} over a record stored in overflow pages, which is able to skip long values
+ * and to read them on demand instead.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class OverflowPageDataInput extends DataInputStream {
+
+  /** The underlying stream. */
+  private final OverflowPageInputStream mStream;
+
+  /**
+   * Constructor.
+   *
+   * @param in the underlying stream
+   */
+  public OverflowPageDataInput(final OverflowPageInputStream in) {
+    super(in);
+    mStream = in;
+  }
+
+  /**
+   * Skip the next {@code length} bytes, which are read on demand through the returned supplier.
+   *
+   * @param length the number of bytes to skip
+   * @return supplies a new stream over the skipped bytes on each call
+   * @throws IOException if the record ends before {@code length} bytes are skipped
+   */
+  public Supplier<InputStream> skipLazily(final @Nonnegative int length) throws IOException {
+    final long offset = mStream.getPosition();
+    if (mStream.skip(length) != length) {
+      throw new EOFException();
+    }
+    return () -> mStream.range(offset, length);
+  }
+}
@@ -0,0 +1,158 @@
+package org.sirix.page;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.InputStream;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageReadTrx;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Reads a record, which is stored in an {@link OverflowPage} and possibly further chunks. Chunks
+ * are read lazily from the storage, once the stream reaches them, and skipping bytes does not read
+ * the skipped chunks at all.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class OverflowPageInputStream extends InputStream {
+
+  /** The overflow page, which holds the first chunk. */
+  private final OverflowPage mPage;
+
+  /** {@link PageReadTrx} used to read the chunks. */
+  private final PageReadTrx mPageReadTrx;
+
+  /** The end position (exclusive). */
+  private final long mEnd;
+
+  /** The current position. */
+  private long mPosition;
+
+  /** The index of the current chunk or {@code -1}, if no chunk has been read. */
+  private int mChunkIndex;
+
+  /** The data of the current chunk. */
+  private byte[] mChunk;
+
+  /**
+   * Constructor.
+   *
+   * @param page the overflow page
+   * @param pageReadTrx {@link PageReadTrx} used to read the chunks
+   */
+  public OverflowPageInputStream(final OverflowPage page, final PageReadTrx pageReadTrx) {
+    this(page, pageReadTrx, 0, page.getLength());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param page the overflow page
+   * @param pageReadTrx {@link PageReadTrx} used to read the chunks
+   * @param offset the offset in the record to start reading from
+   * @param length the number of bytes to read
+   */
+  public OverflowPageInputStream(final OverflowPage page, final PageReadTrx pageReadTrx,
+      final @Nonnegative long offset, final @Nonnegative long length) {
+    mPage = checkNotNull(page);
+    mPageReadTrx = checkNotNull(pageReadTrx);
+    checkArgument(offset >= 0 && length >= 0 && offset + length <= page.getLength(),
+        "offset and length must denote a range in the record!");
+    mPosition = offset;
+    mEnd = offset + length;
+    mChunkIndex = -1;
+  }
+
+  /**
+   * Get the current position in the record.
+   *
+   * @return the current position
+   */
+  public long getPosition() {
+    return mPosition;
+  }
+
+  /**
+   * Get a new stream over a range of the record, which is independent of this stream.
+   *
+   * @param offset the offset in the record
+   * @param length the number of bytes
+   * @return the new stream
+   */
+  public OverflowPageInputStream range(final @Nonnegative long offset,
+      final @Nonnegative long length) {
+    return new OverflowPageInputStream(mPage, mPageReadTrx, offset, length);
+  }
+
+  @Override
+  public int read() {
+    if (mPosition >= mEnd) {
+      return -1;
+    }
+    final byte[] chunk = chunk();
+    final int value = chunk[(int) (mPosition % mPage.getChunkSize())] & 0xFF;
+    mPosition++;
+    return value;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) {
+    checkNotNull(bytes);
+    if (length == 0) {
+      return 0;
+    }
+    if (mPosition >= mEnd) {
+      return -1;
+    }
+    final byte[] chunk = chunk();
+    final int chunkOffset = (int) (mPosition % mPage.getChunkSize());
+    final int count =
+        (int) Math.min(Math.min(length, chunk.length - chunkOffset), mEnd - mPosition);
+    System.arraycopy(chunk, chunkOffset, bytes, offset, count);
+    mPosition += count;
+    return count;
+  }
+
+  @Override
+  public long skip(final long n) {
+    if (n <= 0) {
+      return 0;
+    }
+    final long skipped = Math.min(n, mEnd - mPosition);
+    mPosition += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    if (mChunk == null || mPosition >= mEnd) {
+      return 0;
+    }
+    final int chunkOffset = (int) (mPosition % mPage.getChunkSize());
+    return (int) Math.max(0, Math.min(mChunk.length - chunkOffset, mEnd - mPosition));
+  }
+
+  /**
+   * Get the chunk, which contains the current position. The chunk is read, if it is not the current
+   * one.
+   *
+   * @return the chunk data
+   */
+  private byte[] chunk() {
+    final int index = (int) (mPosition / mPage.getChunkSize());
+    if (index != mChunkIndex) {
+      if (index == 0) {
+        mChunk = mPage.getData();
+      } else {
+        final PageReference reference = mPage.getReference(index - 1);
+        final Page page = reference.getPage() == null
+            ? mPageReadTrx.getReader().read(reference, mPageReadTrx)
+            : reference.getPage();
+        mChunk = ((OverflowPage) page).getData();
+      }
+      mChunkIndex = index;
+    }
+    return mChunk;
+  }
+}
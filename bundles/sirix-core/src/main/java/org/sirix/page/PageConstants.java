@@ -9,5 +9,8 @@ public final class PageConstants {
   // 150 KiB.
   public static final int MAX_RECORD_SIZE = 150_000;
 
+  // 64 KiB.
+  public static final int OVERFLOW_CHUNK_SIZE = 65_536;
+
   public static final int MAX_INDEX_NR = 512;
 }
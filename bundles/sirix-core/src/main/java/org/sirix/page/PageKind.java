@@ -41,7 +41,7 @@ public enum PageKind {
     @Nonnull
     Page deserializePage(final DataInput source, final PageReadTrx pageReadTrx,
         final SerializationType type) throws IOException {
-      return new UnorderedKeyValuePage(source, pageReadTrx);
+      return new UnorderedKeyValuePage(source, pageReadTrx, type);
     }
 
     @Override
@@ -242,8 +242,7 @@ public enum PageKind {
     @Override
     void serializePage(final DataOutput sink, final Page page, @Nonnull SerializationType type)
         throws IOException {
-      sink.writeByte(OVERFLOWPAGE.mId);
-      page.serialize(sink, type);
+      serializeOverflowPage(sink, (OverflowPage) page, type);
     }
 
     @Override
@@ -273,6 +272,29 @@ public enum PageKind {
     public @Nonnull Page getInstance(Page page, @Nonnull PageReadTrx pageReadTrx) {
       return new PathPage();
     }
+  },
+
+  /**
+   * {@link OverflowPage}, which references further chunks of a record.
+   */
+  CHUNKEDOVERFLOWPAGE((byte) 11, OverflowPage.class) {
+    @Override
+    @Nonnull
+    Page deserializePage(final DataInput source, final PageReadTrx pageReadTrx,
+        final SerializationType type) throws IOException {
+      return new OverflowPage(source, true);
+    }
+
+    @Override
+    void serializePage(final DataOutput sink, final Page page, @Nonnull SerializationType type)
+        throws IOException {
+      serializeOverflowPage(sink, (OverflowPage) page, type);
+    }
+
+    @Override
+    public @Nonnull Page getInstance(final Page page, final PageReadTrx pageReadTrx) {
+      return new OverflowPage();
+    }
   };
 
   /** Mapping of keys -> page */
@@ -288,6 +310,23 @@ public enum PageKind {
     }
   }
 
+  /**
+   * Serialize an overflow page, whereas the page kind depends on whether the page references further
+   * chunks or not.
+   *
+   * @param sink {@link DataOutput} instance
+   * @param page the overflow page
+   * @param type the serialization type
+   * @throws IOException if an I/O error occurs
+   */
+  private static void serializeOverflowPage(final DataOutput sink, final OverflowPage page,
+      final SerializationType type) throws IOException {
+    sink.writeByte(page.isChunked()
+        ? CHUNKEDOVERFLOWPAGE.mId
+        : OVERFLOWPAGE.mId);
+    page.serialize(sink, type);
+  }
+
   /** Unique ID. */
   private final byte mId;
 
@@ -39,7 +39,8 @@ public final class PageUtils {
     Page page = null;
 
     // Level page count exponent from the configuration.
-    final int[] levelPageCountExp = pageReadTrx.getUberPage().getPageCountExp(pageKind);
+    final int[] levelPageCountExp = pageReadTrx.getUberPage().getPageCountExp(
+        pageKind, pageReadTrx.getResourceManager().getResourceConfig());
 
     // Remaining levels.
     for (int i = 0, l = levelPageCountExp.length; i < l; i++) {
@@ -212,12 +212,13 @@ public final class RevisionRootPage extends AbstractForwardingPage {
       @Nonnull final PageWriteTrx<K, V, S> pageWriteTrx) {
     if (mRevision == pageWriteTrx.getUberPage().getRevision()) {
       super.commit(pageWriteTrx);
+      // The timestamp is set on commit, such that rewriting the page keeps it.
+      mRevisionTimestamp = Instant.now().toEpochMilli();
     }
   }
 
   @Override
   public void serialize(final DataOutput out, final SerializationType type) throws IOException {
-    mRevisionTimestamp = Instant.now().toEpochMilli();
     mDelegate.serialize(checkNotNull(out), checkNotNull(type));
     out.writeInt(mRevision);
     out.writeLong(mMaxNodeKey);
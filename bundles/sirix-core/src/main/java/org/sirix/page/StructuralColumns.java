@@ -0,0 +1,302 @@
+package org.sirix.page;
+
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import javax.annotation.Nonnegative;
+import org.sirix.node.Kind;
+import org.sirix.node.interfaces.NameNode;
+import org.sirix.node.interfaces.Node;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.settings.Fixed;
+import com.google.common.base.MoreObjects;
+
+/**
+ * <h1>StructuralColumns</h1>
+ *
+ * <p>
+ * Struct-of-arrays view of the records stored in one {@link UnorderedKeyValuePage}. The structural
+ * pointers (parent, first child, left and right sibling), the child and descendant counts as well
+ * as the name keys of all nodes of a page are kept in parallel arrays, sorted by node key, such
+ * that the tree structure can be walked without deserializing the records themselves. The values
+ * of the records remain in the record slots of the page.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable once built.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class StructuralColumns {
+
+  /** Flag denoting that the structural columns are set for a node. */
+  private static final byte STRUCT = 1;
+
+  /** Flag denoting that the name columns are set for a node. */
+  private static final byte NAME = 2;
+
+  /** The node keys, sorted in ascending order. */
+  private final long[] mNodeKeys;
+
+  /** The kinds of the nodes. */
+  private final byte[] mKinds;
+
+  /** Parent keys. */
+  private final long[] mParentKeys;
+
+  /** First child keys. */
+  private final long[] mFirstChildKeys;
+
+  /** Left sibling keys. */
+  private final long[] mLeftSiblingKeys;
+
+  /** Right sibling keys. */
+  private final long[] mRightSiblingKeys;
+
+  /** Number of children. */
+  private final long[] mChildCounts;
+
+  /** Number of descendants. */
+  private final long[] mDescendantCounts;
+
+  /** Local name keys. */
+  private final int[] mLocalNameKeys;
+
+  /** Path node keys. */
+  private final long[] mPathNodeKeys;
+
+  /**
+   * Constructor.
+   *
+   * @param size number of nodes
+   */
+  private StructuralColumns(final @Nonnegative int size) {
+    final long nullKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    mNodeKeys = new long[size];
+    mKinds = new byte[size];
+    mParentKeys = new long[size];
+    mFirstChildKeys = new long[size];
+    mLeftSiblingKeys = new long[size];
+    mRightSiblingKeys = new long[size];
+    mChildCounts = new long[size];
+    mDescendantCounts = new long[size];
+    mLocalNameKeys = new int[size];
+    mPathNodeKeys = new long[size];
+    Arrays.fill(mParentKeys, nullKey);
+    Arrays.fill(mFirstChildKeys, nullKey);
+    Arrays.fill(mLeftSiblingKeys, nullKey);
+    Arrays.fill(mRightSiblingKeys, nullKey);
+    Arrays.fill(mLocalNameKeys, -1);
+    Arrays.fill(mPathNodeKeys, nullKey);
+  }
+
+  /**
+   * Build the columns from a collection of records. Records which are not nodes are skipped.
+   *
+   * @param records the records of a page
+   * @return the columns
+   */
+  public static StructuralColumns of(final Collection<Record> records) {
+    final long[] keys = records.stream()
+                               .filter(record -> record instanceof Node)
+                               .mapToLong(Record::getNodeKey)
+                               .sorted()
+                               .toArray();
+    final StructuralColumns columns = new StructuralColumns(keys.length);
+    System.arraycopy(keys, 0, columns.mNodeKeys, 0, keys.length);
+    for (final Record record : records) {
+      if (record instanceof Node) {
+        columns.set(Arrays.binarySearch(keys, record.getNodeKey()), (Node) record);
+      }
+    }
+    return columns;
+  }
+
+  private void set(final int index, final Node node) {
+    mKinds[index] = node.getKind().getId();
+    mParentKeys[index] = node.getParentKey();
+    if (node instanceof StructNode) {
+      final StructNode structNode = (StructNode) node;
+      mFirstChildKeys[index] = structNode.getFirstChildKey();
+      mLeftSiblingKeys[index] = structNode.getLeftSiblingKey();
+      mRightSiblingKeys[index] = structNode.getRightSiblingKey();
+      mChildCounts[index] = structNode.getChildCount();
+      mDescendantCounts[index] = structNode.getDescendantCount();
+    }
+    if (node instanceof NameNode) {
+      final NameNode nameNode = (NameNode) node;
+      mLocalNameKeys[index] = nameNode.getLocalNameKey();
+      mPathNodeKeys[index] = nameNode.getPathNodeKey();
+    }
+  }
+
+  /**
+   * Serialize the columns.
+   *
+   * @param out the output to write to
+   * @throws IOException if an I/O error occurs
+   */
+  public void serialize(final DataOutput out) throws IOException {
+    out.writeInt(mNodeKeys.length);
+    long previousKey = 0;
+    for (int i = 0; i < mNodeKeys.length; i++) {
+      final long nodeKey = mNodeKeys[i];
+      putVarLong(out, nodeKey - previousKey);
+      previousKey = nodeKey;
+      out.writeByte(mKinds[i]);
+      final byte flags = (byte) ((isStructural(i)
+          ? STRUCT
+          : 0)
+          | (mLocalNameKeys[i] != -1 || mPathNodeKeys[i] != Fixed.NULL_NODE_KEY.getStandardProperty()
+              ? NAME
+              : 0));
+      out.writeByte(flags);
+      putVarLong(out, nodeKey - mParentKeys[i]);
+      if ((flags & STRUCT) != 0) {
+        putVarLong(out, nodeKey - mFirstChildKeys[i]);
+        putVarLong(out, nodeKey - mLeftSiblingKeys[i]);
+        putVarLong(out, nodeKey - mRightSiblingKeys[i]);
+        putVarLong(out, mChildCounts[i]);
+        putVarLong(out, mDescendantCounts[i] - mChildCounts[i]);
+      }
+      if ((flags & NAME) != 0) {
+        out.writeInt(mLocalNameKeys[i]);
+        putVarLong(out, nodeKey - mPathNodeKeys[i]);
+      }
+    }
+  }
+
+  private boolean isStructural(final int index) {
+    final long nullKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    return mFirstChildKeys[index] != nullKey || mLeftSiblingKeys[index] != nullKey
+        || mRightSiblingKeys[index] != nullKey || mChildCounts[index] != 0
+        || mDescendantCounts[index] != 0;
+  }
+
+  /**
+   * Deserialize the columns.
+   *
+   * @param in the input to read from
+   * @return the columns
+   * @throws IOException if an I/O error occurs
+   */
+  public static StructuralColumns deserialize(final DataInput in) throws IOException {
+    final int size = in.readInt();
+    final StructuralColumns columns = new StructuralColumns(size);
+    long previousKey = 0;
+    for (int i = 0; i < size; i++) {
+      final long nodeKey = previousKey + getVarLong(in);
+      previousKey = nodeKey;
+      columns.mNodeKeys[i] = nodeKey;
+      columns.mKinds[i] = in.readByte();
+      final byte flags = in.readByte();
+      columns.mParentKeys[i] = nodeKey - getVarLong(in);
+      if ((flags & STRUCT) != 0) {
+        columns.mFirstChildKeys[i] = nodeKey - getVarLong(in);
+        columns.mLeftSiblingKeys[i] = nodeKey - getVarLong(in);
+        columns.mRightSiblingKeys[i] = nodeKey - getVarLong(in);
+        columns.mChildCounts[i] = getVarLong(in);
+        columns.mDescendantCounts[i] = getVarLong(in) + columns.mChildCounts[i];
+      }
+      if ((flags & NAME) != 0) {
+        columns.mLocalNameKeys[i] = in.readInt();
+        columns.mPathNodeKeys[i] = nodeKey - getVarLong(in);
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Get the position of a node in the columns.
+   *
+   * @param nodeKey the node key
+   * @return the index of the node or a negative value, if it is not stored in the columns
+   */
+  private int indexOf(final long nodeKey) {
+    return Arrays.binarySearch(mNodeKeys, nodeKey);
+  }
+
+  private int checkedIndexOf(final long nodeKey) {
+    final int index = indexOf(nodeKey);
+    if (index < 0) {
+      throw new IllegalArgumentException("Node " + nodeKey + " is not stored in this page!");
+    }
+    return index;
+  }
+
+  /**
+   * Determines if the node is stored in the columns.
+   *
+   * @param nodeKey the node key
+   * @return {@code true}, if the node is stored, {@code false} otherwise
+   */
+  public boolean contains(final long nodeKey) {
+    return indexOf(nodeKey) >= 0;
+  }
+
+  /**
+   * Get the number of nodes stored in the columns.
+   *
+   * @return the number of nodes
+   */
+  public int size() {
+    return mNodeKeys.length;
+  }
+
+  /**
+   * Get the node key at the given position.
+   *
+   * @param index the position
+   * @return the node key
+   */
+  public long getNodeKeyAt(final @Nonnegative int index) {
+    return mNodeKeys[index];
+  }
+
+  public Kind getKind(final long nodeKey) {
+    return Kind.getKind(mKinds[checkedIndexOf(nodeKey)]);
+  }
+
+  public long getParentKey(final long nodeKey) {
+    return mParentKeys[checkedIndexOf(nodeKey)];
+  }
+
+  public long getFirstChildKey(final long nodeKey) {
+    return mFirstChildKeys[checkedIndexOf(nodeKey)];
+  }
+
+  public long getLeftSiblingKey(final long nodeKey) {
+    return mLeftSiblingKeys[checkedIndexOf(nodeKey)];
+  }
+
+  public long getRightSiblingKey(final long nodeKey) {
+    return mRightSiblingKeys[checkedIndexOf(nodeKey)];
+  }
+
+  public long getChildCount(final long nodeKey) {
+    return mChildCounts[checkedIndexOf(nodeKey)];
+  }
+
+  public long getDescendantCount(final long nodeKey) {
+    return mDescendantCounts[checkedIndexOf(nodeKey)];
+  }
+
+  public int getLocalNameKey(final long nodeKey) {
+    return mLocalNameKeys[checkedIndexOf(nodeKey)];
+  }
+
+  public long getPathNodeKey(final long nodeKey) {
+    return mPathNodeKeys[checkedIndexOf(nodeKey)];
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("nodeKeys", Arrays.toString(mNodeKeys)).toString();
+  }
+}
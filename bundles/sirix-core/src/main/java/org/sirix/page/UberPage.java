@@ -128,6 +128,16 @@ public final class UberPage extends AbstractForwardingPage {
     return mPreviousUberPageKey;
   }
 
+  /**
+   * Set the key of the previous uber page, for instance if the pages of a resource are rewritten
+   * during a compaction.
+   *
+   * @param previousUberPageKey the key of the previous uber page in the persistent storage
+   */
+  public void setPreviousUberPageKey(final long previousUberPageKey) {
+    mPreviousUberPageKey = previousUberPageKey;
+  }
+
   /**
    * Get indirect page reference.
    *
@@ -230,10 +240,14 @@ public final class UberPage extends AbstractForwardingPage {
   /**
    * Get the page count exponent for the given page.
    *
-   * @param pageKind page to lookup the exponent in the constant definition
+   * @param pageKind page to lookup the exponent in the constant definition or the resource
+   *        configuration
+   * @param resourceConfig the resource configuration, which determines the fan-out of the trees of
+   *        record, path, CAS and name pages
    * @return page count exponent
    */
-  public int[] getPageCountExp(final PageKind pageKind) {
+  public int[] getPageCountExp(final PageKind pageKind,
+      final ResourceConfiguration resourceConfig) {
     int[] inpLevelPageCountExp = new int[0];
     switch (pageKind) {
       case PATHSUMMARYPAGE:
@@ -243,7 +257,7 @@ public final class UberPage extends AbstractForwardingPage {
       case CASPAGE:
       case NAMEPAGE:
       case RECORDPAGE:
-        inpLevelPageCountExp = Constants.INP_LEVEL_PAGE_COUNT_EXPONENT;
+        inpLevelPageCountExp = resourceConfig.getLevelPageCountExp();
         break;
       case UBERPAGE:
         inpLevelPageCountExp = Constants.UBPINP_LEVEL_PAGE_COUNT_EXPONENT;
@@ -255,7 +269,8 @@ public final class UberPage extends AbstractForwardingPage {
     return inpLevelPageCountExp;
   }
 
-  public int getPageReferenceCount(final PageKind pageKind) {
+  public int getPageReferenceCount(final PageKind pageKind,
+      final ResourceConfiguration resourceConfig) {
     int referenceCount;
     switch (pageKind) {
       case PATHSUMMARYPAGE:
@@ -265,7 +280,7 @@ public final class UberPage extends AbstractForwardingPage {
       case CASPAGE:
       case NAMEPAGE:
       case RECORDPAGE:
-        referenceCount = Constants.INP_REFERENCE_COUNT;
+        referenceCount = resourceConfig.indirectPageFanOut;
         break;
       case UBERPAGE:
         referenceCount = Constants.UBPINP_REFERENCE_COUNT;
@@ -277,7 +292,8 @@ public final class UberPage extends AbstractForwardingPage {
     return referenceCount;
   }
 
-  public int getPageReferenceCountExp(final PageKind pageKind) {
+  public int getPageReferenceCountExp(final PageKind pageKind,
+      final ResourceConfiguration resourceConfig) {
     int referenceCount;
     switch (pageKind) {
       case PATHSUMMARYPAGE:
@@ -287,7 +303,7 @@ public final class UberPage extends AbstractForwardingPage {
       case CASPAGE:
       case NAMEPAGE:
       case RECORDPAGE:
-        referenceCount = Constants.INP_REFERENCE_COUNT_EXPONENT;
+        referenceCount = resourceConfig.getIndirectPageFanOutExp();
         break;
       case UBERPAGE:
         referenceCount = Constants.UBPINP_REFERENCE_COUNT_EXPONENT;
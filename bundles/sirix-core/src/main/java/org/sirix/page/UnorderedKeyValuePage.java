@@ -29,7 +29,6 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,18 +39,23 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.api.PageReadTrx;
 import org.sirix.api.PageWriteTrx;
 import org.sirix.exception.SirixIOException;
+import org.sirix.node.CommentNode;
 import org.sirix.node.Kind;
 import org.sirix.node.SirixDeweyID;
+import org.sirix.node.TextNode;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.NodePersistenter;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.RecordPersister;
+import org.sirix.node.interfaces.immutable.ImmutableValueNode;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.settings.Constants;
 import com.google.common.base.MoreObjects;
@@ -66,11 +70,23 @@ import com.google.common.collect.PeekingIterator;
  * An UnorderedKeyValuePage stores a set of records, commonly nodes in an unordered datastructure.
  * </p>
  * <p>
- * The page currently is not thread safe (might have to be for concurrent write-transactions)!
+ * Records, which are read from the storage, are deserialized on first access. As pages of read-only
+ * transactions are shared, reading is thread-safe, that is the deserialization is guarded by a
+ * lock. Modifications are not thread-safe, and iterating the entries of a page is only safe if all
+ * records have been materialized, which {@link #entrySet()} and {@link #values()} do apart from
+ * overflow records.
+ * </p>
+ * <p>
+ * Records stored in overflow pages are not kept by the page, unless they are set. They are read
+ * with the transaction, which requests them, as their values are streamed from the overflow pages
+ * on demand and the page might outlive the transaction, which has read it.
  * </p>
  */
 public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
+  /** Estimated number of bytes of a record on the heap, apart from its value. */
+  private static final int RECORD_SIZE = 64;
+
   private boolean mAddedReferences;
 
   /** References to overflow pages. */
@@ -85,6 +101,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** Slots which have to be serialized. */
   private final Map<Long, byte[]> mSlots;
 
+  /** Serialized records, which are deserialized on first access. */
+  private final Map<Long, byte[]> mLazyRecords;
+
+  /** Structural columns of the records, if already built or deserialized. */
+  private StructuralColumns mColumns;
+
   /** Dewey IDs which have to be serialized. */
   private final Map<SirixDeweyID, Long> mDeweyIDs;
 
@@ -103,6 +125,21 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** The resource configuration. */
   private final ResourceConfiguration mResourceConfig;
 
+  /** Estimated number of bytes of the records on the heap. */
+  private long mEstimatedSize;
+
+  /** Guards the deserialization of records on first access. */
+  private final Lock mLock = new ReentrantLock();
+
+  /**
+   * The complete page, if this page is an overlay of it, which has not been written so far. Records
+   * of the complete page, which are not stored in this page, are merged once the page is written.
+   */
+  private UnorderedKeyValuePage mCompletePage;
+
+  /** Determines if the page is an overlay of a complete page. */
+  private boolean mIsOverlay;
+
   /**
    * Constructor which initializes a new {@link UnorderedKeyValuePage}.
    *
@@ -122,6 +159,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     mRecordPageKey = recordPageKey;
     mRecords = new LinkedHashMap<>();
     mSlots = new LinkedHashMap<>();
+    mLazyRecords = new LinkedHashMap<>();
     mPageReadTrx = pageReadTrx;
     mPageKind = pageKind;
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
@@ -141,14 +179,16 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
    *
    * @param in input bytes to read page from
    * @param pageReadTrx {@link PageReadTrx} implementation
+   * @param type the serialization type
    */
-  protected UnorderedKeyValuePage(final DataInput in, final PageReadTrx pageReadTrx)
-      throws IOException {
+  protected UnorderedKeyValuePage(final DataInput in, final PageReadTrx pageReadTrx,
+      final SerializationType type) throws IOException {
     mRecordPageKey = getVarLong(in);
     mResourceConfig = pageReadTrx.getResourceManager().getResourceConfig();
     mRecordPersister = mResourceConfig.recordPersister;
     mPageReadTrx = pageReadTrx;
     mSlots = new LinkedHashMap<>();
+    mLazyRecords = new LinkedHashMap<>();
 
     if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
       mDeweyIDs = new LinkedHashMap<>();
@@ -169,6 +209,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
           final Record record = mRecordPersister.deserialize(
               new DataInputStream(new ByteArrayInputStream(data)), key, id, mPageReadTrx);
           mRecords.put(key, record);
+          mEstimatedSize += RECORD_SIZE + dataSize;
         }
       }
     } else {
@@ -182,9 +223,17 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       final int dataSize = in.readInt();
       final byte[] data = new byte[dataSize];
       in.readFully(data);
-      final Record record = mRecordPersister.deserialize(
-          new DataInputStream(new ByteArrayInputStream(data)), key, Optional.empty(), mPageReadTrx);
-      mRecords.put(key, record);
+      if (mResourceConfig.areStructuralColumnsStored) {
+        // The structure is available through the columns, thus records are deserialized on demand.
+        mLazyRecords.put(key, data);
+        mEstimatedSize += dataSize;
+      } else {
+        final Record record = mRecordPersister.deserialize(
+            new DataInputStream(new ByteArrayInputStream(data)), key, Optional.empty(),
+            mPageReadTrx);
+        mRecords.put(key, record);
+        mEstimatedSize += RECORD_SIZE + dataSize;
+      }
     }
     final int overlongEntrySize = in.readInt();
     mReferences = new LinkedHashMap<>(overlongEntrySize);
@@ -202,6 +251,11 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       mPreviousPageRefKey = Constants.NULL_ID_LONG;
     }
     mPageKind = PageKind.getKind(in.readByte());
+    if (mResourceConfig.areStructuralColumnsStored) {
+      mColumns = StructuralColumns.deserialize(in);
+    }
+    // The complete page of an overlay is relinked by the transaction intent log.
+    mIsOverlay = type == SerializationType.TRANSACTION_INTENT_LOG && in.readBoolean();
   }
 
   @Override
@@ -211,40 +265,228 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Record getValue(final Long key) {
+    return getValue(key, mPageReadTrx);
+  }
+
+  /**
+   * Get the record with the specified key. A record stored in overflow pages is read with the given
+   * transaction, which streams its value on demand.
+   *
+   * @param key the key
+   * @param pageReadTrx the transaction, which reads records stored in overflow pages
+   * @return the record with the given key, or {@code null} if not present
+   */
+  public Record getValue(final Long key, final PageReadTrx pageReadTrx) {
     assert key != null : "key must not be null!";
-    Record record = mRecords.get(key);
-    if (record == null) {
-      byte[] data = null;
-      try {
-        final PageReference reference = mReferences.get(key);
-        if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
-          data = ((OverflowPage) mPageReadTrx.getReader().read(reference, mPageReadTrx)).getData();
-        } else {
-          return null;
-        }
-      } catch (final SirixIOException e) {
-        return null;
+    assert pageReadTrx != null : "pageReadTrx must not be null!";
+    final PageReference reference;
+    mLock.lock();
+    try {
+      Record record = mRecords.get(key);
+      if (record == null && !mLazyRecords.isEmpty()) {
+        record = deserializeLazyRecord(key);
       }
-      final InputStream in = new ByteArrayInputStream(data);
-      try {
-        record = mRecordPersister.deserialize(new DataInputStream(in), key, Optional.empty(), null);
-      } catch (final IOException e) {
-        return null;
+      if (record != null) {
+        return record;
       }
-      mRecords.put(key, record);
+      reference = mReferences.get(key);
+    } finally {
+      mLock.unlock();
+    }
+    if (reference == null || reference.getKey() == Constants.NULL_ID_LONG) {
+      return null;
+    }
+    final OverflowPage page;
+    try {
+      page = (OverflowPage) pageReadTrx.getReader().read(reference, pageReadTrx);
+    } catch (final SirixIOException e) {
+      return null;
+    }
+    // Long values are not read, but streamed from the chunks on demand.
+    final OverflowPageDataInput in =
+        new OverflowPageDataInput(new OverflowPageInputStream(page, pageReadTrx));
+    try {
+      return mRecordPersister.deserialize(in, key, Optional.empty(), pageReadTrx);
+    } catch (final IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Deserialize a record, which has been read from the storage but not yet been accessed.
+   *
+   * @param key the record key
+   * @return the record or {@code null}, if no such record is stored
+   */
+  private Record deserializeLazyRecord(final Long key) {
+    final byte[] data = mLazyRecords.remove(key);
+    if (data == null) {
+      return null;
+    }
+    final Record record;
+    try {
+      record = mRecordPersister.deserialize(
+          new DataInputStream(new ByteArrayInputStream(data)), key, Optional.empty(),
+          mPageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
     }
+    mRecords.put(key, record);
+    mEstimatedSize += RECORD_SIZE;
+    // Keep the serialized form, it's still valid as long as the record isn't set again, which a
+    // write transaction does before changing the record in place.
+    mSlots.put(key, data);
     return record;
   }
 
+  /** Deserialize all records, which have not been accessed so far. */
+  private void deserializeLazyRecords() {
+    if (!mLazyRecords.isEmpty()) {
+      for (final Long key : new ArrayList<>(mLazyRecords.keySet())) {
+        deserializeLazyRecord(key);
+      }
+    }
+  }
+
+  /**
+   * Get the structural columns of the records stored in this page. If the page has been read from
+   * a resource, which stores the columns, no record has to be deserialized.
+   *
+   * @return the structural columns
+   */
+  public StructuralColumns getStructuralColumns() {
+    mLock.lock();
+    try {
+      if (mColumns == null) {
+        deserializeLazyRecords();
+        mColumns = StructuralColumns.of(mRecords.values());
+      }
+      return mColumns;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
   @Override
   public void setEntry(final Long key, final Record value) {
     assert value != null : "record must not be null!";
     mAddedReferences = false;
-    mRecords.put(key, value);
+    final byte[] data = mLazyRecords.remove(key);
+    if (data != null) {
+      mEstimatedSize -= data.length;
+    }
+    mSlots.remove(key);
+    // The record is written again, as it might have been changed.
+    mReferences.remove(key);
+    mColumns = null;
+    final Record oldValue = mRecords.put(key, value);
+    if (oldValue != null) {
+      mEstimatedSize -= estimateSize(oldValue);
+    }
+    mEstimatedSize += estimateSize(value);
+  }
+
+  /**
+   * Estimate the number of bytes of a record on the heap. Values of text and comment nodes are
+   * estimated by their stored (possibly compressed) length, such that they are not decompressed.
+   *
+   * @param record the record
+   * @return the estimated number of bytes
+   */
+  private static long estimateSize(final Record record) {
+    if (record instanceof TextNode) {
+      return RECORD_SIZE + ((TextNode) record).getValNodeDelegate().getStoredLength();
+    } else if (record instanceof CommentNode) {
+      return RECORD_SIZE + ((CommentNode) record).getValNodeDelegate().getStoredLength();
+    } else if (record instanceof ImmutableValueNode) {
+      return RECORD_SIZE + ((ImmutableValueNode) record).getRawValue().length;
+    }
+    return RECORD_SIZE;
+  }
+
+  /**
+   * Get the estimated number of bytes of the records on the heap. The estimate is maintained when
+   * records are set, thus it doesn't reflect values of records, which are changed in place.
+   *
+   * @return the estimated number of bytes
+   */
+  public long getEstimatedSize() {
+    return mEstimatedSize;
+  }
+
+  @Override
+  public void setCompletePage(final KeyValuePage<Long, Record> completePage) {
+    assert completePage.getPageKey() == mRecordPageKey;
+    if (completePage instanceof UnorderedKeyValuePage) {
+      mCompletePage = (UnorderedKeyValuePage) completePage;
+      mIsOverlay = true;
+    } else {
+      KeyValuePage.super.setCompletePage(completePage);
+    }
+  }
+
+  /**
+   * Determines if the page is an overlay of a complete page, that is it only stores the records,
+   * which have been modified.
+   *
+   * @return {@code true}, if the page is an overlay, {@code false} otherwise
+   */
+  public boolean isOverlay() {
+    return mIsOverlay;
+  }
+
+  /**
+   * Merge the records of the complete page, which are not stored in this page, if the page is an
+   * overlay, such that it can be written as a whole.
+   */
+  private void mergeCompletePage() {
+    if (mCompletePage == null) {
+      if (mIsOverlay) {
+        throw new IllegalStateException("The complete page of the overlay has not been set!");
+      }
+      return;
+    }
+    final UnorderedKeyValuePage completePage = mCompletePage;
+    mCompletePage = null;
+    mIsOverlay = false;
+    // The complete page might be shared with read-only transactions.
+    completePage.mLock.lock();
+    try {
+      // References first, such that records in overflow pages don't have to be written again.
+      for (final Entry<Long, PageReference> entry : completePage.mReferences.entrySet()) {
+        if (!containsKey(entry.getKey())) {
+          mReferences.put(entry.getKey(), entry.getValue());
+        }
+      }
+      for (final Entry<Long, Record> entry : completePage.mRecords.entrySet()) {
+        if (!containsKey(entry.getKey())) {
+          setEntry(entry.getKey(), entry.getValue());
+        }
+      }
+      // Records, which have not been accessed, are merged in their serialized form.
+      for (final Entry<Long, byte[]> entry : completePage.mLazyRecords.entrySet()) {
+        if (!containsKey(entry.getKey())) {
+          mLazyRecords.put(entry.getKey(), entry.getValue());
+          mEstimatedSize += entry.getValue().length;
+          mAddedReferences = false;
+          mColumns = null;
+        }
+      }
+    } finally {
+      completePage.mLock.unlock();
+    }
+  }
+
+  private boolean containsKey(final Long key) {
+    return mRecords.containsKey(key) || mLazyRecords.containsKey(key)
+        || mReferences.containsKey(key);
   }
 
   @Override
   public void serialize(final DataOutput out, final SerializationType type) throws IOException {
+    if (type == SerializationType.DATA) {
+      mergeCompletePage();
+    }
     if (!mAddedReferences) {
       addReferences();
     }
@@ -297,6 +539,14 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       out.writeLong(mPreviousPageRefKey);
     }
     out.writeByte(mPageKind.getID());
+    // Write structural columns.
+    if (mResourceConfig.areStructuralColumnsStored) {
+      getStructuralColumns().serialize(out);
+    }
+    // The complete page of an overlay is written to the transaction intent log on its own.
+    if (type == SerializationType.TRANSACTION_INTENT_LOG) {
+      out.writeBoolean(mIsOverlay);
+    }
   }
 
   private void serializeDeweyRecord(SirixDeweyID id, DataOutput out) throws IOException {
@@ -313,7 +563,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   public String toString() {
     final MoreObjects.ToStringHelper helper =
         MoreObjects.toStringHelper(this).add("pagekey", mRecordPageKey);
-    for (final Record record : mRecords.values()) {
+    for (final Record record : values()) {
       helper.add("record", record);
     }
     for (final PageReference reference : mReferences.values()) {
@@ -324,19 +574,26 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Set<Entry<Long, Record>> entrySet() {
-    return mRecords.entrySet();
+    mLock.lock();
+    try {
+      deserializeLazyRecords();
+      return mRecords.entrySet();
+    } finally {
+      mLock.unlock();
+    }
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mRecordPageKey, mRecords, mReferences);
+    return Objects.hashCode(mRecordPageKey, entrySet(), mReferences);
   }
 
   @Override
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof UnorderedKeyValuePage) {
       final UnorderedKeyValuePage other = (UnorderedKeyValuePage) obj;
-      return mRecordPageKey == other.mRecordPageKey && Objects.equal(mRecords, other.mRecords)
+      return mRecordPageKey == other.mRecordPageKey
+          && Objects.equal(entrySet(), other.entrySet())
           && Objects.equal(mReferences, other.mReferences);
     }
     return false;
@@ -350,6 +607,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   @Override
   public <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
       PageWriteTrx<K, V, S> pageWriteTrx) {
+    mergeCompletePage();
     if (!mAddedReferences) {
       try {
         addReferences();
@@ -371,6 +629,11 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     final boolean storeDeweyIDs =
         mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored;
 
+    // Records which have not been accessed are still serialized.
+    for (final Entry<Long, byte[]> entry : mLazyRecords.entrySet()) {
+      mSlots.putIfAbsent(entry.getKey(), entry.getValue());
+    }
+
     final List<Entry<Long, Record>> entries = sort();
     final Iterator<Entry<Long, Record>> it = entries.iterator();
     while (it.hasNext()) {
@@ -386,7 +649,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         final byte[] data = output.toByteArray();
         if (data.length > PageConstants.MAX_RECORD_SIZE) {
           final PageReference reference = new PageReference();
-          reference.setPage(new OverflowPage(data));
+          reference.setPage(OverflowPage.of(data, PageConstants.OVERFLOW_CHUNK_SIZE));
           mReferences.put(recordID, reference);
         } else {
           if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter && record instanceof Node
@@ -437,7 +700,13 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Collection<Record> values() {
-    return mRecords.values();
+    mLock.lock();
+    try {
+      deserializeLazyRecords();
+      return mRecords.values();
+    } finally {
+      mLock.unlock();
+    }
   }
 
   @Override
@@ -464,7 +733,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public int size() {
-    return mRecords.size() + mReferences.size();
+    mLock.lock();
+    try {
+      return mRecords.size() + mLazyRecords.size() + mReferences.size();
+    } finally {
+      mLock.unlock();
+    }
   }
 
   @Override
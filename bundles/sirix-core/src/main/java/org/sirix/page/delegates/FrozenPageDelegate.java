@@ -0,0 +1,190 @@
+package org.sirix.page.delegates;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageWriteTrx;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+import com.google.common.base.MoreObjects;
+
+/**
+ * <h1>FrozenPageDelegate</h1>
+ *
+ * <p>
+ * Read-only counterpart of the {@link PageDelegate}, used for pages deserialized from the
+ * persistent storage. Instead of a list of {@link PageReference}s and a {@link BitSet} the storage
+ * keys are kept in a plain array, which is indexed by the number of set bits in a {@code long[]}
+ * bitmap preceding an offset. The {@link PageReference}s are materialized on first access and
+ * reused afterwards, such that traversing a cached page does not allocate.
+ * </p>
+ *
+ * <p>
+ * Instances are safe to share between transactions. They must be copied into a {@link PageDelegate}
+ * via {@link #thaw()} before any modification.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class FrozenPageDelegate implements Page {
+
+  /** The bitmap, denoting which offsets are set. */
+  private final long[] mBitmap;
+
+  /** The storage keys of the set offsets, in ascending order of the offsets. */
+  private final long[] mKeys;
+
+  /** The hashes of the set offsets or {@code null}, if no hash is stored at all. */
+  private final byte[][] mHashes;
+
+  /** The lazily materialized page references. */
+  private final AtomicReferenceArray<PageReference> mReferences;
+
+  /**
+   * Constructor, deserializing a page which has been serialized with
+   * {@link SerializationType#DATA}.
+   *
+   * @param in input source
+   * @throws IOException if an I/O error occurs
+   */
+  public FrozenPageDelegate(final DataInput in) throws IOException {
+    final int length = in.readShort();
+    mBitmap = new long[(length + Long.SIZE - 1) >>> 6];
+    int count = 0;
+    for (int offset = 0; offset < length; offset++) {
+      if (in.readBoolean()) {
+        mBitmap[offset >>> 6] |= 1L << offset;
+        count++;
+      }
+    }
+
+    mKeys = new long[count];
+    byte[][] hashes = null;
+    for (int index = 0; index < count; index++) {
+      mKeys[index] = in.readLong();
+      final int hashLength = in.readInt();
+      if (hashLength != -1) {
+        if (hashes == null) {
+          hashes = new byte[count][];
+        }
+        hashes[index] = new byte[hashLength];
+        in.readFully(hashes[index]);
+      }
+    }
+    mHashes = hashes;
+    mReferences = new AtomicReferenceArray<>(count);
+  }
+
+  /**
+   * Get the position of the key of an offset in the keys array.
+   *
+   * @param offset the offset, which must be set
+   * @return the number of set offsets before {@code offset}
+   */
+  private int index(final int offset) {
+    final int word = offset >>> 6;
+    int index = Long.bitCount(mBitmap[word] & ((1L << offset) - 1));
+    for (int i = 0; i < word; i++) {
+      index += Long.bitCount(mBitmap[i]);
+    }
+    return index;
+  }
+
+  private boolean isSet(final int offset) {
+    final int word = offset >>> 6;
+    return word < mBitmap.length && (mBitmap[word] & (1L << offset)) != 0;
+  }
+
+  /**
+   * Get page reference of given offset.
+   *
+   * @param offset offset of page reference
+   * @return {@link PageReference} at given offset or {@code null}, if no page is referenced at the
+   *         offset
+   */
+  @Override
+  public @Nullable PageReference getReference(final @Nonnegative int offset) {
+    if (!isSet(offset)) {
+      return null;
+    }
+    return getReferenceAt(index(offset));
+  }
+
+  private PageReference getReferenceAt(final int index) {
+    final PageReference reference = mReferences.get(index);
+    if (reference != null) {
+      return reference;
+    }
+    final PageReference newReference = new PageReference().setKey(mKeys[index]);
+    if (mHashes != null) {
+      newReference.setHash(mHashes[index]);
+    }
+    return mReferences.compareAndSet(index, null, newReference)
+        ? newReference
+        : mReferences.get(index);
+  }
+
+  /**
+   * Get all page references. The returned list is unmodifiable.
+   *
+   * @return the page references of all set offsets
+   */
+  @Override
+  public List<PageReference> getReferences() {
+    final List<PageReference> references = new ArrayList<>(mKeys.length);
+    for (int index = 0; index < mKeys.length; index++) {
+      references.add(getReferenceAt(index));
+    }
+    return Collections.unmodifiableList(references);
+  }
+
+  /**
+   * Get a copy of the bitmap.
+   *
+   * @return the bitmap
+   */
+  public BitSet getBitmap() {
+    return BitSet.valueOf(mBitmap);
+  }
+
+  /**
+   * Create a modifiable copy, referencing the same pages.
+   *
+   * @return the modifiable copy
+   */
+  public PageDelegate thaw() {
+    return new PageDelegate(this, getBitmap());
+  }
+
+  /**
+   * Nothing to commit, as a frozen page is already persisted.
+   */
+  @Override
+  public <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
+      final PageWriteTrx<K, V, S> pageWriteTrx) {}
+
+  @Override
+  public void serialize(final DataOutput out, final SerializationType type) {
+    type.serialize(out, getReferences(), getBitmap());
+  }
+
+  @Override
+  public String toString() {
+    final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+    for (int index = 0; index < mKeys.length; index++) {
+      helper.add("key", mKeys[index]);
+    }
+    helper.add("bitmap", getBitmap());
+    return helper.toString();
+  }
+}
@@ -151,16 +151,12 @@ public final class PageDelegate implements Page {
   }
 
   private int index(final int offset) {
-    final BitSet offsetBitmap = new BitSet(mBitmap.size());
-
-    offsetBitmap.set(offset);
-
-    // Flip 0 to offset.
-    offsetBitmap.flip(0, offset + 1);
-
-    offsetBitmap.and(mBitmap);
-
-    return offsetBitmap.cardinality();
+    // Number of set bits before the offset.
+    int index = 0;
+    for (int i = mBitmap.nextSetBit(0); i >= 0 && i < offset; i = mBitmap.nextSetBit(i + 1)) {
+      index++;
+    }
+    return index;
   }
 
   /**
@@ -70,6 +70,26 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
 
   PageReference getPageReference(K key);
 
+  /**
+   * Make this page an overlay of a complete page, that is the entries of the complete page, which
+   * are not stored in this page, are written along with this page. The complete page itself is not
+   * modified. The default implementation simply copies these entries.
+   *
+   * @param completePage the complete page
+   */
+  default void setCompletePage(final KeyValuePage<K, V> completePage) {
+    for (final Entry<K, V> entry : completePage.entrySet()) {
+      if (getValue(entry.getKey()) == null) {
+        setEntry(entry.getKey(), entry.getValue());
+      }
+    }
+    for (final Entry<K, PageReference> entry : completePage.referenceEntrySet()) {
+      if (getPageReference(entry.getKey()) == null) {
+        setPageReference(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
   /**
    * Create a new instance.
    *
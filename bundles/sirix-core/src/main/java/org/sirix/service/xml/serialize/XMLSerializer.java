@@ -31,6 +31,7 @@ import static org.sirix.service.xml.serialize.XMLSerializerProperties.S_XMLDECL;
 import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.file.Files;
@@ -212,7 +213,9 @@ public final class XMLSerializer extends AbstractSerializer {
           break;
         case TEXT:
           indent();
-          mOut.write(XMLToken.escapeContent(rtx.getValue()).getBytes(Constants.DEFAULT_ENCODING));
+          try (final InputStream in = rtx.getValueStream()) {
+            XMLToken.escapeContent(in, mOut);
+          }
           if (mIndent) {
             mOut.write(CharsForSerializing.NEWLINE.getBytes());
           }
@@ -0,0 +1,138 @@
+package org.sirix.service.xml.shredder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import org.sirix.exception.SirixIOException;
+
+/**
+ * <h1>FragmentEventReader</h1>
+ *
+ * <p>
+ * Implements an XMLEventReader based on a queue of fragments, which are parsed concurrently into
+ * lists of XMLEvents. The fragments are consumed in the order of the queue, waiting for a fragment
+ * if it has not been parsed yet.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+final class FragmentEventReader implements XMLEventReader {
+
+  /** Marks the end of the queue. */
+  static final Future<List<XMLEvent>> END = CompletableFuture.completedFuture(null);
+
+  /** The parsed fragments in document order. */
+  private final BlockingQueue<Future<List<XMLEvent>>> mFragments;
+
+  /** The remaining events of the current fragment. */
+  private final Deque<XMLEvent> mEvents;
+
+  /** Determines if the end of the queue has been reached. */
+  private boolean mEnd;
+
+  /**
+   * Constructor.
+   *
+   * @param fragments the parsed fragments in document order, terminated by {@link #END}
+   */
+  FragmentEventReader(final BlockingQueue<Future<List<XMLEvent>>> fragments) {
+    mFragments = checkNotNull(fragments);
+    mEvents = new ArrayDeque<>();
+  }
+
+  /**
+   * Make sure that the next event is available, if any.
+   *
+   * @throws XMLStreamException if parsing a fragment failed
+   */
+  private void fill() throws XMLStreamException {
+    while (mEvents.isEmpty() && !mEnd) {
+      try {
+        final Future<List<XMLEvent>> fragment = mFragments.take();
+        if (fragment == END) {
+          mEnd = true;
+        } else {
+          mEvents.addAll(fragment.get());
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new XMLStreamException(e);
+      } catch (final ExecutionException e) {
+        if (e.getCause() instanceof XMLStreamException) {
+          throw (XMLStreamException) e.getCause();
+        }
+        throw new XMLStreamException(e.getCause());
+      }
+    }
+  }
+
+  @Override
+  public void close() throws XMLStreamException {
+    // Do nothing.
+  }
+
+  @Override
+  public String getElementText() throws XMLStreamException {
+    throw new UnsupportedOperationException("Not supported!");
+  }
+
+  @Override
+  public Object getProperty(final String name) throws IllegalArgumentException {
+    // Do nothing.
+    return null;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      fill();
+    } catch (final XMLStreamException e) {
+      throw new SirixIOException(e);
+    }
+    return !mEvents.isEmpty();
+  }
+
+  @Override
+  public XMLEvent nextEvent() throws XMLStreamException {
+    fill();
+    final XMLEvent event = mEvents.poll();
+    if (event == null) {
+      throw new NoSuchElementException();
+    }
+    return event;
+  }
+
+  @Override
+  public XMLEvent nextTag() throws XMLStreamException {
+    throw new UnsupportedOperationException("Not supported!");
+  }
+
+  @Override
+  public XMLEvent peek() throws XMLStreamException {
+    fill();
+    return mEvents.peek();
+  }
+
+  @Override
+  public Object next() {
+    try {
+      return nextEvent();
+    } catch (final XMLStreamException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Not supported!");
+  }
+}
@@ -0,0 +1,319 @@
+package org.sirix.service.xml.shredder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnegative;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.settings.Constants;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <h1>ParallelXMLShredder</h1>
+ *
+ * <p>
+ * Shredder for large documents, which parses the input on multiple threads. The input is split at
+ * the boundaries of the children of the root element into fragments of a configurable size, which
+ * are parsed concurrently into batches of {@link XMLEvent}s. The transaction inserts the batches in
+ * document order as a bulk insert on the calling thread, which is the only writer.
+ * </p>
+ *
+ * <p>
+ * The input must be UTF-8 encoded and must not declare entities in a document type declaration.
+ * The subtree is committed once it has been inserted.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+public final class ParallelXMLShredder implements Callable<Long> {
+
+  /** Default minimum number of characters of a fragment. */
+  public static final int DEFAULT_FRAGMENT_SIZE = 1 << 18;
+
+  /** Factories of the parser threads, as factories aren't guaranteed to be thread-safe. */
+  private static final ThreadLocal<XMLInputFactory> FACTORIES =
+      ThreadLocal.withInitial(XMLShredder::createInputFactory);
+
+  /** {@link XdmNodeWriteTrx}. */
+  private final XdmNodeWriteTrx mWtx;
+
+  /** The input. */
+  private final InputStream mInput;
+
+  /** Insertion position. */
+  private final Insert mInsert;
+
+  /** Number of parser threads. */
+  private final int mParserThreads;
+
+  /** Minimum number of characters of a fragment. */
+  private final int mFragmentSize;
+
+  /** Determines if comments should be included. */
+  private final boolean mIncludeComments;
+
+  /** Determines if processing instructions should be included. */
+  private final boolean mIncludePIs;
+
+  /**
+   * Builder to build a {@link ParallelXMLShredder} instance.
+   */
+  public static class Builder {
+
+    /** {@link XdmNodeWriteTrx} implementation. */
+    private final XdmNodeWriteTrx mWtx;
+
+    /** The input. */
+    private final InputStream mInput;
+
+    /** Insertion position. */
+    private final Insert mInsert;
+
+    /** Number of parser threads. */
+    private int mParserThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Minimum number of characters of a fragment. */
+    private int mFragmentSize = DEFAULT_FRAGMENT_SIZE;
+
+    /** Determines if comments should be included. */
+    private boolean mIncludeComments = true;
+
+    /** Determines if processing instructions should be included. */
+    private boolean mIncludePIs = true;
+
+    /**
+     * Constructor.
+     *
+     * @param wtx {@link XdmNodeWriteTrx} implementation
+     * @param input the UTF-8 encoded input, which isn't closed by the shredder
+     * @param insert insertion position
+     */
+    public Builder(final XdmNodeWriteTrx wtx, final InputStream input, final Insert insert) {
+      mWtx = checkNotNull(wtx);
+      mInput = checkNotNull(input);
+      mInsert = checkNotNull(insert);
+    }
+
+    /**
+     * Set the number of parser threads (default: number of available processors).
+     *
+     * @param parserThreads number of parser threads
+     * @return this builder instance
+     */
+    public Builder parserThreads(final @Nonnegative int parserThreads) {
+      checkArgument(parserThreads > 0, "parserThreads must be > 0!");
+      mParserThreads = parserThreads;
+      return this;
+    }
+
+    /**
+     * Set the minimum number of characters of a fragment, which is parsed by a single thread
+     * (default: {@link ParallelXMLShredder#DEFAULT_FRAGMENT_SIZE}).
+     *
+     * @param fragmentSize minimum number of characters of a fragment
+     * @return this builder instance
+     */
+    public Builder fragmentSize(final @Nonnegative int fragmentSize) {
+      checkArgument(fragmentSize >= 0, "fragmentSize must be >= 0!");
+      mFragmentSize = fragmentSize;
+      return this;
+    }
+
+    /**
+     * Include comments or not (default: yes).
+     *
+     * @param include include comments
+     * @return this builder instance
+     */
+    public Builder includeComments(final boolean include) {
+      mIncludeComments = include;
+      return this;
+    }
+
+    /**
+     * Include processing instructions or not (default: yes).
+     *
+     * @param include include processing instructions
+     * @return this builder instance
+     */
+    public Builder includePIs(final boolean include) {
+      mIncludePIs = include;
+      return this;
+    }
+
+    /**
+     * Build an instance.
+     *
+     * @return {@link ParallelXMLShredder} instance
+     */
+    public ParallelXMLShredder build() {
+      return new ParallelXMLShredder(this);
+    }
+  }
+
+  /**
+   * Private constructor.
+   *
+   * @param builder builder reference
+   */
+  private ParallelXMLShredder(final Builder builder) {
+    mWtx = builder.mWtx;
+    mInput = builder.mInput;
+    mInsert = builder.mInsert;
+    mParserThreads = builder.mParserThreads;
+    mFragmentSize = builder.mFragmentSize;
+    mIncludeComments = builder.mIncludeComments;
+    mIncludePIs = builder.mIncludePIs;
+  }
+
+  /**
+   * Invoking the shredder.
+   *
+   * @throws SirixException if any kind of sirix exception which has occured
+   * @return revision of file
+   */
+  @Override
+  public Long call() throws SirixException {
+    final long revision = mWtx.getRevisionNumber();
+    final ExecutorService parsers = Executors.newFixedThreadPool(
+        mParserThreads,
+        new ThreadFactoryBuilder().setNameFormat("sirix-xml-parser-%d").setDaemon(true).build());
+    final ExecutorService splitter = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("sirix-xml-splitter-%d").setDaemon(true).build());
+
+    try {
+      // Bounds the number of fragments in memory.
+      final BlockingQueue<Future<List<XMLEvent>>> fragments =
+          new ArrayBlockingQueue<>(2 * mParserThreads + 1);
+      splitter.execute(() -> split(fragments, parsers));
+
+      final XMLEventReader reader = new FragmentEventReader(fragments);
+      switch (mInsert) {
+        case ASFIRSTCHILD:
+          mWtx.insertSubtreeAsFirstChild(reader);
+          break;
+        case ASRIGHTSIBLING:
+          mWtx.insertSubtreeAsRightSibling(reader);
+          break;
+        case ASLEFTSIBLING:
+          mWtx.insertSubtreeAsLeftSibling(reader);
+          break;
+        default:
+          throw new AssertionError();
+      }
+    } finally {
+      splitter.shutdownNow();
+      parsers.shutdownNow();
+    }
+
+    return revision;
+  }
+
+  /**
+   * Split the input into fragments and submit them to the parsers.
+   *
+   * @param fragments the queue of fragments in document order
+   * @param parsers the parser threads
+   */
+  private void split(final BlockingQueue<Future<List<XMLEvent>>> fragments,
+      final ExecutorService parsers) {
+    try {
+      try {
+        final Reader input =
+            new BufferedReader(new InputStreamReader(mInput, Constants.DEFAULT_ENCODING));
+        final XMLFragmentSplitter fragmentSplitter = new XMLFragmentSplitter(input, mFragmentSize);
+        XMLFragmentSplitter.Fragment fragment;
+        while ((fragment = fragmentSplitter.next()) != null) {
+          final XMLFragmentSplitter.Fragment toParse = fragment;
+          fragments.put(parsers.submit(() -> parse(toParse)));
+        }
+      } catch (final IOException | XMLStreamException e) {
+        final CompletableFuture<List<XMLEvent>> failure = new CompletableFuture<>();
+        failure.completeExceptionally(e);
+        fragments.put(failure);
+      }
+      fragments.put(FragmentEventReader.END);
+    } catch (final InterruptedException e) {
+      // The shredder has been stopped.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Parse a fragment into a batch of events.
+   *
+   * @param fragment the fragment
+   * @return the events of the fragment
+   * @throws XMLStreamException if the fragment isn't well-formed
+   */
+  private List<XMLEvent> parse(final XMLFragmentSplitter.Fragment fragment)
+      throws XMLStreamException {
+    final XMLEventReader reader =
+        FACTORIES.get().createXMLEventReader(new StringReader(fragment.mDocument));
+    final List<XMLEvent> events = new ArrayList<>();
+    try {
+      boolean skipRootStartTag = fragment.mSkipRootStartTag;
+      while (reader.hasNext()) {
+        final XMLEvent event = reader.nextEvent();
+        switch (event.getEventType()) {
+          case XMLStreamConstants.START_DOCUMENT:
+          case XMLStreamConstants.END_DOCUMENT:
+            break;
+          case XMLStreamConstants.START_ELEMENT:
+            if (skipRootStartTag) {
+              skipRootStartTag = false;
+            } else {
+              events.add(event);
+            }
+            break;
+          case XMLStreamConstants.COMMENT:
+            if (mIncludeComments) {
+              events.add(event);
+            }
+            break;
+          case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            if (mIncludePIs) {
+              events.add(event);
+            }
+            break;
+          default:
+            events.add(event);
+        }
+      }
+    } finally {
+      reader.close();
+    }
+
+    if (fragment.mSkipRootEndTag) {
+      // The end tag of the root element is the last end tag of the fragment.
+      for (int i = events.size() - 1; i >= 0; i--) {
+        if (events.get(i).isEndElement()) {
+          events.remove(i);
+          break;
+        }
+      }
+    }
+
+    return events;
+  }
+}
@@ -0,0 +1,260 @@
+package org.sirix.service.xml.shredder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.Reader;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * <h1>XMLFragmentSplitter</h1>
+ *
+ * <p>
+ * Splits an XML document at the boundaries of the children of the root element into well-formed
+ * fragments, which can be parsed independently of each other. The input is only scanned for markup
+ * delimiters, which is much cheaper than parsing it. Each fragment is enclosed in the start tag of
+ * the root element, such that namespace declarations are in scope, and the end tag of the root
+ * element.
+ * </p>
+ *
+ * <p>
+ * Entities declared in a document type declaration are not supported.
+ * </p>
+ *
+ * @author Johannes Lichtenberger
+ */
+final class XMLFragmentSplitter {
+
+  /** The input. */
+  private final Reader mReader;
+
+  /** Minimum number of characters of a fragment. */
+  private final int mFragmentSize;
+
+  /** Characters of the current fragment. */
+  private final StringBuilder mBuffer;
+
+  /** The start tag of the root element or {@code null}, if it has not been read yet. */
+  private String mRootStartTag;
+
+  /** The end tag of the root element. */
+  private String mRootEndTag;
+
+  /** The current depth. */
+  private int mDepth;
+
+  /** Determines if the end of the root element has been reached. */
+  private boolean mDone;
+
+  /**
+   * A well-formed fragment.
+   */
+  static final class Fragment {
+    /** The fragment as a document. */
+    final String mDocument;
+
+    /** Determines if the enclosing start tag of the root element must be skipped. */
+    final boolean mSkipRootStartTag;
+
+    /** Determines if the enclosing end tag of the root element must be skipped. */
+    final boolean mSkipRootEndTag;
+
+    private Fragment(final String document, final boolean skipRootStartTag,
+        final boolean skipRootEndTag) {
+      mDocument = document;
+      mSkipRootStartTag = skipRootStartTag;
+      mSkipRootEndTag = skipRootEndTag;
+    }
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param reader the buffered input
+   * @param fragmentSize minimum number of characters of a fragment
+   */
+  XMLFragmentSplitter(final Reader reader, final @Nonnegative int fragmentSize) {
+    checkArgument(fragmentSize >= 0, "fragmentSize must be >= 0!");
+    mReader = checkNotNull(reader);
+    mFragmentSize = fragmentSize;
+    mBuffer = new StringBuilder();
+  }
+
+  /**
+   * Read the next fragment. The first fragment contains the prolog and the start tag of the root
+   * element, the last fragment the end tag of the root element. Anything after the root element is
+   * ignored.
+   *
+   * @return the next fragment or {@code null}, if the end of the root element has been reached
+   * @throws IOException if reading the input fails
+   * @throws XMLStreamException if the input ends prematurely
+   */
+  @Nullable
+  Fragment next() throws IOException, XMLStreamException {
+    if (mDone) {
+      return null;
+    }
+
+    int c;
+    while ((c = mReader.read()) != -1) {
+      if (c != '<') {
+        mBuffer.append((char) c);
+        continue;
+      }
+
+      final int start = mBuffer.length();
+      mBuffer.append('<');
+      final char next = read();
+      mBuffer.append(next);
+
+      switch (next) {
+        case '?':
+          readUntil("?>");
+          break;
+        case '!':
+          final char kind = read();
+          mBuffer.append(kind);
+          if (kind == '-') {
+            readUntil("-->");
+          } else if (kind == '[') {
+            readUntil("]]>");
+          } else {
+            readDeclaration();
+          }
+          break;
+        case '/':
+          readTag();
+          mDepth--;
+          if (mDepth == 0) {
+            // The end tag of the root element.
+            mBuffer.setLength(start);
+            mDone = true;
+            return fragment(false);
+          }
+          if (mDepth == 1 && mBuffer.length() >= mFragmentSize) {
+            return fragment(true);
+          }
+          break;
+        default:
+          final boolean isEmptyElement = readTag();
+          if (mRootStartTag == null) {
+            return rootFragment(start, isEmptyElement);
+          }
+          if (!isEmptyElement) {
+            mDepth++;
+          } else if (mDepth == 1 && mBuffer.length() >= mFragmentSize) {
+            return fragment(true);
+          }
+      }
+    }
+
+    throw new XMLStreamException("Unexpected end of the document!");
+  }
+
+  private Fragment rootFragment(final int start, final boolean isEmptyElement) {
+    final Fragment fragment;
+    if (isEmptyElement) {
+      mDone = true;
+      fragment = new Fragment(mBuffer.toString(), false, false);
+    } else {
+      mRootStartTag = mBuffer.substring(start);
+      int end = 1;
+      while (end < mRootStartTag.length() && !Character.isWhitespace(mRootStartTag.charAt(end))
+          && mRootStartTag.charAt(end) != '>' && mRootStartTag.charAt(end) != '/') {
+        end++;
+      }
+      mRootEndTag = "</" + mRootStartTag.substring(1, end) + ">";
+      mDepth = 1;
+      fragment = new Fragment(mBuffer.append(mRootEndTag).toString(), false, true);
+    }
+    mBuffer.setLength(0);
+    return fragment;
+  }
+
+  private Fragment fragment(final boolean skipRootEndTag) {
+    final String document = mRootStartTag + mBuffer + mRootEndTag;
+    mBuffer.setLength(0);
+    return new Fragment(document, true, skipRootEndTag);
+  }
+
+  private char read() throws IOException, XMLStreamException {
+    final int c = mReader.read();
+    if (c == -1) {
+      throw new XMLStreamException("Unexpected end of the document!");
+    }
+    return (char) c;
+  }
+
+  /**
+   * Read until the buffer ends with the given delimiter.
+   */
+  private void readUntil(final String delimiter) throws IOException, XMLStreamException {
+    while (!endsWith(delimiter)) {
+      mBuffer.append(read());
+    }
+  }
+
+  private boolean endsWith(final String suffix) {
+    final int offset = mBuffer.length() - suffix.length();
+    if (offset < 0) {
+      return false;
+    }
+    for (int i = 0, length = suffix.length(); i < length; i++) {
+      if (mBuffer.charAt(offset + i) != suffix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read the rest of a tag, skipping quoted attribute values.
+   *
+   * @return {@code true}, if the tag is an empty-element tag, {@code false} otherwise
+   */
+  private boolean readTag() throws IOException, XMLStreamException {
+    char quote = 0;
+    char previous = 0;
+    while (true) {
+      final char c = read();
+      mBuffer.append(c);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '>') {
+        return previous == '/';
+      }
+      previous = c;
+    }
+  }
+
+  /**
+   * Read the rest of a markup declaration, which might contain an internal subset.
+   */
+  private void readDeclaration() throws IOException, XMLStreamException {
+    char quote = 0;
+    int brackets = 0;
+    while (true) {
+      final char c = read();
+      mBuffer.append(c);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '[') {
+        brackets++;
+      } else if (c == ']') {
+        brackets--;
+      } else if (c == '>' && brackets == 0) {
+        return;
+      }
+    }
+  }
+}
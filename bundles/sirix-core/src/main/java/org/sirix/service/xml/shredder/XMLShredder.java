@@ -361,6 +361,17 @@ public final class XMLShredder extends AbstractShredder implements Callable<Long
     }
   }
 
+  /**
+   * Create a new {@link XMLInputFactory}, which neither supports DTDs nor external entities.
+   *
+   * @return the factory
+   */
+  static XMLInputFactory createInputFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    setProperties(factory);
+    return factory;
+  }
+
   private static void setProperties(final XMLInputFactory factory) {
     factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
     factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
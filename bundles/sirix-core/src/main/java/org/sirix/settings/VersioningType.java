@@ -58,22 +58,14 @@ public enum VersioningType {
         final List<T> pages, final @Nonnegative int revToRestore, final PageReadTrx pageReadTrx,
         final PageReference reference) {
       assert pages.size() == 1;
-      final T firstPage = pages.get(0);
-      final long recordPageKey = firstPage.getPageKey();
-      final List<T> returnVal = new ArrayList<>(2);
-      returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
-      returnVal.add(
-          firstPage.<T>newInstance(
-              recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx));
-
-      for (final Map.Entry<K, V> entry : pages.get(0).entrySet()) {
-        returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
-        returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
-      }
-
-      return PageContainer.getInstance(returnVal.get(0), returnVal.get(1));
+      // The complete page isn't modified, thus the page itself is used, whereas the page to write
+      // is an overlay of it.
+      final T completePage = pages.get(0);
+      final T modifiedPage = completePage.<T>newInstance(
+          completePage.getPageKey(), completePage.getPageKind(), reference.getKey(), pageReadTrx);
+      modifiedPage.setCompletePage(completePage);
+
+      return PageContainer.getInstance(completePage, modifiedPage);
     }
 
     @Override
@@ -117,7 +109,7 @@ public enum VersioningType {
         for (final Entry<K, V> entry : fullDump.entrySet()) {
           if (returnVal.getValue(entry.getKey()) == null) {
             returnVal.setEntry(entry.getKey(), entry.getValue());
-            if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.size() == recordsPerPage(pageReadTrx)) {
               break;
             }
           }
@@ -125,7 +117,7 @@ public enum VersioningType {
         for (final Entry<K, PageReference> entry : fullDump.referenceEntrySet()) {
           if (returnVal.getPageReference(entry.getKey()) == null) {
             returnVal.setPageReference(entry.getKey(), entry.getValue());
-            if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.size() == recordsPerPage(pageReadTrx)) {
               break;
             }
           }
@@ -159,51 +151,52 @@ public enum VersioningType {
       // Iterate through all nodes of the latest revision.
       for (final Map.Entry<K, V> entry : latest.entrySet()) {
         returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
-        returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
+        if (!isFullDump) {
+          returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
+        }
       }
       // Iterate through all nodes of the latest revision.
       for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
         returnVal.get(0).setPageReference(entry.getKey(), entry.getValue());
-        returnVal.get(1).setPageReference(entry.getKey(), entry.getValue());
+        if (!isFullDump) {
+          returnVal.get(1).setPageReference(entry.getKey(), entry.getValue());
+        }
       }
 
       // If not all entries are filled.
-      if (latest.size() != Constants.NDP_NODE_COUNT) {
+      if (latest.size() != recordsPerPage(pageReadTrx)) {
         // Iterate through the full dump.
         for (final Map.Entry<K, V> entry : fullDump.entrySet()) {
           if (returnVal.get(0).getValue(entry.getKey()) == null) {
             returnVal.get(0).setEntry(entry.getKey(), entry.getValue());
           }
 
-          if (isFullDump && returnVal.get(1).getValue(entry.getKey()) == null) {
-            returnVal.get(1).setEntry(entry.getKey(), entry.getValue());
-          }
-
-          if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+          if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
             // Page is filled, thus skip all other entries of the full dump.
             break;
           }
         }
       }
       // If not all entries are filled.
-      if (latest.size() != Constants.NDP_NODE_COUNT) {
+      if (latest.size() != recordsPerPage(pageReadTrx)) {
         // Iterate through the full dump.
         for (final Map.Entry<K, PageReference> entry : fullDump.referenceEntrySet()) {
           if (returnVal.get(0).getPageReference(entry.getKey()) == null) {
             returnVal.get(0).setPageReference(entry.getKey(), entry.getValue());
           }
 
-          if (isFullDump && returnVal.get(1).getPageReference(entry.getKey()) == null) {
-            returnVal.get(1).setPageReference(entry.getKey(), entry.getValue());
-          }
-
-          if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+          if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
             // Page is filled, thus skip all other entries of the full dump.
             break;
           }
         }
       }
 
+      // A full dump writes the complete page, otherwise the changes since the last full dump.
+      if (isFullDump) {
+        returnVal.get(1).setCompletePage(returnVal.get(0));
+      }
+
       return PageContainer.getInstance(returnVal.get(0), returnVal.get(1));
     }
 
@@ -245,7 +238,7 @@ public enum VersioningType {
           final K recordKey = entry.getKey();
           if (returnVal.getValue(recordKey) == null) {
             returnVal.setEntry(recordKey, entry.getValue());
-            if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.size() == recordsPerPage(pageReadTrx)) {
               filledPage = true;
               break;
             }
@@ -256,7 +249,7 @@ public enum VersioningType {
             final K recordKey = entry.getKey();
             if (returnVal.getPageReference(recordKey) == null) {
               returnVal.setPageReference(recordKey, entry.getValue());
-              if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+              if (returnVal.size() == recordsPerPage(pageReadTrx)) {
                 filledPage = true;
                 break;
               }
@@ -297,11 +290,7 @@ public enum VersioningType {
           if (entry != null && returnVal.get(0).getValue(key) == null) {
             returnVal.get(0).setEntry(key, entry.getValue());
 
-            if (returnVal.get(1).getValue(entry.getKey()) == null && isFullDump) {
-              returnVal.get(1).setEntry(key, entry.getValue());
-            }
-
-            if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
               filledPage = true;
               break;
             }
@@ -315,11 +304,7 @@ public enum VersioningType {
             if (entry != null && returnVal.get(0).getPageReference(key) == null) {
               returnVal.get(0).setPageReference(key, entry.getValue());
 
-              if (returnVal.get(1).getPageReference(entry.getKey()) == null && isFullDump) {
-                returnVal.get(1).setPageReference(key, entry.getValue());
-              }
-
-              if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+              if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
                 filledPage = true;
                 break;
               }
@@ -328,6 +313,11 @@ public enum VersioningType {
         }
       }
 
+      // A full dump writes the complete page, otherwise only the changes.
+      if (isFullDump) {
+        returnVal.get(1).setCompletePage(returnVal.get(0));
+      }
+
       return PageContainer.getInstance(returnVal.get(0), returnVal.get(1));
     }
 
@@ -379,7 +369,7 @@ public enum VersioningType {
           final K recordKey = entry.getKey();
           if (returnVal.getValue(recordKey) == null) {
             returnVal.setEntry(recordKey, entry.getValue());
-            if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.size() == recordsPerPage(pageReadTrx)) {
               filledPage = true;
               break;
             }
@@ -390,7 +380,7 @@ public enum VersioningType {
             final K recordKey = entry.getKey();
             if (returnVal.getPageReference(recordKey) == null) {
               returnVal.setPageReference(recordKey, entry.getValue());
-              if (returnVal.size() == Constants.NDP_NODE_COUNT) {
+              if (returnVal.size() == recordsPerPage(pageReadTrx)) {
                 filledPage = true;
                 break;
               }
@@ -442,7 +432,7 @@ public enum VersioningType {
             returnVal.get(1).setEntry(key, entry.getValue());
           }
 
-          if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+          if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
             filledPage = true;
             break;
           }
@@ -465,7 +455,7 @@ public enum VersioningType {
               returnVal.get(1).setPageReference(key, entry.getValue());
             }
 
-            if (returnVal.get(0).size() == Constants.NDP_NODE_COUNT) {
+            if (returnVal.get(0).size() == recordsPerPage(pageReadTrx)) {
               filledPage = true;
               break;
             }
@@ -497,8 +487,94 @@ public enum VersioningType {
       }
       return retVal;
     }
+  },
+
+  /**
+   * Adaptive versioning. For each record page it is decided when the page is prepared for
+   * modification, whether a delta (like {@link #INCREMENTAL}) or a full snapshot is written. A
+   * snapshot terminates the chain of page fragments and is written once the chain would exceed the
+   * number of revisions to restore, which thus is the maximum read-amplification per page, or once
+   * the fragments hold at least {@link #SNAPSHOT_RECORDS_FACTOR} times the records of the complete
+   * page. Rarely changed pages thus are rarely dumped, whereas hot pages are dumped whenever
+   * reading their fragments gets more expensive than reading a snapshot.
+   */
+  ADAPTIVE {
+    @Override
+    public <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> T combineRecordPages(
+        final List<T> pages, final @Nonnegative int revToRestore, final PageReadTrx pageReadTrx) {
+      return INCREMENTAL.combineRecordPages(pages, revToRestore, pageReadTrx);
+    }
+
+    @Override
+    public <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> PageContainer combineRecordPagesForModification(
+        final List<T> pages, final int revToRestore, final PageReadTrx pageReadTrx,
+        final PageReference reference) {
+      final T firstPage = pages.get(0);
+      final long recordPageKey = firstPage.getPageKey();
+      final T completePage = firstPage.<T>newInstance(
+          recordPageKey, firstPage.getPageKind(), reference.getKey(), pageReadTrx);
+
+      int fragmentRecords = 0;
+      boolean filledPage = false;
+      for (int i = 0; i < pages.size() && !filledPage; i++) {
+        final T page = pages.get(i);
+        assert page.getPageKey() == recordPageKey;
+        fragmentRecords += page.size();
+
+        for (final Entry<K, V> entry : page.entrySet()) {
+          final K key = entry.getKey();
+          if (completePage.getValue(key) == null) {
+            completePage.setEntry(key, entry.getValue());
+            if (completePage.size() == recordsPerPage(pageReadTrx)) {
+              filledPage = true;
+              break;
+            }
+          }
+        }
+        if (!filledPage) {
+          for (final Entry<K, PageReference> entry : page.referenceEntrySet()) {
+            final K key = entry.getKey();
+            if (completePage.getPageReference(key) == null) {
+              completePage.setPageReference(key, entry.getValue());
+              if (completePage.size() == recordsPerPage(pageReadTrx)) {
+                filledPage = true;
+                break;
+              }
+            }
+          }
+        }
+      }
+
+      final boolean isSnapshot = pages.size() >= revToRestore
+          || fragmentRecords >= SNAPSHOT_RECORDS_FACTOR * completePage.size();
+
+      // A snapshot doesn't reference its predecessor, such that reading stops there.
+      final T modifiedPage = firstPage.<T>newInstance(
+          recordPageKey, firstPage.getPageKind(), isSnapshot
+              ? Constants.NULL_ID_LONG
+              : reference.getKey(),
+          pageReadTrx);
+
+      if (isSnapshot) {
+        modifiedPage.setCompletePage(completePage);
+      }
+
+      return PageContainer.getInstance(completePage, modifiedPage);
+    }
+
+    @Override
+    public int[] getRevisionRoots(final @Nonnegative int previousRevision,
+        final @Nonnegative int revsToRestore) {
+      return INCREMENTAL.getRevisionRoots(previousRevision, revsToRestore);
+    }
   };
 
+  /**
+   * Factor of the number of records stored in all fragments of a page compared to the number of
+   * records of the complete page, from which on {@link #ADAPTIVE} versioning writes a snapshot.
+   */
+  private static final int SNAPSHOT_RECORDS_FACTOR = 2;
+
   /**
    * Method to reconstruct a complete {@link KeyValuePage} with the help of partly filled pages plus
    * a revision-delta which determines the necessary steps back.
@@ -532,4 +608,14 @@ public enum VersioningType {
    */
   public abstract int[] getRevisionRoots(final @Nonnegative int previousRevision,
       final @Nonnegative int revsToRestore);
+
+  /**
+   * Get the maximum number of records of a record page, as configured for the resource.
+   *
+   * @param pageReadTrx the page reading transaction
+   * @return the maximum number of records of a record page
+   */
+  private static int recordsPerPage(final PageReadTrx pageReadTrx) {
+    return pageReadTrx.getResourceManager().getResourceConfig().recordsPerPage;
+  }
 }
@@ -24,15 +24,36 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Adler32;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Compression/Decompression for text values or any other data.
  *
+ * <p>
+ * The methods are thread-safe. {@link Deflater}s and {@link Inflater}s are pooled, such that they
+ * are reused instead of being allocated for each value, whereas the ones exceeding the pool are
+ * released right away. Values might be compressed with a preset dictionary, which is shared by all
+ * values of a resource, such that short values compress as well. The same dictionary has to be
+ * passed to decompress the data, which is checked against the checksum of the dictionary stored
+ * with the compressed data.
+ * </p>
+ *
  * @author Johannes Lichtenberger, University of Konstanz
  *
  */
@@ -44,11 +65,23 @@ public final class Compression {
   /** Buffer size. */
   public static final int BUFFER_SIZE = 1024;
 
-  /** Compressor. */
-  private static final Deflater mCompressor = new Deflater();
+  /** Maximum size of a dictionary (the window size of deflate). */
+  public static final int MAX_DICTIONARY_SIZE = 32_768;
+
+  /** Maximum length of a string, which is added to a dictionary. */
+  private static final int MAX_DICTIONARY_STRING_LENGTH = 64;
+
+  /** Minimum length of a string, which is added to a dictionary. */
+  private static final int MIN_DICTIONARY_STRING_LENGTH = 3;
 
-  /** Decompressor. */
-  private static final Inflater mDecompressor = new Inflater();
+  /** Maximum number of pooled compressors and decompressors each. */
+  private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  /** Pooled compressors. */
+  private static final BlockingQueue<Deflater> COMPRESSORS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  /** Pooled decompressors. */
+  private static final BlockingQueue<Inflater> DECOMPRESSORS = new ArrayBlockingQueue<>(POOL_SIZE);
 
   /** Private constructor to prevent from instantiation. */
   private Compression() {
@@ -64,40 +97,53 @@ public final class Compression {
    * @throws NullPointerException if {@code pToCompress} is {@code null}
    */
   public static byte[] compress(final byte[] toCompress, final int pLevel) {
-    checkNotNull(toCompress);
-    checkArgument(pLevel >= -1 && pLevel <= 9, "pLevel must be between 0 and 9!");
-
-    // Compressed result.
-    byte[] compressed = new byte[] {};
+    return compress(toCompress, pLevel, null);
+  }
 
-    // Set compression level.
-    mCompressor.setLevel(pLevel);
+  /**
+   * Compress data based on the {@link Deflater} and a preset dictionary.
+   *
+   * @param toCompress input byte-array
+   * @param level compression level (between -1 and 9 whereas 0 is the weakest and -1 is default)
+   * @param dictionary the dictionary or {@code null}, if no dictionary should be used
+   * @return compressed byte-array
+   * @throws NullPointerException if {@code toCompress} is {@code null}
+   */
+  public static byte[] compress(final byte[] toCompress, final int level,
+      final @Nullable byte[] dictionary) {
+    checkNotNull(toCompress);
+    checkArgument(level >= -1 && level <= 9, "level must be between -1 and 9!");
 
-    // Give the compressor the data to compress.
-    mCompressor.reset();
-    mCompressor.setInput(toCompress);
-    mCompressor.finish();
+    final Deflater pooled = COMPRESSORS.poll();
+    final Deflater compressor = pooled == null
+        ? new Deflater()
+        : pooled;
+    try {
+      compressor.setLevel(level);
+      if (dictionary != null) {
+        compressor.setDictionary(dictionary);
+      }
+      compressor.setInput(toCompress);
+      compressor.finish();
 
-    /*
-     * Create an expandable byte array to hold the compressed data. You cannot use an array that's
-     * the same size as the orginal because there is no guarantee that the compressed data will be
-     * smaller than the uncompressed data.
-     */
-    try (final ByteArrayOutputStream bos = new ByteArrayOutputStream(toCompress.length)) {
-      // Compress the data.
+      /*
+       * Create an expandable byte array to hold the compressed data. You cannot use an array that's
+       * the same size as the orginal because there is no guarantee that the compressed data will be
+       * smaller than the uncompressed data.
+       */
+      final ByteArrayOutputStream bos = new ByteArrayOutputStream(toCompress.length);
       final byte[] buf = new byte[BUFFER_SIZE];
-      while (!mCompressor.finished()) {
-        final int count = mCompressor.deflate(buf);
+      while (!compressor.finished()) {
+        final int count = compressor.deflate(buf);
         bos.write(buf, 0, count);
       }
-
-      // Get the compressed data.
-      compressed = bos.toByteArray();
-    } catch (final IOException e) {
-      LOGWRAPPER.error(e.getMessage(), e);
+      return bos.toByteArray();
+    } finally {
+      compressor.reset();
+      if (!COMPRESSORS.offer(compressor)) {
+        compressor.end();
+      }
     }
-
-    return compressed;
   }
 
   /**
@@ -108,35 +154,255 @@ public final class Compression {
    * @throws NullPointerException if {@code pCompressed} is {@code null}
    */
   public static byte[] decompress(final byte[] compressed) {
-    checkNotNull(compressed);
+    return decompress(compressed, null);
+  }
 
-    // Reset the decompressor and give it the data to compress.
-    mDecompressor.reset();
-    mDecompressor.setInput(compressed);
+  /**
+   * Decompress data based on the {@link Inflater} and the preset dictionary, with which the data
+   * might have been compressed.
+   *
+   * @param compressed the compressed data
+   * @param dictionary the dictionary or {@code null}, if no dictionary is available
+   * @return the decompressed data
+   * @throws NullPointerException if {@code compressed} is {@code null}
+   * @throws IllegalStateException if the data is corrupt or has been compressed with another
+   *         dictionary
+   */
+  public static byte[] decompress(final byte[] compressed, final @Nullable byte[] dictionary) {
+    checkNotNull(compressed);
 
-    byte[] decompressed = new byte[] {};
+    final Inflater pooled = DECOMPRESSORS.poll();
+    final Inflater decompressor = pooled == null
+        ? new Inflater()
+        : pooled;
+    decompressor.setInput(compressed);
 
     // Create an expandable byte array to hold the decompressed data.
     final ByteArrayOutputStream bos = new ByteArrayOutputStream(compressed.length);
-    // Decompress the data.
     final byte[] buf = new byte[BUFFER_SIZE];
-    while (!mDecompressor.finished()) {
-      try {
-        final int count = mDecompressor.inflate(buf);
+    try {
+      while (!decompressor.finished()) {
+        final int count = decompressor.inflate(buf);
+        if (count == 0) {
+          if (decompressor.needsDictionary()) {
+            decompressor.setDictionary(checkDictionary(decompressor.getAdler(), dictionary));
+          } else if (decompressor.needsInput()) {
+            throw new ZipException("Unexpected end of compressed data.");
+          }
+        }
         bos.write(buf, 0, count);
+      }
+    } catch (final DataFormatException | ZipException e) {
+      LOGWRAPPER.error(e.getMessage(), e);
+      throw new IllegalStateException(e);
+    } finally {
+      decompressor.reset();
+      if (!DECOMPRESSORS.offer(decompressor)) {
+        decompressor.end();
+      }
+    }
+    return bos.toByteArray();
+  }
+
+  /**
+   * Get a stream, which decompresses the data read from the given stream.
+   *
+   * @param compressed stream of the compressed data
+   * @return a stream of the decompressed data
+   * @throws NullPointerException if {@code compressed} is {@code null}
+   */
+  public static InputStream decompress(final InputStream compressed) {
+    return decompress(compressed, null);
+  }
+
+  /**
+   * Get a stream, which decompresses the data read from the given stream with the preset
+   * dictionary, with which the data might have been compressed.
+   *
+   * @param compressed stream of the compressed data
+   * @param dictionary the dictionary or {@code null}, if no dictionary is available
+   * @return a stream of the decompressed data
+   * @throws NullPointerException if {@code compressed} is {@code null}
+   */
+  public static InputStream decompress(final InputStream compressed,
+      final @Nullable byte[] dictionary) {
+    return new DecompressingInputStream(checkNotNull(compressed), dictionary);
+  }
+
+  /**
+   * Check that the data has been compressed with the given dictionary.
+   *
+   * @param id the checksum of the dictionary, which is stored with the compressed data
+   * @param dictionary the dictionary or {@code null}, if no dictionary is available
+   * @return the dictionary
+   * @throws ZipException if the data has been compressed with another dictionary
+   */
+  private static byte[] checkDictionary(final int id, final @Nullable byte[] dictionary)
+      throws ZipException {
+    if (dictionary == null) {
+      throw new ZipException("The data has been compressed with a dictionary.");
+    }
+    final Adler32 checksum = new Adler32();
+    checksum.update(dictionary);
+    if ((int) checksum.getValue() != id) {
+      throw new ZipException("The data has been compressed with another dictionary.");
+    }
+    return dictionary;
+  }
+
+  /**
+   * Build a dictionary from sample values. Frequent words and short values make up the dictionary,
+   * whereas the most valuable ones are placed at the end, as deflate encodes near matches more
+   * cheaply.
+   *
+   * @param samples the sample values
+   * @return the dictionary, which might be empty if the samples do not share any strings
+   * @throws NullPointerException if {@code samples} is {@code null}
+   */
+  public static byte[] buildDictionary(final Collection<byte[]> samples) {
+    checkNotNull(samples);
+    final Map<ByteBuffer, Integer> counts = new HashMap<>();
+    for (final byte[] sample : samples) {
+      if (sample.length <= MAX_DICTIONARY_STRING_LENGTH) {
+        counts.merge(ByteBuffer.wrap(sample), 1, Integer::sum);
+      }
+      int start = 0;
+      for (int i = 0; i <= sample.length; i++) {
+        if (i == sample.length || isSeparator(sample[i])) {
+          // Include the separator, as it usually follows the word.
+          final int end = Math.min(i + 1, sample.length);
+          final int length = end - start;
+          if (length >= MIN_DICTIONARY_STRING_LENGTH && length <= MAX_DICTIONARY_STRING_LENGTH
+              && length < sample.length) {
+            counts.merge(ByteBuffer.wrap(sample, start, length).slice(), 1, Integer::sum);
+          }
+          start = i + 1;
+        }
+      }
+    }
+
+    final List<Map.Entry<ByteBuffer, Integer>> candidates = new ArrayList<>();
+    for (final Map.Entry<ByteBuffer, Integer> entry : counts.entrySet()) {
+      if (entry.getValue() > 1) {
+        candidates.add(entry);
+      }
+    }
+    candidates.sort((first, second) -> Long.compare(
+        (long) second.getValue() * second.getKey().remaining(),
+        (long) first.getValue() * first.getKey().remaining()));
+
+    final List<ByteBuffer> selected = new ArrayList<>();
+    int size = 0;
+    for (final Map.Entry<ByteBuffer, Integer> candidate : candidates) {
+      final int length = candidate.getKey().remaining();
+      if (size + length <= MAX_DICTIONARY_SIZE) {
+        selected.add(candidate.getKey());
+        size += length;
+      }
+    }
+
+    final byte[] dictionary = new byte[size];
+    int offset = size;
+    for (final ByteBuffer string : selected) {
+      final int length = string.remaining();
+      offset -= length;
+      string.duplicate().get(dictionary, offset, length);
+    }
+    return dictionary;
+  }
+
+  private static boolean isSeparator(final byte b) {
+    return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == ',' || b == '.';
+  }
+
+  /**
+   * Decompresses a stream with its own {@link Inflater}, which is released once the stream is
+   * closed or exhausted. Unlike {@link java.util.zip.InflaterInputStream} it supports registered
+   * dictionaries.
+   */
+  private static final class DecompressingInputStream extends InputStream {
+
+    /** The compressed stream. */
+    private final InputStream mIn;
+
+    /** The decompressor. */
+    private Inflater mInflater;
+
+    /** The dictionary, with which the data might have been compressed. */
+    private final byte[] mDictionary;
+
+    /** Input buffer. */
+    private final byte[] mBuffer;
+
+    /** Single byte buffer. */
+    private final byte[] mSingleByte;
+
+    /**
+     * Constructor.
+     *
+     * @param in the compressed stream
+     * @param dictionary the dictionary or {@code null}, if no dictionary is available
+     */
+    DecompressingInputStream(final InputStream in, final @Nullable byte[] dictionary) {
+      mIn = in;
+      mDictionary = dictionary;
+      mInflater = new Inflater();
+      mBuffer = new byte[BUFFER_SIZE];
+      mSingleByte = new byte[1];
+    }
+
+    @Override
+    public int read() throws IOException {
+      return read(mSingleByte, 0, 1) == -1
+          ? -1
+          : mSingleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+      checkNotNull(bytes);
+      if (length == 0) {
+        return 0;
+      }
+      if (mInflater == null) {
+        return -1;
+      }
+      try {
+        while (true) {
+          final int count = mInflater.inflate(bytes, offset, length);
+          if (count > 0) {
+            return count;
+          }
+          if (mInflater.finished()) {
+            release();
+            return -1;
+          }
+          if (mInflater.needsDictionary()) {
+            mInflater.setDictionary(checkDictionary(mInflater.getAdler(), mDictionary));
+          } else if (mInflater.needsInput()) {
+            final int read = mIn.read(mBuffer);
+            if (read == -1) {
+              throw new ZipException("Unexpected end of compressed data.");
+            }
+            mInflater.setInput(mBuffer, 0, read);
+          }
+        }
       } catch (final DataFormatException e) {
-        LOGWRAPPER.error(e.getMessage(), e);
-        throw new RuntimeException(e);
+        throw new ZipException(e.getMessage());
       }
     }
-    // Get the decompressed data.
-    decompressed = bos.toByteArray();
-    try {
-      bos.close();
-    } catch (final IOException e) {
-      LOGWRAPPER.error(e.getMessage(), e);
+
+    @Override
+    public void close() throws IOException {
+      release();
+      mIn.close();
     }
 
-    return decompressed;
+    private void release() {
+      if (mInflater != null) {
+        mInflater.end();
+        mInflater = null;
+      }
+    }
   }
 }
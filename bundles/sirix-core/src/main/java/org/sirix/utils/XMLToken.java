@@ -1,11 +1,15 @@
 package org.sirix.utils;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import javax.xml.namespace.QName;
 import org.brackit.xquery.atomic.QNm;
+import org.sirix.settings.Constants;
 
 /**
  * This class provides convenience operations for XML-specific character operations.
@@ -327,4 +331,44 @@ public final class XMLToken {
     }
     return escape.toString();
   }
+
+  /**
+   * Escape characters not allowed in text content, whereas the UTF-8 encoded content is read from a
+   * stream and written to another stream, such that it is never held in memory as a whole.
+   *
+   * @param in the UTF-8 encoded content to escape
+   * @param out the output stream to write the escaped content to
+   * @throws IOException if an I/O error occurs
+   * @throws NullPointerException if {@code in} or {@code out} is {@code null}
+   */
+  public static void escapeContent(final InputStream in, final OutputStream out)
+      throws IOException {
+    checkNotNull(in);
+    checkNotNull(out);
+    // Markup characters never occur inside of multi-byte UTF-8 sequences.
+    final byte[] buffer = new byte[Compression.BUFFER_SIZE];
+    for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+      int start = 0;
+      for (int i = 0; i < read; i++) {
+        final String escaped;
+        switch (buffer[i]) {
+          case '&':
+            escaped = "&amp;";
+            break;
+          case '<':
+            escaped = "&lt;";
+            break;
+          case '>':
+            escaped = "&gt;";
+            break;
+          default:
+            continue;
+        }
+        out.write(buffer, start, i - start);
+        out.write(escaped.getBytes(Constants.DEFAULT_ENCODING));
+        start = i + 1;
+      }
+      out.write(buffer, start, read - start);
+    }
+  }
 }
@@ -23,6 +23,7 @@ package org.sirix.access;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import java.util.Arrays;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -33,6 +34,7 @@ import org.sirix.TestHelper.PATHS;
 import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.api.Database;
+import org.sirix.api.EditOp;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.XdmNodeWriteTrx;
 import org.sirix.exception.SirixException;
@@ -84,6 +86,100 @@ public class HashTest {
     testSetter(wtx);
   }
 
+  @Test
+  public void testDeferredRollingInsertRemove() throws SirixException {
+    final XdmNodeWriteTrx wtx = createDeferredWtx();
+    testHashTreeWithInsertAndRemove(wtx);
+  }
+
+  @Test
+  public void testDeferredRollingDeep() throws SirixException {
+    final XdmNodeWriteTrx wtx = createDeferredWtx();
+    testDeepTree(wtx);
+  }
+
+  @Test
+  public void testDeferredRollingSetter() throws SirixException {
+    final XdmNodeWriteTrx wtx = createDeferredWtx();
+    testSetter(wtx);
+  }
+
+  @Test
+  public void testDeferredRollingDescendantCount() throws SirixException {
+    final XdmNodeWriteTrx wtx = createDeferredWtx();
+    wtx.insertElementAsFirstChild(new QNm(NAME1));
+    final long rootKey = wtx.getNodeKey();
+    wtx.insertElementAsFirstChild(new QNm(NAME1));
+    wtx.insertTextAsFirstChild(NAME2);
+    wtx.moveToParent();
+    wtx.insertElementAsRightSibling(new QNm(NAME2));
+    wtx.insertAttribute(new QNm(NAME2), NAME1);
+    wtx.moveTo(rootKey);
+    assertEquals(3, wtx.getDescendantCount());
+    wtx.moveToFirstChild();
+    wtx.remove();
+    wtx.moveTo(rootKey);
+    assertEquals(1, wtx.getDescendantCount());
+    wtx.commit();
+    wtx.moveTo(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+    assertEquals(2, wtx.getDescendantCount());
+  }
+
+  @Test
+  public void testRollingBatch() throws SirixException {
+    final XdmNodeWriteTrx wtx = createWtx(HashType.ROLLING);
+    wtx.insertElementAsFirstChild(new QNm(NAME1));
+    final long rootKey = wtx.getNodeKey();
+    wtx.insertElementAsFirstChild(new QNm(NAME2));
+    final long elementKey = wtx.getNodeKey();
+    wtx.insertTextAsFirstChild(NAME1);
+    final long textKey = wtx.getNodeKey();
+    wtx.moveTo(rootKey);
+    final long oldHash = wtx.getHash();
+
+    wtx.apply(Arrays.asList(EditOp.setValue(textKey, NAME2),
+        EditOp.insertElementAsRightSibling(elementKey, new QNm(NAME1)),
+        EditOp.insertAttribute(rootKey, new QNm(NAME2), NAME1)));
+    assertEquals(rootKey, wtx.getNodeKey());
+    assertEquals(3, wtx.getDescendantCount());
+    assertEquals(1, wtx.getAttributeCount());
+    assertFalse(oldHash == wtx.getHash());
+
+    // The same operations one after the other in the order of the node keys.
+    final Database database = TestHelper.getDatabase(PATHS.PATH2.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE, PATHS.PATH2.getConfig()).build());
+    try (final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+        final XdmNodeWriteTrx expectedWtx = manager.beginNodeWriteTrx()) {
+      expectedWtx.insertElementAsFirstChild(new QNm(NAME1));
+      expectedWtx.insertElementAsFirstChild(new QNm(NAME2));
+      expectedWtx.insertTextAsFirstChild(NAME1);
+      expectedWtx.moveTo(rootKey);
+      expectedWtx.insertAttribute(new QNm(NAME2), NAME1);
+      expectedWtx.moveTo(elementKey);
+      expectedWtx.insertElementAsRightSibling(new QNm(NAME1));
+      expectedWtx.moveTo(textKey);
+      expectedWtx.setValue(NAME2);
+      expectedWtx.moveTo(rootKey);
+      assertEquals(expectedWtx.getHash(), wtx.getHash());
+      expectedWtx.moveToDocumentRoot();
+      wtx.moveToDocumentRoot();
+      assertEquals(expectedWtx.getHash(), wtx.getHash());
+      expectedWtx.rollback();
+    }
+
+    // Remove all nodes below the root element, which removes the node of the cursor.
+    final long attributeKey = textKey + 1;
+    final long insertedElementKey = textKey + 2;
+    wtx.moveTo(elementKey);
+    wtx.apply(Arrays.asList(EditOp.remove(elementKey), EditOp.remove(textKey),
+        EditOp.remove(insertedElementKey), EditOp.remove(attributeKey)));
+    assertEquals(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), wtx.getNodeKey());
+    wtx.moveTo(rootKey);
+    assertEquals(0, wtx.getDescendantCount());
+    assertEquals(0, wtx.getAttributeCount());
+  }
+
   /**
    * Inserting nodes and removing them.
    *
@@ -227,6 +323,15 @@ public class HashTest {
     return wTrx;
   }
 
+  private XdmNodeWriteTrx createDeferredWtx() throws SirixException {
+    final Database database = TestHelper.getDatabase(TestHelper.PATHS.PATH1.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE, PATHS.PATH1.getConfig()).hashKind(
+            HashType.ROLLING).deferHashes(true).build());
+    final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+    return manager.beginNodeWriteTrx();
+  }
+
   @After
   public void tearDown() throws SirixException {
     TestHelper.closeEverything();
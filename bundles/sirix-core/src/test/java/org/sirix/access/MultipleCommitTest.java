@@ -22,6 +22,13 @@
 package org.sirix.access;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -29,12 +36,16 @@ import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
 import org.sirix.api.Axis;
+import org.sirix.api.CommitPhase;
+import org.sirix.api.CommitStatistics;
 import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
 import org.sirix.axis.AbstractAxis;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.axis.PostOrderAxis;
 import org.sirix.exception.SirixException;
 import org.sirix.node.Kind;
+import org.sirix.page.PageKind;
 import org.sirix.utils.DocumentCreator;
 
 public class MultipleCommitTest {
@@ -67,6 +78,105 @@ public class MultipleCommitTest {
     assertEquals(2L, holder.getXdmNodeWriteTrx().getRevisionNumber());
   }
 
+  @Test
+  public void testCommitAsync() throws Exception {
+    final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx();
+    DocumentCreator.create(wtx);
+    wtx.moveToDocumentRoot();
+    final CompletableFuture<XdmNodeWriteTrx> commit = wtx.commitAsync();
+
+    // Modifications wait until the revision has been written.
+    wtx.insertElementAsFirstChild(new QNm("foo"));
+    assertEquals(wtx, commit.get());
+    assertEquals(3L, wtx.getRevisionNumber());
+    wtx.commitAsync("second").get();
+
+    assertEquals(3, holder.getResourceManager().getMostRecentRevisionNumber());
+    try (final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx(2)) {
+      rtx.moveToFirstChild();
+      assertEquals("a", rtx.getName().getLocalName());
+    }
+    try (final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx()) {
+      rtx.moveToFirstChild();
+      assertEquals("foo", rtx.getName().getLocalName());
+    }
+  }
+
+  @Test
+  public void testCommitAsyncWaitsForPostCommitHooks() throws Exception {
+    final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx();
+    final AtomicBoolean executed = new AtomicBoolean();
+    wtx.addPostCommitHook(rtx -> {
+      try {
+        Thread.sleep(100);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      // The hook is executed by the thread of the commit, which must not wait for itself.
+      rtx.moveToDocumentRoot();
+      executed.set(true);
+    });
+    DocumentCreator.create(wtx);
+    wtx.commitAsync();
+
+    // Modifications wait until the post commit hooks have been executed.
+    wtx.moveToDocumentRoot();
+    assertTrue(executed.get());
+    wtx.insertElementAsFirstChild(new QNm("foo"));
+    wtx.commit();
+  }
+
+  @Test
+  public void testFailedCommitAsync() throws Exception {
+    final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx();
+    wtx.addPostCommitHook(rtx -> {
+      throw new IllegalArgumentException();
+    });
+    DocumentCreator.create(wtx);
+    final CompletableFuture<XdmNodeWriteTrx> commit = wtx.commitAsync();
+    try {
+      commit.get();
+      fail();
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    // The failure is reported by further modifications until the transaction is rolled back.
+    try {
+      wtx.insertElementAsFirstChild(new QNm("foo"));
+      fail();
+    } catch (final IllegalStateException e) {
+      assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+    wtx.rollback();
+    wtx.moveToDocumentRoot();
+    wtx.insertElementAsFirstChild(new QNm("foo"));
+    wtx.rollback();
+  }
+
+  @Test
+  public void testCommitListener() {
+    final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx();
+    final List<Integer> revisions = new ArrayList<>();
+    final List<CommitStatistics> statistics = new ArrayList<>();
+    wtx.addCommitListener((revision, commitStatistics) -> {
+      revisions.add(revision);
+      statistics.add(commitStatistics);
+    });
+    DocumentCreator.create(wtx);
+    wtx.commit();
+
+    assertEquals(1, revisions.size());
+    assertEquals(holder.getResourceManager().getMostRecentRevisionNumber(), (int) revisions.get(0));
+    final CommitStatistics commitStatistics = statistics.get(0);
+    assertTrue(commitStatistics.getPageCount(PageKind.RECORDPAGE) > 0);
+    assertEquals(1, commitStatistics.getPageCount(PageKind.UBERPAGE));
+    assertEquals(1, commitStatistics.getPageCount(PageKind.REVISIONROOTPAGE));
+    assertTrue(commitStatistics.getBytes() > 0);
+    assertTrue(commitStatistics.getTime(CommitPhase.FILE_APPENDS) > 0);
+    assertTrue(commitStatistics.getTime(CommitPhase.SERIALIZATION) > 0);
+  }
+
   @Test
   public void testAutoCommit() throws SirixException {
     DocumentCreator.create(holder.getXdmNodeWriteTrx());
@@ -24,6 +24,8 @@ package org.sirix.access;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import java.nio.file.Files;
+import java.util.Random;
+import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,8 +36,11 @@ import org.sirix.access.conf.ResourceConfiguration;
 import org.sirix.api.Database;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
 import org.sirix.exception.SirixException;
 import org.sirix.node.Kind;
+import org.sirix.page.PageConstants;
+import org.sirix.settings.Constants;
 
 public final class NodeReadTrxImplTest {
 
@@ -129,4 +134,76 @@ public final class NodeReadTrxImplTest {
     assertEquals(1L, holder.getXdmNodeReadTrx().getNodeKey());
   }
 
+  @Test
+  public void testStructuralColumns() throws SirixException {
+    final Database database = holder.getDatabase();
+    final String resource = "columns";
+    database.createResource(
+        new ResourceConfiguration.Builder(resource,
+            database.getDatabaseConfig()).storeStructuralColumns(true).build());
+    // The children are stored in several record pages.
+    final int children = 2 * Constants.NDP_NODE_COUNT;
+    try (final ResourceManager manager = database.getResourceManager(resource)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertElementAsFirstChild(new QNm("child"));
+        for (int i = 1; i < children; i++) {
+          wtx.insertElementAsRightSibling(new QNm("child"));
+        }
+        wtx.insertTextAsRightSibling("text");
+        wtx.commit();
+      }
+
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        rtx.moveTo(1);
+        assertEquals(children + 2, rtx.getLastChildKey());
+        assertEquals(Kind.ELEMENT, rtx.getFirstChildKind());
+        assertEquals(Kind.TEXT, rtx.getLastChildKind());
+        assertEquals(Kind.DOCUMENT, rtx.getParentKind());
+        assertEquals(1, rtx.getNodeKey());
+
+        assertEquals(true, rtx.moveToLastChild().hasMoved());
+        assertEquals(children + 2, rtx.getNodeKey());
+        assertEquals(Kind.ELEMENT, rtx.getLeftSiblingKind());
+        assertEquals(Kind.ELEMENT, rtx.getParentKind());
+
+        rtx.moveTo(2);
+        assertEquals(Kind.ELEMENT, rtx.getRightSiblingKind());
+        assertEquals(Kind.UNKNOWN, rtx.getFirstChildKind());
+      }
+    }
+  }
+
+  @Test
+  public void testOverflowValueAfterReaderClosed() throws SirixException {
+    final Database database = holder.getDatabase();
+    final String resource = "overflow";
+    database.createResource(
+        new ResourceConfiguration.Builder(resource,
+            database.getDatabaseConfig()).useTextCompression(false).build());
+    // The value is stored in overflow pages.
+    final Random random = new Random(17);
+    final StringBuilder builder = new StringBuilder();
+    while (builder.length() <= PageConstants.MAX_RECORD_SIZE) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    final String value = builder.toString();
+    try (final ResourceManager manager = database.getResourceManager(resource)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertTextAsFirstChild(value);
+        wtx.commit();
+      }
+
+      // The record page is shared by both readers, the value is read by the requesting one.
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        rtx.moveTo(2);
+        assertEquals(value, rtx.getValue());
+      }
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        rtx.moveTo(2);
+        assertEquals(value, rtx.getValue());
+      }
+    }
+  }
 }
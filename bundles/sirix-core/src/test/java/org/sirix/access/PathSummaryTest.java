@@ -24,6 +24,9 @@ package org.sirix.access;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +39,7 @@ import org.sirix.axis.DescendantAxis;
 import org.sirix.exception.SirixException;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.Kind;
+import org.sirix.settings.Fixed;
 import org.sirix.utils.DocumentCreator;
 
 /**
@@ -1239,6 +1243,76 @@ public class PathSummaryTest {
     assertNull(summary);
   }
 
+  /**
+   * Test that moving a subtree back and forth keeps the path classes and reference counts of all
+   * nodes consistent.
+   */
+  @Test
+  public void testMoveSubtreeRemapsPathClasses() {
+    wtx.moveTo(5);
+    wtx.moveSubtreeToFirstChild(9);
+    testPathClassesHelper(wtx.getPathSummary());
+    wtx.moveTo(5);
+    wtx.moveSubtreeToRightSibling(9);
+    testPathClassesHelper(wtx.getPathSummary());
+    wtx.commit();
+    final PathSummaryReader pathSummary = holder.getResourceManager().openPathSummary();
+    testPathClassesHelper(pathSummary);
+    pathSummary.close();
+    wtx.close();
+  }
+
+  private void testPathClassesHelper(final PathSummaryReader summaryReader) {
+    final Map<Long, Integer> references = new HashMap<>();
+    wtx.moveToDocumentRoot();
+    for (final Axis axis = new DescendantAxis(wtx); axis.hasNext();) {
+      axis.next();
+      if (wtx.getKind() == Kind.ELEMENT) {
+        final long nodeKey = wtx.getNodeKey();
+        testPathClassHelper(summaryReader, references);
+        for (int i = 0, nspCount = wtx.getNamespaceCount(); i < nspCount; i++) {
+          wtx.moveToNamespace(i);
+          testPathClassHelper(summaryReader, references);
+          wtx.moveTo(nodeKey);
+        }
+        for (int i = 0, attCount = wtx.getAttributeCount(); i < attCount; i++) {
+          wtx.moveToAttribute(i);
+          testPathClassHelper(summaryReader, references);
+          wtx.moveTo(nodeKey);
+        }
+      }
+    }
+
+    int pathNodes = 0;
+    summaryReader.moveToDocumentRoot();
+    for (final Axis axis = new DescendantAxis(summaryReader); axis.hasNext();) {
+      axis.next();
+      pathNodes++;
+      assertEquals(references.get(summaryReader.getNodeKey()).intValue(),
+          summaryReader.getReferences());
+    }
+    assertEquals(references.size(), pathNodes);
+  }
+
+  private void testPathClassHelper(final PathSummaryReader summaryReader,
+      final Map<Long, Integer> references) {
+    final long pathNodeKey = wtx.getPathNodeKey();
+    references.merge(pathNodeKey, 1, Integer::sum);
+    assertTrue(summaryReader.moveTo(pathNodeKey).hasMoved());
+    assertEquals(wtx.getKind(), summaryReader.getPathKind());
+    if (wtx.getKind() != Kind.NAMESPACE) {
+      assertEquals(wtx.getName(), summaryReader.getName());
+    }
+
+    final long nodeKey = wtx.getNodeKey();
+    wtx.moveToParent();
+    final long parentPathNodeKey = wtx.getKind() == Kind.DOCUMENT
+        ? Fixed.DOCUMENT_NODE_KEY.getStandardProperty()
+        : wtx.getPathNodeKey();
+    wtx.moveTo(nodeKey);
+    assertEquals(parentPathNodeKey, summaryReader.getParentKey());
+  }
+
   /**
    * Get the next summary.
    *
@@ -31,8 +31,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
+import org.sirix.TestHelper.PATHS;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.access.trx.node.Movement;
 import org.sirix.access.trx.node.XdmNodeReadTrxImpl;
 import org.sirix.api.Axis;
+import org.sirix.api.Database;
+import org.sirix.api.ResourceManager;
 import org.sirix.api.XdmNodeReadTrx;
 import org.sirix.api.XdmNodeWriteTrx;
 import org.sirix.axis.DescendantAxis;
@@ -42,6 +48,7 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.node.Kind;
 import org.sirix.node.SirixDeweyID;
+import org.sirix.node.TextNode;
 import org.sirix.service.xml.shredder.XMLShredder;
 import org.sirix.settings.Fixed;
 import org.sirix.utils.DocumentCreator;
@@ -74,6 +81,162 @@ public class UpdateTest {
     // }
   }
 
+  @Test
+  public void testInsertSubtreeSpanningRecordPages() {
+    testInsertSubtreeSpanningRecordPages(HashType.ROLLING);
+  }
+
+  @Test
+  public void testInsertSubtreeSpanningRecordPagesWithPostorderHashes() {
+    testInsertSubtreeSpanningRecordPages(HashType.POSTORDER);
+  }
+
+  /**
+   * Insert a subtree, whose nodes span several record pages, at once and compare it with the same
+   * subtree inserted node by node.
+   *
+   * @param hashType the kind of hashes to compare
+   */
+  private void testInsertSubtreeSpanningRecordPages(final HashType hashType) {
+    final Database database = holder.getDatabase();
+    database.createResource(new ResourceConfiguration.Builder("bulk",
+        database.getDatabaseConfig()).hashKind(hashType).build());
+    database.createResource(new ResourceConfiguration.Builder("single",
+        database.getDatabaseConfig()).hashKind(hashType).build());
+
+    final StringBuilder xml = new StringBuilder("<root>");
+    for (int i = 0; i < 2_000; i++) {
+      xml.append("<a i=\"").append(i).append("\"><b>").append(i).append("</b></a>");
+    }
+    xml.append("</root>");
+    try (final ResourceManager manager = database.getResourceManager("bulk");
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      wtx.insertSubtreeAsFirstChild(XMLShredder.createStringReader(xml.toString()));
+    }
+    try (final ResourceManager manager = database.getResourceManager("single");
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < 2_000; i++) {
+        if (i == 0) {
+          wtx.insertElementAsFirstChild(new QNm("a"));
+        } else {
+          wtx.insertElementAsRightSibling(new QNm("a"));
+        }
+        wtx.insertAttribute(new QNm("i"), String.valueOf(i), Movement.TOPARENT);
+        wtx.insertElementAsFirstChild(new QNm("b"));
+        wtx.insertTextAsFirstChild(String.valueOf(i));
+        wtx.moveToParent();
+        wtx.moveToParent();
+      }
+      wtx.commit();
+    }
+
+    // Pages, which have been written before the commit, are read by a new transaction.
+    try (final ResourceManager manager = database.getResourceManager("bulk");
+        final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+      assertTrue(rtx.moveToFirstChild().hasMoved());
+      assertEquals(2_000L, rtx.getChildCount());
+      assertTrue(rtx.moveToFirstChild().hasMoved());
+      for (int i = 0; i < 2_000; i++) {
+        assertTrue(rtx.moveToAttribute(0).hasMoved());
+        assertEquals(String.valueOf(i), rtx.getValue());
+        assertTrue(rtx.moveToParent().hasMoved());
+        assertTrue(rtx.moveToFirstChild().hasMoved());
+        assertTrue(rtx.moveToFirstChild().hasMoved());
+        assertEquals(String.valueOf(i), rtx.getValue());
+        assertTrue(rtx.moveToParent().hasMoved());
+        assertTrue(rtx.moveToParent().hasMoved());
+        assertEquals(i < 1_999, rtx.moveToRightSibling().hasMoved());
+      }
+    }
+
+    // The hashes and descendant counts equal the ones of the subtree inserted node by node.
+    try (final ResourceManager bulkManager = database.getResourceManager("bulk");
+        final XdmNodeReadTrx bulkRtx = bulkManager.beginNodeReadTrx();
+        final ResourceManager manager = database.getResourceManager("single");
+        final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+      if (hashType == HashType.ROLLING) {
+        assertEquals(6_001L, bulkRtx.getDescendantCount());
+      }
+      final Axis bulkAxis =
+          new NonStructuralWrapperAxis(new DescendantAxis(bulkRtx, IncludeSelf.YES));
+      final Axis axis = new NonStructuralWrapperAxis(new DescendantAxis(rtx, IncludeSelf.YES));
+      while (axis.hasNext()) {
+        assertTrue(bulkAxis.hasNext());
+        assertEquals(axis.next().longValue(), bulkAxis.next().longValue());
+        assertEquals(rtx.getKind(), bulkRtx.getKind());
+        assertTrue(rtx.getHash() != 0L);
+        assertEquals(rtx.getHash(), bulkRtx.getHash());
+        assertEquals(rtx.getDescendantCount(), bulkRtx.getDescendantCount());
+      }
+      assertFalse(bulkAxis.hasNext());
+    }
+  }
+
+  @Test
+  public void testSetValueWithTextDictionary() {
+    final Database database = holder.getDatabase();
+    final String resource = "compressed";
+    database.createResource(
+        new ResourceConfiguration.Builder(resource,
+            database.getDatabaseConfig()).useTextCompression(true).build());
+    final String value = "the quick brown fox jumps over the lazy dog";
+    try (final ResourceManager manager = database.getResourceManager(resource)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        for (int i = 0; i < 200; i++) {
+          wtx.insertElementAsFirstChild(new QNm("a"));
+          wtx.insertTextAsFirstChild(value + " " + i);
+          wtx.moveToParent();
+          wtx.moveToParent();
+        }
+        wtx.commit();
+        assertTrue(manager.getTextDictionary().isPresent());
+
+        // The new value is compressed with the dictionary of the resource.
+        assertTrue(wtx.moveTo(3).hasMoved());
+        wtx.setValue(value + " updated");
+        wtx.commit();
+      }
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        assertTrue(rtx.moveTo(3).hasMoved());
+        assertTrue(((TextNode) ((XdmNodeReadTrxImpl) rtx).getCurrentNode()).getValNodeDelegate()
+                                                                           .isCompressed());
+        assertEquals(value + " updated", rtx.getValue());
+        assertTrue(rtx.moveTo(5).hasMoved());
+        assertEquals(value + " 1", rtx.getValue());
+      }
+    }
+  }
+
+  @Test
+  public void testRemoveSubtreeSpanningRecordPages() {
+    final StringBuilder xml = new StringBuilder("<root>");
+    for (int i = 0; i < 2_000; i++) {
+      xml.append("<a i=\"").append(i).append("\"><b>").append(i).append("</b></a>");
+    }
+    xml.append("</root>");
+    try (final XdmNodeWriteTrx wtx = holder.getResourceManager().beginNodeWriteTrx()) {
+      wtx.insertSubtreeAsFirstChild(XMLShredder.createStringReader(xml.toString()));
+      final long maxNodeKey = wtx.getMaxNodeKey();
+      assertTrue(wtx.moveToFirstChild().hasMoved());
+      wtx.remove();
+      assertEquals(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), wtx.getNodeKey());
+      assertEquals(0L, wtx.getDescendantCount());
+      for (long nodeKey = 1; nodeKey <= maxNodeKey; nodeKey++) {
+        assertFalse(wtx.moveTo(nodeKey).hasMoved());
+      }
+      wtx.commit();
+    }
+    try (final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx()) {
+      assertEquals(0L, rtx.getDescendantCount());
+      assertFalse(rtx.moveToFirstChild().hasMoved());
+    }
+    try (final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx(1)) {
+      assertEquals(6_001L, rtx.getDescendantCount());
+    }
+  }
+
   @Test
   public void testDelete() {
     try (final XdmNodeWriteTrx wtx = holder.getResourceManager().beginNodeWriteTrx()) {
@@ -1203,6 +1366,44 @@ public class UpdateTest {
     assertEquals(8, rtx.getRightSiblingKey());
   }
 
+  @Test
+  public void testCopySubtreeFromAnotherResource() {
+    try (final XdmNodeWriteTrx wtx = holder.getResourceManager().beginNodeWriteTrx()) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+    }
+
+    final Database database = TestHelper.getDatabase(PATHS.PATH2.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE, PATHS.PATH2.getConfig()).build());
+    try (final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx();
+        final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      rtx.moveToFirstChild();
+      wtx.copySubtreeAsFirstChild(rtx);
+      assertEquals(rtx.getNodeKey(), wtx.getNodeKey());
+      wtx.commit();
+
+      // Nodes are copied in document order including namespaces and attributes.
+      final Axis expected = new NonStructuralWrapperAxis(new DescendantAxis(rtx, IncludeSelf.YES));
+      final Axis actual = new NonStructuralWrapperAxis(new DescendantAxis(wtx, IncludeSelf.YES));
+      while (expected.hasNext()) {
+        expected.next();
+        assertTrue(actual.hasNext());
+        actual.next();
+        assertEquals(rtx.getNodeKey(), wtx.getNodeKey());
+        assertEquals(rtx.getKind(), wtx.getKind());
+        assertEquals(rtx.getName(), wtx.getName());
+        assertEquals(rtx.getValue(), wtx.getValue());
+        assertEquals(rtx.getParentKey(), wtx.getParentKey());
+        assertEquals(rtx.getRightSiblingKey(), wtx.getRightSiblingKey());
+        assertEquals(rtx.getChildCount(), wtx.getChildCount());
+        assertEquals(rtx.getDescendantCount(), wtx.getDescendantCount());
+      }
+      assertFalse(actual.hasNext());
+    }
+  }
+
   @Test
   public void testSubtreeInsertAsFirstChildFirst() {
     final XdmNodeWriteTrx wtx = holder.getResourceManager().beginNodeWriteTrx();
@@ -26,7 +26,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.nio.file.Files;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
@@ -34,7 +36,10 @@ import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.TestHelper;
 import org.sirix.TestHelper.PATHS;
+import org.sirix.access.trx.node.AutoCommitMode;
+import org.sirix.access.trx.node.XdmResourceManager;
 import org.sirix.api.Database;
+import org.sirix.api.PageReadTrx;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.XdmNodeReadTrx;
 import org.sirix.api.XdmNodeWriteTrx;
@@ -234,6 +239,28 @@ public class XdmResourceManagerTest {
     }
   }
 
+  @Test
+  public void testAutoCommitWithLogSizeThreshold() {
+    // Commit as soon as the log isn't empty.
+    try (final XdmNodeWriteTrx wtx =
+        holder.getResourceManager().beginNodeWriteTrx(1, AutoCommitMode.SYNCHRONOUS)) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+      assertTrue(wtx.getRevisionNumber() > 2);
+    }
+  }
+
+  @Test
+  public void testAsynchronousAutoCommitWithLogSizeThreshold() {
+    // Commit as soon as the log isn't empty, once an operation is done.
+    try (final XdmNodeWriteTrx wtx =
+        holder.getResourceManager().beginNodeWriteTrx(1, AutoCommitMode.ASYNCHRONOUS)) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+      assertTrue(wtx.getRevisionNumber() > 2);
+    }
+  }
+
   @Test
   public void testAutoCommitWithScheduler() throws InterruptedException {
     // After 500 milliseconds commit.
@@ -280,4 +307,58 @@ public class XdmResourceManagerTest {
           holder.getResourceManager().getMostRecentRevisionNumber(), rtx.getRevisionNumber());
     }
   }
+
+  @Test
+  public void testRevisionTimestamps() throws Exception {
+    final Database database = TestHelper.getDatabase(PATHS.PATH1.getFile());
+    final XdmResourceManager resource =
+        (XdmResourceManager) database.getResourceManager(TestHelper.RESOURCE);
+    final XdmNodeWriteTrx wtx = resource.beginNodeWriteTrx();
+    DocumentCreator.create(wtx);
+    wtx.commit();
+    wtx.moveTo(12L);
+    wtx.setValue("bar2");
+    wtx.commit();
+    wtx.close();
+
+    final long[] timestamps = new long[3];
+    for (int revision = 0; revision < timestamps.length; revision++) {
+      try (final PageReadTrx pageRtx = resource.beginPageReadTrx(revision)) {
+        timestamps[revision] = pageRtx.getActualRevisionRootPage().getRevisionTimestamp();
+      }
+      assertEquals(timestamps[revision], resource.getRevisionTimestamps().get(revision));
+    }
+    resource.close();
+
+    // Timestamps missing in the file are read from the revision root pages.
+    Files.delete(resource.getRevisionTimestamps().getFile());
+    final XdmResourceManager resource2 =
+        (XdmResourceManager) database.getResourceManager(TestHelper.RESOURCE);
+    assertEquals(timestamps.length, resource2.getRevisionTimestamps().size());
+    for (int revision = 0; revision < timestamps.length; revision++) {
+      assertEquals(timestamps[revision], resource2.getRevisionTimestamps().get(revision));
+    }
+    try (final XdmNodeReadTrx rtx =
+        resource2.beginNodeReadTrx(Instant.ofEpochMilli(timestamps[1]))) {
+      assertEquals(1, rtx.getRevisionNumber());
+    }
+    resource2.close();
+  }
+
+  @Test
+  public void testTryBeginNodeReadTrx() {
+    final ResourceManager manager = holder.getResourceManager();
+    final int available = manager.getAvailableNodeReadTrx();
+
+    final Optional<XdmNodeReadTrx> rtx = manager.tryBeginNodeReadTrx();
+    assertTrue(rtx.isPresent());
+    assertEquals(available - 1, manager.getAvailableNodeReadTrx());
+    rtx.get().close();
+    rtx.get().close();
+
+    // Closing the transaction, its page transaction and standalone page transactions releases
+    // exactly one permit.
+    manager.beginPageReadTrx().close();
+    assertEquals(available, manager.getAvailableNodeReadTrx());
+  }
 }
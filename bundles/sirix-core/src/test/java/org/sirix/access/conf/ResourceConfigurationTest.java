@@ -1,5 +1,126 @@
 package org.sirix.access.conf;
 
+import static org.testng.AssertJUnit.assertEquals;
+import java.util.Arrays;
+import org.sirix.TestHelper;
+import org.sirix.access.trx.node.NodeHashFunction;
+import org.sirix.api.Database;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.utils.DocumentCreator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test case for de-/serialization of {@link ResourceConfiguration}s and the configurable page
+ * sizes.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
 public class ResourceConfigurationTest {
 
+  /** Name of the resource with small pages. */
+  private static final String SMALL_PAGES = "smallPages";
+
+  @BeforeMethod
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+  }
+
+  @AfterMethod
+  public void tearDown() throws SirixException {
+    TestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testDeSerializePageSizes() throws SirixException {
+    final Database database = TestHelper.getDatabase(TestHelper.PATHS.PATH1.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(SMALL_PAGES, TestHelper.PATHS.PATH1.getConfig())
+            .indirectPageFanOut(4).recordsPerPage(2).build());
+    final ResourceConfiguration config;
+    try (final ResourceManager manager = database.getResourceManager(SMALL_PAGES)) {
+      config = manager.getResourceConfig();
+    }
+    final ResourceConfiguration serializedConfig =
+        ResourceConfiguration.deserialize(config.resourcePath);
+    assertEquals(4, serializedConfig.indirectPageFanOut);
+    assertEquals(2, serializedConfig.recordsPerPage);
+    assertEquals(
+        Arrays.toString(config.getLevelPageCountExp()),
+        Arrays.toString(serializedConfig.getLevelPageCountExp()));
+    // 53 bits of page keys are addressed by 27 levels of indirect pages.
+    assertEquals(27, serializedConfig.getLevelPageCountExp().length);
+  }
+
+  @Test
+  public void testDeSerializeNodeHashFunction() throws SirixException {
+    final Database database = TestHelper.getDatabase(TestHelper.PATHS.PATH1.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(SMALL_PAGES, TestHelper.PATHS.PATH1.getConfig())
+            .nodeHashFunction(NodeHashFunction.SHA256).build());
+    final ResourceConfiguration config;
+    try (final ResourceManager manager = database.getResourceManager(SMALL_PAGES)) {
+      config = manager.getResourceConfig();
+    }
+    assertEquals(
+        NodeHashFunction.SHA256,
+        ResourceConfiguration.deserialize(config.resourcePath).nodeHashFunction);
+    assertEquals(
+        NodeHashFunction.MURMUR3_128,
+        new ResourceConfiguration.Builder(
+            TestHelper.RESOURCE, TestHelper.PATHS.PATH1.getConfig()).build().nodeHashFunction);
+  }
+
+  @Test
+  public void testDefaultLevelPageCountExp() {
+    final ResourceConfiguration config = new ResourceConfiguration.Builder(
+        TestHelper.RESOURCE, TestHelper.PATHS.PATH1.getConfig()).build();
+    assertEquals(512, config.indirectPageFanOut);
+    assertEquals(512, config.recordsPerPage);
+    assertEquals(
+        Arrays.toString(new int[] {36, 27, 18, 9, 0}),
+        Arrays.toString(config.getLevelPageCountExp()));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testFanOutNotPowerOfTwo() {
+    new ResourceConfiguration.Builder(TestHelper.RESOURCE, TestHelper.PATHS.PATH1.getConfig())
+        .indirectPageFanOut(100);
+  }
+
+  @Test
+  public void testSmallPages() throws SirixException {
+    final Database database = TestHelper.getDatabase(TestHelper.PATHS.PATH1.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(SMALL_PAGES, TestHelper.PATHS.PATH1.getConfig())
+            .indirectPageFanOut(2).recordsPerPage(4).build());
+    try (final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+    }
+    try (final ResourceManager manager = database.getResourceManager(SMALL_PAGES);
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+    }
+    try (final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+        final ResourceManager smallPagesManager = database.getResourceManager(SMALL_PAGES);
+        final XdmNodeReadTrx rtx = manager.beginNodeReadTrx();
+        final XdmNodeReadTrx smallPagesRtx = smallPagesManager.beginNodeReadTrx()) {
+      assertEquals(rtx.getMaxNodeKey(), smallPagesRtx.getMaxNodeKey());
+      for (long nodeKey = 0; nodeKey <= rtx.getMaxNodeKey(); nodeKey++) {
+        assertEquals(rtx.moveTo(nodeKey).hasMoved(), smallPagesRtx.moveTo(nodeKey).hasMoved());
+        assertEquals(rtx.getKind(), smallPagesRtx.getKind());
+        assertEquals(rtx.getParentKey(), smallPagesRtx.getParentKey());
+        assertEquals(rtx.getName(), smallPagesRtx.getName());
+        assertEquals(rtx.getValue(), smallPagesRtx.getValue());
+      }
+    }
+  }
 }
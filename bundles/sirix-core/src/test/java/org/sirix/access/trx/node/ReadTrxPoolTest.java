@@ -0,0 +1,77 @@
+package org.sirix.access.trx.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.TestHelper;
+import org.sirix.access.Databases;
+import org.sirix.access.conf.DatabaseConfiguration;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.exception.SirixException;
+
+/** Test the reuse of pooled read transactions. */
+public class ReadTrxPoolTest {
+
+  /** {@link Database} instance. */
+  private Database mDatabase;
+
+  @Before
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+    Databases.createDatabase(new DatabaseConfiguration(TestHelper.PATHS.PATH1.getFile()));
+    mDatabase = Databases.openDatabase(TestHelper.PATHS.PATH1.getFile());
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).readTrxPoolSize(1).build());
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mDatabase.close();
+  }
+
+  @Test
+  public void testReuse() throws SirixException {
+    try (final ResourceManager manager = mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.commit();
+      }
+
+      final XdmNodeReadTrx rtx = manager.beginNodeReadTrx();
+      final long id = rtx.getId();
+      assertTrue(rtx.moveToFirstChild().hasMoved());
+      rtx.close();
+      assertTrue(rtx.isClosed());
+
+      // The pooled transaction is reused and positioned at the document node.
+      final XdmNodeReadTrx reusedRtx = manager.beginNodeReadTrx();
+      assertSame(rtx, reusedRtx);
+      assertNotEquals(id, reusedRtx.getId());
+      assertTrue(reusedRtx.isDocumentRoot());
+      assertTrue(reusedRtx.moveToFirstChild().hasMoved());
+      assertEquals(new QNm("foo"), reusedRtx.getName());
+
+      // The pool is full, thus the second transaction is released.
+      final XdmNodeReadTrx otherRtx = manager.beginNodeReadTrx();
+      assertNotSame(reusedRtx, otherRtx);
+      reusedRtx.close();
+      otherRtx.close();
+      assertSame(reusedRtx, manager.beginNodeReadTrx(1));
+      assertNotSame(otherRtx, manager.beginNodeReadTrx(1));
+
+      // Transactions of other revisions aren't reused.
+      assertNotSame(reusedRtx, manager.beginNodeReadTrx(0));
+    }
+  }
+}
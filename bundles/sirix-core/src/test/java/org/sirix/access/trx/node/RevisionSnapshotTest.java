@@ -0,0 +1,163 @@
+package org.sirix.access.trx.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.exception.SirixException;
+import org.sirix.node.Kind;
+import org.sirix.settings.Constants;
+import org.sirix.utils.DocumentCreator;
+
+/** Test thread-safe read-only views of a revision. */
+public class RevisionSnapshotTest {
+
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+    holder = Holder.openResourceManager();
+    try (final XdmNodeWriteTrx wtx = holder.getResourceManager().beginNodeWriteTrx()) {
+      DocumentCreator.create(wtx);
+      wtx.commit();
+    }
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    TestHelper.closeEverything();
+  }
+
+  private static int countDescendants(final XdmNodeReadTrx rtx) {
+    int count = 0;
+    for (final DescendantAxis axis = new DescendantAxis(rtx, IncludeSelf.YES); axis.hasNext();) {
+      axis.next();
+      count++;
+    }
+    return count;
+  }
+
+  @Test
+  public void testConcurrentCursors() throws Exception {
+    final XdmResourceManager manager = (XdmResourceManager) holder.getResourceManager();
+    final int expected;
+    try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+      expected = countDescendants(rtx);
+    }
+
+    final int available = manager.getAvailableNodeReadTrx();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (final RevisionSnapshot snapshot = manager.openSnapshot()) {
+      assertEquals(available - 1, manager.getAvailableNodeReadTrx());
+      final List<Future<Integer>> counts = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        counts.add(executor.submit(() -> {
+          try (final XdmNodeReadTrx cursor = snapshot.newCursor()) {
+            assertTrue(cursor.isDocumentRoot());
+            return countDescendants(cursor);
+          }
+        }));
+      }
+      for (final Future<Integer> count : counts) {
+        assertEquals(expected, count.get().intValue());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(available, manager.getAvailableNodeReadTrx());
+  }
+
+  @Test
+  public void testConcurrentCursorsWithLazyRecords() throws Exception {
+    // Records of pages read from a resource, which stores structural columns, are deserialized on
+    // first access, thus the cursors of the snapshot concurrently materialize the shared pages.
+    final Database database = holder.getDatabase();
+    final String resource = "lazy";
+    database.createResource(
+        new ResourceConfiguration.Builder(resource,
+            database.getDatabaseConfig()).storeStructuralColumns(true).build());
+    final int children = 4 * Constants.NDP_NODE_COUNT;
+    try (final ResourceManager manager = database.getResourceManager(resource);
+        final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < children; i++) {
+        wtx.insertElementAsFirstChild(new QNm("child"));
+        wtx.insertTextAsFirstChild("text" + i);
+        wtx.moveToParent();
+        wtx.moveToParent();
+      }
+      wtx.commit();
+    }
+
+    final int expected = 2 + 2 * children;
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (final ResourceManager manager = database.getResourceManager(resource);
+        final RevisionSnapshot snapshot = ((XdmResourceManager) manager).openSnapshot()) {
+      for (int round = 0; round < 8; round++) {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> counts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          counts.add(executor.submit(() -> {
+            start.await();
+            try (final XdmNodeReadTrx cursor = snapshot.newCursor()) {
+              int count = 0;
+              for (final DescendantAxis axis =
+                  new DescendantAxis(cursor, IncludeSelf.YES); axis.hasNext();) {
+                axis.next();
+                if (cursor.getKind() == Kind.TEXT) {
+                  assertTrue(cursor.getValue().startsWith("text"));
+                } else if (cursor.getKind() == Kind.ELEMENT) {
+                  assertTrue(cursor.getName().getLocalName().equals("root")
+                      || cursor.getName().getLocalName().equals("child"));
+                }
+                count++;
+              }
+              return count;
+            }
+          }));
+        }
+        start.countDown();
+        for (final Future<Integer> count : counts) {
+          assertEquals(expected, count.get().intValue());
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testClosedSnapshot() {
+    final XdmResourceManager manager = (XdmResourceManager) holder.getResourceManager();
+    final RevisionSnapshot snapshot = manager.openSnapshot();
+    final XdmNodeReadTrx cursor = snapshot.newCursor();
+    snapshot.close();
+    assertTrue(snapshot.isClosed());
+    try {
+      cursor.moveToFirstChild();
+      fail();
+    } catch (final IllegalStateException e) {
+      // Must be thrown, as the shared page transaction is closed.
+    }
+  }
+}
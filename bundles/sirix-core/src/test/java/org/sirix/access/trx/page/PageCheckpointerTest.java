@@ -0,0 +1,89 @@
+package org.sirix.access.trx.page;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.TestHelper;
+import org.sirix.access.Databases;
+import org.sirix.access.conf.DatabaseConfiguration;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.access.trx.node.XdmResourceManager;
+import org.sirix.api.Database;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.settings.VersioningType;
+
+/** Test the consolidation of hot chains of record page fragments. */
+public class PageCheckpointerTest {
+
+  /** {@link Database} instance. */
+  private Database mDatabase;
+
+  @Before
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+    Databases.createDatabase(new DatabaseConfiguration(TestHelper.PATHS.PATH1.getFile()));
+    mDatabase = Databases.openDatabase(TestHelper.PATHS.PATH1.getFile());
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.INCREMENTAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .consolidateHotPages(true)
+                                          .build());
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mDatabase.close();
+  }
+
+  @Test
+  public void testCheckpoint() throws SirixException {
+    try (final XdmResourceManager manager =
+        (XdmResourceManager) mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.commit();
+        wtx.moveTo(1);
+        wtx.setName(new QNm("bar"));
+        wtx.commit();
+        wtx.moveTo(2);
+        wtx.setName(new QNm("baz"));
+        wtx.commit();
+      }
+
+      final PageCheckpointer checkpointer = manager.getCheckpointer();
+      try (final PageReadTrxImpl pageRtx = (PageReadTrxImpl) manager.beginPageReadTrx()) {
+        final PageReference reference =
+            pageRtx.getLeafPageReference(0, -1, PageKind.RECORDPAGE).get();
+        assertEquals(3, pageRtx.getSnapshotPages(reference).size());
+
+        for (int i = 0; i < 16; i++) {
+          checkpointer.recordChainRead(reference.getKey());
+        }
+        checkpointer.checkpoint();
+        assertEquals(1, checkpointer.getConsolidatedPageCount());
+        assertTrue(checkpointer.getConsolidatedPageKey(reference.getKey()) > reference.getKey());
+
+        assertEquals(1, pageRtx.getSnapshotPages(reference, true).size());
+        assertEquals(3, pageRtx.getSnapshotPages(reference).size());
+      }
+
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        assertTrue(rtx.moveTo(1).hasMoved());
+        assertEquals(new QNm("bar"), rtx.getName());
+        assertTrue(rtx.moveTo(2).hasMoved());
+        assertEquals(new QNm("baz"), rtx.getName());
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package org.sirix.access.trx.page;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.time.Instant;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.TestHelper;
+import org.sirix.access.Databases;
+import org.sirix.access.conf.DatabaseConfiguration;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.access.trx.node.XdmResourceManager;
+import org.sirix.api.Database;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.settings.VersioningType;
+
+/** Test the compaction of resources. */
+public class ResourceCompactorTest {
+
+  /** {@link Database} instance. */
+  private Database mDatabase;
+
+  @Before
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+    Databases.createDatabase(new DatabaseConfiguration(TestHelper.PATHS.PATH1.getFile()));
+    mDatabase = Databases.openDatabase(TestHelper.PATHS.PATH1.getFile());
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.INCREMENTAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mDatabase.close();
+  }
+
+  @Test
+  public void testCompact() throws SirixException, InterruptedException {
+    final int[] revisions = new int[6];
+    Instant cutoff = null;
+    try (final XdmResourceManager manager =
+        (XdmResourceManager) mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("a0"));
+        wtx.commit();
+        revisions[0] = manager.getMostRecentRevisionNumber();
+        for (int i = 1; i < revisions.length; i++) {
+          if (i == 3) {
+            Thread.sleep(10);
+            cutoff = Instant.now();
+            Thread.sleep(10);
+          }
+          wtx.moveTo(1);
+          wtx.setName(new QNm("a" + i));
+          wtx.commit();
+          revisions[i] = manager.getMostRecentRevisionNumber();
+        }
+      }
+
+      assertTrue(manager.compact(RetentionPolicy.keepNewerThan(cutoff)) >= 3);
+      assertEquals(revisions[5], manager.getMostRecentRevisionNumber());
+      for (int i = 0; i < 3; i++) {
+        assertTrue(manager.isRevisionDropped(revisions[i]));
+        try {
+          manager.beginNodeReadTrx(revisions[i]);
+          fail();
+        } catch (final IllegalArgumentException e) {
+          // Must be thrown, as the revision has been dropped.
+        }
+      }
+      for (int i = 3; i < revisions.length; i++) {
+        assertFalse(manager.isRevisionDropped(revisions[i]));
+        try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx(revisions[i])) {
+          assertTrue(rtx.moveTo(1).hasMoved());
+          assertEquals(new QNm("a" + i), rtx.getName());
+        }
+      }
+      assertEquals(revisions[3], manager.getRevisionNumber(Instant.ofEpochMilli(0)));
+
+      // Commits are appended to the compacted data.
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.moveTo(1);
+        wtx.setName(new QNm("a6"));
+        wtx.commit();
+      }
+    }
+
+    mDatabase.close();
+    mDatabase = Databases.openDatabase(TestHelper.PATHS.PATH1.getFile());
+    try (final XdmResourceManager manager =
+        (XdmResourceManager) mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      assertTrue(manager.isRevisionDropped(revisions[0]));
+      for (int i = 3; i < revisions.length; i++) {
+        try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx(revisions[i])) {
+          assertTrue(rtx.moveTo(1).hasMoved());
+          assertEquals(new QNm("a" + i), rtx.getName());
+        }
+      }
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        assertTrue(rtx.moveTo(1).hasMoved());
+        assertEquals(new QNm("a6"), rtx.getName());
+      }
+    }
+  }
+
+  @Test
+  public void testCompactWithIdlePooledReadTrx() throws SirixException, InterruptedException {
+    final String resource = "pooled";
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(resource,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.INCREMENTAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .readTrxPoolSize(2)
+                                          .build());
+    Instant cutoff = null;
+    try (final XdmResourceManager manager =
+        (XdmResourceManager) mDatabase.getResourceManager(resource)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("a0"));
+        wtx.commit();
+        for (int i = 1; i < 4; i++) {
+          if (i == 2) {
+            Thread.sleep(10);
+            cutoff = Instant.now();
+            Thread.sleep(10);
+          }
+          wtx.moveTo(1);
+          wtx.setName(new QNm("a" + i));
+          wtx.commit();
+        }
+      }
+
+      // Leave an idle transaction in the pool.
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        assertTrue(rtx.moveTo(1).hasMoved());
+        assertEquals(new QNm("a3"), rtx.getName());
+      }
+
+      // Must not wait for the idle transaction until the compaction is aborted.
+      assertTrue(manager.compact(RetentionPolicy.keepNewerThan(cutoff)) >= 2);
+
+      try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx()) {
+        assertTrue(rtx.moveTo(1).hasMoved());
+        assertEquals(new QNm("a3"), rtx.getName());
+      }
+    }
+  }
+}
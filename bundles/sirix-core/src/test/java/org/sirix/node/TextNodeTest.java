@@ -21,12 +21,14 @@
 
 package org.sirix.node;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 import org.junit.After;
 import org.junit.Before;
@@ -38,8 +40,13 @@ import org.sirix.exception.SirixException;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.delegates.ValNodeDelegate;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.OverflowPageDataInput;
+import org.sirix.page.OverflowPageInputStream;
+import org.sirix.page.PageConstants;
 import org.sirix.settings.Fixed;
 import org.sirix.utils.NamePageHash;
+import com.google.common.io.ByteStreams;
 
 /**
  * Text node test.
@@ -86,6 +93,32 @@ public class TextNodeTest {
     check(node2);
   }
 
+  @Test
+  public void testStreamedTextNode() throws IOException {
+    final byte[] value = new byte[3 * PageConstants.OVERFLOW_CHUNK_SIZE + 17];
+    Arrays.fill(value, (byte) 'a');
+    final NodeDelegate del = new NodeDelegate(13, 14, 0, 0, Optional.of(SirixDeweyID.newRootID()));
+    final ValNodeDelegate valDel = new ValNodeDelegate(del, value, false);
+    final StructNodeDelegate strucDel =
+        new StructNodeDelegate(del, Fixed.NULL_NODE_KEY.getStandardProperty(), 16l, 15l, 0l, 0l);
+    final TextNode node = new TextNode(valDel, strucDel);
+
+    // Serialize the node into chunked overflow pages and deserialize it.
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    node.getKind().serialize(new DataOutputStream(out), node, mPageReadTrx);
+    final OverflowPage page =
+        OverflowPage.of(out.toByteArray(), PageConstants.OVERFLOW_CHUNK_SIZE);
+    assertEquals(true, page.isChunked());
+    final TextNode node2 = (TextNode) Kind.TEXT.deserialize(
+        new OverflowPageDataInput(new OverflowPageInputStream(page, mPageReadTrx)),
+        node.getNodeKey(), node.getDeweyID(), mPageReadTrx);
+    assertEquals(true, node2.getValNodeDelegate().isValueStreamed());
+    assertEquals(15L, node2.getLeftSiblingKey());
+    assertEquals(16L, node2.getRightSiblingKey());
+    assertArrayEquals(value, ByteStreams.toByteArray(node2.getValueStream()));
+    assertArrayEquals(value, node2.getRawValue());
+  }
+
   private final static void check(final TextNode node) {
     // Now compare.
     assertEquals(13L, node.getNodeKey());
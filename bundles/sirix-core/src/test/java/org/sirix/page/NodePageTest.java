@@ -22,12 +22,15 @@
 package org.sirix.page;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Optional;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
@@ -38,11 +41,13 @@ import org.sirix.TestHelper;
 import org.sirix.api.PageReadTrx;
 import org.sirix.exception.SirixException;
 import org.sirix.node.ElementNode;
+import org.sirix.node.Kind;
 import org.sirix.node.SirixDeweyID;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.NameNode;
+import org.sirix.node.interfaces.Record;
 import org.sirix.settings.Constants;
 import org.sirix.utils.NamePageHash;
 import com.google.common.collect.HashBiMap;
@@ -119,4 +124,34 @@ public final class NodePageTest {
     assertEquals(7, ((NameNode) page2.getValue(0l)).getLocalNameKey());
     assertEquals(NamePageHash.generateHashForString("xs:untyped"), element.getTypeKey());
   }
+
+  @Test
+  public void testStructuralColumns() throws IOException {
+    final NodeDelegate del = new NodeDelegate(0, 1, 0, 0, Optional.of(SirixDeweyID.newRootID()));
+    final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+    final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+    final ElementNode node = new ElementNode(strucDel, nameDel, new ArrayList<Long>(),
+        HashBiMap.<Long, Long>create(), new ArrayList<Long>(), new QNm("a", "b", "c"));
+
+    final StructuralColumns columns =
+        StructuralColumns.of(Collections.<Record>singletonList(node));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    columns.serialize(new DataOutputStream(out));
+    final StructuralColumns deserialized = StructuralColumns.deserialize(
+        new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+    assertEquals(1, deserialized.size());
+    assertTrue(deserialized.contains(0L));
+    assertFalse(deserialized.contains(1L));
+    assertEquals(Kind.ELEMENT, deserialized.getKind(0L));
+    assertEquals(1L, deserialized.getParentKey(0L));
+    assertEquals(12L, deserialized.getFirstChildKey(0L));
+    assertEquals(3L, deserialized.getLeftSiblingKey(0L));
+    assertEquals(4L, deserialized.getRightSiblingKey(0L));
+    assertEquals(1L, deserialized.getChildCount(0L));
+    assertEquals(0L, deserialized.getDescendantCount(0L));
+    assertEquals(7, deserialized.getLocalNameKey(0L));
+    assertEquals(1L, deserialized.getPathNodeKey(0L));
+  }
 }
@@ -3,6 +3,10 @@
  */
 package org.sirix.page;
 
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
 import static org.testng.AssertJUnit.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -82,6 +86,46 @@ public class PageTest {
     }
   }
 
+  /**
+   * Test the frozen representation of deserialized {@link IndirectPage}s.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @Test
+  public void testFrozenIndirectPage() throws IOException {
+    final IndirectPage indirectPage = createIndirectPage();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    indirectPage.serialize(new DataOutputStream(out), SerializationType.DATA);
+
+    final IndirectPage frozenPage = new IndirectPage(
+        new DataInputStream(new ByteArrayInputStream(out.toByteArray())), SerializationType.DATA);
+    assertTrue(frozenPage.isFrozen());
+    assertNull(frozenPage.getReference(1));
+    assertNull(frozenPage.getReference(Constants.INP_REFERENCE_COUNT - 2));
+    assertEquals(4, frozenPage.getReferences().size());
+    for (final int offset : new int[] {0, 63, 64, Constants.INP_REFERENCE_COUNT - 1}) {
+      assertEquals(offset * 10, frozenPage.getReference(offset).getKey());
+      assertSame(frozenPage.getReference(offset), frozenPage.getReference(offset));
+    }
+    assertTrue(Arrays.equals(new byte[] {1, 2, 3}, frozenPage.getReference(64).getHash()));
+
+    final IndirectPage copy = new IndirectPage(frozenPage);
+    assertFalse(copy.isFrozen());
+    assertEquals(640, copy.getReference(64).getKey());
+    copy.getReference(1).setKey(10);
+    assertEquals(10, copy.getReference(1).getKey());
+    assertNull(frozenPage.getReference(1));
+  }
+
+  private static IndirectPage createIndirectPage() {
+    final IndirectPage indirectPage = new IndirectPage();
+    for (final int offset : new int[] {0, 63, 64, Constants.INP_REFERENCE_COUNT - 1}) {
+      indirectPage.getReference(offset).setKey(offset * 10);
+    }
+    indirectPage.getReference(64).setHash(new byte[] {1, 2, 3});
+    return indirectPage;
+  }
+
   /**
    * Providing different implementations of the {@link Page} as Dataprovider to the test class.
    *
@@ -114,8 +158,8 @@ public class PageTest {
     // PathSummaryPage setup.
     final PathSummaryPage pathSummaryPage = new PathSummaryPage();
 
-    Object[][] returnVal =
-        {{Page.class, new Page[] {indirectPage, namePage, valuePage, pathSummaryPage}}};
+    Object[][] returnVal = {{Page.class, new Page[] {indirectPage, createIndirectPage(), namePage,
+        valuePage, pathSummaryPage}}};
     return returnVal;
   }
 }
@@ -0,0 +1,119 @@
+package org.sirix.service.xml.shredder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.util.Iterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.TestHelper;
+import org.sirix.TestHelper.PATHS;
+import org.sirix.access.conf.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.ResourceManager;
+import org.sirix.api.XdmNodeReadTrx;
+import org.sirix.api.XdmNodeWriteTrx;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.exception.SirixException;
+import org.sirix.node.Kind;
+import org.sirix.settings.Constants;
+
+/**
+ * Test the {@link ParallelXMLShredder}.
+ *
+ * @author Johannes Lichtenberger
+ *
+ */
+public final class ParallelXMLShredderTest {
+
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    TestHelper.deleteEverything();
+    holder = Holder.generateWtx();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    TestHelper.closeEverything();
+  }
+
+  @Test
+  public void testShredFile() throws Exception {
+    try (final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx();
+        final FileInputStream fis = new FileInputStream(XMLShredderTest.XML.toFile())) {
+      final ParallelXMLShredder shredder =
+          new ParallelXMLShredder.Builder(wtx, fis, Insert.ASFIRSTCHILD).parserThreads(2)
+                                                                        .fragmentSize(0)
+                                                                        .build();
+      shredder.call();
+    }
+
+    verify(new String(Files.readAllBytes(XMLShredderTest.XML), Constants.DEFAULT_ENCODING));
+  }
+
+  @Test
+  public void testShredManyFragments() throws Exception {
+    final StringBuilder xml =
+        new StringBuilder("<?xml version=\"1.0\"?><!-- c --><p:root xmlns:p=\"ns\">");
+    for (int i = 0; i < 1_000; i++) {
+      xml.append("<p:a i=\"").append(i).append("\">text ").append(i);
+      xml.append("<![CDATA[<b/>]]></p:a><!-- <p:a> --><?pi > ?>");
+    }
+    xml.append("tail</p:root><!-- epilog -->");
+    final byte[] bytes = xml.toString().getBytes(Constants.DEFAULT_ENCODING);
+
+    try (final XdmNodeWriteTrx wtx = holder.getXdmNodeWriteTrx()) {
+      final ParallelXMLShredder shredder =
+          new ParallelXMLShredder.Builder(wtx, new ByteArrayInputStream(bytes),
+              Insert.ASFIRSTCHILD).parserThreads(4).fragmentSize(100).build();
+      shredder.call();
+    }
+
+    verify(xml.toString());
+  }
+
+  /**
+   * Compare the shredded resource with the input shredded sequentially.
+   *
+   * @param xml the input
+   */
+  private void verify(final String xml) throws Exception {
+    final Database database = TestHelper.getDatabase(PATHS.PATH2.getFile());
+    database.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE, PATHS.PATH2.getConfig()).build());
+
+    try (final ResourceManager manager = database.getResourceManager(TestHelper.RESOURCE);
+        final XdmNodeWriteTrx expectedTrx = manager.beginNodeWriteTrx();
+        final XdmNodeReadTrx rtx = holder.getResourceManager().beginNodeReadTrx()) {
+      expectedTrx.insertSubtreeAsFirstChild(XMLShredder.createStringReader(xml));
+      expectedTrx.moveToDocumentRoot();
+
+      assertEquals(expectedTrx.getHash(), rtx.getHash());
+
+      final Iterator<Long> expectedDescendants = new DescendantAxis(expectedTrx);
+      final Iterator<Long> descendants = new DescendantAxis(rtx);
+
+      while (expectedDescendants.hasNext()) {
+        expectedDescendants.next();
+        descendants.next();
+        assertEquals(expectedTrx.getNodeKey(), rtx.getNodeKey());
+        assertEquals(expectedTrx.getKind(), rtx.getKind());
+        assertEquals(expectedTrx.getName(), rtx.getName());
+        assertEquals(expectedTrx.getValue(), rtx.getValue());
+        assertEquals(expectedTrx.getHash(), rtx.getHash());
+        if (expectedTrx.getKind() == Kind.ELEMENT) {
+          assertEquals(expectedTrx.getAttributeCount(), rtx.getAttributeCount());
+          assertEquals(expectedTrx.getNamespaceCount(), rtx.getNamespaceCount());
+        }
+      }
+      assertFalse(descendants.hasNext());
+    }
+  }
+}
@@ -22,6 +22,7 @@
 package org.sirix.settings;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
@@ -89,6 +90,28 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testIncremental3() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.INCREMENTAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test3();
+  }
+
+  @Test
+  public void testIncremental4() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.INCREMENTAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test4();
+  }
+
   @Test
   public void testDifferential() throws SirixException {
     mDatabase.createResource(
@@ -111,6 +134,28 @@ public class VersioningTest {
     test1();
   }
 
+  @Test
+  public void testDifferential2() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.DIFFERENTIAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test3();
+  }
+
+  @Test
+  public void testDifferential3() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.DIFFERENTIAL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test4();
+  }
+
   @Test
   public void testFull() throws SirixException {
     mDatabase.createResource(
@@ -144,6 +189,17 @@ public class VersioningTest {
     test1();
   }
 
+  @Test
+  public void testFull3() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.FULL)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test4();
+  }
+
   @Test
   public void testSlidingSnapshot() throws SirixException {
     mDatabase.createResource(
@@ -177,6 +233,39 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testAdaptive() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.ADAPTIVE)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test();
+  }
+
+  @Test
+  public void testAdaptive1() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.ADAPTIVE)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test1();
+  }
+
+  @Test
+  public void testAdaptive2() throws SirixException {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(TestHelper.RESOURCE,
+            mDatabase.getDatabaseConfig()).versioningApproach(VersioningType.ADAPTIVE)
+                                          .hashKind(HashType.NONE)
+                                          .revisionsToRestore(3)
+                                          .build());
+    test2();
+  }
+
   /**
    * Test revisioning.
    *
@@ -294,6 +383,85 @@ public class VersioningTest {
     }
   }
 
+  /**
+   * Test revisioning of a node page, which is modified in each revision, such that it is written as
+   * a full dump as well as only with the changes.
+   *
+   * @throws SirixException if anything in Sirix fails
+   */
+  public void test3() throws SirixException {
+    try (final ResourceManager manager = mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        for (int i = 0; i < Constants.NDP_NODE_COUNT - 1; i++) {
+          wtx.insertElementAsFirstChild(new QNm("foo"));
+        }
+        wtx.commit();
+        for (int revision = 2; revision <= 6; revision++) {
+          wtx.moveToDocumentRoot();
+          wtx.moveToFirstChild();
+          wtx.setName(new QNm("foo" + revision));
+          // Remove the innermost element.
+          for (int i = 0; i < Constants.NDP_NODE_COUNT - revision; i++) {
+            assertTrue(wtx.moveToFirstChild().hasMoved());
+          }
+          assertFalse(wtx.hasFirstChild());
+          wtx.remove();
+          wtx.commit();
+        }
+      }
+      for (int revision = 2; revision <= 6; revision++) {
+        try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx(revision)) {
+          assertTrue(rtx.moveToFirstChild().hasMoved());
+          assertEquals(new QNm("foo" + revision), rtx.getName());
+          int depth = 1;
+          while (rtx.moveToFirstChild().hasMoved()) {
+            depth++;
+          }
+          assertEquals(Constants.NDP_NODE_COUNT - revision, depth);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test revisioning of more node pages than the transaction intent log holds in memory, which are
+   * modified in each revision, such that the modified pages, which are overlays of the complete
+   * pages if the pages are written as full dumps, are written to the log and read back.
+   *
+   * @throws SirixException if anything in Sirix fails
+   */
+  public void test4() throws SirixException {
+    final int pages = 40;
+    try (final ResourceManager manager = mDatabase.getResourceManager(TestHelper.RESOURCE)) {
+      try (final XdmNodeWriteTrx wtx = manager.beginNodeWriteTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        for (int i = 1; i < pages * Constants.NDP_NODE_COUNT; i++) {
+          wtx.insertElementAsRightSibling(new QNm("foo"));
+        }
+        wtx.commit();
+        for (int revision = 2; revision <= 4; revision++) {
+          // Rename the first child of each page.
+          for (int page = 0; page < pages; page++) {
+            assertTrue(wtx.moveTo(page * Constants.NDP_NODE_COUNT + 2).hasMoved());
+            wtx.setName(new QNm("foo" + revision));
+          }
+          wtx.commit();
+        }
+      }
+      for (int revision = 2; revision <= 4; revision++) {
+        try (final XdmNodeReadTrx rtx = manager.beginNodeReadTrx(revision)) {
+          for (int page = 0; page < pages; page++) {
+            assertTrue(rtx.moveTo(page * Constants.NDP_NODE_COUNT + 2).hasMoved());
+            assertEquals(new QNm("foo" + revision), rtx.getName());
+            assertTrue(rtx.moveToRightSibling().hasMoved());
+            assertEquals(new QNm("foo"), rtx.getName());
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Set the second {@link QNm} in the first node page.
    *
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2011, University of Konstanz, Distributed Systems Group All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted
+ * provided that the following conditions are met: * Redistributions of source code must retain the
+ * above copyright notice, this list of conditions and the following disclaimer. * Redistributions
+ * in binary form must reproduce the above copyright notice, this list of conditions and the
+ * following disclaimer in the documentation and/or other materials provided with the distribution.
+ * * Neither the name of the University of Konstanz nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.sirix.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.junit.Test;
+import org.sirix.settings.Constants;
+import com.google.common.io.ByteStreams;
+
+public class CompressionTest {
+
+  private static final byte[] VALUE =
+      "the quick brown fox jumps over the lazy dog".getBytes(Constants.DEFAULT_ENCODING);
+
+  @Test
+  public void testCompress() {
+    final byte[] compressed = Compression.compress(VALUE, Deflater.DEFAULT_COMPRESSION);
+    assertArrayEquals(VALUE, Compression.decompress(compressed));
+  }
+
+  @Test
+  public void testCompressWithDictionary() throws IOException {
+    final List<byte[]> samples = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      samples.add(("the quick brown fox " + i).getBytes(Constants.DEFAULT_ENCODING));
+      samples.add(("jumps over the lazy dog " + i).getBytes(Constants.DEFAULT_ENCODING));
+    }
+    final byte[] dictionary = Compression.buildDictionary(samples);
+    assertTrue(dictionary.length > 0);
+
+    final byte[] compressed =
+        Compression.compress(VALUE, Deflater.DEFAULT_COMPRESSION, dictionary);
+    assertTrue(compressed.length
+        < Compression.compress(VALUE, Deflater.DEFAULT_COMPRESSION).length);
+    assertArrayEquals(VALUE, Compression.decompress(compressed, dictionary));
+    assertArrayEquals(VALUE, ByteStreams.toByteArray(
+        Compression.decompress(new ByteArrayInputStream(compressed), dictionary)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDecompressWithAnotherDictionary() {
+    final byte[] dictionary = "the quick brown fox ".getBytes(Constants.DEFAULT_ENCODING);
+    final byte[] compressed =
+        Compression.compress(VALUE, Deflater.DEFAULT_COMPRESSION, dictionary);
+    Compression.decompress(compressed,
+        "jumps over the lazy dog ".getBytes(Constants.DEFAULT_ENCODING));
+  }
+}